@@ -0,0 +1,148 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.trackselection.AdaptiveTrackSelection;
+import com.google.android.exoplayer2.trackselection.ExoTrackSelection;
+
+/**
+ * How a player picks the bitrate of adaptive streams.
+ *
+ * <p>The thresholds are durations of buffered media: the player only switches to a higher bitrate
+ * with at least {@link #getSwitchUpThresholdMs()} buffered, and only switches to a lower one with
+ * less than {@link #getSwitchDownThresholdMs()} buffered.
+ */
+public final class AbrConfig {
+  /** The algorithm used to pick a bitrate. */
+  public enum Strategy {
+    /** Picks the highest bitrate that fits the estimated bandwidth. */
+    THROUGHPUT,
+    /** Picks the bitrate from the amount of buffered media, ignoring the estimated bandwidth. */
+    BUFFER_BASED,
+    /** Picks the bitrate from the buffer, capped by the estimated bandwidth until it is full. */
+    HYBRID
+  }
+
+  static final int DEFAULT_SWITCH_UP_THRESHOLD_MS =
+      AdaptiveTrackSelection.DEFAULT_MIN_DURATION_FOR_QUALITY_INCREASE_MS;
+  static final int DEFAULT_SWITCH_DOWN_THRESHOLD_MS =
+      AdaptiveTrackSelection.DEFAULT_MAX_DURATION_FOR_QUALITY_DECREASE_MS;
+  static final int DEFAULT_HYSTERESIS_MS = 4000;
+  static final float DEFAULT_BANDWIDTH_FRACTION = AdaptiveTrackSelection.DEFAULT_BANDWIDTH_FRACTION;
+
+  @NonNull private final Strategy strategy;
+  private final int switchUpThresholdMs;
+  private final int switchDownThresholdMs;
+  private final int hysteresisMs;
+  private final float bandwidthFraction;
+
+  public AbrConfig(
+      @NonNull Strategy strategy,
+      int switchUpThresholdMs,
+      int switchDownThresholdMs,
+      int hysteresisMs,
+      float bandwidthFraction) {
+    if (switchUpThresholdMs <= 0 || switchDownThresholdMs <= 0) {
+      throw new IllegalArgumentException("Switch thresholds must be positive.");
+    }
+    if (hysteresisMs < 0) {
+      throw new IllegalArgumentException("Hysteresis must not be negative.");
+    }
+    if (!(bandwidthFraction > 0 && bandwidthFraction <= 1)) {
+      throw new IllegalArgumentException("Bandwidth fraction must be in (0, 1].");
+    }
+    this.strategy = strategy;
+    this.switchUpThresholdMs = switchUpThresholdMs;
+    this.switchDownThresholdMs = switchDownThresholdMs;
+    this.hysteresisMs = hysteresisMs;
+    this.bandwidthFraction = bandwidthFraction;
+  }
+
+  /** Returns a configuration using the given strategy with the default thresholds. */
+  @NonNull
+  public static AbrConfig withStrategy(@NonNull Strategy strategy) {
+    return new AbrConfig(
+        strategy,
+        DEFAULT_SWITCH_UP_THRESHOLD_MS,
+        DEFAULT_SWITCH_DOWN_THRESHOLD_MS,
+        DEFAULT_HYSTERESIS_MS,
+        DEFAULT_BANDWIDTH_FRACTION);
+  }
+
+  /**
+   * Returns the configuration described by the options passed from Dart.
+   *
+   * @param options the options, whose unset values take their defaults.
+   * @return the configuration.
+   */
+  @NonNull
+  static AbrConfig fromPlatformOptions(@NonNull PlatformAbrOptions options) {
+    return new AbrConfig(
+        strategyFromPlatform(options.getStrategy()),
+        millisOrDefault(options.getSwitchUpThresholdMs(), DEFAULT_SWITCH_UP_THRESHOLD_MS),
+        millisOrDefault(options.getSwitchDownThresholdMs(), DEFAULT_SWITCH_DOWN_THRESHOLD_MS),
+        millisOrDefault(options.getHysteresisMs(), DEFAULT_HYSTERESIS_MS),
+        options.getBandwidthFraction() != null
+            ? options.getBandwidthFraction().floatValue()
+            : DEFAULT_BANDWIDTH_FRACTION);
+  }
+
+  @NonNull
+  private static Strategy strategyFromPlatform(@NonNull PlatformAbrStrategy strategy) {
+    switch (strategy) {
+      case THROUGHPUT:
+        return Strategy.THROUGHPUT;
+      case BUFFER_BASED:
+        return Strategy.BUFFER_BASED;
+      case HYBRID:
+        return Strategy.HYBRID;
+    }
+    throw new IllegalArgumentException("Unknown ABR strategy: " + strategy);
+  }
+
+  private static int millisOrDefault(@Nullable Long value, int defaultValue) {
+    return value != null ? Math.toIntExact(value) : defaultValue;
+  }
+
+  @NonNull
+  public Strategy getStrategy() {
+    return strategy;
+  }
+
+  public int getSwitchUpThresholdMs() {
+    return switchUpThresholdMs;
+  }
+
+  public int getSwitchDownThresholdMs() {
+    return switchDownThresholdMs;
+  }
+
+  /**
+   * Returns the minimum time between two switches. {@link Strategy#THROUGHPUT} relies on the
+   * thresholds alone and ignores it.
+   */
+  public int getHysteresisMs() {
+    return hysteresisMs;
+  }
+
+  public float getBandwidthFraction() {
+    return bandwidthFraction;
+  }
+
+  /** Returns the factory creating the track selections of this configuration. */
+  @NonNull
+  ExoTrackSelection.Factory createTrackSelectionFactory() {
+    if (strategy == Strategy.THROUGHPUT) {
+      return new AdaptiveTrackSelection.Factory(
+          switchUpThresholdMs,
+          switchDownThresholdMs,
+          AdaptiveTrackSelection.DEFAULT_MIN_DURATION_TO_RETAIN_AFTER_DISCARD_MS,
+          bandwidthFraction);
+    }
+    return new BufferBasedTrackSelection.Factory(this);
+  }
+}
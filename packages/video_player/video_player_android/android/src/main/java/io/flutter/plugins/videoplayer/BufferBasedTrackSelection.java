@@ -0,0 +1,232 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Timeline;
+import com.google.android.exoplayer2.source.MediaSource.MediaPeriodId;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.source.chunk.MediaChunk;
+import com.google.android.exoplayer2.source.chunk.MediaChunkIterator;
+import com.google.android.exoplayer2.trackselection.BaseTrackSelection;
+import com.google.android.exoplayer2.trackselection.ExoTrackSelection;
+import com.google.android.exoplayer2.trackselection.TrackSelectionUtil;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.util.Clock;
+import com.google.android.exoplayer2.util.Util;
+import java.util.List;
+
+/**
+ * Picks the bitrate of an adaptive stream from the amount of buffered media.
+ *
+ * <p>Each track is scored with the BOLA utility function: with little buffered the lowest bitrate
+ * wins, and the higher bitrates win in turn as the buffer fills up towards its target. The lower
+ * and higher switch thresholds of the {@link AbrConfig} bound that range. With {@link
+ * AbrConfig.Strategy#HYBRID}, the pick is also capped by the estimated bandwidth until the buffer
+ * reaches its target.
+ *
+ * <p>Switches follow the thresholds of the {@link AbrConfig} and are at least its hysteresis apart,
+ * except when the buffer falls below half of the lower threshold and the player has to switch down
+ * to avoid stalling.
+ */
+final class BufferBasedTrackSelection extends BaseTrackSelection {
+  /** Creates {@link BufferBasedTrackSelection} instances. */
+  static final class Factory implements ExoTrackSelection.Factory {
+    @NonNull private final AbrConfig config;
+    @NonNull private final Clock clock;
+
+    Factory(@NonNull AbrConfig config) {
+      this(config, Clock.DEFAULT);
+    }
+
+    @VisibleForTesting
+    Factory(@NonNull AbrConfig config, @NonNull Clock clock) {
+      this.config = config;
+      this.clock = clock;
+    }
+
+    @Override
+    @NonNull
+    public ExoTrackSelection[] createTrackSelections(
+        @NonNull Definition[] definitions,
+        @NonNull BandwidthMeter bandwidthMeter,
+        @NonNull MediaPeriodId mediaPeriodId,
+        @NonNull Timeline timeline) {
+      return TrackSelectionUtil.createTrackSelectionsForDefinitions(
+          definitions,
+          definition ->
+              new BufferBasedTrackSelection(
+                  definition.group,
+                  definition.tracks,
+                  definition.type,
+                  bandwidthMeter,
+                  config,
+                  clock));
+    }
+  }
+
+  @NonNull private final BandwidthMeter bandwidthMeter;
+  @NonNull private final Clock clock;
+  private final boolean capByThroughput;
+  private final float bandwidthFraction;
+  private final long switchUpThresholdUs;
+  private final long switchDownThresholdUs;
+  private final long emergencyThresholdUs;
+  private final long targetBufferUs;
+  private final long hysteresisMs;
+  // The utility of each track, in selection order (highest bitrate first).
+  private final double[] utilities;
+  // BOLA parameters, for buffer levels in seconds.
+  private final double gp;
+  private final double vp;
+
+  private int selectedIndex;
+  private @C.SelectionReason int selectionReason;
+  private long lastSwitchTimeMs;
+
+  @VisibleForTesting
+  BufferBasedTrackSelection(
+      @NonNull TrackGroup group,
+      @NonNull int[] tracks,
+      int type,
+      @NonNull BandwidthMeter bandwidthMeter,
+      @NonNull AbrConfig config,
+      @NonNull Clock clock) {
+    super(group, tracks, type);
+    this.bandwidthMeter = bandwidthMeter;
+    this.clock = clock;
+    capByThroughput = config.getStrategy() == AbrConfig.Strategy.HYBRID;
+    bandwidthFraction = config.getBandwidthFraction();
+    switchUpThresholdUs = Util.msToUs(config.getSwitchUpThresholdMs());
+    switchDownThresholdUs = Util.msToUs(config.getSwitchDownThresholdMs());
+    hysteresisMs = config.getHysteresisMs();
+
+    long minimumBufferMs =
+        Math.min(config.getSwitchUpThresholdMs(), config.getSwitchDownThresholdMs());
+    long targetBufferMs =
+        Math.max(config.getSwitchUpThresholdMs(), config.getSwitchDownThresholdMs());
+    if (targetBufferMs <= minimumBufferMs) {
+      // The scores need room between the two thresholds to tell the tracks apart.
+      targetBufferMs = 2 * minimumBufferMs;
+    }
+    emergencyThresholdUs = Util.msToUs(minimumBufferMs) / 2;
+    targetBufferUs = Util.msToUs(targetBufferMs);
+
+    utilities = new double[length];
+    int lowestBitrate = getBitrate(length - 1);
+    for (int i = 0; i < length; i++) {
+      utilities[i] = Math.log((double) getBitrate(i) / lowestBitrate) + 1;
+    }
+    gp = (utilities[0] - 1) / ((double) targetBufferMs / minimumBufferMs - 1);
+    vp = gp > 0 ? minimumBufferMs / 1000.0 / gp : 0;
+
+    // Nothing is buffered yet, so start from the estimated bandwidth.
+    selectedIndex = determineThroughputIndex(clock.elapsedRealtime());
+    selectionReason = C.SELECTION_REASON_INITIAL;
+    lastSwitchTimeMs = clock.elapsedRealtime();
+  }
+
+  @Override
+  public int getSelectedIndex() {
+    return selectedIndex;
+  }
+
+  @Override
+  public @C.SelectionReason int getSelectionReason() {
+    return selectionReason;
+  }
+
+  @Override
+  @Nullable
+  public Object getSelectionData() {
+    return null;
+  }
+
+  @Override
+  public void updateSelectedTrack(
+      long playbackPositionUs,
+      long bufferedDurationUs,
+      long availableDurationUs,
+      @NonNull List<? extends MediaChunk> queue,
+      @NonNull MediaChunkIterator[] mediaChunkIterators) {
+    long nowMs = clock.elapsedRealtime();
+    int previousIndex = selectedIndex;
+    int idealIndex = determineIdealIndex(bufferedDurationUs, nowMs);
+    if (idealIndex == previousIndex) {
+      return;
+    }
+    if (!isTrackExcluded(previousIndex, nowMs)) {
+      boolean hysteresisElapsed = nowMs - lastSwitchTimeMs >= hysteresisMs;
+      if (idealIndex < previousIndex) {
+        // Switching up: only with enough buffered to absorb a wrong guess.
+        if (bufferedDurationUs < switchUpThresholdUs || !hysteresisElapsed) {
+          return;
+        }
+      } else {
+        // Switching down: only when the buffer is not comfortably full.
+        if (bufferedDurationUs >= switchDownThresholdUs) {
+          return;
+        }
+        if (!hysteresisElapsed && bufferedDurationUs >= emergencyThresholdUs) {
+          return;
+        }
+      }
+    }
+    selectedIndex = idealIndex;
+    selectionReason = C.SELECTION_REASON_ADAPTIVE;
+    lastSwitchTimeMs = nowMs;
+  }
+
+  private int determineIdealIndex(long bufferedDurationUs, long nowMs) {
+    int bufferIndex = determineBufferIndex(bufferedDurationUs, nowMs);
+    if (capByThroughput && bufferedDurationUs < targetBufferUs) {
+      // Higher indices are lower bitrates, so the cap is the larger index.
+      return Math.max(bufferIndex, determineThroughputIndex(nowMs));
+    }
+    return bufferIndex;
+  }
+
+  /** Returns the index of the track with the best BOLA score for the given buffer level. */
+  private int determineBufferIndex(long bufferedDurationUs, long nowMs) {
+    double bufferS = bufferedDurationUs / (double) C.MICROS_PER_SECOND;
+    int bestIndex = C.INDEX_UNSET;
+    double bestScore = 0;
+    for (int i = 0; i < length; i++) {
+      if (isTrackExcluded(i, nowMs)) {
+        continue;
+      }
+      double score = (vp * (utilities[i] + gp) - bufferS) / getBitrate(i);
+      if (bestIndex == C.INDEX_UNSET || score > bestScore) {
+        bestIndex = i;
+        bestScore = score;
+      }
+    }
+    return bestIndex != C.INDEX_UNSET ? bestIndex : selectedIndex;
+  }
+
+  /** Returns the index of the highest bitrate fitting the estimated bandwidth. */
+  private int determineThroughputIndex(long nowMs) {
+    long effectiveBitrate = (long) (bandwidthMeter.getBitrateEstimate() * bandwidthFraction);
+    int lowestBitrateAllowedIndex = 0;
+    for (int i = 0; i < length; i++) {
+      if (isTrackExcluded(i, nowMs)) {
+        continue;
+      }
+      if (getBitrate(i) <= effectiveBitrate) {
+        return i;
+      }
+      lowestBitrateAllowedIndex = i;
+    }
+    return lowestBitrateAllowedIndex;
+  }
+
+  private int getBitrate(int index) {
+    // Tracks without a declared bitrate are scored as the cheapest possible ones.
+    return Math.max(getFormat(index).bitrate, 1);
+  }
+}
@@ -0,0 +1,286 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.ComponentCallbacks2;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.Renderer;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.ExoTrackSelection;
+import com.google.android.exoplayer2.upstream.Allocator;
+import com.google.android.exoplayer2.util.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distributes one buffer memory budget between all the players of the process.
+ *
+ * <p>Each player loads through a {@link BudgetedLoadControl}, which stops loading once the player's
+ * buffers hold its share of the budget. Shares are weighted by what the user is likely looking at:
+ * a visible, playing player gets the largest share, a visible one a smaller share, and a player
+ * that is neither the smallest. Suspended players get no share. However many players share the
+ * budget, each may buffer at least {@link #MIN_PLAYER_BUFFER_BYTES}, so that it can keep playing.
+ *
+ * <p>When the system reports that it is low on memory, the budget is shrunk, and paused players may
+ * be limited to the minimum, for {@link #RESTORE_AFTER_MS}.
+ *
+ * <p>Load controls are asked to load from their players' internal threads, so every method is
+ * thread safe.
+ */
+final class BufferBudgetCoordinator {
+  /** The total buffer memory all players may use until another budget is set. */
+  static final long DEFAULT_BUDGET_BYTES = 96L * 1024 * 1024;
+
+  /** The buffer size every player may fill, even when the budget is smaller. */
+  static final int MIN_PLAYER_BUFFER_BYTES = 2 * 1024 * 1024;
+
+  /** How long the budget stays shrunk after the system last reported low memory. */
+  @VisibleForTesting static final long RESTORE_AFTER_MS = 60_000;
+
+  private static final int FOREGROUND_WEIGHT = 4;
+  private static final int VISIBLE_WEIGHT = 2;
+  private static final int BACKGROUND_WEIGHT = 1;
+
+  @NonNull private final Clock clock;
+  // The load controls of players that have not been released yet.
+  private final List<BudgetedLoadControl> loadControls = new ArrayList<>();
+  private long budgetBytes;
+  // The share of the budget players may use while the system is low on memory, in percent.
+  private int budgetPercent = 100;
+  // Whether paused players are limited to the minimum while the system is low on memory.
+  private boolean pausedPlayersLimited;
+  private long trimmedAtMs;
+
+  /**
+   * Creates a coordinator.
+   *
+   * @param budgetBytes the total buffer memory all players may use.
+   * @param clock the clock timing how long the budget stays shrunk.
+   */
+  BufferBudgetCoordinator(long budgetBytes, @NonNull Clock clock) {
+    this.budgetBytes = budgetBytes;
+    this.clock = clock;
+  }
+
+  /** Sets the total buffer memory all players may use. */
+  synchronized void setBudgetBytes(long budgetBytes) {
+    if (budgetBytes <= 0) {
+      throw new IllegalArgumentException("budgetBytes must be positive, was " + budgetBytes);
+    }
+    this.budgetBytes = budgetBytes;
+  }
+
+  /**
+   * Returns a load control for a new player, limiting the player to its share of the budget.
+   *
+   * <p>The player shares the budget until it is released.
+   *
+   * @param delegate the load control deciding when to load within the player's share.
+   */
+  @NonNull
+  BudgetedLoadControl createLoadControl(@NonNull LoadControl delegate) {
+    BudgetedLoadControl loadControl = new BudgetedLoadControl(delegate);
+    synchronized (this) {
+      loadControls.add(loadControl);
+    }
+    return loadControl;
+  }
+
+  /** Returns the buffer size, in bytes, the player with the given load control may fill. */
+  @VisibleForTesting
+  synchronized int getTargetBufferBytes(@NonNull BudgetedLoadControl loadControl) {
+    if ((budgetPercent < 100 || pausedPlayersLimited)
+        && clock.elapsedRealtime() - trimmedAtMs >= RESTORE_AFTER_MS) {
+      budgetPercent = 100;
+      pausedPlayersLimited = false;
+    }
+    if (pausedPlayersLimited && !loadControl.playing) {
+      return MIN_PLAYER_BUFFER_BYTES;
+    }
+    int totalWeight = 0;
+    for (BudgetedLoadControl control : loadControls) {
+      totalWeight += control.getWeight();
+    }
+    int weight = loadControl.getWeight();
+    if (weight == 0 || totalWeight == 0) {
+      return MIN_PLAYER_BUFFER_BYTES;
+    }
+    long shareBytes = budgetBytes * budgetPercent / 100 * weight / totalWeight;
+    return (int) Math.max(MIN_PLAYER_BUFFER_BYTES, Math.min(Integer.MAX_VALUE, shareBytes));
+  }
+
+  /**
+   * Shrinks the budget for a trim memory level.
+   *
+   * <p>Players over their new share stop loading and play out their buffers.
+   *
+   * @param level the level passed to {@link ComponentCallbacks2#onTrimMemory(int)}.
+   */
+  synchronized void onTrimMemory(int level) {
+    int percent = getBudgetPercent(level);
+    if (percent == 100) {
+      return;
+    }
+    budgetPercent = Math.min(budgetPercent, percent);
+    trimmedAtMs = clock.elapsedRealtime();
+  }
+
+  /**
+   * Frees the memory behind the players' playheads.
+   *
+   * <p>Players keep no back buffer, so the media they have played is discarded right away, but
+   * their allocators hold on to the memory it used for reuse until they are trimmed.
+   *
+   * @return the number of players whose memory was freed.
+   */
+  int trimAllocators() {
+    List<BudgetedLoadControl> controls;
+    synchronized (this) {
+      controls = new ArrayList<>(loadControls);
+    }
+    for (BudgetedLoadControl control : controls) {
+      control.getAllocator().trim();
+    }
+    return controls.size();
+  }
+
+  /** Limits paused players to the minimum buffer until the budget is restored. */
+  synchronized void limitPausedPlayers() {
+    pausedPlayersLimited = true;
+    trimmedAtMs = clock.elapsedRealtime();
+  }
+
+  /** Returns the share of the budget players may use at a trim memory level, in percent. */
+  @VisibleForTesting
+  @SuppressWarnings("deprecation")
+  static int getBudgetPercent(int level) {
+    if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+      // The process is likely to be killed to free memory.
+      return 25;
+    } else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+      // Only means that the app is no longer visible, not that memory is low.
+      return 100;
+    } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+      return 25;
+    } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+      return 50;
+    } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+      return 75;
+    }
+    return 100;
+  }
+
+  private synchronized void removeLoadControl(@NonNull BudgetedLoadControl loadControl) {
+    loadControls.remove(loadControl);
+  }
+
+  /** A {@link LoadControl} that keeps a player's buffers within its share of the budget. */
+  final class BudgetedLoadControl implements LoadControl {
+    @NonNull private final LoadControl delegate;
+    // New players are treated as visible until their visibility is reported, like the player
+    // manager does.
+    private volatile boolean visible = true;
+    private volatile boolean playing;
+    private volatile boolean active = true;
+
+    private BudgetedLoadControl(@NonNull LoadControl delegate) {
+      this.delegate = delegate;
+    }
+
+    /** Sets whether the player's view is visible. */
+    void setVisible(boolean visible) {
+      this.visible = visible;
+    }
+
+    /** Sets whether the player has been asked to play. */
+    void setPlaying(boolean playing) {
+      this.playing = playing;
+    }
+
+    /**
+     * Stops sharing the budget without releasing the player, for a player that could not be built
+     * and so is never released.
+     */
+    void unregister() {
+      removeLoadControl(this);
+    }
+
+    /** Sets whether the player may buffer at all, which a suspended player doesn't. */
+    void setActive(boolean active) {
+      this.active = active;
+    }
+
+    private int getWeight() {
+      if (!active) {
+        return 0;
+      } else if (visible && playing) {
+        return FOREGROUND_WEIGHT;
+      }
+      return visible ? VISIBLE_WEIGHT : BACKGROUND_WEIGHT;
+    }
+
+    private boolean isBudgetReached() {
+      return delegate.getAllocator().getTotalBytesAllocated() >= getTargetBufferBytes(this);
+    }
+
+    @Override
+    public void onPrepared() {
+      delegate.onPrepared();
+    }
+
+    @Override
+    public void onTracksSelected(
+        @NonNull Renderer[] renderers,
+        @NonNull TrackGroupArray trackGroups,
+        @NonNull ExoTrackSelection[] trackSelections) {
+      delegate.onTracksSelected(renderers, trackGroups, trackSelections);
+    }
+
+    @Override
+    public void onStopped() {
+      delegate.onStopped();
+    }
+
+    @Override
+    public void onReleased() {
+      unregister();
+      delegate.onReleased();
+    }
+
+    @NonNull
+    @Override
+    public Allocator getAllocator() {
+      return delegate.getAllocator();
+    }
+
+    @Override
+    public long getBackBufferDurationUs() {
+      return delegate.getBackBufferDurationUs();
+    }
+
+    @Override
+    public boolean retainBackBufferFromKeyframe() {
+      return delegate.retainBackBufferFromKeyframe();
+    }
+
+    @Override
+    public boolean shouldContinueLoading(
+        long playbackPositionUs, long bufferedDurationUs, float playbackSpeed) {
+      return !isBudgetReached()
+          && delegate.shouldContinueLoading(playbackPositionUs, bufferedDurationUs, playbackSpeed);
+    }
+
+    @Override
+    public boolean shouldStartPlayback(
+        long bufferedDurationUs, float playbackSpeed, boolean rebuffering, long targetLiveOffsetUs) {
+      // A player that can't load any more must play what it has, or it would never start.
+      return isBudgetReached()
+          || delegate.shouldStartPlayback(
+              bufferedDurationUs, playbackSpeed, rebuffering, targetLiveOffsetUs);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.Log;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stands in for the {@link VideoPlayerInstanceApi} of a player that is still being created.
+ *
+ * <p>Players created for a texture are built after their IDs have been returned to Dart, which
+ * waits for the player's initialization event before querying it. Calls that arrive earlier are
+ * queued if they return nothing, and replayed in order once the player exists. Calls that return a
+ * value fail instead of waiting, as the player may be created on the very thread they are made on.
+ */
+final class DeferredInstanceApi implements InvocationHandler {
+  private static final String TAG = "DeferredInstanceApi";
+
+  @NonNull private final VideoPlayerInstanceApi proxy;
+  // Guarded by this.
+  @Nullable private VideoPlayerInstanceApi api;
+  @Nullable private RuntimeException creationError;
+  private final List<Call> pendingCalls = new ArrayList<>();
+
+  private static final class Call {
+    @NonNull final Method method;
+    @Nullable final Object[] args;
+
+    Call(@NonNull Method method, @Nullable Object[] args) {
+      this.method = method;
+      this.args = args;
+    }
+  }
+
+  DeferredInstanceApi() {
+    proxy =
+        (VideoPlayerInstanceApi)
+            Proxy.newProxyInstance(
+                VideoPlayerInstanceApi.class.getClassLoader(),
+                new Class<?>[] {VideoPlayerInstanceApi.class},
+                this);
+  }
+
+  /** Returns the API to register for the player until it is created. */
+  @NonNull
+  VideoPlayerInstanceApi getApi() {
+    return proxy;
+  }
+
+  /**
+   * Forwards calls to the created player, starting with the ones queued so far.
+   *
+   * @param api the API of the created player.
+   */
+  void setApi(@NonNull VideoPlayerInstanceApi api) {
+    while (true) {
+      List<Call> calls;
+      synchronized (this) {
+        if (pendingCalls.isEmpty()) {
+          this.api = api;
+          return;
+        }
+        calls = new ArrayList<>(pendingCalls);
+        pendingCalls.clear();
+      }
+      // Calls queued while replaying are replayed on the next pass, so the order is kept.
+      for (Call call : calls) {
+        try {
+          call.method.invoke(api, call.args);
+        } catch (InvocationTargetException e) {
+          // Dart was replied to when the call was queued, so the failure can only be logged.
+          Log.w(TAG, "Deferred call to " + call.method.getName() + " failed.", e.getCause());
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Fails the calls made to a player that could not be created.
+   *
+   * @param error the reason the player could not be created.
+   */
+  synchronized void setCreationError(@NonNull RuntimeException error) {
+    creationError = error;
+    pendingCalls.clear();
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return method.invoke(this, args);
+    }
+    VideoPlayerInstanceApi target;
+    synchronized (this) {
+      if (api == null) {
+        if (creationError != null) {
+          throw new IllegalStateException("The player could not be created.", creationError);
+        }
+        if (method.getReturnType() != void.class) {
+          throw new IllegalStateException(
+              "The player is still being created; wait for it to be initialized.");
+        }
+        pendingCalls.add(new Call(method, args));
+        return null;
+      }
+      target = api;
+    }
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
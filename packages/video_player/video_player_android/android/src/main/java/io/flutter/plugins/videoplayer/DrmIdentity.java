@@ -0,0 +1,116 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Map;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The identity a player presents to the Sigma DRM license server.
+ *
+ * <p>Each player carries its own identity to its {@link WidevineMediaDrmCallback}, so players with
+ * different identities can be created and licensed concurrently.
+ */
+public final class DrmIdentity {
+  static final String MERCHANT_ID = "merchantId";
+  static final String APP_ID = "appId";
+  static final String USER_ID = "userId";
+  static final String SESSION_ID = "sessionId";
+
+  @NonNull private final String merchantId;
+  @NonNull private final String appId;
+  @NonNull private final String userId;
+  @NonNull private final String sessionId;
+
+  public DrmIdentity(
+      @NonNull String merchantId,
+      @NonNull String appId,
+      @NonNull String userId,
+      @NonNull String sessionId) {
+    this.merchantId = merchantId;
+    this.appId = appId;
+    this.userId = userId;
+    this.sessionId = sessionId;
+  }
+
+  /**
+   * Returns the identity described by a player's DRM configuration.
+   *
+   * @param drmConfiguration the DRM configuration passed from Dart.
+   * @return the identity, with empty values for the keys that are not set.
+   */
+  @NonNull
+  static DrmIdentity fromConfiguration(@NonNull Map<String, String> drmConfiguration) {
+    return new DrmIdentity(
+        valueOrEmpty(drmConfiguration.get(MERCHANT_ID)),
+        valueOrEmpty(drmConfiguration.get(APP_ID)),
+        valueOrEmpty(drmConfiguration.get(USER_ID)),
+        valueOrEmpty(drmConfiguration.get(SESSION_ID)));
+  }
+
+  @NonNull
+  private static String valueOrEmpty(@Nullable String value) {
+    return value != null ? value : "";
+  }
+
+  @NonNull
+  public String getMerchantId() {
+    return merchantId;
+  }
+
+  @NonNull
+  public String getAppId() {
+    return appId;
+  }
+
+  @NonNull
+  public String getUserId() {
+    return userId;
+  }
+
+  @NonNull
+  public String getSessionId() {
+    return sessionId;
+  }
+
+  /**
+   * Adds the identity to the custom data of a license request.
+   *
+   * @param customData the custom data sent with the license request.
+   */
+  void addTo(@NonNull JSONObject customData) throws JSONException {
+    customData.put(MERCHANT_ID, merchantId);
+    customData.put(APP_ID, appId);
+    customData.put(USER_ID, userId);
+    customData.put(SESSION_ID, sessionId);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof DrmIdentity)) {
+      return false;
+    }
+    DrmIdentity other = (DrmIdentity) o;
+    return merchantId.equals(other.merchantId)
+        && appId.equals(other.appId)
+        && userId.equals(other.userId)
+        && sessionId.equals(other.sessionId);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = merchantId.hashCode();
+    result = 31 * result + appId.hashCode();
+    result = 31 * result + userId.hashCode();
+    result = 31 * result + sessionId.hashCode();
+    return result;
+  }
+}
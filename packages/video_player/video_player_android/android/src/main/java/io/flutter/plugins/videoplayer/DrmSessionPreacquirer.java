@@ -0,0 +1,186 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.Timeline;
+import com.google.android.exoplayer2.drm.DrmInitData;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.source.dash.manifest.AdaptationSet;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.source.dash.manifest.Period;
+import com.google.android.exoplayer2.source.dash.manifest.Representation;
+import com.google.android.exoplayer2.source.hls.HlsManifest;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMultivariantPlaylist;
+import io.flutter.Log;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Starts acquiring DRM sessions as soon as the manifest a player loaded declares its keys.
+ *
+ * <p>Without it, a session is only opened once the first media segment, or the HLS media playlist
+ * it is listed in, has been parsed, which puts the license round trip on the critical path to the
+ * first frame. The Widevine init data of HLS session keys ({@code #EXT-X-SESSION-KEY}) and of PSSH
+ * boxes in DASH manifests is known before that, so its sessions are pre-acquired while the first
+ * segments load. The session manager reuses them when the media asks for the same init data.
+ *
+ * <p>All methods must be called on the player's application thread.
+ */
+final class DrmSessionPreacquirer implements Player.Listener {
+  private static final String TAG = "DrmSessionPreacquirer";
+
+  @NonNull private final ExoPlayer exoPlayer;
+  @NonNull private final DrmSessionManager drmSessionManager;
+  // The sessions pre-acquired for the init data of the current manifest.
+  @NonNull
+  private final Map<DrmInitData, DrmSessionManager.DrmSessionReference> references =
+      new HashMap<>();
+  // The manifest the sessions were pre-acquired for, to notice when the player loads another one.
+  @Nullable private Object manifest;
+  private boolean released;
+
+  /**
+   * Creates a preacquirer, and starts listening to the player from its application thread.
+   *
+   * @param exoPlayer the player whose manifests declare the keys.
+   * @param drmSessionManager the session manager the player's media sources acquire sessions from.
+   */
+  DrmSessionPreacquirer(
+      @NonNull ExoPlayer exoPlayer, @NonNull DrmSessionManager drmSessionManager) {
+    this.exoPlayer = exoPlayer;
+    this.drmSessionManager = drmSessionManager;
+    PlayerThread.post(
+        exoPlayer,
+        () -> {
+          if (!released) {
+            exoPlayer.addListener(this);
+            preacquireSessions();
+          }
+        });
+  }
+
+  @Override
+  public void onTimelineChanged(@NonNull Timeline timeline, int reason) {
+    preacquireSessions();
+  }
+
+  /** Stops listening to the player, and releases the sessions it pre-acquired. */
+  void release() {
+    released = true;
+    exoPlayer.removeListener(this);
+    for (DrmSessionManager.DrmSessionReference reference : references.values()) {
+      reference.release();
+    }
+    references.clear();
+  }
+
+  private void preacquireSessions() {
+    Object currentManifest = exoPlayer.getCurrentManifest();
+    if (currentManifest == null || currentManifest == manifest) {
+      return;
+    }
+    manifest = currentManifest;
+    Set<DrmInitData> initData = getWidevineInitData(currentManifest);
+    // Keys the manifest no longer declares, such as those of past live periods, are not kept open.
+    Iterator<Map.Entry<DrmInitData, DrmSessionManager.DrmSessionReference>> iterator =
+        references.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<DrmInitData, DrmSessionManager.DrmSessionReference> entry = iterator.next();
+      if (!initData.contains(entry.getKey())) {
+        entry.getValue().release();
+        iterator.remove();
+      }
+    }
+    for (DrmInitData data : initData) {
+      if (references.containsKey(data)) {
+        continue;
+      }
+      Format format = new Format.Builder().setDrmInitData(data).build();
+      try {
+        references.put(data, drmSessionManager.preacquireSession(null, format));
+      } catch (IllegalStateException e) {
+        // The media source released the manager, e.g. because the player was stopped.
+        Log.w(TAG, "Failed to pre-acquire a DRM session", e);
+        return;
+      }
+    }
+  }
+
+  @NonNull
+  private static Set<DrmInitData> getWidevineInitData(@NonNull Object manifest) {
+    if (manifest instanceof HlsManifest) {
+      return getWidevineInitData(((HlsManifest) manifest).multivariantPlaylist);
+    } else if (manifest instanceof DashManifest) {
+      return getWidevineInitData((DashManifest) manifest);
+    }
+    return new LinkedHashSet<>();
+  }
+
+  /**
+   * Returns the init data of the Widevine session keys of an HLS multivariant playlist.
+   *
+   * <p>Only init data holding a PSSH box is returned, since a session can't be opened without one.
+   *
+   * @param playlist the multivariant playlist.
+   * @return the distinct init data, in the order the playlist declares them.
+   */
+  @VisibleForTesting
+  @NonNull
+  static Set<DrmInitData> getWidevineInitData(@NonNull HlsMultivariantPlaylist playlist) {
+    Set<DrmInitData> initData = new LinkedHashSet<>();
+    for (DrmInitData data : playlist.sessionKeyDrmInitData) {
+      addIfWidevine(initData, data);
+    }
+    return initData;
+  }
+
+  /**
+   * Returns the init data of the Widevine keys a DASH manifest declares in its content protection
+   * elements.
+   *
+   * <p>Only init data holding a PSSH box is returned, since a session can't be opened without one.
+   *
+   * @param manifest the manifest.
+   * @return the distinct init data, in the order the manifest declares them.
+   */
+  @VisibleForTesting
+  @NonNull
+  static Set<DrmInitData> getWidevineInitData(@NonNull DashManifest manifest) {
+    Set<DrmInitData> initData = new LinkedHashSet<>();
+    for (int i = 0; i < manifest.getPeriodCount(); i++) {
+      Period period = manifest.getPeriod(i);
+      for (AdaptationSet adaptationSet : period.adaptationSets) {
+        for (Representation representation : adaptationSet.representations) {
+          addIfWidevine(initData, representation.format.drmInitData);
+        }
+      }
+    }
+    return initData;
+  }
+
+  private static void addIfWidevine(
+      @NonNull Set<DrmInitData> initData, @Nullable DrmInitData data) {
+    if (data == null) {
+      return;
+    }
+    for (int i = 0; i < data.schemeDataCount; i++) {
+      DrmInitData.SchemeData schemeData = data.get(i);
+      if (schemeData.matches(C.WIDEVINE_UUID) && schemeData.hasData()) {
+        initData.add(data);
+        return;
+      }
+    }
+  }
+}
@@ -7,6 +7,8 @@ package io.flutter.plugins.videoplayer;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.MediaItem;
 import com.google.android.exoplayer2.PlaybackException;
 import com.google.android.exoplayer2.Player;
 import com.google.android.exoplayer2.Tracks;
@@ -14,6 +16,9 @@ import com.google.android.exoplayer2.ExoPlayer;
 
 public abstract class ExoPlayerEventListener implements Player.Listener {
   private boolean isInitialized = false;
+  // Whether initialization is reported from the tracks of the manifest, for players that do not
+  // load media, and so do not become ready, until they are played.
+  private boolean initializeFromTracks = false;
   protected final ExoPlayer exoPlayer;
   protected final VideoPlayerCallbacks events;
 
@@ -51,6 +56,17 @@ public abstract class ExoPlayerEventListener implements Player.Listener {
 
   protected abstract void sendInitialized();
 
+  /**
+   * Sets whether initialization is reported as soon as the tracks of the media are known, rather
+   * than once the player is ready.
+   *
+   * <p>The size is then that of the video track the player selected, as declared by the manifest,
+   * and no rotation correction is reported.
+   */
+  void setInitializeFromTracks(boolean initializeFromTracks) {
+    this.initializeFromTracks = initializeFromTracks;
+  }
+
   @Override
   public void onPlaybackStateChanged(final int playbackState) {
     PlatformPlaybackState platformState = PlatformPlaybackState.UNKNOWN;
@@ -92,11 +108,56 @@ public abstract class ExoPlayerEventListener implements Player.Listener {
     events.onIsPlayingStateUpdate(isPlaying);
   }
 
+  @Override
+  public void onMediaItemTransition(@Nullable MediaItem mediaItem, int reason) {
+    events.onMediaItemTransition(exoPlayer.getCurrentMediaItemIndex());
+  }
+
   @Override
   public void onTracksChanged(@NonNull Tracks tracks) {
     // Find the currently selected audio track and notify
     String selectedTrackId = findSelectedAudioTrackId(tracks);
     events.onAudioTrackChanged(selectedTrackId);
+    if (initializeFromTracks && !isInitialized && !tracks.isEmpty()) {
+      isInitialized = true;
+      sendInitializedFromTracks(tracks);
+    }
+  }
+
+  private void sendInitializedFromTracks(@NonNull Tracks tracks) {
+    Format videoFormat = findLargestSelectedVideoFormat(tracks);
+    int width = 0;
+    int height = 0;
+    if (videoFormat != null && videoFormat.width != Format.NO_VALUE) {
+      boolean portrait = videoFormat.rotationDegrees == 90 || videoFormat.rotationDegrees == 270;
+      width = portrait ? videoFormat.height : videoFormat.width;
+      height = portrait ? videoFormat.width : videoFormat.height;
+    }
+    events.onInitialized(width, height, exoPlayer.getDuration(), 0);
+  }
+
+  /**
+   * Finds the format of the largest video track selected, which adaptive streams switch between.
+   *
+   * @param tracks The current tracks
+   * @return The format, or null if no video track is selected
+   */
+  @Nullable
+  private static Format findLargestSelectedVideoFormat(@NonNull Tracks tracks) {
+    Format largest = null;
+    for (Tracks.Group group : tracks.getGroups()) {
+      if (group.getType() != C.TRACK_TYPE_VIDEO) {
+        continue;
+      }
+      for (int i = 0; i < group.length; i++) {
+        Format format = group.getTrackFormat(i);
+        if (group.isTrackSelected(i)
+            && (largest == null || format.width * format.height > largest.width * largest.height)) {
+          largest = format;
+        }
+      }
+    }
+    return largest;
   }
 
   /**
@@ -0,0 +1,92 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.Renderer;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.ExoTrackSelection;
+import com.google.android.exoplayer2.upstream.Allocator;
+
+/**
+ * A {@link LoadControl} that keeps a player from loading media until it is opened.
+ *
+ * <p>While closed, the player still loads its manifest and prepares its media, so that its tracks
+ * and duration are known, but loads no segments. Once opened, it behaves like the load control it
+ * wraps.
+ */
+final class GatedLoadControl implements LoadControl {
+  @NonNull private final LoadControl delegate;
+  // Read on the player's internal thread.
+  private volatile boolean open;
+
+  GatedLoadControl(@NonNull LoadControl delegate) {
+    this.delegate = delegate;
+  }
+
+  /** Lets the player load media from now on. The player notices on its next loading decision. */
+  void open() {
+    open = true;
+  }
+
+  boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void onPrepared() {
+    delegate.onPrepared();
+  }
+
+  @Override
+  public void onTracksSelected(
+      @NonNull Renderer[] renderers,
+      @NonNull TrackGroupArray trackGroups,
+      @NonNull ExoTrackSelection[] trackSelections) {
+    delegate.onTracksSelected(renderers, trackGroups, trackSelections);
+  }
+
+  @Override
+  public void onStopped() {
+    delegate.onStopped();
+  }
+
+  @Override
+  public void onReleased() {
+    delegate.onReleased();
+  }
+
+  @NonNull
+  @Override
+  public Allocator getAllocator() {
+    return delegate.getAllocator();
+  }
+
+  @Override
+  public long getBackBufferDurationUs() {
+    return delegate.getBackBufferDurationUs();
+  }
+
+  @Override
+  public boolean retainBackBufferFromKeyframe() {
+    return delegate.retainBackBufferFromKeyframe();
+  }
+
+  @Override
+  public boolean shouldContinueLoading(
+      long playbackPositionUs, long bufferedDurationUs, float playbackSpeed) {
+    return open
+        && delegate.shouldContinueLoading(playbackPositionUs, bufferedDurationUs, playbackSpeed);
+  }
+
+  @Override
+  public boolean shouldStartPlayback(
+      long bufferedDurationUs, float playbackSpeed, boolean rebuffering, long targetLiveOffsetUs) {
+    return open
+        && delegate.shouldStartPlayback(
+            bufferedDurationUs, playbackSpeed, rebuffering, targetLiveOffsetUs);
+  }
+}
@@ -5,6 +5,7 @@
 package io.flutter.plugins.videoplayer;
 
 import android.content.Context;
+import android.net.Uri;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
@@ -22,20 +23,31 @@ import com.sigma.packer.SigmaMediaDrm;
 import com.google.android.exoplayer2.upstream.DataSource;
 import com.google.android.exoplayer2.upstream.DefaultDataSource;
 import com.google.android.exoplayer2.upstream.DefaultHttpDataSource;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
 import com.google.android.exoplayer2.util.MimeTypes;
 
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 final class HttpVideoAsset extends VideoAsset {
   @NonNull private final StreamingFormat streamingFormat;
   @NonNull private final Map<String, String> httpHeaders;
   @NonNull private final Map<String, String> drmConfiguration;
+  // The identity used for this asset's licenses, independent of other players.
+  @NonNull private final DrmIdentity drmIdentity;
   @Nullable private final String userAgent;
 
-  private final String DEFAULT_LICENSE_SERVER_URL = "https://license.sigmadrm.com/license/verify/widevine";
+  private static final String DEFAULT_LICENSE_SERVER_URL =
+      "https://license.sigmadrm.com/license/verify/widevine";
 
   private DataSource.Factory dataSourceFactory = null;
+  // Shared by every media source created for this asset, so that playlist items protected with
+  // the same key reuse the sessions already opened.
+  @Nullable private DrmSessionManager drmSessionManager;
+  // The priority of the player's media loads, if it shares the network with other loads.
+  @Nullable private NetworkPriorityScheduler.LoadPriority loadPriority;
 
   HttpVideoAsset(
       @Nullable String assetUrl,
@@ -47,6 +59,7 @@ final class HttpVideoAsset extends VideoAsset {
     this.streamingFormat = streamingFormat;
     this.httpHeaders = httpHeaders;
     this.drmConfiguration = drmConfiguration;
+    this.drmIdentity = DrmIdentity.fromConfiguration(drmConfiguration);
     this.userAgent = userAgent;
     this.dataSourceFactory = null;
   }
@@ -93,26 +106,141 @@ final class HttpVideoAsset extends VideoAsset {
           Context context, DefaultHttpDataSource.Factory initialFactory) {
     unstableUpdateDataSourceFactory(initialFactory, httpHeaders, userAgent);
     dataSourceFactory = new DefaultDataSource.Factory(context, initialFactory);
-    return new DefaultMediaSourceFactory(context).setDataSourceFactory(dataSourceFactory)
-            .setDrmSessionManagerProvider(this::createDrmSessionManager);
+    // Manifests are served from the cache when another player already loaded them; license
+    // requests go straight to the network.
+    Uri manifestUri =
+        streamingFormat != StreamingFormat.UNKNOWN && assetUrl != null
+            ? Uri.parse(assetUrl)
+            : null;
+    // Media loads wait while the foreground player is short of buffer, license requests don't.
+    DataSource.Factory upstreamFactory =
+        loadPriority != null
+            ? loadPriority.createDataSourceFactory(dataSourceFactory)
+            : dataSourceFactory;
+    // Segments prefetched for this video are read from the cache; the player doesn't add to it.
+    // Until something has been prefetched, the cache isn't opened just to be looked up.
+    Cache segmentCache = SegmentCache.getInstanceIfCreated();
+    DataSource.Factory segmentDataSourceFactory =
+        segmentCache != null
+            ? new CacheDataSource.Factory()
+                .setCache(segmentCache)
+                .setUpstreamDataSourceFactory(upstreamFactory)
+                .setCacheWriteDataSinkFactory(null)
+                .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+            : upstreamFactory;
+    DataSource.Factory mediaDataSourceFactory =
+        new ManifestCachingDataSource.Factory(
+            ManifestCache.getInstance(context),
+            segmentDataSourceFactory,
+            manifestUri,
+            getRequestIdentity());
+    return new DefaultMediaSourceFactory(context).setDataSourceFactory(mediaDataSourceFactory)
+            .setDrmSessionManagerProvider(this::getDrmSessionManager);
+  }
+
+  @NonNull
+  StreamingFormat getStreamingFormat() {
+    return streamingFormat;
+  }
+
+  @Override
+  void setLoadPriority(@NonNull NetworkPriorityScheduler.LoadPriority loadPriority) {
+    this.loadPriority = loadPriority;
+  }
+
+  @NonNull
+  @Override
+  DataSource.Factory getDataSourceFactory(@NonNull Context context) {
+    DefaultHttpDataSource.Factory httpDataSourceFactory = new DefaultHttpDataSource.Factory();
+    unstableUpdateDataSourceFactory(httpDataSourceFactory, httpHeaders, userAgent);
+    return new DefaultDataSource.Factory(context, httpDataSourceFactory);
+  }
+
+  @Override
+  boolean canShareMediaSourceFactoryWith(@NonNull VideoAsset other) {
+    if (!(other instanceof HttpVideoAsset)) {
+      return false;
+    }
+    HttpVideoAsset otherAsset = (HttpVideoAsset) other;
+    return httpHeaders.equals(otherAsset.httpHeaders)
+        && drmConfiguration.equals(otherAsset.drmConfiguration)
+        && Util.areEqual(userAgent, otherAsset.userAgent);
+  }
+
+  /**
+   * Returns a hash of what this asset's requests carry besides their URI: the properties {@link
+   * #canShareMediaSourceFactoryWith} compares.
+   *
+   * <p>Manifests fetched with one identity are not served to players with another, since the
+   * server may answer requests with different authorization headers or DRM identities differently.
+   *
+   * @return the hash, or an empty string if the requests carry nothing but their URI.
+   */
+  @NonNull
+  String getRequestIdentity() {
+    if (httpHeaders.isEmpty() && drmConfiguration.isEmpty() && userAgent == null) {
+      return "";
+    }
+    StringBuilder identity = new StringBuilder();
+    appendEntries(identity, 'h', httpHeaders);
+    appendEntries(identity, 'd', drmConfiguration);
+    if (userAgent != null) {
+      appendValue(identity.append('u'), userAgent);
+    }
+    return ManifestCache.hash(identity.toString());
+  }
+
+  private static void appendEntries(
+      @NonNull StringBuilder identity, char kind, @NonNull Map<String, String> entries) {
+    for (Map.Entry<String, String> entry : new TreeMap<>(entries).entrySet()) {
+      identity.append(kind);
+      appendValue(identity, entry.getKey());
+      appendValue(identity, String.valueOf(entry.getValue()));
+    }
+  }
+
+  // Length-prefixed, so that no two different sets of values produce the same identity.
+  private static void appendValue(@NonNull StringBuilder identity, @NonNull String value) {
+    identity.append(value.length()).append(':').append(value);
+  }
+
+  @Nullable
+  @Override
+  DrmSessionManager getSharedDrmSessionManager() {
+    return drmSessionManager;
+  }
+
+  @VisibleForTesting
+  @NonNull
+  DrmIdentity getDrmIdentity() {
+    return drmIdentity;
+  }
+
+  private DrmSessionManager getDrmSessionManager(MediaItem mediaItem) {
+    MediaItem.DrmConfiguration itemDrmConfiguration =
+        mediaItem.localConfiguration != null ? mediaItem.localConfiguration.drmConfiguration : null;
+    if (itemDrmConfiguration != null && itemDrmConfiguration.getKeySetId() != null) {
+      // Offline keys are bound to a single item, so they can't use the shared manager.
+      return createDrmSessionManager(mediaItem);
+    }
+    if (drmSessionManager == null) {
+      drmSessionManager = createDrmSessionManager(mediaItem);
+    }
+    return drmSessionManager;
   }
 
   private DrmSessionManager createDrmSessionManager(MediaItem mediaItem) {
     DefaultDrmSessionManager drmSessionManager;
     if (Util.SDK_INT >= 18) {
-      UUID drmSchemeUuid = Assertions.checkNotNull(C.WIDEVINE_UUID);
-      String licenseServerUrl = drmConfiguration.get("licenseServerUrl") != null ? drmConfiguration.get("licenseServerUrl") : DEFAULT_LICENSE_SERVER_URL;
       byte[] offlineLicenseKeySetId = null;
       assert mediaItem.localConfiguration != null;
       MediaItem.DrmConfiguration drmConfiguration = mediaItem.localConfiguration.drmConfiguration;
       if (drmConfiguration != null) {
         offlineLicenseKeySetId = drmConfiguration.getKeySetId();
       }
-      MediaDrmCallback drmCallback = createMediaDrmCallback(licenseServerUrl, null);
-      drmSessionManager = new DefaultDrmSessionManager.Builder()
-              .setMultiSession(true)
-              .setUuidAndExoMediaDrmProvider(drmSchemeUuid, SigmaMediaDrm.DEFAULT_PROVIDER)
-              .build(drmCallback);
+      drmSessionManager =
+          createSigmaDrmSessionManager(
+              drmIdentity, this.drmConfiguration.get("licenseServerUrl"), dataSourceFactory);
       drmSessionManager.setMode(DefaultDrmSessionManager.MODE_PLAYBACK, offlineLicenseKeySetId);
     } else {
       drmSessionManager = (DefaultDrmSessionManager) DrmSessionManager.DRM_UNSUPPORTED;
@@ -121,15 +249,43 @@ final class HttpVideoAsset extends VideoAsset {
     return drmSessionManager;
   }
 
-  private WidevineMediaDrmCallback createMediaDrmCallback(String licenseUrl, String[] keyRequestPropertiesArray) {
-    WidevineMediaDrmCallback drmCallback = new WidevineMediaDrmCallback(licenseUrl, dataSourceFactory);
-    if (keyRequestPropertiesArray != null) {
-      for (int i = 0; i < keyRequestPropertiesArray.length - 1; i += 2) {
-        drmCallback.setKeyRequestProperty(keyRequestPropertiesArray[i],
-                keyRequestPropertiesArray[i + 1]);
-      }
-    }
-    return drmCallback;
+  /**
+   * Returns a session manager requesting Widevine licenses from the Sigma license server.
+   *
+   * <p>Sessions are opened for playback; callers downloading or releasing offline licenses set
+   * another mode before using it.
+   *
+   * @param drmConfiguration the DRM configuration passed from Dart, holding the license server URL
+   *     and the identity sent with each license request.
+   * @param licenseDataSourceFactory the factory of the data sources license requests are sent
+   *     through.
+   * @return the session manager.
+   */
+  @NonNull
+  static DefaultDrmSessionManager createSigmaDrmSessionManager(
+      @NonNull Map<String, String> drmConfiguration,
+      @NonNull DataSource.Factory licenseDataSourceFactory) {
+    return createSigmaDrmSessionManager(
+        DrmIdentity.fromConfiguration(drmConfiguration),
+        drmConfiguration.get("licenseServerUrl"),
+        licenseDataSourceFactory);
+  }
+
+  @NonNull
+  private static DefaultDrmSessionManager createSigmaDrmSessionManager(
+      @NonNull DrmIdentity identity,
+      @Nullable String licenseServerUrl,
+      @NonNull DataSource.Factory licenseDataSourceFactory) {
+    UUID drmSchemeUuid = Assertions.checkNotNull(C.WIDEVINE_UUID);
+    MediaDrmCallback drmCallback =
+        new WidevineMediaDrmCallback(
+            identity,
+            licenseServerUrl != null ? licenseServerUrl : DEFAULT_LICENSE_SERVER_URL,
+            licenseDataSourceFactory);
+    return new DefaultDrmSessionManager.Builder()
+        .setMultiSession(true)
+        .setUuidAndExoMediaDrmProvider(drmSchemeUuid, SigmaMediaDrm.DEFAULT_PROVIDER)
+        .build(drmCallback);
   }
 
   // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
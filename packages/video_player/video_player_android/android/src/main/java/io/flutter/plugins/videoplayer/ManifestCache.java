@@ -0,0 +1,425 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.util.Clock;
+import com.google.android.exoplayer2.util.Util;
+import io.flutter.Log;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the DASH manifests and HLS playlists players have loaded, in memory and on disk, so that
+ * creating another player for the same video skips the manifest request that precedes every
+ * segment and license request.
+ *
+ * <p>Manifests of on-demand videos are kept with their ETag and Last-Modified validators, served
+ * from the cache, and revalidated in the background with a conditional request once they are older
+ * than {@link #REVALIDATE_AFTER_MS}. Manifests of live streams are only kept until the player would
+ * refresh them anyway, and responses marked {@code no-store} are not kept at all.
+ *
+ * <p>This class is thread-safe.
+ */
+final class ManifestCache {
+  /** A cached manifest. */
+  static final class Entry {
+    @NonNull final byte[] body;
+    // The URI the manifest was served from after redirects, which relative URLs resolve against.
+    @NonNull final String uri;
+    @Nullable final String etag;
+    @Nullable final String lastModified;
+    // When the body was fetched or last revalidated.
+    final long validatedAtMs;
+    // When a live manifest stops being served, or C.TIME_UNSET for on-demand ones.
+    final long expiresAtMs;
+
+    Entry(
+        @NonNull byte[] body,
+        @NonNull String uri,
+        @Nullable String etag,
+        @Nullable String lastModified,
+        long validatedAtMs,
+        long expiresAtMs) {
+      this.body = body;
+      this.uri = uri;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.validatedAtMs = validatedAtMs;
+      this.expiresAtMs = expiresAtMs;
+    }
+  }
+
+  private static final String TAG = "ManifestCache";
+  private static final String DIRECTORY = "video_player_manifests";
+  private static final String FILE_SUFFIX = ".manifest";
+  private static final int FILE_VERSION = 1;
+  @VisibleForTesting static final long REVALIDATE_AFTER_MS = 60_000;
+  private static final int MAX_MEMORY_BYTES = 2 * 1024 * 1024;
+  private static final int MAX_DISK_ENTRIES = 64;
+  private static final long REVALIDATION_KEEP_ALIVE_SECONDS = 10;
+
+  private static final Pattern DASH_DYNAMIC = Pattern.compile("type\\s*=\\s*\"dynamic\"");
+  private static final Pattern DASH_MINIMUM_UPDATE_PERIOD =
+      Pattern.compile("minimumUpdatePeriod\\s*=\\s*\"([^\"]+)\"");
+  private static final Pattern HLS_TARGET_DURATION =
+      Pattern.compile("#EXT-X-TARGETDURATION:\\s*(\\d+)");
+
+  @Nullable private static ManifestCache instance;
+
+  @NonNull private final File directory;
+  @NonNull private final Clock clock;
+  @NonNull private final Executor revalidationExecutor;
+  // In access order, so that the least recently used manifests are evicted first.
+  private final LinkedHashMap<String, Entry> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Set<String> revalidatingKeys = new HashSet<>();
+  private int memoryBytes;
+
+  /** Returns the cache of this process, creating it on first use. */
+  @NonNull
+  static synchronized ManifestCache getInstance(@NonNull Context context) {
+    if (instance == null) {
+      instance =
+          new ManifestCache(
+              new File(context.getApplicationContext().getCacheDir(), DIRECTORY), Clock.DEFAULT);
+    }
+    return instance;
+  }
+
+  /** Returns the cache of this process if it has been created. */
+  @Nullable
+  static synchronized ManifestCache getInstanceIfCreated() {
+    return instance;
+  }
+
+  private ManifestCache(@NonNull File directory, @NonNull Clock clock) {
+    this(directory, clock, createRevalidationExecutor());
+  }
+
+  @VisibleForTesting
+  ManifestCache(
+      @NonNull File directory, @NonNull Clock clock, @NonNull Executor revalidationExecutor) {
+    this.directory = directory;
+    this.clock = clock;
+    this.revalidationExecutor = revalidationExecutor;
+  }
+
+  @NonNull
+  private static Executor createRevalidationExecutor() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            REVALIDATION_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> new Thread(runnable, "VideoManifestRevalidator"));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /** Returns the executor background revalidations run on. */
+  @NonNull
+  Executor getRevalidationExecutor() {
+    return revalidationExecutor;
+  }
+
+  /**
+   * Returns the cached manifest for a key, or {@code null} if there is none that may be served.
+   *
+   * @param key the key of the manifest: its URI, and the identity of the requests that fetch it.
+   */
+  @Nullable
+  synchronized Entry get(@NonNull String key) {
+    Entry entry = memoryEntries.get(key);
+    if (entry == null) {
+      entry = readFromDisk(key);
+      if (entry != null) {
+        putInMemory(key, entry);
+      }
+    }
+    if (entry != null && entry.expiresAtMs != C.TIME_UNSET
+        && clock.currentTimeMillis() >= entry.expiresAtMs) {
+      remove(key);
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Caches a fetched manifest, if it may be cached.
+   *
+   * @param key the key of the manifest.
+   * @param body the body of the response.
+   * @param uri the URI the response was served from, after redirects.
+   * @param responseHeaders the headers of the response, holding its validators.
+   * @return whether the manifest was cached.
+   */
+  synchronized boolean put(
+      @NonNull String key,
+      @NonNull byte[] body,
+      @NonNull String uri,
+      @NonNull Map<String, List<String>> responseHeaders) {
+    String cacheControl = getHeader(responseHeaders, "Cache-Control");
+    if (cacheControl != null && cacheControl.toLowerCase(Locale.US).contains("no-store")) {
+      remove(key);
+      return false;
+    }
+    long nowMs = clock.currentTimeMillis();
+    long maxAgeMs = getMaxAgeMs(body);
+    if (maxAgeMs == 0) {
+      remove(key);
+      return false;
+    }
+    Entry entry =
+        new Entry(
+            body,
+            uri,
+            getHeader(responseHeaders, "ETag"),
+            getHeader(responseHeaders, "Last-Modified"),
+            nowMs,
+            maxAgeMs == C.TIME_UNSET ? C.TIME_UNSET : nowMs + maxAgeMs);
+    putInMemory(key, entry);
+    writeToDisk(key, entry);
+    return true;
+  }
+
+  /** Records that a cached manifest was found unchanged by a conditional request. */
+  synchronized void markValidated(@NonNull String key) {
+    Entry entry = memoryEntries.get(key);
+    if (entry == null) {
+      entry = readFromDisk(key);
+    }
+    if (entry == null) {
+      return;
+    }
+    Entry validated =
+        new Entry(
+            entry.body,
+            entry.uri,
+            entry.etag,
+            entry.lastModified,
+            clock.currentTimeMillis(),
+            entry.expiresAtMs);
+    putInMemory(key, validated);
+    writeToDisk(key, validated);
+  }
+
+  /**
+   * Returns whether a cached manifest should be revalidated, and if so marks it as being
+   * revalidated until {@link #finishRevalidation} is called.
+   */
+  synchronized boolean startRevalidation(@NonNull String key, @NonNull Entry entry) {
+    if (entry.expiresAtMs != C.TIME_UNSET
+        || clock.currentTimeMillis() - entry.validatedAtMs < REVALIDATE_AFTER_MS) {
+      // Live manifests expire before they would need revalidating.
+      return false;
+    }
+    return revalidatingKeys.add(key);
+  }
+
+  synchronized void finishRevalidation(@NonNull String key) {
+    revalidatingKeys.remove(key);
+  }
+
+  synchronized void remove(@NonNull String key) {
+    Entry entry = memoryEntries.remove(key);
+    if (entry != null) {
+      memoryBytes -= entry.body.length;
+    }
+    File file = getFile(key);
+    if (file.exists() && !file.delete()) {
+      Log.w(TAG, "Failed to delete " + file);
+    }
+  }
+
+  /**
+   * Frees the manifests kept in memory. They are still served from disk.
+   *
+   * @return whether any manifests were kept in memory.
+   */
+  synchronized boolean trimMemory() {
+    boolean cached = !memoryEntries.isEmpty();
+    memoryEntries.clear();
+    memoryBytes = 0;
+    return cached;
+  }
+
+  /**
+   * Returns how long a manifest may be cached.
+   *
+   * @param body the manifest.
+   * @return {@link C#TIME_UNSET} for manifests of on-demand videos, which may be kept until they
+   *     change, the refresh interval of live manifests, or 0 for responses that are not manifests
+   *     or whose refresh interval is unknown.
+   */
+  @VisibleForTesting
+  static long getMaxAgeMs(@NonNull byte[] body) {
+    String manifest = new String(body, StandardCharsets.UTF_8);
+    if (manifest.contains("<MPD")) {
+      if (!DASH_DYNAMIC.matcher(manifest).find()) {
+        return C.TIME_UNSET;
+      }
+      Matcher updatePeriod = DASH_MINIMUM_UPDATE_PERIOD.matcher(manifest);
+      return updatePeriod.find() ? Math.max(Util.parseXsDuration(updatePeriod.group(1)), 0) : 0;
+    }
+    if (manifest.startsWith("#EXTM3U")) {
+      if (manifest.contains("#EXT-X-STREAM-INF") || manifest.contains("#EXT-X-ENDLIST")) {
+        // Multivariant playlists and ended media playlists only change when they are replaced.
+        return C.TIME_UNSET;
+      }
+      // The player reloads live media playlists as often as every half target duration.
+      Matcher targetDuration = HLS_TARGET_DURATION.matcher(manifest);
+      return targetDuration.find() ? Long.parseLong(targetDuration.group(1)) * 1000 / 2 : 0;
+    }
+    return 0;
+  }
+
+  @Nullable
+  private static String getHeader(
+      @NonNull Map<String, List<String>> headers, @NonNull String name) {
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+        return header.getValue().get(0);
+      }
+    }
+    return null;
+  }
+
+  private void putInMemory(@NonNull String key, @NonNull Entry entry) {
+    Entry previous = memoryEntries.put(key, entry);
+    if (previous != null) {
+      memoryBytes -= previous.body.length;
+    }
+    memoryBytes += entry.body.length;
+    Iterator<Entry> entries = memoryEntries.values().iterator();
+    while (memoryBytes > MAX_MEMORY_BYTES && entries.hasNext()) {
+      Entry evicted = entries.next();
+      if (evicted == entry) {
+        break;
+      }
+      memoryBytes -= evicted.body.length;
+      entries.remove();
+    }
+  }
+
+  @Nullable
+  private Entry readFromDisk(@NonNull String key) {
+    File file = getFile(key);
+    if (!file.exists()) {
+      return null;
+    }
+    try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+      if (input.readInt() != FILE_VERSION || !key.equals(input.readUTF())) {
+        return null;
+      }
+      String uri = input.readUTF();
+      String etag = input.readBoolean() ? input.readUTF() : null;
+      String lastModified = input.readBoolean() ? input.readUTF() : null;
+      long validatedAtMs = input.readLong();
+      long expiresAtMs = input.readLong();
+      byte[] body = new byte[input.readInt()];
+      input.readFully(body);
+      return new Entry(body, uri, etag, lastModified, validatedAtMs, expiresAtMs);
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to read cached manifest " + file, e);
+      return null;
+    }
+  }
+
+  private void writeToDisk(@NonNull String key, @NonNull Entry entry) {
+    if (!directory.exists() && !directory.mkdirs()) {
+      Log.w(TAG, "Failed to create " + directory);
+      return;
+    }
+    File file = getFile(key);
+    try (DataOutputStream output = new DataOutputStream(new FileOutputStream(file))) {
+      output.writeInt(FILE_VERSION);
+      output.writeUTF(key);
+      output.writeUTF(entry.uri);
+      writeOptionalString(output, entry.etag);
+      writeOptionalString(output, entry.lastModified);
+      output.writeLong(entry.validatedAtMs);
+      output.writeLong(entry.expiresAtMs);
+      output.writeInt(entry.body.length);
+      output.write(entry.body);
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to write cached manifest " + file, e);
+      if (file.exists() && !file.delete()) {
+        Log.w(TAG, "Failed to delete " + file);
+      }
+      return;
+    }
+    trimDisk();
+  }
+
+  private static void writeOptionalString(
+      @NonNull DataOutputStream output, @Nullable String value) throws IOException {
+    output.writeBoolean(value != null);
+    if (value != null) {
+      output.writeUTF(value);
+    }
+  }
+
+  /** Deletes the least recently written manifests beyond {@link #MAX_DISK_ENTRIES}. */
+  private void trimDisk() {
+    File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+    if (files == null || files.length <= MAX_DISK_ENTRIES) {
+      return;
+    }
+    Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+    for (int i = 0; i < files.length - MAX_DISK_ENTRIES; i++) {
+      if (!files[i].delete()) {
+        Log.w(TAG, "Failed to delete " + files[i]);
+      }
+    }
+  }
+
+  @NonNull
+  private File getFile(@NonNull String key) {
+    return new File(directory, hash(key) + FILE_SUFFIX);
+  }
+
+  /** Returns the hex-encoded SHA-256 hash of a string. */
+  @NonNull
+  static String hash(@NonNull String value) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hash = new StringBuilder();
+      for (byte b : digest) {
+        hash.append(String.format(Locale.US, "%02x", b));
+      }
+      return hash.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
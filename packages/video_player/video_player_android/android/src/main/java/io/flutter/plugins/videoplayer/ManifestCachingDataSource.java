@@ -0,0 +1,256 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.HttpDataSource;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.util.Util;
+import io.flutter.Log;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Serves DASH manifests and HLS playlists from a {@link ManifestCache}, and everything else from an
+ * upstream data source.
+ *
+ * <p>A manifest missing from the cache is read in full from upstream when opened, and cached if it
+ * may be. A cached one is served right away, and revalidated in the background when it is due.
+ */
+final class ManifestCachingDataSource implements DataSource {
+  /** Creates {@link ManifestCachingDataSource} instances. */
+  static final class Factory implements DataSource.Factory {
+    @NonNull private final ManifestCache cache;
+    @NonNull private final DataSource.Factory upstreamFactory;
+    @Nullable private final Uri manifestUri;
+    @NonNull private final String requestIdentity;
+
+    /**
+     * Creates a factory.
+     *
+     * @param cache the cache manifests are kept in.
+     * @param upstreamFactory the factory of the data sources manifests and media are fetched with.
+     * @param manifestUri the URI of the asset's manifest, if it is known to be one; other manifests
+     *     are recognized by their file extension.
+     * @param requestIdentity identifies what the upstream requests carry besides their URI, such as
+     *     headers and DRM configuration, so that manifests are only served to data sources whose
+     *     requests would have fetched them; see {@link HttpVideoAsset#getRequestIdentity()}.
+     */
+    Factory(
+        @NonNull ManifestCache cache,
+        @NonNull DataSource.Factory upstreamFactory,
+        @Nullable Uri manifestUri,
+        @NonNull String requestIdentity) {
+      this.cache = cache;
+      this.upstreamFactory = upstreamFactory;
+      this.manifestUri = manifestUri;
+      this.requestIdentity = requestIdentity;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new ManifestCachingDataSource(
+          cache, upstreamFactory, upstreamFactory.createDataSource(), manifestUri, requestIdentity);
+    }
+  }
+
+  private static final String TAG = "ManifestCachingDataSource";
+
+  @NonNull private final ManifestCache cache;
+  @NonNull private final DataSource.Factory upstreamFactory;
+  @NonNull private final DataSource upstream;
+  @Nullable private final Uri manifestUri;
+  @NonNull private final String requestIdentity;
+  @NonNull private final Executor revalidationExecutor;
+
+  // The manifest being served, or null while reading from upstream.
+  @Nullable private byte[] body;
+  private int readPosition;
+  @Nullable private Uri uri;
+  private boolean upstreamOpened;
+
+  private ManifestCachingDataSource(
+      @NonNull ManifestCache cache,
+      @NonNull DataSource.Factory upstreamFactory,
+      @NonNull DataSource upstream,
+      @Nullable Uri manifestUri,
+      @NonNull String requestIdentity) {
+    this.cache = cache;
+    this.upstreamFactory = upstreamFactory;
+    this.upstream = upstream;
+    this.manifestUri = manifestUri;
+    this.requestIdentity = requestIdentity;
+    revalidationExecutor = cache.getRevalidationExecutor();
+  }
+
+  @Override
+  public void addTransferListener(@NonNull TransferListener transferListener) {
+    upstream.addTransferListener(transferListener);
+  }
+
+  @Override
+  public long open(@NonNull DataSpec dataSpec) throws IOException {
+    uri = dataSpec.uri;
+    if (!isManifest(dataSpec)) {
+      upstreamOpened = true;
+      return upstream.open(dataSpec);
+    }
+    String key = getCacheKey(dataSpec);
+    ManifestCache.Entry entry = cache.get(key);
+    if (entry != null) {
+      if (cache.startRevalidation(key, entry)) {
+        revalidationExecutor.execute(() -> revalidate(dataSpec, key, entry));
+      }
+      body = entry.body;
+      uri = Uri.parse(entry.uri);
+    } else {
+      // Closed by close() if reading it fails.
+      upstreamOpened = true;
+      byte[] fetchedBody = fetch(upstream, dataSpec);
+      Uri responseUri = upstream.getUri();
+      if (responseUri != null) {
+        uri = responseUri;
+      }
+      cache.put(key, fetchedBody, uri.toString(), upstream.getResponseHeaders());
+      upstreamOpened = false;
+      upstream.close();
+      body = fetchedBody;
+    }
+    readPosition = 0;
+    return body.length;
+  }
+
+  @Override
+  public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+    if (body == null) {
+      return upstream.read(buffer, offset, length);
+    }
+    if (length == 0) {
+      return 0;
+    }
+    if (readPosition == body.length) {
+      return C.RESULT_END_OF_INPUT;
+    }
+    int bytesRead = Math.min(length, body.length - readPosition);
+    System.arraycopy(body, readPosition, buffer, offset, bytesRead);
+    readPosition += bytesRead;
+    return bytesRead;
+  }
+
+  @Nullable
+  @Override
+  public Uri getUri() {
+    return body == null && upstreamOpened ? upstream.getUri() : uri;
+  }
+
+  @NonNull
+  @Override
+  public Map<String, List<String>> getResponseHeaders() {
+    return body == null ? upstream.getResponseHeaders() : Collections.emptyMap();
+  }
+
+  @Override
+  public void close() throws IOException {
+    body = null;
+    uri = null;
+    if (upstreamOpened) {
+      upstreamOpened = false;
+      upstream.close();
+    }
+  }
+
+  @NonNull
+  private String getCacheKey(@NonNull DataSpec dataSpec) {
+    String key = dataSpec.key != null ? dataSpec.key : dataSpec.uri.toString();
+    // URIs never contain spaces, so keys of different identities can't collide.
+    return requestIdentity.isEmpty() ? key : key + " " + requestIdentity;
+  }
+
+  private boolean isManifest(@NonNull DataSpec dataSpec) {
+    // Only whole manifests fetched with a plain request are cached.
+    if (dataSpec.position != 0
+        || dataSpec.length != C.LENGTH_UNSET
+        || dataSpec.httpMethod != DataSpec.HTTP_METHOD_GET
+        || !dataSpec.httpRequestHeaders.isEmpty()) {
+      return false;
+    }
+    String scheme = dataSpec.uri.getScheme();
+    if (!"http".equals(scheme) && !"https".equals(scheme)) {
+      return false;
+    }
+    if (dataSpec.uri.equals(manifestUri)) {
+      return true;
+    }
+    @C.ContentType int contentType = Util.inferContentType(dataSpec.uri);
+    return contentType == C.CONTENT_TYPE_DASH || contentType == C.CONTENT_TYPE_HLS;
+  }
+
+  /** Fetches a cached manifest again if it has changed since it was cached. */
+  private void revalidate(
+      @NonNull DataSpec dataSpec, @NonNull String key, @NonNull ManifestCache.Entry entry) {
+    Map<String, String> headers = new HashMap<>();
+    if (entry.etag != null) {
+      headers.put("If-None-Match", entry.etag);
+    }
+    if (entry.lastModified != null) {
+      headers.put("If-Modified-Since", entry.lastModified);
+    }
+    DataSource source = upstreamFactory.createDataSource();
+    try {
+      byte[] updatedBody =
+          fetch(source, dataSpec.buildUpon().setHttpRequestHeaders(headers).build());
+      Uri responseUri = source.getUri();
+      cache.put(
+          key,
+          updatedBody,
+          responseUri != null ? responseUri.toString() : entry.uri,
+          source.getResponseHeaders());
+    } catch (HttpDataSource.InvalidResponseCodeException e) {
+      if (e.responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+        cache.markValidated(key);
+      } else {
+        Log.w(TAG, "Failed to revalidate " + dataSpec.uri + ": " + e.responseCode);
+      }
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to revalidate " + dataSpec.uri, e);
+    } finally {
+      closeQuietly(source);
+      cache.finishRevalidation(key);
+    }
+  }
+
+  @NonNull
+  private static byte[] fetch(@NonNull DataSource source, @NonNull DataSpec dataSpec)
+      throws IOException {
+    source.open(dataSpec);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int bytesRead;
+    while ((bytesRead = source.read(buffer, 0, buffer.length)) != C.RESULT_END_OF_INPUT) {
+      output.write(buffer, 0, bytesRead);
+    }
+    return output.toByteArray();
+  }
+
+  private static void closeQuietly(@NonNull DataSource source) {
+    try {
+      source.close();
+    } catch (IOException e) {
+      // Nothing was read from it after this point.
+    }
+  }
+}
@@ -0,0 +1,122 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * Frees memory held by players when the system reports that it is low on memory.
+ *
+ * <p>The response is tiered by how low memory is, each tier adding a step to the previous ones:
+ *
+ * <ol>
+ *   <li>The memory behind the players' playheads, the thumbnails they have cached and the manifests
+ *       kept in memory are freed, and the buffer budget shrinks if memory is low. Players keep no
+ *       back buffer, so what is behind their playheads is the memory their allocators keep for
+ *       reuse once played media is discarded.
+ *   <li>Paused players discard the media they buffered ahead, and are limited to a minimal buffer.
+ *   <li>Players whose views are not visible are suspended.
+ * </ol>
+ *
+ * <p>From API level 34, the system only reports {@link #TRIM_MEMORY_UI_HIDDEN} and {@link
+ * #TRIM_MEMORY_BACKGROUND}, so the first tier runs when the app is hidden and every tier once it is
+ * in the background. The {@code TRIM_MEMORY_RUNNING_*} levels, which grade the response while the
+ * app is visible, are only reported by earlier versions. {@link #onLowMemory()} runs every tier.
+ *
+ * <p>Each step taken is reported to the listener. Trim memory callbacks are delivered on the
+ * platform thread, where the listener is called.
+ */
+final class MemoryPressureResponder implements ComponentCallbacks2 {
+  /** Receives the steps taken to free memory. */
+  interface Listener {
+    void onMemoryPressureEvent(@NonNull PlatformMemoryPressureEvent event);
+  }
+
+  @VisibleForTesting static final int TIER_NONE = 0;
+  @VisibleForTesting static final int TIER_TRIM_BUFFERS = 1;
+  @VisibleForTesting static final int TIER_SHRINK_PAUSED_BUFFERS = 2;
+  @VisibleForTesting static final int TIER_SUSPEND_HIDDEN_PLAYERS = 3;
+
+  @NonNull private final BufferBudgetCoordinator bufferBudgetCoordinator;
+  @NonNull private final VideoPlayerManager playerManager;
+  @Nullable private Listener listener;
+
+  MemoryPressureResponder(
+      @NonNull BufferBudgetCoordinator bufferBudgetCoordinator,
+      @NonNull VideoPlayerManager playerManager) {
+    this.bufferBudgetCoordinator = bufferBudgetCoordinator;
+    this.playerManager = playerManager;
+  }
+
+  void setListener(@Nullable Listener listener) {
+    this.listener = listener;
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    int tier = getTier(level);
+    if (tier >= TIER_TRIM_BUFFERS) {
+      bufferBudgetCoordinator.onTrimMemory(level);
+      int playerCount = bufferBudgetCoordinator.trimAllocators();
+      // Players with cached thumbnails share the buffer budget too, so they are not counted twice.
+      playerCount = Math.max(playerCount, playerManager.trimThumbnails());
+      ManifestCache manifestCache = ManifestCache.getInstanceIfCreated();
+      if (manifestCache != null) {
+        manifestCache.trimMemory();
+      }
+      report(PlatformMemoryPressureAction.TRIMMED_BUFFERS, level, playerCount);
+    }
+    if (tier >= TIER_SHRINK_PAUSED_BUFFERS) {
+      bufferBudgetCoordinator.limitPausedPlayers();
+      int playerCount = playerManager.discardPausedPlayerBuffers();
+      report(PlatformMemoryPressureAction.SHRANK_PAUSED_BUFFERS, level, playerCount);
+    }
+    if (tier >= TIER_SUSPEND_HIDDEN_PLAYERS) {
+      int playerCount = playerManager.suspendHiddenPlayers();
+      report(PlatformMemoryPressureAction.SUSPENDED_HIDDEN_PLAYERS, level, playerCount);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("deprecation")
+  public void onLowMemory() {
+    onTrimMemory(TRIM_MEMORY_COMPLETE);
+  }
+
+  @Override
+  public void onConfigurationChanged(@NonNull Configuration newConfig) {}
+
+  /** Returns the tier of the response to a trim memory level. */
+  @VisibleForTesting
+  @SuppressWarnings("deprecation")
+  static int getTier(int level) {
+    if (level >= TRIM_MEMORY_BACKGROUND) {
+      // The process is likely to be killed to free memory.
+      return TIER_SUSPEND_HIDDEN_PLAYERS;
+    } else if (level >= TRIM_MEMORY_UI_HIDDEN) {
+      // Only means that the app is no longer visible, not that memory is low, so only memory that
+      // is cheap to get back is freed. It is one of the few levels still reported from API 34.
+      return TIER_TRIM_BUFFERS;
+    } else if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+      return TIER_SUSPEND_HIDDEN_PLAYERS;
+    } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+      return TIER_SHRINK_PAUSED_BUFFERS;
+    } else if (level >= TRIM_MEMORY_RUNNING_MODERATE) {
+      return TIER_TRIM_BUFFERS;
+    }
+    return TIER_NONE;
+  }
+
+  private void report(@NonNull PlatformMemoryPressureAction action, int level, int playerCount) {
+    if (listener != null) {
+      listener.onMemoryPressureEvent(
+          new PlatformMemoryPressureEvent(action, level, playerCount));
+    }
+  }
+}
@@ -0,0 +1,294 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.Renderer;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.ExoTrackSelection;
+import com.google.android.exoplayer2.upstream.Allocator;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Gives the loads of the player the user is watching precedence over the other network loads of the
+ * process.
+ *
+ * <p>A player whose view is visible and which is playing is in the foreground. While it loads with
+ * less than {@link #LOW_BUFFER_US} buffered ahead of its playback position, the loads of background
+ * players, including players prepared ahead of playback, and of downloads wait, leaving the network
+ * to it, until it has buffered {@link #RECOVERED_BUFFER_US} or stops loading.
+ *
+ * <p>Held back loads wait between reads and keep their connections, so they resume where they
+ * stopped instead of failing and being retried.
+ *
+ * <p>Data sources read on their loaders' threads and players decide to load on their internal
+ * threads, so every method is thread safe.
+ */
+final class NetworkPriorityScheduler {
+  /** The priority of the loads of a visible, playing player. */
+  static final int PRIORITY_FOREGROUND = C.PRIORITY_PLAYBACK;
+
+  /** The priority of the loads of any other player. */
+  static final int PRIORITY_BACKGROUND = C.PRIORITY_PLAYBACK - 1;
+
+  /** The priority of downloads. */
+  static final int PRIORITY_DOWNLOAD = C.PRIORITY_DOWNLOAD;
+
+  /** The buffer below which a loading foreground player holds back lower priority loads. */
+  @VisibleForTesting static final long LOW_BUFFER_US = 10_000_000;
+
+  /** The buffer at which a foreground player lets lower priority loads proceed again. */
+  @VisibleForTesting static final long RECOVERED_BUFFER_US = 15_000_000;
+
+  @Nullable private static NetworkPriorityScheduler instance;
+
+  // The number of foreground players holding back lower priority loads. Guarded by this.
+  private int starvingPlayers;
+
+  /** Returns the scheduler of this process, which players and downloads share. */
+  @NonNull
+  static synchronized NetworkPriorityScheduler getInstance() {
+    if (instance == null) {
+      instance = new NetworkPriorityScheduler();
+    }
+    return instance;
+  }
+
+  @VisibleForTesting
+  NetworkPriorityScheduler() {}
+
+  /** Returns the priority of the loads of a new player, which starts in the background. */
+  @NonNull
+  LoadPriority createLoadPriority() {
+    return new LoadPriority();
+  }
+
+  /**
+   * Returns a factory for data sources that load with a fixed priority.
+   *
+   * @param upstreamFactory the factory of the data sources to hold back.
+   * @param priority the priority of the loads, such as {@link #PRIORITY_DOWNLOAD}.
+   */
+  @NonNull
+  DataSource.Factory createDataSourceFactory(
+      @NonNull DataSource.Factory upstreamFactory, int priority) {
+    return () -> new PrioritizedDataSource(upstreamFactory.createDataSource(), () -> priority);
+  }
+
+  /** Returns whether loads with the given priority may proceed right now. */
+  synchronized boolean canProceed(int priority) {
+    return priority >= PRIORITY_FOREGROUND || starvingPlayers == 0;
+  }
+
+  /** Blocks until loads with the given priority may proceed. */
+  synchronized void proceed(int priority) throws InterruptedException {
+    while (!canProceed(priority)) {
+      wait();
+    }
+  }
+
+  private synchronized void setStarving(@NonNull LoadPriority loadPriority, boolean starving) {
+    if (loadPriority.starving == starving) {
+      return;
+    }
+    loadPriority.starving = starving;
+    starvingPlayers += starving ? 1 : -1;
+    if (starvingPlayers == 0) {
+      notifyAll();
+    }
+  }
+
+  /**
+   * The priority of one player's loads, foreground while its view is visible and it is playing.
+   *
+   * <p>The player reports its loading decisions through {@link #createLoadControl}, and that it
+   * stopped loading by being listened to.
+   */
+  final class LoadPriority implements Player.Listener {
+    private volatile boolean foreground;
+    // Whether the player holds back lower priority loads. Guarded by the scheduler.
+    private boolean starving;
+
+    private LoadPriority() {}
+
+    /** Sets whether the player is visible and playing. */
+    void setForeground(boolean foreground) {
+      this.foreground = foreground;
+      if (!foreground) {
+        setStarving(this, false);
+      }
+    }
+
+    int getPriority() {
+      return foreground ? PRIORITY_FOREGROUND : PRIORITY_BACKGROUND;
+    }
+
+    /** Returns a factory for data sources that load with the player's current priority. */
+    @NonNull
+    DataSource.Factory createDataSourceFactory(@NonNull DataSource.Factory upstreamFactory) {
+      return () -> new PrioritizedDataSource(upstreamFactory.createDataSource(), this::getPriority);
+    }
+
+    /** Returns a load control reporting the player's loading decisions to the scheduler. */
+    @NonNull
+    LoadControl createLoadControl(@NonNull LoadControl delegate) {
+      return new PrioritizedLoadControl(delegate);
+    }
+
+    @Override
+    public void onIsLoadingChanged(boolean isLoading) {
+      // A player that reached the end of its media no longer decides to load.
+      if (!isLoading) {
+        setStarving(this, false);
+      }
+    }
+
+    private void onLoadingDecision(boolean continueLoading, long bufferedDurationUs) {
+      if (!continueLoading || !foreground || bufferedDurationUs >= RECOVERED_BUFFER_US) {
+        setStarving(this, false);
+      } else if (bufferedDurationUs < LOW_BUFFER_US) {
+        setStarving(this, true);
+      }
+    }
+
+    /** A {@link LoadControl} that reports the player's loading decisions. */
+    private final class PrioritizedLoadControl implements LoadControl {
+      @NonNull private final LoadControl delegate;
+
+      private PrioritizedLoadControl(@NonNull LoadControl delegate) {
+        this.delegate = delegate;
+      }
+
+      @Override
+      public void onPrepared() {
+        delegate.onPrepared();
+      }
+
+      @Override
+      public void onTracksSelected(
+          @NonNull Renderer[] renderers,
+          @NonNull TrackGroupArray trackGroups,
+          @NonNull ExoTrackSelection[] trackSelections) {
+        delegate.onTracksSelected(renderers, trackGroups, trackSelections);
+      }
+
+      @Override
+      public void onStopped() {
+        setStarving(LoadPriority.this, false);
+        delegate.onStopped();
+      }
+
+      @Override
+      public void onReleased() {
+        foreground = false;
+        setStarving(LoadPriority.this, false);
+        delegate.onReleased();
+      }
+
+      @NonNull
+      @Override
+      public Allocator getAllocator() {
+        return delegate.getAllocator();
+      }
+
+      @Override
+      public long getBackBufferDurationUs() {
+        return delegate.getBackBufferDurationUs();
+      }
+
+      @Override
+      public boolean retainBackBufferFromKeyframe() {
+        return delegate.retainBackBufferFromKeyframe();
+      }
+
+      @Override
+      public boolean shouldContinueLoading(
+          long playbackPositionUs, long bufferedDurationUs, float playbackSpeed) {
+        boolean continueLoading =
+            delegate.shouldContinueLoading(playbackPositionUs, bufferedDurationUs, playbackSpeed);
+        onLoadingDecision(continueLoading, bufferedDurationUs);
+        return continueLoading;
+      }
+
+      @Override
+      public boolean shouldStartPlayback(
+          long bufferedDurationUs,
+          float playbackSpeed,
+          boolean rebuffering,
+          long targetLiveOffsetUs) {
+        return delegate.shouldStartPlayback(
+            bufferedDurationUs, playbackSpeed, rebuffering, targetLiveOffsetUs);
+      }
+    }
+  }
+
+  /** A {@link DataSource} that waits before opening and reading until its priority may load. */
+  private final class PrioritizedDataSource implements DataSource {
+    @NonNull private final DataSource upstream;
+    @NonNull private final IntSupplier priority;
+
+    private PrioritizedDataSource(@NonNull DataSource upstream, @NonNull IntSupplier priority) {
+      this.upstream = upstream;
+      this.priority = priority;
+    }
+
+    @Override
+    public void addTransferListener(@NonNull TransferListener transferListener) {
+      upstream.addTransferListener(transferListener);
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      awaitTurn();
+      return upstream.open(dataSpec);
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+      awaitTurn();
+      return upstream.read(buffer, offset, length);
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+      return upstream.getUri();
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return upstream.getResponseHeaders();
+    }
+
+    @Override
+    public void close() throws IOException {
+      upstream.close();
+    }
+
+    // Loaders interrupt their threads to cancel loads, which ends the wait.
+    private void awaitTurn() throws InterruptedIOException {
+      try {
+        proceed(priority.getAsInt());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+  }
+}
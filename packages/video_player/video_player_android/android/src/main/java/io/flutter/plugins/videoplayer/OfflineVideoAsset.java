@@ -0,0 +1,89 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.MediaItem;
+import com.google.android.exoplayer2.drm.DefaultDrmSessionManager;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.offline.DownloadRequest;
+import com.google.android.exoplayer2.source.DefaultMediaSourceFactory;
+import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DefaultHttpDataSource;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import java.util.Map;
+
+/**
+ * A video downloaded by {@link VideoDownloadManager}, played from the local cache.
+ *
+ * <p>Media is only read from the cache, and a protected video is decrypted with the persistent
+ * license downloaded with it, so playing it makes no network requests.
+ */
+final class OfflineVideoAsset extends VideoAsset {
+  @NonNull private final DownloadRequest request;
+  @NonNull private final Cache cache;
+  @NonNull private final Map<String, String> drmConfiguration;
+
+  OfflineVideoAsset(
+      @NonNull DownloadRequest request,
+      @NonNull Cache cache,
+      @NonNull Map<String, String> drmConfiguration) {
+    super(request.uri.toString());
+    this.request = request;
+    this.cache = cache;
+    this.drmConfiguration = drmConfiguration;
+  }
+
+  @NonNull
+  @Override
+  public MediaItem getMediaItem() {
+    MediaItem mediaItem = request.toMediaItem();
+    if (request.keySetId == null) {
+      return mediaItem;
+    }
+    return mediaItem
+        .buildUpon()
+        .setDrmConfiguration(
+            new MediaItem.DrmConfiguration.Builder(C.WIDEVINE_UUID)
+                .setKeySetId(request.keySetId)
+                .build())
+        .build();
+  }
+
+  @NonNull
+  @Override
+  public MediaSource.Factory getMediaSourceFactory(@NonNull Context context) {
+    return new DefaultMediaSourceFactory(getDataSourceFactory(context))
+        .setDrmSessionManagerProvider(this::createDrmSessionManager);
+  }
+
+  @NonNull
+  @Override
+  DataSource.Factory getDataSourceFactory(@NonNull Context context) {
+    // Without an upstream factory, reading anything missing from the cache fails instead of
+    // falling back to the network.
+    return new CacheDataSource.Factory()
+        .setCache(cache)
+        .setUpstreamDataSourceFactory(null)
+        .setCacheWriteDataSinkFactory(null);
+  }
+
+  @NonNull
+  private DrmSessionManager createDrmSessionManager(@NonNull MediaItem mediaItem) {
+    if (request.keySetId == null) {
+      return DrmSessionManager.DRM_UNSUPPORTED;
+    }
+    // The license server is only reached to renew a license that is about to expire.
+    DefaultDrmSessionManager drmSessionManager =
+        HttpVideoAsset.createSigmaDrmSessionManager(
+            drmConfiguration, new DefaultHttpDataSource.Factory());
+    drmSessionManager.setMode(DefaultDrmSessionManager.MODE_PLAYBACK, request.keySetId);
+    return drmSessionManager;
+  }
+}
@@ -0,0 +1,66 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Forwards the calls of a {@link VideoPlayerInstanceApi} to the thread a player runs on.
+ *
+ * <p>Message handlers are called on the player's background task queue, while a player created on
+ * a playback thread must only be accessed from that thread. Each call is run on the player's
+ * thread, and the task queue waits for its result so that it can be replied to as usual. The
+ * platform thread never waits, even while the playback thread is busy with another player.
+ */
+final class PlaybackThreadInstanceApi implements InvocationHandler {
+  @NonNull private final VideoPlayerInstanceApi api;
+  @NonNull private final Looper looper;
+
+  /**
+   * Returns an API that runs every call to {@code api} on the thread of {@code looper}.
+   *
+   * @param api the API implementation, typically a {@link VideoPlayer}.
+   * @param looper the looper of the player's application thread.
+   * @return the forwarding API.
+   */
+  @NonNull
+  static VideoPlayerInstanceApi wrap(@NonNull VideoPlayerInstanceApi api, @NonNull Looper looper) {
+    return (VideoPlayerInstanceApi)
+        Proxy.newProxyInstance(
+            VideoPlayerInstanceApi.class.getClassLoader(),
+            new Class<?>[] {VideoPlayerInstanceApi.class},
+            new PlaybackThreadInstanceApi(api, looper));
+  }
+
+  private PlaybackThreadInstanceApi(@NonNull VideoPlayerInstanceApi api, @NonNull Looper looper) {
+    this.api = api;
+    this.looper = looper;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return method.invoke(api, args);
+    }
+    return PlayerThread.callBlocking(
+        looper,
+        () -> {
+          try {
+            return method.invoke(api, args);
+          } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+              throw (Exception) cause;
+            }
+            throw e;
+          }
+        });
+  }
+}
@@ -0,0 +1,97 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import androidx.annotation.NonNull;
+
+/**
+ * A fixed number of threads on which players run instead of the platform thread.
+ *
+ * <p>Each player is assigned the thread running the fewest players when it is created, and uses it
+ * as its application thread: every call to the player and every player event happens on it, which
+ * keeps player callbacks from competing with the platform thread as the number of players grows.
+ * Threads are started when first needed.
+ *
+ * <p>This class is not thread-safe. Callers must synchronize access to it.
+ */
+final class PlaybackThreadPool {
+  private static final String THREAD_NAME_PREFIX = "VideoPlayerPlayback:";
+
+  @NonNull private final HandlerThread[] threads;
+  @NonNull private final int[] playerCounts;
+
+  /**
+   * Creates a pool.
+   *
+   * @param threadCount the number of threads players are spread over.
+   */
+  PlaybackThreadPool(int threadCount) {
+    if (threadCount < 1) {
+      throw new IllegalArgumentException("threadCount must be at least 1, was " + threadCount);
+    }
+    threads = new HandlerThread[threadCount];
+    playerCounts = new int[threadCount];
+  }
+
+  int getThreadCount() {
+    return threads.length;
+  }
+
+  /**
+   * Returns the looper of the least busy thread, for a new player to use.
+   *
+   * <p>Each call must be balanced by a call to {@link #releaseLooper(Looper)} once the player is
+   * disposed.
+   */
+  @NonNull
+  Looper acquireLooper() {
+    int index = 0;
+    for (int i = 1; i < threads.length; i++) {
+      if (playerCounts[i] < playerCounts[index]) {
+        index = i;
+      }
+    }
+    if (threads[index] == null) {
+      threads[index] =
+          new HandlerThread(THREAD_NAME_PREFIX + index, Process.THREAD_PRIORITY_DISPLAY);
+      threads[index].start();
+    }
+    playerCounts[index]++;
+    return threads[index].getLooper();
+  }
+
+  /** Releases a looper returned by {@link #acquireLooper()}. */
+  void releaseLooper(@NonNull Looper looper) {
+    for (int i = 0; i < threads.length; i++) {
+      if (threads[i] != null && threads[i].getLooper() == looper) {
+        playerCounts[i]--;
+        return;
+      }
+    }
+  }
+
+  /** Returns whether any player is still using a thread of this pool. */
+  boolean isInUse() {
+    for (int count : playerCounts) {
+      if (count > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Stops the threads once the work already posted to them has run. */
+  void release() {
+    for (int i = 0; i < threads.length; i++) {
+      if (threads[i] != null) {
+        threads[i].quitSafely();
+        threads[i] = null;
+      }
+    }
+  }
+}
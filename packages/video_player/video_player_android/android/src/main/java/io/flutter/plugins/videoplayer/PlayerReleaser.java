@@ -0,0 +1,182 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases disposed players in the background.
+ *
+ * <p>Releasing a player waits for its internal playback thread to tear down decoders and DRM
+ * sessions. Each release runs on a background thread, which hands the release itself to the
+ * player's application thread and then hands the cleanup of its surface to the platform thread,
+ * waiting for each in turn. At most a fixed number of players are released at once, so that
+ * disposing many players does not make them all compete for the codecs being torn down.
+ *
+ * <p>Threads waiting in {@link #awaitReleases(long)} run the steps handed to their own thread, so
+ * the platform thread can wait for releases that need it.
+ */
+final class PlayerReleaser {
+  private static final String THREAD_NAME = "VideoPlayerReleaser";
+  private static final long KEEP_ALIVE_SECONDS = 1;
+
+  @NonNull private final ThreadPoolExecutor executor;
+  // Guarded by this.
+  private final Set<Future<?>> pendingReleases = new HashSet<>();
+  // Steps handed to a looper and not yet completed. Guarded by this.
+  private final List<Step> pendingSteps = new ArrayList<>();
+
+  private static final class Step {
+    @NonNull final Looper looper;
+    @NonNull final FutureTask<Void> task;
+
+    Step(@NonNull Looper looper, @NonNull FutureTask<Void> task) {
+      this.looper = looper;
+      this.task = task;
+    }
+  }
+
+  /**
+   * Creates a releaser.
+   *
+   * @param maxParallelReleases the maximum number of players released at once.
+   */
+  PlayerReleaser(int maxParallelReleases) {
+    if (maxParallelReleases < 1) {
+      throw new IllegalArgumentException(
+          "maxParallelReleases must be at least 1, was " + maxParallelReleases);
+    }
+    executor =
+        new ThreadPoolExecutor(
+            maxParallelReleases,
+            maxParallelReleases,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> new Thread(runnable, THREAD_NAME));
+    // No thread is kept around while there is nothing to release.
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Schedules the release of a player.
+   *
+   * @param playerLooper the player's application looper, or {@code null} to release it on the
+   *     releasing thread.
+   * @param releasePlayer releases the player; run on its application thread.
+   * @param releaseOnPlatformThread releases what the player rendered to; run on the platform
+   *     thread once {@code releasePlayer} has completed.
+   * @return a future completing once both actions have run.
+   */
+  @NonNull
+  Future<?> release(
+      @Nullable Looper playerLooper,
+      @NonNull Runnable releasePlayer,
+      @NonNull Runnable releaseOnPlatformThread) {
+    FutureTask<Void> release =
+        new FutureTask<Void>(
+            () -> {
+              runOn(playerLooper, releasePlayer);
+              runOn(Looper.getMainLooper(), releaseOnPlatformThread);
+              return null;
+            }) {
+          @Override
+          protected void done() {
+            onReleaseDone(this);
+          }
+        };
+    synchronized (this) {
+      pendingReleases.add(release);
+    }
+    executor.execute(release);
+    return release;
+  }
+
+  /**
+   * Waits for all scheduled releases to complete.
+   *
+   * @param timeoutMs the maximum time to wait, in milliseconds.
+   * @return true if all releases completed, false if the timeout elapsed first.
+   */
+  boolean awaitReleases(long timeoutMs) {
+    final long deadlineNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    final Looper looper = Looper.myLooper();
+    while (true) {
+      List<FutureTask<Void>> ownSteps = new ArrayList<>();
+      synchronized (this) {
+        if (pendingReleases.isEmpty()) {
+          return true;
+        }
+        for (Step step : pendingSteps) {
+          if (step.looper == looper) {
+            ownSteps.add(step.task);
+          }
+        }
+        if (ownSteps.isEmpty()) {
+          long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNs - System.nanoTime());
+          if (remainingMs <= 0) {
+            return false;
+          }
+          try {
+            wait(remainingMs);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+          }
+          continue;
+        }
+      }
+      // The step is also posted to this thread's looper, where it becomes a no-op once run here.
+      for (FutureTask<Void> step : ownSteps) {
+        step.run();
+      }
+    }
+  }
+
+  /** Returns the number of releases that have not completed yet. */
+  synchronized int getPendingReleaseCount() {
+    return pendingReleases.size();
+  }
+
+  private synchronized void onReleaseDone(@NonNull Future<?> release) {
+    pendingReleases.remove(release);
+    notifyAll();
+  }
+
+  private void runOn(@Nullable Looper looper, @NonNull Runnable action) throws Exception {
+    if (looper == null || looper.getThread() == Thread.currentThread()) {
+      action.run();
+      return;
+    }
+    FutureTask<Void> task = new FutureTask<>(action, null);
+    Step step = new Step(looper, task);
+    synchronized (this) {
+      pendingSteps.add(step);
+      // Wake a thread awaiting releases on this looper, so that it runs the step itself.
+      notifyAll();
+    }
+    try {
+      if (!PlayerThread.getHandler(looper).post(task)) {
+        throw new IllegalStateException("The thread to release the player on has been shut down.");
+      }
+      task.get();
+    } finally {
+      synchronized (this) {
+        pendingSteps.remove(step);
+      }
+    }
+  }
+}
@@ -0,0 +1,165 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.ExoPlayer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs work on the application thread of an {@link ExoPlayer}.
+ *
+ * <p>Players created by the plugin run on a playback thread (see {@link PlaybackThreadPool}) and
+ * must only be accessed from that thread, so work coming from other threads is handed over to it.
+ * Work coming from the application thread itself runs immediately.
+ */
+public final class PlayerThread {
+  // One handler per looper, shared by all the work handed to its thread. Guarded by itself.
+  private static final Map<Looper, Handler> handlers = new HashMap<>();
+
+  private PlayerThread() {}
+
+  /**
+   * Returns whether the calling thread is the application thread of a player.
+   *
+   * @param exoPlayer the player.
+   * @return true if the player can be accessed from the calling thread.
+   */
+  public static boolean isCurrent(@NonNull ExoPlayer exoPlayer) {
+    return isCurrent(exoPlayer.getApplicationLooper());
+  }
+
+  /**
+   * Runs an action on the application thread of a player without waiting for it.
+   *
+   * <p>The action runs immediately if called from the application thread.
+   *
+   * @param exoPlayer the player.
+   * @param action the action to run.
+   */
+  public static void post(@NonNull ExoPlayer exoPlayer, @NonNull Runnable action) {
+    Looper looper = exoPlayer.getApplicationLooper();
+    if (isCurrent(looper)) {
+      action.run();
+    } else {
+      getHandler(looper).post(action);
+    }
+  }
+
+  /**
+   * Runs an action on the application thread of a player, and waits for it to complete.
+   *
+   * @param exoPlayer the player.
+   * @param action the action to run.
+   */
+  public static void runBlocking(@NonNull ExoPlayer exoPlayer, @NonNull Runnable action) {
+    callBlocking(
+        exoPlayer,
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  /**
+   * Runs a task on the application thread of a player, and waits for its result.
+   *
+   * @param exoPlayer the player.
+   * @param task the task to run.
+   * @return the result of the task.
+   */
+  static <T> T callBlocking(@NonNull ExoPlayer exoPlayer, @NonNull Callable<T> task) {
+    return callBlocking(exoPlayer.getApplicationLooper(), task);
+  }
+
+  /**
+   * Runs an action on the platform thread, and waits for it to complete.
+   *
+   * <p>Used for the engine objects that may only be created or released on the platform thread,
+   * such as textures, when called from the background thread player creation and disposal run on.
+   *
+   * @param action the action to run.
+   */
+  public static void runOnPlatformThread(@NonNull Runnable action) {
+    callBlocking(
+        Looper.getMainLooper(),
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  /**
+   * Runs a task on the thread of a looper, and waits for its result.
+   *
+   * <p>Exceptions thrown by the task are rethrown on the calling thread.
+   *
+   * @param looper the looper to run the task on, or {@code null} to run it on the calling thread.
+   * @param task the task to run.
+   * @return the result of the task.
+   */
+  static <T> T callBlocking(@Nullable Looper looper, @NonNull Callable<T> task) {
+    if (isCurrent(looper)) {
+      try {
+        return task.call();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    FutureTask<T> future = new FutureTask<>(task);
+    if (!getHandler(looper).post(future)) {
+      throw new IllegalStateException("The player thread has been shut down.");
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the player thread.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Returns the handler posting work to the thread of a looper.
+   *
+   * @param looper the looper of the thread.
+   * @return a handler shared by every caller posting to the thread.
+   */
+  @NonNull
+  static Handler getHandler(@NonNull Looper looper) {
+    synchronized (handlers) {
+      Handler handler = handlers.get(looper);
+      if (handler == null) {
+        // The loopers of threads that have ended are never used again.
+        handlers.keySet().removeIf(key -> !key.getThread().isAlive());
+        handler = new Handler(looper);
+        handlers.put(looper, handler);
+      }
+      return handler;
+    }
+  }
+
+  private static boolean isCurrent(@Nullable Looper looper) {
+    // Mocked players have no looper; treat them as belonging to the calling thread.
+    return looper == null || looper.getThread() == Thread.currentThread();
+  }
+}
@@ -0,0 +1,100 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.Player;
+
+/**
+ * Coalesces the seeks requested while the user drags a seek bar.
+ *
+ * <p>Only one seek is performed at a time. Seeks requested while one is in progress replace each
+ * other, and only the latest is performed once the current one completes, so the player never
+ * falls behind by decoding positions the user has already dragged past.
+ *
+ * <p>A seek is considered complete once the player is ready again, and at the earliest {@link
+ * #MIN_SEEK_INTERVAL_MS} after it started, which bounds the rate of seeks within buffered media.
+ */
+final class ScrubSeekController implements Player.Listener {
+  static final long MIN_SEEK_INTERVAL_MS = 40;
+
+  @NonNull private final ExoPlayer exoPlayer;
+  @NonNull private final Handler handler;
+  @NonNull private final Runnable seekIntervalElapsed = this::onSeekIntervalElapsed;
+  private boolean seekInProgress;
+  private boolean seekIntervalPending;
+  private long pendingPositionMs = C.TIME_UNSET;
+  private long lastRequestedPositionMs = C.TIME_UNSET;
+
+  ScrubSeekController(@NonNull ExoPlayer exoPlayer) {
+    this.exoPlayer = exoPlayer;
+    this.handler = new Handler(exoPlayer.getApplicationLooper());
+    exoPlayer.addListener(this);
+  }
+
+  /**
+   * Seeks to a position, or replaces the pending seek if one is in progress.
+   *
+   * @param positionMs position in the current media item, in milliseconds.
+   */
+  void seekTo(long positionMs) {
+    lastRequestedPositionMs = positionMs;
+    if (seekInProgress) {
+      pendingPositionMs = positionMs;
+      return;
+    }
+    performSeek(positionMs);
+  }
+
+  /**
+   * Returns the last position passed to {@link #seekTo}, or {@link C#TIME_UNSET} if there was none.
+   */
+  long getLastRequestedPosition() {
+    return lastRequestedPositionMs;
+  }
+
+  /** Drops the pending seek and stops listening to the player. */
+  void release() {
+    handler.removeCallbacks(seekIntervalElapsed);
+    exoPlayer.removeListener(this);
+    seekInProgress = false;
+    seekIntervalPending = false;
+    pendingPositionMs = C.TIME_UNSET;
+  }
+
+  @Override
+  public void onPlaybackStateChanged(@Player.State int playbackState) {
+    if (seekInProgress && !seekIntervalPending && playbackState != Player.STATE_BUFFERING) {
+      onSeekCompleted();
+    }
+  }
+
+  private void performSeek(long positionMs) {
+    seekInProgress = true;
+    seekIntervalPending = true;
+    exoPlayer.seekTo(positionMs);
+    handler.postDelayed(seekIntervalElapsed, MIN_SEEK_INTERVAL_MS);
+  }
+
+  private void onSeekIntervalElapsed() {
+    seekIntervalPending = false;
+    // Seeks outside the buffer complete once the player leaves the buffering state.
+    if (exoPlayer.getPlaybackState() != Player.STATE_BUFFERING) {
+      onSeekCompleted();
+    }
+  }
+
+  private void onSeekCompleted() {
+    seekInProgress = false;
+    if (pendingPositionMs != C.TIME_UNSET) {
+      long positionMs = pendingPositionMs;
+      pendingPositionMs = C.TIME_UNSET;
+      performSeek(positionMs);
+    }
+  }
+}
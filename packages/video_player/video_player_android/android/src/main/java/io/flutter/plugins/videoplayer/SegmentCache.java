@@ -0,0 +1,52 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.database.StandaloneDatabaseProvider;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.LeastRecentlyUsedCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+import java.io.File;
+
+/**
+ * The cache the starts of upcoming videos are prefetched into, which players of remote videos read
+ * from before loading from the network once the cache has been opened for prefetching.
+ *
+ * <p>A cache directory can only be opened once per process, so there is a single cache. Once it
+ * holds {@link #MAX_BYTES}, the least recently used segments are evicted.
+ */
+final class SegmentCache {
+  /** The most bytes the cache holds. */
+  static final long MAX_BYTES = 256L * 1024 * 1024;
+
+  private static final String DIRECTORY = "video_player_segments";
+
+  @Nullable private static Cache instance;
+
+  private SegmentCache() {}
+
+  /** Returns the cache of this process, opening it on first use. */
+  @NonNull
+  static synchronized Cache getInstance(@NonNull Context context) {
+    if (instance == null) {
+      Context applicationContext = context.getApplicationContext();
+      instance =
+          new SimpleCache(
+              new File(applicationContext.getCacheDir(), DIRECTORY),
+              new LeastRecentlyUsedCacheEvictor(MAX_BYTES),
+              new StandaloneDatabaseProvider(applicationContext));
+    }
+    return instance;
+  }
+
+  /** Returns the cache of this process if it has been opened. */
+  @Nullable
+  static synchronized Cache getInstanceIfCreated() {
+    return instance;
+  }
+}
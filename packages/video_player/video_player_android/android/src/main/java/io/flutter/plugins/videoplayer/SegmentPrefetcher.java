@@ -0,0 +1,525 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.extractor.ChunkIndex;
+import com.google.android.exoplayer2.source.dash.DashSegmentIndex;
+import com.google.android.exoplayer2.source.dash.DashUtil;
+import com.google.android.exoplayer2.source.dash.DashWrappingSegmentIndex;
+import com.google.android.exoplayer2.source.dash.manifest.AdaptationSet;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifestParser;
+import com.google.android.exoplayer2.source.dash.manifest.Period;
+import com.google.android.exoplayer2.source.dash.manifest.RangedUri;
+import com.google.android.exoplayer2.source.dash.manifest.Representation;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMediaPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMultivariantPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsPlaylistParser;
+import com.google.android.exoplayer2.trackselection.AdaptiveTrackSelection;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.DefaultBandwidthMeter;
+import com.google.android.exoplayer2.upstream.ParsingLoadable;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.CacheWriter;
+import com.google.android.exoplayer2.util.UriUtil;
+import com.google.android.exoplayer2.util.Util;
+import io.flutter.Log;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prefetches the starts of the videos a feed is likely to play next into the {@link SegmentCache},
+ * so that their players start without waiting for the network, and without keeping players around.
+ *
+ * <p>Videos are prefetched one at a time, in the order they are ranked: the manifest, which goes to
+ * the {@link ManifestCache}, then the initialization segment and the segments covering the first
+ * seconds of one video and one audio rendition. The renditions are the ones a player would start
+ * with: the highest that fit the share of the estimated bandwidth adaptive selection starts with,
+ * unless the video bitrate is capped. Only on-demand DASH and HLS videos are prefetched.
+ *
+ * <p>Setting a new queue stops prefetching the previous one. Segments already cached are kept, so
+ * videos that are still queued continue where they stopped. Prefetching stops once the queued
+ * videos take up the byte budget, waits while the player the user is watching is short of buffer,
+ * and pauses while the network is metered, continuing once it is not.
+ */
+final class SegmentPrefetcher {
+  private static final String TAG = "SegmentPrefetcher";
+  private static final long THREAD_KEEP_ALIVE_SECONDS = 10;
+
+  @NonNull private final Context context;
+  @NonNull private final Cache cache;
+  @NonNull private final ManifestCache manifestCache;
+  @NonNull private final NetworkPriorityScheduler networkPriorityScheduler;
+  @NonNull private final BandwidthMeter bandwidthMeter;
+  @NonNull private final ExecutorService executor;
+  @NonNull private final ConnectivityManager connectivityManager;
+  private final ConnectivityManager.NetworkCallback networkCallback =
+      new ConnectivityManager.NetworkCallback() {
+        @Override
+        public void onCapabilitiesChanged(
+            @NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+          setMetered(!capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED));
+        }
+
+        @Override
+        public void onLost(@NonNull Network network) {
+          setMetered(true);
+        }
+      };
+
+  // Guarded by this.
+  @NonNull private List<HttpVideoAsset> queue = new ArrayList<>();
+  @Nullable private PlatformPrefetchOptions options;
+  @Nullable private PrefetchTask task;
+  private boolean metered;
+
+  SegmentPrefetcher(@NonNull Context context) {
+    this.context = context.getApplicationContext();
+    cache = SegmentCache.getInstance(context);
+    manifestCache = ManifestCache.getInstance(context);
+    networkPriorityScheduler = NetworkPriorityScheduler.getInstance();
+    bandwidthMeter = DefaultBandwidthMeter.getSingletonInstance(context);
+    ThreadPoolExecutor threadPoolExecutor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> new Thread(runnable, "VideoSegmentPrefetcher"));
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    executor = threadPoolExecutor;
+    connectivityManager = context.getSystemService(ConnectivityManager.class);
+    metered = connectivityManager.isActiveNetworkMetered();
+    connectivityManager.registerDefaultNetworkCallback(networkCallback);
+  }
+
+  /**
+   * Replaces the videos to prefetch, stopping the prefetching of the previous ones.
+   *
+   * @param assets the videos to prefetch, from the most likely to be played next.
+   * @param options how much of the videos to prefetch.
+   */
+  void setQueue(@NonNull List<HttpVideoAsset> assets, @NonNull PlatformPrefetchOptions options) {
+    if (options.getDurationMs() <= 0) {
+      throw new IllegalArgumentException(
+          "durationMs must be positive, was " + options.getDurationMs());
+    }
+    if (options.getMaxBytes() <= 0) {
+      throw new IllegalArgumentException(
+          "maxBytes must be positive, was " + options.getMaxBytes());
+    }
+    synchronized (this) {
+      queue = new ArrayList<>(assets);
+      this.options = options;
+      restart();
+    }
+  }
+
+  /** Stops prefetching and listening to network changes. */
+  void release() {
+    connectivityManager.unregisterNetworkCallback(networkCallback);
+    synchronized (this) {
+      queue = new ArrayList<>();
+      restart();
+    }
+    executor.shutdown();
+  }
+
+  private synchronized void setMetered(boolean metered) {
+    if (this.metered == metered) {
+      return;
+    }
+    this.metered = metered;
+    restart();
+  }
+
+  // Cancels the task prefetching the previous queue, and starts one for the current queue unless
+  // the network is metered.
+  private synchronized void restart() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+    if (queue.isEmpty() || options == null || metered || executor.isShutdown()) {
+      return;
+    }
+    task = new PrefetchTask(queue, options);
+    task.future = executor.submit(task);
+  }
+
+  /** Returns the segments to prefetch for the first {@code durationUs} of a DASH video. */
+  @VisibleForTesting
+  @NonNull
+  static List<DataSpec> getDashDataSpecs(
+      @NonNull DashManifest manifest,
+      @NonNull DataSource dataSource,
+      long durationUs,
+      long maxVideoBitrate,
+      long maxAudioBitrate)
+      throws IOException {
+    List<DataSpec> dataSpecs = new ArrayList<>();
+    if (manifest.dynamic || manifest.getPeriodCount() == 0) {
+      return dataSpecs;
+    }
+    Period period = manifest.getPeriod(0);
+    long periodDurationUs = manifest.getPeriodDurationUs(0);
+    Set<Integer> prefetchedTypes = new HashSet<>();
+    for (AdaptationSet adaptationSet : period.adaptationSets) {
+      int trackType = adaptationSet.type;
+      if ((trackType != C.TRACK_TYPE_VIDEO && trackType != C.TRACK_TYPE_AUDIO)
+          || adaptationSet.representations.isEmpty()
+          || !prefetchedTypes.add(trackType)) {
+        continue;
+      }
+      List<Format> formats = new ArrayList<>();
+      for (Representation representation : adaptationSet.representations) {
+        formats.add(representation.format);
+      }
+      long maxBitrate = trackType == C.TRACK_TYPE_VIDEO ? maxVideoBitrate : maxAudioBitrate;
+      Representation representation =
+          adaptationSet.representations.get(selectRendition(formats, maxBitrate));
+      addDashDataSpecs(
+          dataSpecs, dataSource, trackType, representation, periodDurationUs, durationUs);
+    }
+    return dataSpecs;
+  }
+
+  private static void addDashDataSpecs(
+      @NonNull List<DataSpec> dataSpecs,
+      @NonNull DataSource dataSource,
+      int trackType,
+      @NonNull Representation representation,
+      long periodDurationUs,
+      long durationUs)
+      throws IOException {
+    String baseUrl = representation.baseUrls.get(0).url;
+    RangedUri initializationUri = representation.getInitializationUri();
+    if (initializationUri != null) {
+      dataSpecs.add(DashUtil.buildDataSpec(representation, baseUrl, initializationUri, 0));
+    }
+    DashSegmentIndex index = representation.getIndex();
+    if (index == null) {
+      // The segments of a single segment representation are listed in an index within the media,
+      // which the player loads too.
+      RangedUri indexUri = representation.getIndexUri();
+      if (indexUri != null) {
+        dataSpecs.add(DashUtil.buildDataSpec(representation, baseUrl, indexUri, 0));
+      }
+      ChunkIndex chunkIndex = DashUtil.loadChunkIndex(dataSource, trackType, representation);
+      if (chunkIndex == null) {
+        return;
+      }
+      index = new DashWrappingSegmentIndex(chunkIndex, representation.presentationTimeOffsetUs);
+    }
+    long segmentCount = index.getSegmentCount(periodDurationUs);
+    if (segmentCount == DashSegmentIndex.INDEX_UNBOUNDED) {
+      return;
+    }
+    long firstSegmentNum = index.getFirstSegmentNum();
+    long startUs = index.getTimeUs(firstSegmentNum);
+    for (long segmentNum = firstSegmentNum;
+        segmentNum < firstSegmentNum + segmentCount;
+        segmentNum++) {
+      if (index.getTimeUs(segmentNum) - startUs >= durationUs) {
+        break;
+      }
+      dataSpecs.add(
+          DashUtil.buildDataSpec(representation, baseUrl, index.getSegmentUrl(segmentNum), 0));
+    }
+  }
+
+  /** Returns the segments to prefetch for the first {@code durationUs} of an HLS rendition. */
+  @VisibleForTesting
+  @NonNull
+  static List<DataSpec> getHlsDataSpecs(@NonNull HlsMediaPlaylist playlist, long durationUs) {
+    List<DataSpec> dataSpecs = new ArrayList<>();
+    if (!playlist.hasEndTag) {
+      return dataSpecs;
+    }
+    HlsMediaPlaylist.Segment initializationSegment = null;
+    for (HlsMediaPlaylist.Segment segment : playlist.segments) {
+      if (segment.relativeStartTimeUs >= durationUs) {
+        break;
+      }
+      if (segment.initializationSegment != null
+          && segment.initializationSegment != initializationSegment) {
+        initializationSegment = segment.initializationSegment;
+        dataSpecs.add(getHlsDataSpec(playlist.baseUri, initializationSegment));
+      }
+      dataSpecs.add(getHlsDataSpec(playlist.baseUri, segment));
+    }
+    return dataSpecs;
+  }
+
+  // Built like the player builds the requests for the segment, so that it finds them in the cache.
+  @NonNull
+  private static DataSpec getHlsDataSpec(
+      @NonNull String baseUri, @NonNull HlsMediaPlaylist.SegmentBase segment) {
+    return new DataSpec(
+        UriUtil.resolveToUri(baseUri, segment.url),
+        segment.byteRangeOffset,
+        segment.byteRangeLength);
+  }
+
+  /**
+   * Returns the URL of the audio rendition a player starts an HLS variant with: the default
+   * rendition of the variant's audio group, or its first one if none is marked default.
+   *
+   * @return the URL, or {@code null} if the variant has no audio group or the selected rendition
+   *     has no URL, its audio being muxed into the variant's segments.
+   */
+  @VisibleForTesting
+  @Nullable
+  static Uri selectHlsAudioRendition(
+      @NonNull HlsMultivariantPlaylist playlist, @NonNull HlsMultivariantPlaylist.Variant variant) {
+    if (variant.audioGroupId == null) {
+      return null;
+    }
+    HlsMultivariantPlaylist.Rendition selected = null;
+    for (HlsMultivariantPlaylist.Rendition rendition : playlist.audios) {
+      if (!variant.audioGroupId.equals(rendition.groupId)) {
+        continue;
+      }
+      if ((rendition.format.selectionFlags & C.SELECTION_FLAG_DEFAULT) != 0) {
+        return rendition.url;
+      }
+      if (selected == null) {
+        selected = rendition;
+      }
+    }
+    return selected != null ? selected.url : null;
+  }
+
+  /**
+   * Returns the index of the rendition to prefetch: the one with the highest bitrate up to {@code
+   * maxBitrate}, or the one with the lowest bitrate if none fits.
+   */
+  @VisibleForTesting
+  static int selectRendition(@NonNull List<Format> formats, long maxBitrate) {
+    int selected = C.INDEX_UNSET;
+    int lowest = 0;
+    for (int i = 0; i < formats.size(); i++) {
+      int bitrate = formats.get(i).bitrate;
+      if (bitrate <= maxBitrate
+          && (selected == C.INDEX_UNSET || bitrate > formats.get(selected).bitrate)) {
+        selected = i;
+      }
+      if (bitrate < formats.get(lowest).bitrate) {
+        lowest = i;
+      }
+    }
+    return selected != C.INDEX_UNSET ? selected : lowest;
+  }
+
+  /** Prefetches the videos of one queue, until it is cancelled. */
+  private final class PrefetchTask implements Runnable {
+    @NonNull private final List<HttpVideoAsset> assets;
+    @NonNull private final PlatformPrefetchOptions options;
+    @Nullable private Future<?> future;
+    @Nullable private volatile CacheWriter cacheWriter;
+    private volatile boolean cancelled;
+    // The bytes the videos prefetched so far take up, whether they were cached before or not.
+    private long bytesPrefetched;
+
+    private PrefetchTask(
+        @NonNull List<HttpVideoAsset> assets, @NonNull PlatformPrefetchOptions options) {
+      this.assets = assets;
+      this.options = options;
+    }
+
+    // Called with the prefetcher locked, so after future has been set.
+    void cancel() {
+      cancelled = true;
+      CacheWriter writer = cacheWriter;
+      if (writer != null) {
+        writer.cancel();
+      }
+      if (future != null) {
+        // Wakes the task if it waits for the foreground player.
+        future.cancel(true);
+      }
+    }
+
+    @Override
+    public void run() {
+      for (HttpVideoAsset asset : assets) {
+        if (cancelled || bytesPrefetched >= options.getMaxBytes()) {
+          return;
+        }
+        try {
+          prefetch(asset);
+        } catch (InterruptedIOException e) {
+          return;
+        } catch (IOException | RuntimeException e) {
+          // Its player loads the video from the network instead.
+          Log.w(TAG, "Failed to prefetch " + asset.assetUrl, e);
+        }
+      }
+    }
+
+    private void prefetch(@NonNull HttpVideoAsset asset) throws IOException {
+      if (asset.assetUrl == null) {
+        return;
+      }
+      Uri uri = Uri.parse(asset.assetUrl);
+      DataSource.Factory upstreamFactory =
+          networkPriorityScheduler.createDataSourceFactory(
+              asset.getDataSourceFactory(context), NetworkPriorityScheduler.PRIORITY_BACKGROUND);
+      DataSource.Factory manifestDataSourceFactory =
+          new ManifestCachingDataSource.Factory(
+              manifestCache, upstreamFactory, uri, asset.getRequestIdentity());
+      CacheDataSource cacheDataSource =
+          new CacheDataSource.Factory()
+              .setCache(cache)
+              .setUpstreamDataSourceFactory(upstreamFactory)
+              .createDataSourceForDownloading();
+      long durationUs = options.getDurationMs() * 1000;
+      long estimatedBitrate =
+          (long)
+              (bandwidthMeter.getBitrateEstimate()
+                  * AdaptiveTrackSelection.DEFAULT_BANDWIDTH_FRACTION);
+      Long maxVideoBitrate = options.getMaxVideoBitrate();
+      List<DataSpec> dataSpecs;
+      switch (getContentType(asset, uri)) {
+        case C.CONTENT_TYPE_DASH:
+          DashManifest manifest =
+              ParsingLoadable.load(
+                  manifestDataSourceFactory.createDataSource(),
+                  new DashManifestParser(),
+                  uri,
+                  C.DATA_TYPE_MANIFEST);
+          dataSpecs =
+              getDashDataSpecs(
+                  manifest,
+                  cacheDataSource,
+                  durationUs,
+                  maxVideoBitrate != null ? maxVideoBitrate : estimatedBitrate,
+                  estimatedBitrate);
+          break;
+        case C.CONTENT_TYPE_HLS:
+          dataSpecs = new ArrayList<>();
+          for (HlsMediaPlaylist mediaPlaylist :
+              loadHlsMediaPlaylists(
+                  manifestDataSourceFactory,
+                  uri,
+                  maxVideoBitrate != null ? maxVideoBitrate : estimatedBitrate)) {
+            dataSpecs.addAll(getHlsDataSpecs(mediaPlaylist, durationUs));
+          }
+          break;
+        default:
+          return;
+      }
+      for (DataSpec dataSpec : dataSpecs) {
+        if (cancelled) {
+          return;
+        }
+        if (dataSpec.length != C.LENGTH_UNSET
+            && bytesPrefetched + dataSpec.length > options.getMaxBytes()) {
+          bytesPrefetched = options.getMaxBytes();
+          return;
+        }
+        long[] bytesCached = new long[1];
+        CacheWriter writer =
+            new CacheWriter(
+                cacheDataSource,
+                dataSpec,
+                null,
+                (requestLength, cachedBytes, newBytesCached) -> bytesCached[0] = cachedBytes);
+        cacheWriter = writer;
+        if (cancelled) {
+          return;
+        }
+        writer.cache();
+        bytesPrefetched += bytesCached[0];
+      }
+    }
+
+    /**
+     * Loads the media playlists of the renditions to prefetch: the variant that fits {@code
+     * maxVideoBitrate}, and the audio rendition it starts with if its audio is not muxed into it.
+     */
+    @NonNull
+    private List<HlsMediaPlaylist> loadHlsMediaPlaylists(
+        @NonNull DataSource.Factory dataSourceFactory, @NonNull Uri uri, long maxVideoBitrate)
+        throws IOException {
+      List<HlsMediaPlaylist> mediaPlaylists = new ArrayList<>();
+      HlsPlaylist playlist =
+          ParsingLoadable.load(
+              dataSourceFactory.createDataSource(),
+              new HlsPlaylistParser(),
+              uri,
+              C.DATA_TYPE_MANIFEST);
+      if (playlist instanceof HlsMediaPlaylist) {
+        mediaPlaylists.add((HlsMediaPlaylist) playlist);
+        return mediaPlaylists;
+      }
+      HlsMultivariantPlaylist multivariantPlaylist = (HlsMultivariantPlaylist) playlist;
+      if (multivariantPlaylist.variants.isEmpty()) {
+        return mediaPlaylists;
+      }
+      List<Format> formats = new ArrayList<>();
+      for (HlsMultivariantPlaylist.Variant variant : multivariantPlaylist.variants) {
+        formats.add(variant.format);
+      }
+      HlsMultivariantPlaylist.Variant variant =
+          multivariantPlaylist.variants.get(selectRendition(formats, maxVideoBitrate));
+      List<Uri> mediaPlaylistUris = new ArrayList<>();
+      mediaPlaylistUris.add(variant.url);
+      Uri audioPlaylistUri = selectHlsAudioRendition(multivariantPlaylist, variant);
+      if (audioPlaylistUri != null) {
+        mediaPlaylistUris.add(audioPlaylistUri);
+      }
+      for (Uri mediaPlaylistUri : mediaPlaylistUris) {
+        HlsPlaylist mediaPlaylist =
+            ParsingLoadable.load(
+                dataSourceFactory.createDataSource(),
+                new HlsPlaylistParser(multivariantPlaylist, null),
+                mediaPlaylistUri,
+                C.DATA_TYPE_MANIFEST);
+        if (mediaPlaylist instanceof HlsMediaPlaylist) {
+          mediaPlaylists.add((HlsMediaPlaylist) mediaPlaylist);
+        }
+      }
+      return mediaPlaylists;
+    }
+  }
+
+  private static int getContentType(@NonNull HttpVideoAsset asset, @NonNull Uri uri) {
+    switch (asset.getStreamingFormat()) {
+      case DYNAMIC_ADAPTIVE:
+        return C.CONTENT_TYPE_DASH;
+      case HTTP_LIVE:
+        return C.CONTENT_TYPE_HLS;
+      case SMOOTH:
+        return C.CONTENT_TYPE_SS;
+      default:
+        return Util.inferContentType(uri);
+    }
+  }
+}
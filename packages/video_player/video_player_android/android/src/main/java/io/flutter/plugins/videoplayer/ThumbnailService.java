@@ -0,0 +1,307 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Handler;
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.source.hls.HlsManifest;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSourceInputStream;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.util.Util;
+import io.flutter.Log;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides seek bar preview thumbnails from the image tracks of the manifest a player has loaded.
+ *
+ * <p>Tile sheets are fetched lazily on a background thread the first time a thumbnail they contain
+ * is requested. That thread also cuts each sheet into JPEG thumbnails, which are kept in an LRU
+ * cache bounded by their size in bytes, so that requests are answered without any image work. Once
+ * the thumbnails of a sheet a request was waiting for are cached, the player's callbacks are told
+ * that they can be requested again.
+ *
+ * <p>All methods must be called on the player's application thread.
+ */
+final class ThumbnailService {
+  private static final String TAG = "ThumbnailService";
+  static final int DEFAULT_MAX_CACHE_BYTES = 16 * 1024 * 1024;
+  private static final int JPEG_QUALITY = 80;
+
+  @NonNull private final ExoPlayer exoPlayer;
+  @NonNull private final DataSource.Factory dataSourceFactory;
+  @NonNull private final VideoPlayerCallbacks events;
+  @Nullable private Handler handler;
+  // The thumbnails of each sheet, in reading order.
+  @NonNull private final LruCache<Uri, PlatformThumbnail[]> sheetCache;
+  @NonNull private final Set<Uri> pendingSheets = new HashSet<>();
+  @Nullable private ExecutorService executor;
+  // The manifest the track was read from, to notice when the player loads another one.
+  @Nullable private Object trackManifest;
+  @Nullable private ThumbnailTrack track;
+  private boolean loadingTrack;
+  // The position last requested while the track was loading, or C.TIME_UNSET.
+  private long pendingPositionMs = C.TIME_UNSET;
+  private boolean released;
+
+  ThumbnailService(
+      @NonNull ExoPlayer exoPlayer,
+      @NonNull DataSource.Factory dataSourceFactory,
+      @NonNull VideoPlayerCallbacks events) {
+    this(exoPlayer, dataSourceFactory, events, DEFAULT_MAX_CACHE_BYTES);
+  }
+
+  @VisibleForTesting
+  ThumbnailService(
+      @NonNull ExoPlayer exoPlayer,
+      @NonNull DataSource.Factory dataSourceFactory,
+      @NonNull VideoPlayerCallbacks events,
+      int maxCacheBytes) {
+    this.exoPlayer = exoPlayer;
+    this.dataSourceFactory = dataSourceFactory;
+    this.events = events;
+    this.sheetCache =
+        new LruCache<Uri, PlatformThumbnail[]>(maxCacheBytes) {
+          @Override
+          protected int sizeOf(@NonNull Uri key, @NonNull PlatformThumbnail[] value) {
+            int size = 0;
+            for (PlatformThumbnail thumbnail : value) {
+              size += thumbnail.getBytes().length;
+            }
+            return size;
+          }
+        };
+  }
+
+  /**
+   * Returns the thumbnail for a position, if it is available.
+   *
+   * <p>If the sheet containing the thumbnail has not been loaded yet, loading starts and null is
+   * returned; {@link VideoPlayerCallbacks#onThumbnailsLoaded} is called once the thumbnails of the
+   * sheet are ready, and calling again then returns the thumbnail.
+   *
+   * @param positionMs position in the current media item, in milliseconds.
+   * @return the thumbnail as JPEG data, or {@code null} if it is not available (yet).
+   */
+  @Nullable
+  PlatformThumbnail getThumbnail(long positionMs) {
+    if (released) {
+      return null;
+    }
+    ThumbnailTrack currentTrack = getTrack();
+    if (currentTrack == null) {
+      if (loadingTrack) {
+        // The sheet is loaded once the track is known.
+        pendingPositionMs = positionMs;
+      }
+      return null;
+    }
+    ThumbnailTrack.TileSheet sheet = currentTrack.sheetAt(positionMs);
+    if (sheet == null) {
+      return null;
+    }
+    PlatformThumbnail[] thumbnails = sheetCache.get(sheet.uri);
+    if (thumbnails == null) {
+      loadSheet(sheet);
+      return null;
+    }
+    return thumbnails[sheet.tileIndexAt(positionMs)];
+  }
+
+  /**
+   * Frees the cached sheets, which are loaded again when their thumbnails are next requested.
+   *
+   * <p>Unlike the other methods, this may be called from any thread.
+   *
+   * @return whether any sheets were cached.
+   */
+  boolean trimMemory() {
+    // The cache is synchronized.
+    boolean cached = sheetCache.size() > 0;
+    sheetCache.evictAll();
+    return cached;
+  }
+
+  /** Stops pending loads and frees the cached sheets. */
+  void release() {
+    released = true;
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    if (handler != null) {
+      handler.removeCallbacksAndMessages(null);
+    }
+    sheetCache.evictAll();
+  }
+
+  @Nullable
+  private ThumbnailTrack getTrack() {
+    Object manifest = exoPlayer.getCurrentManifest();
+    if (manifest == null) {
+      return null;
+    }
+    if (manifest == trackManifest) {
+      return track;
+    }
+    if (loadingTrack) {
+      return null;
+    }
+    if (manifest instanceof DashManifest) {
+      setTrack(manifest, ThumbnailTrack.fromDashManifest((DashManifest) manifest));
+    } else if (manifest instanceof HlsManifest) {
+      Uri playlistUri =
+          ThumbnailTrack.findHlsImagePlaylistUri(((HlsManifest) manifest).multivariantPlaylist);
+      if (playlistUri == null) {
+        setTrack(manifest, null);
+      } else {
+        loadHlsImagePlaylist(manifest, playlistUri);
+        return null;
+      }
+    } else {
+      setTrack(manifest, null);
+    }
+    return track;
+  }
+
+  private void setTrack(@NonNull Object manifest, @Nullable ThumbnailTrack newTrack) {
+    trackManifest = manifest;
+    track = newTrack;
+    sheetCache.evictAll();
+  }
+
+  private void loadHlsImagePlaylist(@NonNull Object manifest, @NonNull Uri playlistUri) {
+    loadingTrack = true;
+    Handler callbackHandler = getHandler();
+    getExecutor()
+        .execute(
+            () -> {
+              ThumbnailTrack loadedTrack = null;
+              try {
+                String playlist = Util.fromUtf8Bytes(load(playlistUri));
+                loadedTrack = ThumbnailTrack.fromHlsImagePlaylist(playlistUri, playlist);
+              } catch (IOException e) {
+                Log.w(TAG, "Failed to load image playlist " + playlistUri, e);
+              }
+              final ThumbnailTrack result = loadedTrack;
+              callbackHandler.post(
+                  () -> {
+                    loadingTrack = false;
+                    if (!released) {
+                      setTrack(manifest, result);
+                      loadPendingSheet();
+                    }
+                  });
+            });
+  }
+
+  private void loadPendingSheet() {
+    long positionMs = pendingPositionMs;
+    pendingPositionMs = C.TIME_UNSET;
+    if (positionMs == C.TIME_UNSET || track == null) {
+      return;
+    }
+    ThumbnailTrack.TileSheet sheet = track.sheetAt(positionMs);
+    if (sheet != null && sheetCache.get(sheet.uri) == null) {
+      loadSheet(sheet);
+    }
+  }
+
+  private void loadSheet(@NonNull ThumbnailTrack.TileSheet sheet) {
+    if (!pendingSheets.add(sheet.uri)) {
+      return;
+    }
+    Handler callbackHandler = getHandler();
+    getExecutor()
+        .execute(
+            () -> {
+              PlatformThumbnail[] thumbnails = null;
+              try {
+                byte[] data = load(sheet.uri);
+                Bitmap sheetBitmap = BitmapFactory.decodeByteArray(data, 0, data.length);
+                if (sheetBitmap == null) {
+                  Log.w(TAG, "Failed to decode thumbnails " + sheet.uri);
+                } else {
+                  thumbnails = cropThumbnails(sheet, sheetBitmap);
+                  sheetBitmap.recycle();
+                }
+              } catch (IOException e) {
+                Log.w(TAG, "Failed to load thumbnails " + sheet.uri, e);
+              }
+              final PlatformThumbnail[] result = thumbnails;
+              callbackHandler.post(
+                  () -> {
+                    pendingSheets.remove(sheet.uri);
+                    if (!released && result != null) {
+                      sheetCache.put(sheet.uri, result);
+                      events.onThumbnailsLoaded(sheet.startMs, sheet.startMs + sheet.durationMs);
+                    }
+                  });
+            });
+  }
+
+  @NonNull
+  private byte[] load(@NonNull Uri uri) throws IOException {
+    DataSource dataSource = dataSourceFactory.createDataSource();
+    try (InputStream inputStream = new DataSourceInputStream(dataSource, new DataSpec(uri))) {
+      return Util.toByteArray(inputStream);
+    }
+  }
+
+  @NonNull
+  private Handler getHandler() {
+    if (handler == null) {
+      handler = new Handler(exoPlayer.getApplicationLooper());
+    }
+    return handler;
+  }
+
+  @NonNull
+  private ExecutorService getExecutor() {
+    if (executor == null) {
+      executor =
+          Executors.newSingleThreadExecutor(
+              runnable -> new Thread(runnable, "VideoThumbnailLoader"));
+    }
+    return executor;
+  }
+
+  /** Cuts a sheet into its thumbnails, in reading order. */
+  @NonNull
+  private static PlatformThumbnail[] cropThumbnails(
+      @NonNull ThumbnailTrack.TileSheet sheet, @NonNull Bitmap sheetBitmap) {
+    int width = sheetBitmap.getWidth() / sheet.columns;
+    int height = sheetBitmap.getHeight() / sheet.rows;
+    PlatformThumbnail[] thumbnails = new PlatformThumbnail[sheet.columns * sheet.rows];
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    for (int index = 0; index < thumbnails.length; index++) {
+      int x = (index % sheet.columns) * width;
+      int y = (index / sheet.columns) * height;
+      Bitmap thumbnail = Bitmap.createBitmap(sheetBitmap, x, y, width, height);
+      output.reset();
+      thumbnail.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, output);
+      if (thumbnail != sheetBitmap) {
+        thumbnail.recycle();
+      }
+      thumbnails[index] = new PlatformThumbnail(width, height, output.toByteArray());
+    }
+    return thumbnails;
+  }
+}
@@ -0,0 +1,292 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.source.dash.DashSegmentIndex;
+import com.google.android.exoplayer2.source.dash.manifest.AdaptationSet;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.source.dash.manifest.Descriptor;
+import com.google.android.exoplayer2.source.dash.manifest.Period;
+import com.google.android.exoplayer2.source.dash.manifest.Representation;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMultivariantPlaylist;
+import com.google.android.exoplayer2.util.UriUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The thumbnails available for a video, as sheets of images laid out in a grid.
+ *
+ * <p>Tracks are read from DASH image adaptation sets, and from HLS image media playlists referenced
+ * by {@code EXT-X-IMAGE-STREAM-INF} tags.
+ */
+abstract class ThumbnailTrack {
+  private static final String DASH_THUMBNAIL_TILE_SCHEME = "http://dashif.org/thumbnail_tile";
+  private static final String DASH_THUMBNAIL_TILE_SCHEME_LEGACY =
+      "http://dashif.org/guidelines/thumbnail_tile";
+  private static final String HLS_IMAGE_STREAM_TAG = "#EXT-X-IMAGE-STREAM-INF:";
+  private static final String HLS_TILES_TAG = "#EXT-X-TILES:";
+  private static final String HLS_MEDIA_DURATION_TAG = "#EXTINF:";
+
+  private static final Pattern LAYOUT_PATTERN = Pattern.compile("(\\d+)x(\\d+)");
+  private static final Pattern URI_ATTRIBUTE_PATTERN = Pattern.compile("URI=\"([^\"]+)\"");
+  private static final Pattern LAYOUT_ATTRIBUTE_PATTERN = Pattern.compile("LAYOUT=(\\d+)x(\\d+)");
+  private static final Pattern DURATION_ATTRIBUTE_PATTERN =
+      Pattern.compile("DURATION=([\\d.]+)");
+
+  /** An image containing {@code columns * rows} thumbnails, covering a time range evenly. */
+  static final class TileSheet {
+    @NonNull final Uri uri;
+    final long startMs;
+    final long durationMs;
+    final int columns;
+    final int rows;
+
+    TileSheet(@NonNull Uri uri, long startMs, long durationMs, int columns, int rows) {
+      this.uri = uri;
+      this.startMs = startMs;
+      this.durationMs = durationMs;
+      this.columns = columns;
+      this.rows = rows;
+    }
+
+    /** Returns the index, in reading order, of the thumbnail shown at the given position. */
+    int tileIndexAt(long positionMs) {
+      int tileCount = columns * rows;
+      if (durationMs <= 0) {
+        return 0;
+      }
+      long index = (positionMs - startMs) * tileCount / durationMs;
+      return (int) Math.max(0, Math.min(tileCount - 1, index));
+    }
+  }
+
+  /**
+   * Returns the sheet containing the thumbnail for the given position.
+   *
+   * @param positionMs position in the video, in milliseconds.
+   * @return the sheet, or {@code null} if no thumbnail covers the position.
+   */
+  @Nullable
+  abstract TileSheet sheetAt(long positionMs);
+
+  /**
+   * Returns the thumbnails described by the image adaptation sets of a DASH manifest.
+   *
+   * @param manifest the manifest loaded by the player.
+   * @return the track, or {@code null} if the manifest has no image adaptation set.
+   */
+  @Nullable
+  static ThumbnailTrack fromDashManifest(@NonNull DashManifest manifest) {
+    List<DashPeriodThumbnails> periods = new ArrayList<>();
+    for (int i = 0; i < manifest.getPeriodCount(); i++) {
+      Period period = manifest.getPeriod(i);
+      for (AdaptationSet adaptationSet : period.adaptationSets) {
+        if (adaptationSet.type != C.TRACK_TYPE_IMAGE || adaptationSet.representations.isEmpty()) {
+          continue;
+        }
+        // Use the representation with the most detailed thumbnails.
+        Representation best = adaptationSet.representations.get(0);
+        for (Representation representation : adaptationSet.representations) {
+          if (representation.format.width > best.format.width) {
+            best = representation;
+          }
+        }
+        int[] layout = parseDashTileLayout(adaptationSet.essentialProperties);
+        if (layout == null) {
+          layout = parseDashTileLayout(adaptationSet.supplementalProperties);
+        }
+        if (layout == null) {
+          layout = new int[] {1, 1};
+        }
+        periods.add(
+            new DashPeriodThumbnails(
+                period.startMs, manifest.getPeriodDurationUs(i), best, layout[0], layout[1]));
+        break;
+      }
+    }
+    return periods.isEmpty() ? null : new DashThumbnailTrack(periods);
+  }
+
+  /**
+   * Returns the URI of the first image media playlist of an HLS multivariant playlist.
+   *
+   * <p>ExoPlayer keeps the tags of the multivariant playlist but does not parse {@code
+   * EXT-X-IMAGE-STREAM-INF}, so it is read from the raw tags here.
+   *
+   * @param playlist the multivariant playlist loaded by the player.
+   * @return the resolved URI, or {@code null} if the playlist has no image stream.
+   */
+  @Nullable
+  static Uri findHlsImagePlaylistUri(@NonNull HlsMultivariantPlaylist playlist) {
+    for (String tag : playlist.tags) {
+      if (!tag.startsWith(HLS_IMAGE_STREAM_TAG)) {
+        continue;
+      }
+      Matcher matcher = URI_ATTRIBUTE_PATTERN.matcher(tag);
+      if (matcher.find()) {
+        return UriUtil.resolveToUri(playlist.baseUri, matcher.group(1));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Parses an HLS image media playlist, with sheets described by {@code EXT-X-TILES} tags.
+   *
+   * @param playlistUri URI the playlist was loaded from, used to resolve relative URIs.
+   * @param playlist contents of the playlist.
+   * @return the track, or {@code null} if the playlist has no segments.
+   */
+  @Nullable
+  static ThumbnailTrack fromHlsImagePlaylist(@NonNull Uri playlistUri, @NonNull String playlist) {
+    List<TileSheet> sheets = new ArrayList<>();
+    long startMs = 0;
+    long segmentDurationMs = C.TIME_UNSET;
+    int columns = 1;
+    int rows = 1;
+    for (String rawLine : playlist.split("\n")) {
+      String line = rawLine.trim();
+      if (line.isEmpty()) {
+        continue;
+      }
+      if (line.startsWith(HLS_MEDIA_DURATION_TAG)) {
+        String value = line.substring(HLS_MEDIA_DURATION_TAG.length());
+        int comma = value.indexOf(',');
+        segmentDurationMs =
+            (long) (Double.parseDouble(comma >= 0 ? value.substring(0, comma) : value) * 1000);
+      } else if (line.startsWith(HLS_TILES_TAG)) {
+        Matcher layout = LAYOUT_ATTRIBUTE_PATTERN.matcher(line);
+        if (layout.find()) {
+          columns = Integer.parseInt(layout.group(1));
+          rows = Integer.parseInt(layout.group(2));
+        }
+        Matcher duration = DURATION_ATTRIBUTE_PATTERN.matcher(line);
+        if (segmentDurationMs == C.TIME_UNSET && duration.find()) {
+          double tileDurationSeconds = Double.parseDouble(duration.group(1));
+          segmentDurationMs = (long) (tileDurationSeconds * columns * rows * 1000);
+        }
+      } else if (!line.startsWith("#")) {
+        if (segmentDurationMs == C.TIME_UNSET) {
+          continue;
+        }
+        Uri uri = UriUtil.resolveToUri(playlistUri.toString(), line);
+        sheets.add(new TileSheet(uri, startMs, segmentDurationMs, columns, rows));
+        startMs += segmentDurationMs;
+        segmentDurationMs = C.TIME_UNSET;
+      }
+    }
+    return sheets.isEmpty() ? null : new ListThumbnailTrack(sheets);
+  }
+
+  @Nullable
+  private static int[] parseDashTileLayout(@NonNull List<Descriptor> descriptors) {
+    for (Descriptor descriptor : descriptors) {
+      if (!DASH_THUMBNAIL_TILE_SCHEME.equals(descriptor.schemeIdUri)
+          && !DASH_THUMBNAIL_TILE_SCHEME_LEGACY.equals(descriptor.schemeIdUri)) {
+        continue;
+      }
+      if (descriptor.value == null) {
+        continue;
+      }
+      Matcher matcher = LAYOUT_PATTERN.matcher(descriptor.value);
+      if (matcher.matches()) {
+        return new int[] {Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))};
+      }
+    }
+    return null;
+  }
+
+  /** The image representation of a single DASH period. */
+  private static final class DashPeriodThumbnails {
+    final long startMs;
+    final long durationUs;
+    @NonNull final Representation representation;
+    final int columns;
+    final int rows;
+
+    DashPeriodThumbnails(
+        long startMs,
+        long durationUs,
+        @NonNull Representation representation,
+        int columns,
+        int rows) {
+      this.startMs = startMs;
+      this.durationUs = durationUs;
+      this.representation = representation;
+      this.columns = columns;
+      this.rows = rows;
+    }
+  }
+
+  /** Thumbnails looked up through the segment index of DASH image representations. */
+  private static final class DashThumbnailTrack extends ThumbnailTrack {
+    @NonNull private final List<DashPeriodThumbnails> periods;
+
+    DashThumbnailTrack(@NonNull List<DashPeriodThumbnails> periods) {
+      this.periods = periods;
+    }
+
+    @Nullable
+    @Override
+    TileSheet sheetAt(long positionMs) {
+      DashPeriodThumbnails period = null;
+      for (DashPeriodThumbnails candidate : periods) {
+        if (candidate.startMs <= positionMs) {
+          period = candidate;
+        }
+      }
+      if (period == null) {
+        return null;
+      }
+      DashSegmentIndex index = period.representation.getIndex();
+      if (index == null || period.representation.baseUrls.isEmpty()) {
+        return null;
+      }
+      long positionInPeriodUs = (positionMs - period.startMs) * 1000;
+      long segmentNum = index.getSegmentNum(positionInPeriodUs, period.durationUs);
+      long segmentStartUs = index.getTimeUs(segmentNum);
+      long segmentDurationUs = index.getDurationUs(segmentNum, period.durationUs);
+      Uri uri =
+          index
+              .getSegmentUrl(segmentNum)
+              .resolveUri(period.representation.baseUrls.get(0).url);
+      return new TileSheet(
+          uri,
+          period.startMs + segmentStartUs / 1000,
+          segmentDurationUs / 1000,
+          period.columns,
+          period.rows);
+    }
+  }
+
+  /** Thumbnails from an explicit list of sheets, in playback order. */
+  private static final class ListThumbnailTrack extends ThumbnailTrack {
+    @NonNull private final List<TileSheet> sheets;
+
+    ListThumbnailTrack(@NonNull List<TileSheet> sheets) {
+      this.sheets = Collections.unmodifiableList(sheets);
+    }
+
+    @Nullable
+    @Override
+    TileSheet sheetAt(long positionMs) {
+      TileSheet result = null;
+      for (TileSheet sheet : sheets) {
+        if (sheet.startMs > positionMs) {
+          break;
+        }
+        result = sheet;
+      }
+      return result;
+    }
+  }
+}
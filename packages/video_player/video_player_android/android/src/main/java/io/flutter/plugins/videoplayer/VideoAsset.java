@@ -8,7 +8,10 @@ import android.content.Context;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.google.android.exoplayer2.MediaItem;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
 import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DefaultDataSource;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -88,6 +91,50 @@ public abstract class VideoAsset {
   @NonNull
   public abstract MediaSource.Factory getMediaSourceFactory(@NonNull Context context);
 
+  /**
+   * Returns a factory for data sources that load resources related to this asset, such as its
+   * thumbnails, the same way its media is loaded.
+   *
+   * @param context application context.
+   * @return data source factory.
+   */
+  @NonNull
+  DataSource.Factory getDataSourceFactory(@NonNull Context context) {
+    return new DefaultDataSource.Factory(context);
+  }
+
+  /**
+   * Sets the priority the media of this asset is loaded with, from the player it is created for.
+   *
+   * <p>Must be called before {@link #getMediaSourceFactory(Context)}. Assets that are not loaded
+   * from the network ignore it.
+   *
+   * @param loadPriority the priority of the player's loads.
+   */
+  void setLoadPriority(@NonNull NetworkPriorityScheduler.LoadPriority loadPriority) {}
+
+  /**
+   * Returns the DRM session manager shared by the media sources created for this asset, if its
+   * media source factory has created one.
+   *
+   * @return the session manager, or {@code null} if the asset's sessions are not shared.
+   */
+  @Nullable
+  DrmSessionManager getSharedDrmSessionManager() {
+    return null;
+  }
+
+  /**
+   * Returns whether this asset can be played through the media source factory of {@code other},
+   * sharing its data source configuration and DRM sessions.
+   *
+   * @param other asset whose media source factory would be used.
+   * @return true if the factory of {@code other} can play this asset.
+   */
+  boolean canShareMediaSourceFactoryWith(@NonNull VideoAsset other) {
+    return false;
+  }
+
   /** Streaming formats that can be provided to the video player as a hint. */
   enum StreamingFormat {
     /** Default, if the format is either not known or not another valid format. */
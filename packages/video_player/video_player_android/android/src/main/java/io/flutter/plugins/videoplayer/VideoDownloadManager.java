@@ -0,0 +1,523 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.DefaultRenderersFactory;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.database.StandaloneDatabaseProvider;
+import com.google.android.exoplayer2.drm.DefaultDrmSessionManager;
+import com.google.android.exoplayer2.drm.DrmSession;
+import com.google.android.exoplayer2.drm.DrmSessionEventListener;
+import com.google.android.exoplayer2.drm.OfflineLicenseHelper;
+import com.google.android.exoplayer2.offline.Download;
+import com.google.android.exoplayer2.offline.DownloadHelper;
+import com.google.android.exoplayer2.offline.DownloadManager;
+import com.google.android.exoplayer2.offline.DownloadRequest;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.source.dash.DashUtil;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import com.google.android.exoplayer2.trackselection.MappingTrackSelector.MappedTrackInfo;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DefaultHttpDataSource;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.NoOpCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+import io.flutter.Log;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Downloads videos into a local cache for offline playback.
+ *
+ * <p>Adaptive streams are downloaded segment by segment, with up to the configured number of
+ * segments fetched in parallel. The Sigma licenses of protected videos are downloaded as persistent
+ * licenses before their media, so that a completed download plays without any network access.
+ *
+ * <p>Downloads outlive the engine, so there is a single manager per process; the cache it writes to
+ * can only be opened once. Downloads run while the process is alive and resume when it restarts.
+ *
+ * <p>The underlying {@link DownloadManager} lives on a thread of its own, so that the manager can
+ * be created from any thread, including playback threads waited on by the platform thread.
+ */
+final class VideoDownloadManager {
+  /** Receives the progress of downloads, on the platform thread. */
+  interface Listener {
+    void onDownloadEvent(@NonNull PlatformDownloadEvent event);
+  }
+
+  private static final String TAG = "VideoDownloadManager";
+  private static final String DOWNLOAD_DIRECTORY = "video_player_downloads";
+  @VisibleForTesting static final int DEFAULT_SEGMENT_CONCURRENCY = 4;
+  private static final long SEGMENT_THREAD_KEEP_ALIVE_SECONDS = 10;
+  private static final long PROGRESS_INTERVAL_MS = 1000;
+  // The key of the DRM configuration in the data stored with each download request.
+  private static final String DRM_CONFIGURATION_KEY = "drmConfiguration";
+
+  @Nullable private static VideoDownloadManager instance;
+
+  @NonNull private final Context context;
+  @NonNull private final Cache cache;
+  @NonNull private final ThreadPoolExecutor segmentExecutor;
+  @NonNull private final DownloadManager downloadManager;
+  @NonNull private final Handler downloadHandler;
+  // Prepares downloads and acquires their licenses, which both block on network requests.
+  @NonNull private final Handler preparationHandler;
+  @NonNull private final Handler platformThreadHandler = new Handler(Looper.getMainLooper());
+  @NonNull private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+  private final Runnable reportProgress = this::reportProgress;
+  private boolean reportingProgress;
+
+  /** Returns the manager of this process, creating it on first use. */
+  @NonNull
+  static synchronized VideoDownloadManager getInstance(@NonNull Context context) {
+    if (instance == null) {
+      Context applicationContext = context.getApplicationContext();
+      StandaloneDatabaseProvider databaseProvider =
+          new StandaloneDatabaseProvider(applicationContext);
+      Cache cache =
+          new SimpleCache(
+              new File(applicationContext.getFilesDir(), DOWNLOAD_DIRECTORY),
+              new NoOpCacheEvictor(),
+              databaseProvider);
+      instance = new VideoDownloadManager(applicationContext, databaseProvider, cache);
+    }
+    return instance;
+  }
+
+  /** Returns the manager of this process if it has been created. */
+  @Nullable
+  static synchronized VideoDownloadManager getInstanceIfCreated() {
+    return instance;
+  }
+
+  @VisibleForTesting
+  VideoDownloadManager(
+      @NonNull Context context,
+      @NonNull StandaloneDatabaseProvider databaseProvider,
+      @NonNull Cache cache) {
+    this.context = context;
+    this.cache = cache;
+    segmentExecutor =
+        new ThreadPoolExecutor(
+            DEFAULT_SEGMENT_CONCURRENCY,
+            DEFAULT_SEGMENT_CONCURRENCY,
+            SEGMENT_THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> new Thread(runnable, "VideoSegmentDownloader"));
+    segmentExecutor.allowCoreThreadTimeOut(true);
+    HandlerThread downloadThread = new HandlerThread("VideoDownloads");
+    downloadThread.start();
+    downloadHandler = new Handler(downloadThread.getLooper());
+    // The download manager reports to the thread it is created on.
+    downloadManager =
+        PlayerThread.callBlocking(
+            downloadThread.getLooper(),
+            () -> createDownloadManager(context, databaseProvider, cache, segmentExecutor));
+
+    HandlerThread preparationThread = new HandlerThread("VideoDownloadPreparer");
+    preparationThread.start();
+    preparationHandler = new Handler(preparationThread.getLooper());
+  }
+
+  @NonNull
+  private DownloadManager createDownloadManager(
+      @NonNull Context context,
+      @NonNull StandaloneDatabaseProvider databaseProvider,
+      @NonNull Cache cache,
+      @NonNull ThreadPoolExecutor segmentExecutor) {
+    // The HTTP headers of a video only apply to the requests made while its download is prepared;
+    // downloads resumed after a restart no longer know them, so media is fetched without them.
+    // Segments wait while a player the user is watching is short of buffer.
+    DownloadManager downloadManager =
+        new DownloadManager(
+            context,
+            databaseProvider,
+            cache,
+            NetworkPriorityScheduler.getInstance()
+                .createDataSourceFactory(
+                    new DefaultHttpDataSource.Factory().setAllowCrossProtocolRedirects(true),
+                    NetworkPriorityScheduler.PRIORITY_DOWNLOAD),
+            segmentExecutor);
+    downloadManager.addListener(
+        new DownloadManager.Listener() {
+          @Override
+          public void onDownloadChanged(
+              @NonNull DownloadManager manager,
+              @NonNull Download download,
+              @Nullable Exception finalException) {
+            sendEvent(download, finalException);
+            // Uses the manager passed in, as this may be called before the field is set.
+            maybeReportProgress(manager);
+          }
+        });
+    downloadManager.resumeDownloads();
+    return downloadManager;
+  }
+
+  void addListener(@NonNull Listener listener) {
+    listeners.add(listener);
+  }
+
+  void removeListener(@NonNull Listener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Sets how many segments are fetched in parallel, across all downloads.
+   *
+   * @param segmentConcurrency the number of segments, at least 1.
+   */
+  void setSegmentConcurrency(int segmentConcurrency) {
+    if (segmentConcurrency < 1) {
+      throw new IllegalArgumentException(
+          "Segment concurrency must be at least 1: " + segmentConcurrency);
+    }
+    // The core size may never exceed the maximum size, so the order depends on the direction.
+    if (segmentConcurrency > segmentExecutor.getMaximumPoolSize()) {
+      segmentExecutor.setMaximumPoolSize(segmentConcurrency);
+      segmentExecutor.setCorePoolSize(segmentConcurrency);
+    } else {
+      segmentExecutor.setCorePoolSize(segmentConcurrency);
+      segmentExecutor.setMaximumPoolSize(segmentConcurrency);
+    }
+  }
+
+  @VisibleForTesting
+  int getSegmentConcurrency() {
+    return segmentExecutor.getMaximumPoolSize();
+  }
+
+  /**
+   * Starts downloading a video.
+   *
+   * <p>The renditions to download are picked with the default track selection, capped by the
+   * download options. The license of a protected video is downloaded before its media; if either
+   * fails, a failed event is sent for the download.
+   *
+   * @param downloadId the ID of the download, later used to play it.
+   * @param asset the video to download.
+   * @param drmConfiguration the DRM configuration of the video.
+   * @param downloadOptions the options of the download.
+   */
+  void startDownload(
+      @NonNull String downloadId,
+      @NonNull VideoAsset asset,
+      @NonNull Map<String, String> drmConfiguration,
+      @NonNull PlatformDownloadOptions downloadOptions) {
+    DefaultTrackSelector.Parameters.Builder parameters =
+        DownloadHelper.getDefaultTrackSelectorParameters(context).buildUpon();
+    Long maxVideoBitrate = downloadOptions.getMaxVideoBitrate();
+    if (maxVideoBitrate != null) {
+      parameters.setMaxVideoBitrate((int) Math.min(maxVideoBitrate, Integer.MAX_VALUE));
+    }
+    DataSource.Factory dataSourceFactory = asset.getDataSourceFactory(context);
+    preparationHandler.post(
+        () -> {
+          // Created here so that its callbacks are also called on the preparation thread.
+          DownloadHelper helper =
+              DownloadHelper.forMediaItem(
+                  asset.getMediaItem(),
+                  parameters.build(),
+                  new DefaultRenderersFactory(context),
+                  dataSourceFactory,
+                  HttpVideoAsset.createSigmaDrmSessionManager(drmConfiguration, dataSourceFactory));
+          helper.prepare(
+              new DownloadHelper.Callback() {
+                @Override
+                public void onPrepared(@NonNull DownloadHelper helper) {
+                  try {
+                    byte[] keySetId =
+                        downloadLicense(helper, drmConfiguration, dataSourceFactory);
+                    DownloadRequest request =
+                        helper
+                            .getDownloadRequest(downloadId, encodeData(drmConfiguration))
+                            .copyWithKeySetId(keySetId);
+                    downloadHandler.post(() -> downloadManager.addDownload(request));
+                  } catch (IOException e) {
+                    Log.e(TAG, "Failed to download the license of " + downloadId, e);
+                    sendFailure(downloadId, "License download failed: " + e.getMessage());
+                  } finally {
+                    helper.release();
+                  }
+                }
+
+                @Override
+                public void onPrepareError(@NonNull DownloadHelper helper, @NonNull IOException e) {
+                  Log.e(TAG, "Failed to prepare download " + downloadId, e);
+                  sendFailure(downloadId, "Preparation failed: " + e.getMessage());
+                  helper.release();
+                }
+              });
+        });
+  }
+
+  /**
+   * Downloads the persistent license of a prepared video.
+   *
+   * @return the key set ID of the license, or {@code null} if the video is not protected.
+   */
+  @Nullable
+  private byte[] downloadLicense(
+      @NonNull DownloadHelper helper,
+      @NonNull Map<String, String> drmConfiguration,
+      @NonNull DataSource.Factory dataSourceFactory)
+      throws IOException {
+    Format format = findProtectedFormat(helper, dataSourceFactory);
+    if (format == null) {
+      return null;
+    }
+    OfflineLicenseHelper licenseHelper =
+        createLicenseHelper(drmConfiguration, dataSourceFactory);
+    try {
+      return licenseHelper.downloadLicense(format);
+    } finally {
+      licenseHelper.release();
+    }
+  }
+
+  /** Returns a format holding DRM init data, or {@code null} if the video is not protected. */
+  @Nullable
+  private static Format findProtectedFormat(
+      @NonNull DownloadHelper helper, @NonNull DataSource.Factory dataSourceFactory)
+      throws IOException {
+    for (int period = 0; period < helper.getPeriodCount(); period++) {
+      MappedTrackInfo trackInfo = helper.getMappedTrackInfo(period);
+      for (int renderer = 0; renderer < trackInfo.getRendererCount(); renderer++) {
+        TrackGroupArray groups = trackInfo.getTrackGroups(renderer);
+        for (int group = 0; group < groups.length; group++) {
+          TrackGroup trackGroup = groups.get(group);
+          for (int track = 0; track < trackGroup.length; track++) {
+            Format format = trackGroup.getFormat(track);
+            if (format.drmInitData != null) {
+              return format;
+            }
+          }
+        }
+      }
+    }
+    // DASH manifests may leave the DRM init data to the initialization segments.
+    Object manifest = helper.getManifest();
+    if (manifest instanceof DashManifest && ((DashManifest) manifest).getPeriodCount() > 0) {
+      Format format =
+          DashUtil.loadFormatWithDrmInitData(
+              dataSourceFactory.createDataSource(), ((DashManifest) manifest).getPeriod(0));
+      if (format != null && format.drmInitData != null) {
+        return format;
+      }
+    }
+    return null;
+  }
+
+  @NonNull
+  private static OfflineLicenseHelper createLicenseHelper(
+      @NonNull Map<String, String> drmConfiguration,
+      @NonNull DataSource.Factory dataSourceFactory) {
+    // The license helper takes the session manager over, so it can't be shared with the player.
+    DefaultDrmSessionManager drmSessionManager =
+        HttpVideoAsset.createSigmaDrmSessionManager(drmConfiguration, dataSourceFactory);
+    return new OfflineLicenseHelper(
+        drmSessionManager, new DrmSessionEventListener.EventDispatcher());
+  }
+
+  /**
+   * Removes a download and its media, and releases its license.
+   *
+   * <p>Failing to release the license doesn't prevent the removal; the license server expires
+   * unreleased licenses on its own.
+   */
+  void removeDownload(@NonNull String downloadId) {
+    Download download = getDownload(downloadId);
+    if (download == null) {
+      throw new IllegalArgumentException("No download found with ID <" + downloadId + ">");
+    }
+    byte[] keySetId = download.request.keySetId;
+    if (keySetId != null) {
+      Map<String, String> drmConfiguration = decodeData(download.request.data);
+      preparationHandler.post(
+          () -> {
+            OfflineLicenseHelper licenseHelper =
+                createLicenseHelper(drmConfiguration, new DefaultHttpDataSource.Factory());
+            try {
+              licenseHelper.releaseLicense(keySetId);
+            } catch (DrmSession.DrmSessionException e) {
+              Log.w(TAG, "Failed to release the license of " + downloadId, e);
+            } finally {
+              licenseHelper.release();
+            }
+          });
+    }
+    downloadHandler.post(() -> downloadManager.removeDownload(downloadId));
+  }
+
+  /**
+   * Returns the asset playing a completed download from the local cache.
+   *
+   * @param downloadId the ID of the download.
+   * @return the asset.
+   * @throws IllegalStateException if the download is unknown or not completed.
+   */
+  @NonNull
+  VideoAsset getOfflineAsset(@NonNull String downloadId) {
+    Download download = getDownload(downloadId);
+    if (download == null || download.state != Download.STATE_COMPLETED) {
+      throw new IllegalStateException("Download <" + downloadId + "> is not completed.");
+    }
+    return new OfflineVideoAsset(download.request, cache, decodeData(download.request.data));
+  }
+
+  @Nullable
+  private Download getDownload(@NonNull String downloadId) {
+    // The index is backed by a database, which may be read from any thread.
+    try {
+      return downloadManager.getDownloadIndex().getDownload(downloadId);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read download <" + downloadId + ">", e);
+    }
+  }
+
+  // Called on the download thread.
+  private void sendEvent(@NonNull Download download, @Nullable Exception finalException) {
+    PlatformDownloadState state = stateFromDownload(download.state);
+    float percentDownloaded = download.getPercentDownloaded();
+    String failureReason = null;
+    if (state == PlatformDownloadState.FAILED) {
+      failureReason = finalException != null ? finalException.getMessage() : "Download failed.";
+    }
+    PlatformDownloadEvent event =
+        new PlatformDownloadEvent(
+            download.request.id,
+            state,
+            percentDownloaded != C.PERCENTAGE_UNSET ? (double) percentDownloaded : null,
+            download.getBytesDownloaded(),
+            failureReason);
+    platformThreadHandler.post(() -> send(event));
+  }
+
+  private void sendFailure(@NonNull String downloadId, @NonNull String reason) {
+    platformThreadHandler.post(
+        () ->
+            send(
+                new PlatformDownloadEvent(
+                    downloadId, PlatformDownloadState.FAILED, null, 0L, reason)));
+  }
+
+  private void send(@NonNull PlatformDownloadEvent event) {
+    for (Listener listener : listeners) {
+      listener.onDownloadEvent(event);
+    }
+  }
+
+  /**
+   * Reports the progress of active downloads periodically while there are any.
+   *
+   * <p>Called on the download thread.
+   */
+  private void maybeReportProgress(@NonNull DownloadManager manager) {
+    if (reportingProgress || !hasActiveDownloads(manager)) {
+      return;
+    }
+    reportingProgress = true;
+    downloadHandler.postDelayed(reportProgress, PROGRESS_INTERVAL_MS);
+  }
+
+  private void reportProgress() {
+    reportingProgress = false;
+    for (Download download : downloadManager.getCurrentDownloads()) {
+      if (download.state == Download.STATE_DOWNLOADING) {
+        sendEvent(download, null);
+      }
+    }
+    maybeReportProgress(downloadManager);
+  }
+
+  private static boolean hasActiveDownloads(@NonNull DownloadManager manager) {
+    for (Download download : manager.getCurrentDownloads()) {
+      if (download.state == Download.STATE_DOWNLOADING) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @VisibleForTesting
+  @NonNull
+  static PlatformDownloadState stateFromDownload(@Download.State int state) {
+    switch (state) {
+      case Download.STATE_DOWNLOADING:
+        return PlatformDownloadState.DOWNLOADING;
+      case Download.STATE_COMPLETED:
+        return PlatformDownloadState.COMPLETED;
+      case Download.STATE_FAILED:
+        return PlatformDownloadState.FAILED;
+      case Download.STATE_REMOVING:
+        return PlatformDownloadState.REMOVING;
+      case Download.STATE_QUEUED:
+      case Download.STATE_STOPPED:
+      case Download.STATE_RESTARTING:
+      default:
+        return PlatformDownloadState.QUEUED;
+    }
+  }
+
+  /** Encodes the DRM configuration of a download, stored with its request for later playback. */
+  @VisibleForTesting
+  @NonNull
+  static byte[] encodeData(@NonNull Map<String, String> drmConfiguration) {
+    try {
+      JSONObject data = new JSONObject();
+      data.put(DRM_CONFIGURATION_KEY, new JSONObject(drmConfiguration));
+      return data.toString().getBytes(StandardCharsets.UTF_8);
+    } catch (JSONException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Decodes the DRM configuration stored with a download by {@link #encodeData}. */
+  @VisibleForTesting
+  @NonNull
+  static Map<String, String> decodeData(@NonNull byte[] data) {
+    Map<String, String> drmConfiguration = new HashMap<>();
+    if (data.length == 0) {
+      return drmConfiguration;
+    }
+    try {
+      JSONObject configuration =
+          new JSONObject(new String(data, StandardCharsets.UTF_8))
+              .optJSONObject(DRM_CONFIGURATION_KEY);
+      if (configuration != null) {
+        Iterator<String> keys = configuration.keys();
+        while (keys.hasNext()) {
+          String key = keys.next();
+          drmConfiguration.put(key, configuration.getString(key));
+        }
+      }
+    } catch (JSONException e) {
+      throw new IllegalStateException("Invalid download data.", e);
+    }
+    return drmConfiguration;
+  }
+}
@@ -7,6 +7,7 @@ package io.flutter.plugins.videoplayer;
 import static com.google.android.exoplayer2.Player.REPEAT_MODE_ALL;
 import static com.google.android.exoplayer2.Player.REPEAT_MODE_OFF;
 
+import android.content.Context;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.google.android.exoplayer2.audio.AudioAttributes;
@@ -14,18 +15,27 @@ import com.google.android.exoplayer2.C;
 import com.google.android.exoplayer2.Format;
 import com.google.android.exoplayer2.MediaItem;
 import com.google.android.exoplayer2.PlaybackParameters;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.SeekParameters;
+import com.google.android.exoplayer2.source.MediaSource;
 import com.google.android.exoplayer2.source.TrackGroup;
 import com.google.android.exoplayer2.source.TrackGroupArray;
 import com.google.android.exoplayer2.Tracks;
+import com.google.android.exoplayer2.DefaultLoadControl;
 import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.LoadControl;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
 import com.google.android.exoplayer2.trackselection.TrackSelectionOverride;
+import com.google.android.exoplayer2.trackselection.TrackSelectionParameters;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.upstream.DefaultBandwidthMeter;
 
 import io.flutter.view.TextureRegistry;
 import io.flutter.view.TextureRegistry.SurfaceProducer;
 import io.flutter.view.TextureRegistry.SurfaceTextureEntry;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * A class responsible for managing video playback using {@link ExoPlayer}.
@@ -37,24 +47,75 @@ public abstract class VideoPlayer implements VideoPlayerInstanceApi {
   @Nullable protected SurfaceProducer surfaceProducer;
   @Nullable protected SurfaceTextureEntry surfaceTextureEntry;
   @Nullable private DisposeHandler disposeHandler;
+  @Nullable private ExoPlayerEventListener exoPlayerEventListener;
   @NonNull protected ExoPlayer exoPlayer;
   // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
   @Nullable protected DefaultTrackSelector trackSelector;
-
-  /** A closure-compatible signature since {@link java.util.function.Supplier} is API level 24. */
+  @Nullable private ActivityListener activityListener;
+  @Nullable private MediaSourceResolver mediaSourceResolver;
+  // Read from the platform thread when memory is low.
+  @Nullable private volatile ThumbnailService thumbnailService;
+  @Nullable private DrmSessionPreacquirer drmSessionPreacquirer;
+  @NonNull private SeekParameters seekParameters = SeekParameters.EXACT;
+  @Nullable private ScrubSeekController scrubSeekController;
+  private volatile boolean suspended;
+  // Whether play() was called more recently than pause().
+  private volatile boolean playRequested;
+  // Whether the player's tracks are currently disabled. Only accessed on the player thread.
+  private boolean suspensionApplied;
+  // Whether the player has been released. Only accessed on the player thread.
+  private boolean released;
+  @Nullable private TrackSelectionParameters parametersBeforeSuspend;
+  // Holds back a metadata-only player until it is first played.
+  @Nullable private final GatedLoadControl gatedLoadControl;
+  // Keeps the player within its share of the process-wide buffer budget.
+  @Nullable private final BufferBudgetCoordinator.BudgetedLoadControl budgetedLoadControl;
+  // Gives the player's loads precedence over other network loads while it is in the foreground.
+  @Nullable private final NetworkPriorityScheduler.LoadPriority loadPriority;
+  // Whether the player's view is visible, as reported by Dart.
+  private volatile boolean visible = true;
+  // Whether a lazy player still has to be prepared by its first play().
+  private boolean awaitingFirstPlay;
+  private final boolean mixWithOthers;
+  // Whether audio tracks are disabled for a muted preview. Only accessed on the player thread.
+  private boolean mutedPreview;
+
+  /** A closure-compatible signature since {@link java.util.function.Function} is API level 24. */
   public interface ExoPlayerProvider {
     /**
      * Returns a new {@link ExoPlayer}.
      *
+     * @param loadControl the load control to build the player with.
      * @return new instance.
      */
     @NonNull
-    ExoPlayer get();
+    ExoPlayer get(@NonNull LoadControl loadControl);
   }
 
   /** A handler to run when dispose is called. */
   public interface DisposeHandler {
     void onDispose();
+
+    /**
+     * Called once the player has been released, which happens after {@link #onDispose()} when the
+     * player is released in the background.
+     */
+    default void onReleased() {}
+  }
+
+  /** Receives notifications that may require resuming the player or suspending other players. */
+  public interface ActivityListener {
+    /** Called when the visibility of the player's view, as reported by Dart, changes. */
+    void onVisibilityChanged(@NonNull VideoPlayer player, boolean visible);
+
+    /** Called before playback starts, so that a suspended player can be resumed. */
+    void onPlayRequested(@NonNull VideoPlayer player);
+  }
+
+  /** Creates the media sources for items added to the playlist after the player was created. */
+  public interface MediaSourceResolver {
+    @NonNull
+    MediaSource resolve(@NonNull CreationOptions options);
   }
 
   // TODO: Migrate to stable API, see https://github.com/flutter/flutter/issues/147039.
@@ -69,17 +130,33 @@ public abstract class VideoPlayer implements VideoPlayerInstanceApi {
       @NonNull ExoPlayerProvider exoPlayerProvider) {
     this.videoPlayerEvents = events;
     this.surfaceProducer = surfaceProducer;
-    exoPlayer = exoPlayerProvider.get();
+    this.mixWithOthers = options.mixWithOthers;
+    budgetedLoadControl = createBudgetedLoadControl(options);
+    LoadControl loadControl = createLoadControl(options, budgetedLoadControl);
+    gatedLoadControl =
+        options.creationMode == VideoPlayerOptions.CreationMode.METADATA_ONLY
+            ? new GatedLoadControl(loadControl)
+            : null;
+    loadPriority = options.loadPriority;
+    exoPlayer =
+        buildExoPlayer(
+            exoPlayerProvider, gatedLoadControl != null ? gatedLoadControl : loadControl);
+    if (loadPriority != null) {
+      exoPlayer.addListener(loadPriority);
+    }
 
     // Try to get the track selector from the ExoPlayer if it was built with one
     if (exoPlayer.getTrackSelector() instanceof DefaultTrackSelector) {
       trackSelector = (DefaultTrackSelector) exoPlayer.getTrackSelector();
     }
 
-    exoPlayer.setMediaItem(mediaItem);
-    exoPlayer.prepare();
-    exoPlayer.addListener(createExoPlayerEventListener(exoPlayer, surfaceProducer));
-    setAudioAttributes(exoPlayer, options.mixWithOthers);
+    setInitialMediaItem(exoPlayer, mediaItem, options);
+    prepareForCreationMode(options.creationMode, false);
+    exoPlayerEventListener = createExoPlayerEventListener(exoPlayer, surfaceProducer);
+    exoPlayerEventListener.setInitializeFromTracks(
+        options.creationMode == VideoPlayerOptions.CreationMode.METADATA_ONLY);
+    exoPlayer.addListener(exoPlayerEventListener);
+    setAudioAttributes(exoPlayer, !options.mixWithOthers);
   }
 
   public VideoPlayer(
@@ -90,41 +167,211 @@ public abstract class VideoPlayer implements VideoPlayerInstanceApi {
           @NonNull ExoPlayerProvider exoPlayerProvider) {
     this.videoPlayerEvents = events;
     this.surfaceTextureEntry = surfaceTextureEntry;
-    exoPlayer = exoPlayerProvider.get();
+    this.mixWithOthers = options.mixWithOthers;
+    budgetedLoadControl = createBudgetedLoadControl(options);
+    LoadControl loadControl = createLoadControl(options, budgetedLoadControl);
+    gatedLoadControl =
+        options.creationMode == VideoPlayerOptions.CreationMode.METADATA_ONLY
+            ? new GatedLoadControl(loadControl)
+            : null;
+    loadPriority = options.loadPriority;
+    exoPlayer =
+        buildExoPlayer(
+            exoPlayerProvider, gatedLoadControl != null ? gatedLoadControl : loadControl);
+    if (loadPriority != null) {
+      exoPlayer.addListener(loadPriority);
+    }
 
     // Try to get the track selector from the ExoPlayer if it was built with one
     if (exoPlayer.getTrackSelector() instanceof DefaultTrackSelector) {
       trackSelector = (DefaultTrackSelector) exoPlayer.getTrackSelector();
     }
 
-    exoPlayer.setMediaItem(mediaItem);
-    exoPlayer.prepare();
-    exoPlayer.setPlayWhenReady(true);
-    exoPlayer.addListener(createExoPlayerEventListener(exoPlayer, surfaceTextureEntry));
-    setAudioAttributes(exoPlayer, options.mixWithOthers);
+    setInitialMediaItem(exoPlayer, mediaItem, options);
+    prepareForCreationMode(options.creationMode, true);
+    exoPlayerEventListener = createExoPlayerEventListener(exoPlayer, surfaceTextureEntry);
+    exoPlayerEventListener.setInitializeFromTracks(
+        options.creationMode == VideoPlayerOptions.CreationMode.METADATA_ONLY);
+    exoPlayer.addListener(exoPlayerEventListener);
+    setAudioAttributes(exoPlayer, !options.mixWithOthers);
   }
 
   public void setDisposeHandler(@Nullable DisposeHandler handler) {
     disposeHandler = handler;
   }
 
+  public void setActivityListener(@Nullable ActivityListener listener) {
+    activityListener = listener;
+  }
+
+  public void setMediaSourceResolver(@Nullable MediaSourceResolver resolver) {
+    mediaSourceResolver = resolver;
+  }
+
+  void setThumbnailService(@Nullable ThumbnailService service) {
+    thumbnailService = service;
+  }
+
+  void setDrmSessionPreacquirer(@Nullable DrmSessionPreacquirer preacquirer) {
+    drmSessionPreacquirer = preacquirer;
+  }
+
+  /**
+   * Returns the load control keeping the player within its share of the buffer budget, or null if
+   * the player does not share one.
+   */
+  @Nullable
+  private static BufferBudgetCoordinator.BudgetedLoadControl createBudgetedLoadControl(
+      @NonNull VideoPlayerOptions options) {
+    if (options.bufferBudgetCoordinator == null) {
+      return null;
+    }
+    return options.bufferBudgetCoordinator.createLoadControl(new DefaultLoadControl());
+  }
+
+  @NonNull
+  private ExoPlayer buildExoPlayer(
+      @NonNull ExoPlayerProvider exoPlayerProvider, @NonNull LoadControl loadControl) {
+    try {
+      return exoPlayerProvider.get(loadControl);
+    } catch (RuntimeException e) {
+      // A player that was never built is never released, so its load control would otherwise
+      // keep a share of the budget for good.
+      if (budgetedLoadControl != null) {
+        budgetedLoadControl.unregister();
+      }
+      throw e;
+    }
+  }
+
+  private void prepareForCreationMode(
+      @NonNull VideoPlayerOptions.CreationMode creationMode, boolean playWhenReady) {
+    switch (creationMode) {
+      case DEFAULT:
+        exoPlayer.prepare();
+        if (playWhenReady) {
+          exoPlayer.setPlayWhenReady(true);
+        }
+        break;
+      case PREPARE_ONLY:
+      case METADATA_ONLY:
+        exoPlayer.prepare();
+        break;
+      case LAZY:
+        awaitingFirstPlay = true;
+        break;
+    }
+  }
+
+  // Starting at the requested position before preparing, rather than seeking once prepared, keeps
+  // the player from loading segments and licenses for a position it would leave right away.
+  private static void setInitialMediaItem(
+      @NonNull ExoPlayer exoPlayer,
+      @NonNull MediaItem mediaItem,
+      @NonNull VideoPlayerOptions options) {
+    if (options.startPositionMs != C.TIME_UNSET) {
+      exoPlayer.setMediaItem(mediaItem, options.startPositionMs);
+    } else {
+      exoPlayer.setMediaItem(mediaItem);
+    }
+  }
+
+  /**
+   * Returns a {@link LoadControl} limiting the buffer to the size configured in the options.
+   *
+   * <p>The load control of a player sharing a buffer budget also keeps the player within its share,
+   * and the load control of a player sharing the network reports its loading decisions. A
+   * metadata-only player wraps it to hold back loading until it is played.
+   *
+   * @param options the options the player is created with.
+   * @param budgetedLoadControl the player's load control from the buffer budget, if it shares one.
+   * @return the load control to build the player with.
+   */
+  @NonNull
+  private static LoadControl createLoadControl(
+      @NonNull VideoPlayerOptions options,
+      @Nullable BufferBudgetCoordinator.BudgetedLoadControl budgetedLoadControl) {
+    LoadControl loadControl =
+        budgetedLoadControl != null ? budgetedLoadControl : new DefaultLoadControl();
+    if (options.loadPriority != null) {
+      return options.loadPriority.createLoadControl(loadControl);
+    }
+    return loadControl;
+  }
+
+  /**
+   * Returns a track selector picking bitrates with the ABR strategy configured in the options.
+   *
+   * @param context the context the player is created with.
+   * @param options the options the player is created with.
+   * @return a track selector to pass to {@link ExoPlayer.Builder#setTrackSelector}.
+   */
+  @NonNull
+  protected static DefaultTrackSelector createTrackSelector(
+      @NonNull Context context, @NonNull VideoPlayerOptions options) {
+    if (options.abrConfig == null) {
+      return new DefaultTrackSelector(context);
+    }
+    return new DefaultTrackSelector(context, options.abrConfig.createTrackSelectionFactory());
+  }
+
+  /**
+   * Returns a bandwidth meter starting from the initial bitrate configured in the options.
+   *
+   * @param context the context the player is created with.
+   * @param options the options the player is created with.
+   * @return a bandwidth meter to pass to {@link ExoPlayer.Builder#setBandwidthMeter}.
+   */
+  @NonNull
+  protected static BandwidthMeter createBandwidthMeter(
+      @NonNull Context context, @NonNull VideoPlayerOptions options) {
+    if (options.initialBitrate == Format.NO_VALUE) {
+      // Shared by default, so that players start from what earlier ones measured.
+      return DefaultBandwidthMeter.getSingletonInstance(context);
+    }
+    return new DefaultBandwidthMeter.Builder(context)
+        .setInitialBitrateEstimate(options.initialBitrate)
+        .build();
+  }
+
   @NonNull
   protected abstract ExoPlayerEventListener createExoPlayerEventListener(@NonNull ExoPlayer exoPlayer, @Nullable SurfaceProducer surfaceProducer);
   protected abstract ExoPlayerEventListener createExoPlayerEventListener(@NonNull ExoPlayer exoPlayer, @Nullable SurfaceTextureEntry surfaceTextureEntry);
 
-  private static void setAudioAttributes(ExoPlayer exoPlayer, boolean isMixMode) {
+  private static void setAudioAttributes(ExoPlayer exoPlayer, boolean handleAudioFocus) {
     exoPlayer.setAudioAttributes(
         new AudioAttributes.Builder().setContentType(C.AUDIO_CONTENT_TYPE_MOVIE).build(),
-        !isMixMode);
+        handleAudioFocus);
   }
 
   @Override
   public void play() {
+    if (activityListener != null) {
+      activityListener.onPlayRequested(this);
+    }
+    // Players created without loading their media start loading it once they are played.
+    if (gatedLoadControl != null) {
+      gatedLoadControl.open();
+    }
+    if (awaitingFirstPlay) {
+      awaitingFirstPlay = false;
+      exoPlayer.prepare();
+    }
+    playRequested = true;
+    if (budgetedLoadControl != null) {
+      budgetedLoadControl.setPlaying(true);
+    }
+    updateLoadPriority();
     exoPlayer.play();
   }
 
   @Override
   public void pause() {
+    playRequested = false;
+    if (budgetedLoadControl != null) {
+      budgetedLoadControl.setPlaying(false);
+    }
+    updateLoadPriority();
     exoPlayer.pause();
   }
 
@@ -160,7 +407,323 @@ public abstract class VideoPlayer implements VideoPlayerInstanceApi {
 
   @Override
   public void seekTo(long position) {
-    exoPlayer.seekTo(position);
+    if (scrubSeekController != null) {
+      scrubSeekController.seekTo(position);
+    } else {
+      exoPlayer.seekTo(position);
+    }
+  }
+
+  @Override
+  public void setSeekMode(@NonNull PlatformSeekMode mode) {
+    seekParameters = toSeekParameters(mode);
+    if (scrubSeekController == null) {
+      exoPlayer.setSeekParameters(seekParameters);
+    }
+  }
+
+  /**
+   * Starts or stops coalescing seeks while the user drags a seek bar.
+   *
+   * <p>Scrubbing seeks snap to the closest sync frame, which only needs a single frame decoded.
+   * When scrubbing stops, the player seeks to the last requested position again using the
+   * configured seek mode, so it lands where the user let go.
+   */
+  @Override
+  public void setScrubbing(boolean scrubbing) {
+    if (scrubbing == (scrubSeekController != null)) {
+      return;
+    }
+    if (scrubbing) {
+      scrubSeekController = new ScrubSeekController(exoPlayer);
+      exoPlayer.setSeekParameters(SeekParameters.CLOSEST_SYNC);
+      return;
+    }
+    long lastPosition = scrubSeekController.getLastRequestedPosition();
+    scrubSeekController.release();
+    scrubSeekController = null;
+    exoPlayer.setSeekParameters(seekParameters);
+    if (lastPosition != C.TIME_UNSET) {
+      exoPlayer.seekTo(lastPosition);
+    }
+  }
+
+  /**
+   * Starts or stops playing the video without its audio.
+   *
+   * <p>Disabling the audio track type, rather than only setting the volume to zero, keeps the
+   * player from loading audio segments and from decoding them, and a muted preview doesn't take
+   * audio focus away from other apps. When the preview is unmuted, the player selects its audio
+   * track again and continues from the current position without rebuffering the video.
+   */
+  @Override
+  public void setMutedPreview(boolean mutedPreview) {
+    if (mutedPreview == this.mutedPreview) {
+      return;
+    }
+    this.mutedPreview = mutedPreview;
+    if (parametersBeforeSuspend != null) {
+      // A suspended player restores these parameters once resumed.
+      parametersBeforeSuspend = withAudioDisabled(parametersBeforeSuspend, mutedPreview);
+    } else {
+      exoPlayer.setTrackSelectionParameters(
+          withAudioDisabled(exoPlayer.getTrackSelectionParameters(), mutedPreview));
+    }
+    setAudioAttributes(exoPlayer, !mutedPreview && !mixWithOthers);
+  }
+
+  /**
+   * Moves the video output of the player between its texture and a platform view.
+   *
+   * <p>Only the surface the player renders to changes, so the position, buffers, DRM sessions and
+   * selected tracks carry over. The default implementation is for players created for a platform
+   * view, which have no texture to move to.
+   */
+  @Override
+  public void setVideoOutput(@NonNull PlatformVideoOutput output) {
+    if (output == PlatformVideoOutput.TEXTURE) {
+      throw new IllegalStateException("A player created for a platform view has no texture.");
+    }
+  }
+
+  /**
+   * Returns whether the platform view showing the player should render its video.
+   *
+   * <p>Called on the platform thread.
+   */
+  public boolean rendersToPlatformView() {
+    return true;
+  }
+
+  @NonNull
+  private static TrackSelectionParameters withAudioDisabled(
+      @NonNull TrackSelectionParameters parameters, boolean disabled) {
+    return parameters.buildUpon().setTrackTypeDisabled(C.TRACK_TYPE_AUDIO, disabled).build();
+  }
+
+  @NonNull
+  private static SeekParameters toSeekParameters(@NonNull PlatformSeekMode mode) {
+    switch (mode) {
+      case CLOSEST_SYNC:
+        return SeekParameters.CLOSEST_SYNC;
+      case PREVIOUS_SYNC:
+        return SeekParameters.PREVIOUS_SYNC;
+      case NEXT_SYNC:
+        return SeekParameters.NEXT_SYNC;
+      case EXACT:
+      default:
+        return SeekParameters.EXACT;
+    }
+  }
+
+  @Override
+  public void setVisible(boolean visible) {
+    this.visible = visible;
+    if (budgetedLoadControl != null) {
+      budgetedLoadControl.setVisible(visible);
+    }
+    updateLoadPriority();
+    if (activityListener != null) {
+      activityListener.onVisibilityChanged(this, visible);
+    }
+  }
+
+  /**
+   * Releases the decoders, video surface and buffered media held by the player.
+   *
+   * <p>Unlike {@link #dispose()}, the media item, position, track selection and DRM sessions are
+   * kept, so that {@link #resume()} can show the same frame again without setting up the player
+   * from scratch.
+   */
+  @Override
+  public void suspend() {
+    synchronized (this) {
+      if (suspended) {
+        return;
+      }
+      suspended = true;
+    }
+    // The player manager suspends players from whichever thread asked it to make room.
+    PlayerThread.post(exoPlayer, this::applySuspension);
+  }
+
+  /** Restores a player released by {@link #suspend()}, at the position it was suspended at. */
+  @Override
+  public void resume() {
+    synchronized (this) {
+      if (!suspended) {
+        return;
+      }
+      suspended = false;
+    }
+    PlayerThread.post(exoPlayer, this::applySuspension);
+  }
+
+  // A visible, playing player that is not suspended is the one the user is watching.
+  private void updateLoadPriority() {
+    if (loadPriority != null) {
+      loadPriority.setForeground(visible && playRequested && !suspended);
+    }
+  }
+
+  // Brings the player in line with the latest suspend() or resume() call. Calls from other threads
+  // may run after later calls made on the player thread, so this only acts on a change of state.
+  private void applySuspension() {
+    boolean shouldSuspend = suspended;
+    if (shouldSuspend == suspensionApplied) {
+      return;
+    }
+    suspensionApplied = shouldSuspend;
+    if (budgetedLoadControl != null) {
+      budgetedLoadControl.setActive(!shouldSuspend);
+    }
+    updateLoadPriority();
+    if (shouldSuspend) {
+      exoPlayer.pause();
+      // Disabling every track type makes the player release its renderers' codecs and discard
+      // buffered samples, while the media source (and the DRM session manager it holds) stays
+      // prepared.
+      parametersBeforeSuspend = exoPlayer.getTrackSelectionParameters();
+      exoPlayer.setTrackSelectionParameters(
+          parametersBeforeSuspend
+              .buildUpon()
+              .setTrackTypeDisabled(C.TRACK_TYPE_VIDEO, true)
+              .setTrackTypeDisabled(C.TRACK_TYPE_AUDIO, true)
+              .setTrackTypeDisabled(C.TRACK_TYPE_TEXT, true)
+              .build());
+      detachSurface();
+    } else {
+      attachSurface();
+      if (parametersBeforeSuspend != null) {
+        exoPlayer.setTrackSelectionParameters(parametersBeforeSuspend);
+        parametersBeforeSuspend = null;
+      }
+    }
+  }
+
+  /** Detaches the video output while suspended. The default implementation keeps it attached. */
+  protected void detachSurface() {}
+
+  /** Re-attaches the video output detached by {@link #detachSurface()}. */
+  protected void attachSurface() {}
+
+  public boolean isSuspended() {
+    return suspended;
+  }
+
+  /**
+   * Discards the media a paused player has buffered ahead, to free memory.
+   *
+   * <p>The video track is deselected until the player has released its buffers, then selected
+   * again, so that the player reloads only as much as its buffer share allows. The audio buffer is
+   * small enough to be kept.
+   *
+   * @return whether the player is paused, and was asked to discard its buffers.
+   */
+  boolean discardBufferIfPaused() {
+    if (playRequested || suspended) {
+      return false;
+    }
+    PlayerThread.post(exoPlayer, this::discardVideoBuffer);
+    return true;
+  }
+
+  /**
+   * Frees the thumbnails the player has cached, to free memory.
+   *
+   * @return whether the player had cached any thumbnails.
+   */
+  boolean trimThumbnails() {
+    ThumbnailService service = thumbnailService;
+    return service != null && service.trimMemory();
+  }
+
+  private void discardVideoBuffer() {
+    if (released
+        || suspensionApplied
+        || exoPlayer.getPlayWhenReady()
+        || !exoPlayer.getCurrentTracks().isTypeSelected(C.TRACK_TYPE_VIDEO)) {
+      return;
+    }
+    exoPlayer.addListener(
+        new Player.Listener() {
+          @Override
+          public void onTracksChanged(@NonNull Tracks tracks) {
+            // The video renderer released its samples along with its track.
+            exoPlayer.removeListener(this);
+            if (released) {
+              return;
+            }
+            if (parametersBeforeSuspend != null) {
+              parametersBeforeSuspend = withVideoEnabled(parametersBeforeSuspend);
+            } else {
+              exoPlayer.setTrackSelectionParameters(
+                  withVideoEnabled(exoPlayer.getTrackSelectionParameters()));
+            }
+          }
+        });
+    exoPlayer.setTrackSelectionParameters(
+        exoPlayer
+            .getTrackSelectionParameters()
+            .buildUpon()
+            .setTrackTypeDisabled(C.TRACK_TYPE_VIDEO, true)
+            .build());
+  }
+
+  @NonNull
+  private static TrackSelectionParameters withVideoEnabled(
+      @NonNull TrackSelectionParameters parameters) {
+    return parameters.buildUpon().setTrackTypeDisabled(C.TRACK_TYPE_VIDEO, false).build();
+  }
+
+  @Override
+  public void setPlaylist(@NonNull List<CreationOptions> items) {
+    if (items.isEmpty()) {
+      throw new IllegalArgumentException("Cannot set playlist: items is empty");
+    }
+    MediaSourceResolver resolver = requireMediaSourceResolver();
+    List<MediaSource> mediaSources = new ArrayList<>(items.size());
+    for (CreationOptions item : items) {
+      mediaSources.add(resolver.resolve(item));
+    }
+    exoPlayer.setMediaSources(mediaSources, /* resetPosition= */ true);
+    if (exoPlayer.getPlaybackState() == Player.STATE_IDLE) {
+      exoPlayer.prepare();
+    }
+  }
+
+  @Override
+  public void addMediaItem(@NonNull CreationOptions item) {
+    // Items after the current one are buffered ahead of the transition, so that playback
+    // continues into them without a gap.
+    exoPlayer.addMediaSource(requireMediaSourceResolver().resolve(item));
+  }
+
+  @Override
+  public void seekToItem(long index) {
+    int itemCount = exoPlayer.getMediaItemCount();
+    if (index < 0 || index >= itemCount) {
+      throw new IllegalArgumentException(
+          "Cannot seek to item: index "
+              + index
+              + " is out of bounds (available items: "
+              + itemCount
+              + ")");
+    }
+    exoPlayer.seekToDefaultPosition((int) index);
+  }
+
+  @Override
+  public @Nullable PlatformThumbnail getThumbnail(long position) {
+    return thumbnailService != null ? thumbnailService.getThumbnail(position) : null;
+  }
+
+  @NonNull
+  private MediaSourceResolver requireMediaSourceResolver() {
+    if (mediaSourceResolver == null) {
+      throw new IllegalStateException("Cannot change playlist: no media source resolver is set");
+    }
+    return mediaSourceResolver;
   }
 
   @NonNull
@@ -260,6 +823,65 @@ public abstract class VideoPlayer implements VideoPlayerInstanceApi {
     if (disposeHandler != null) {
       disposeHandler.onDispose();
     }
+    PlayerThread.runBlocking(exoPlayer, this::releasePlayer);
+    PlayerThread.runOnPlatformThread(this::onReleased);
+  }
+
+  /**
+   * Disposes of the player without waiting for it to be released.
+   *
+   * <p>The player stops playing and sending events right away, and its API is no longer reachable
+   * from Dart. Releasing its decoders, DRM sessions and surface is left to {@code releaser}.
+   *
+   * @param releaser the releaser to release the player with.
+   * @return a future completing once the player and its surface are released.
+   */
+  @NonNull
+  Future<?> dispose(@NonNull PlayerReleaser releaser) {
+    if (disposeHandler != null) {
+      disposeHandler.onDispose();
+    }
+    PlayerThread.post(exoPlayer, this::stopPlayer);
+    return releaser.release(
+        exoPlayer.getApplicationLooper(), this::releasePlayer, this::onReleased);
+  }
+
+  /**
+   * Releases what the player rendered to. Called on the platform thread once the player has been
+   * released.
+   */
+  protected void onReleased() {
+    if (disposeHandler != null) {
+      disposeHandler.onReleased();
+    }
+  }
+
+  private void stopPlayer() {
+    if (released) {
+      return;
+    }
+    if (exoPlayerEventListener != null) {
+      exoPlayer.removeListener(exoPlayerEventListener);
+    }
+    // Stopping makes the player's internal thread start tearing down its decoders, without waiting
+    // for it the way releasing does.
+    exoPlayer.stop();
+  }
+
+  private void releasePlayer() {
+    released = true;
+    if (thumbnailService != null) {
+      thumbnailService.release();
+      thumbnailService = null;
+    }
+    if (drmSessionPreacquirer != null) {
+      drmSessionPreacquirer.release();
+      drmSessionPreacquirer = null;
+    }
+    if (scrubSeekController != null) {
+      scrubSeekController.release();
+      scrubSeekController = null;
+    }
     exoPlayer.release();
   }
 }
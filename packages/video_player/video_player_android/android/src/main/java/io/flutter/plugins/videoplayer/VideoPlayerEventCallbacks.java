@@ -4,13 +4,22 @@
 
 package io.flutter.plugins.videoplayer;
 
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugin.common.BinaryMessenger;
 
+/**
+ * Sends player events to Dart.
+ *
+ * <p>Events may be reported on a playback thread; they are always delivered to the event sink on
+ * the platform thread.
+ */
 final class VideoPlayerEventCallbacks implements VideoPlayerCallbacks {
   private final QueuingEventSink eventSink;
+  private final Handler platformThreadHandler = new Handler(Looper.getMainLooper());
 
   static VideoPlayerEventCallbacks bindTo(
       @NonNull BinaryMessenger binaryMessenger, @NonNull String identifier) {
@@ -45,27 +54,47 @@ final class VideoPlayerEventCallbacks implements VideoPlayerCallbacks {
   @Override
   public void onInitialized(
       int width, int height, long durationInMs, int rotationCorrectionInDegrees) {
-    eventSink.success(
-        new InitializationEvent(durationInMs, width, height, rotationCorrectionInDegrees));
+    send(
+        () ->
+            eventSink.success(
+                new InitializationEvent(durationInMs, width, height, rotationCorrectionInDegrees)));
   }
 
   @Override
   public void onPlaybackStateChanged(@NonNull PlatformPlaybackState state) {
-    eventSink.success(new PlaybackStateChangeEvent(state));
+    send(() -> eventSink.success(new PlaybackStateChangeEvent(state)));
   }
 
   @Override
   public void onError(@NonNull String code, @Nullable String message, @Nullable Object details) {
-    eventSink.error(code, message, details);
+    send(() -> eventSink.error(code, message, details));
   }
 
   @Override
   public void onIsPlayingStateUpdate(boolean isPlaying) {
-    eventSink.success(new IsPlayingStateEvent(isPlaying));
+    send(() -> eventSink.success(new IsPlayingStateEvent(isPlaying)));
   }
 
   @Override
   public void onAudioTrackChanged(@Nullable String selectedTrackId) {
-    eventSink.success(new AudioTrackChangedEvent(selectedTrackId));
+    send(() -> eventSink.success(new AudioTrackChangedEvent(selectedTrackId)));
+  }
+
+  @Override
+  public void onMediaItemTransition(int index) {
+    send(() -> eventSink.success(new MediaItemTransitionEvent(index)));
+  }
+
+  @Override
+  public void onThumbnailsLoaded(long startMs, long endMs) {
+    send(() -> eventSink.success(new ThumbnailsLoadedEvent(startMs, endMs)));
+  }
+
+  private void send(@NonNull Runnable event) {
+    if (Looper.myLooper() == Looper.getMainLooper()) {
+      event.run();
+    } else {
+      platformThreadHandler.post(event);
+    }
   }
 }
@@ -0,0 +1,191 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the number of players holding decoders within a limit.
+ *
+ * <p>Players are kept in the order they were last visible. When activating a player would exceed
+ * the maximum number of active players, the least-recently-visible active player is suspended (see
+ * {@link VideoPlayer#suspend()}), which releases its codecs and buffers but keeps its position. A
+ * suspended player is resumed when it becomes visible again or when playback is requested.
+ *
+ * <p>The buffer memory budget itself is shared between the players by a {@link
+ * BufferBudgetCoordinator}.
+ *
+ * <p>Players running on playback threads report activity from their own threads, so every method
+ * is synchronized. Players are suspended through {@link VideoPlayer#suspend()}, which may be called
+ * from any thread.
+ */
+final class VideoPlayerManager implements VideoPlayer.ActivityListener {
+  static final int DEFAULT_MAX_ACTIVE_PLAYERS = 4;
+
+  // Players mapped to whether their view is visible, in least-recently-visible order.
+  private final LinkedHashMap<VideoPlayer, Boolean> players = new LinkedHashMap<>();
+  private int maxActivePlayers = DEFAULT_MAX_ACTIVE_PLAYERS;
+
+  /**
+   * Sets the limit to enforce, suspending players right away if more are active.
+   *
+   * @param maxActivePlayers the maximum number of players that may hold decoders at once.
+   */
+  synchronized void setMaxActivePlayers(int maxActivePlayers) {
+    if (maxActivePlayers < 1) {
+      throw new IllegalArgumentException(
+          "maxActivePlayers must be at least 1, was " + maxActivePlayers);
+    }
+    this.maxActivePlayers = maxActivePlayers;
+    enforceActivePlayerLimit(null);
+  }
+
+  synchronized int getMaxActivePlayers() {
+    return maxActivePlayers;
+  }
+
+  /**
+   * Starts managing a newly created player.
+   *
+   * <p>New players are treated as visible, so that they are the last to be suspended until their
+   * visibility is reported.
+   */
+  synchronized void register(@NonNull VideoPlayer player) {
+    player.setActivityListener(this);
+    players.put(player, true);
+    enforceActivePlayerLimit(player);
+  }
+
+  /** Stops managing a player, typically because it is being disposed. */
+  synchronized void unregister(@NonNull VideoPlayer player) {
+    player.setActivityListener(null);
+    players.remove(player);
+  }
+
+  @Override
+  public synchronized void onVisibilityChanged(@NonNull VideoPlayer player, boolean visible) {
+    if (!players.containsKey(player)) {
+      return;
+    }
+    markRecentlyVisible(player, visible);
+    if (visible) {
+      activate(player);
+    }
+  }
+
+  @Override
+  public synchronized void onPlayRequested(@NonNull VideoPlayer player) {
+    if (!players.containsKey(player)) {
+      return;
+    }
+    activate(player);
+  }
+
+  /**
+   * Frees the thumbnails players have cached.
+   *
+   * @return the number of players that had cached thumbnails.
+   */
+  synchronized int trimThumbnails() {
+    int count = 0;
+    for (VideoPlayer player : players.keySet()) {
+      if (player.trimThumbnails()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Asks paused players to discard the media they buffered ahead.
+   *
+   * @return the number of players asked.
+   */
+  synchronized int discardPausedPlayerBuffers() {
+    int count = 0;
+    for (VideoPlayer player : players.keySet()) {
+      if (player.discardBufferIfPaused()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Suspends every player whose view is not visible.
+   *
+   * @return the number of players suspended.
+   */
+  synchronized int suspendHiddenPlayers() {
+    int count = 0;
+    for (Map.Entry<VideoPlayer, Boolean> entry : players.entrySet()) {
+      VideoPlayer player = entry.getKey();
+      if (!entry.getValue() && !player.isSuspended()) {
+        player.suspend();
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private void activate(@NonNull VideoPlayer player) {
+    if (player.isSuspended()) {
+      player.resume();
+    }
+    enforceActivePlayerLimit(player);
+  }
+
+  private void markRecentlyVisible(@NonNull VideoPlayer player, boolean visible) {
+    // Re-inserting moves the player to the end of the iteration order.
+    players.remove(player);
+    players.put(player, visible);
+  }
+
+  /**
+   * Suspends least-recently-visible players until the number of active players is within limits.
+   *
+   * <p>Players that are not visible are suspended before visible ones.
+   *
+   * @param keep a player that must not be suspended, typically the one being activated.
+   */
+  private void enforceActivePlayerLimit(@Nullable VideoPlayer keep) {
+    int activePlayers = 0;
+    for (VideoPlayer player : players.keySet()) {
+      if (!player.isSuspended()) {
+        activePlayers++;
+      }
+    }
+    while (activePlayers > maxActivePlayers) {
+      VideoPlayer victim = findSuspendCandidate(keep);
+      if (victim == null) {
+        return;
+      }
+      victim.suspend();
+      activePlayers--;
+    }
+  }
+
+  @Nullable
+  private VideoPlayer findSuspendCandidate(@Nullable VideoPlayer keep) {
+    VideoPlayer visibleCandidate = null;
+    for (Map.Entry<VideoPlayer, Boolean> entry : new ArrayList<>(players.entrySet())) {
+      VideoPlayer player = entry.getKey();
+      if (player == keep || player.isSuspended()) {
+        continue;
+      }
+      if (!entry.getValue()) {
+        return player;
+      }
+      if (visibleCandidate == null) {
+        visibleCandidate = player;
+      }
+    }
+    return visibleCandidate;
+  }
+}
@@ -4,6 +4,71 @@
 
 package io.flutter.plugins.videoplayer;
 
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Format;
+
 public class VideoPlayerOptions {
+  /** How much of its media a new player loads before it is first played. */
+  public enum CreationMode {
+    /** Prepares the player, and starts playback right away if the player type does. */
+    DEFAULT,
+    /** Prepares the player and buffers its media, without starting playback. */
+    PREPARE_ONLY,
+    /**
+     * Loads the manifest and reports initialization from it, without loading media until the
+     * player is first played.
+     */
+    METADATA_ONLY,
+    /** Neither prepares the player nor loads anything until the player is first played. */
+    LAZY
+  }
+
   public boolean mixWithOthers;
+
+  /**
+   * The looper of the thread the player runs on, or {@code null} to run it on the thread it is
+   * created on.
+   */
+  @Nullable public Looper playbackLooper;
+
+  /** How the player picks the bitrate of adaptive streams, or {@code null} for default. */
+  @Nullable public AbrConfig abrConfig;
+
+  /**
+   * The position in milliseconds the player starts at, or {@link C#TIME_UNSET} for the default
+   * position of the media.
+   */
+  public long startPositionMs = C.TIME_UNSET;
+
+  /**
+   * The bandwidth in bits per second assumed until it has been measured, or {@link
+   * Format#NO_VALUE} for an estimate based on the network type.
+   */
+  public long initialBitrate = Format.NO_VALUE;
+
+  @NonNull public CreationMode creationMode = CreationMode.DEFAULT;
+
+  // Shares one buffer memory budget between the players created with these options, if set.
+  @Nullable BufferBudgetCoordinator bufferBudgetCoordinator;
+
+  // The priority of the player's network loads, if it shares the network with other loads. Each
+  // player has its own, so it is not copied.
+  @Nullable NetworkPriorityScheduler.LoadPriority loadPriority;
+
+  /** Returns a copy of these options, to be changed for a single player. */
+  @NonNull
+  public VideoPlayerOptions copy() {
+    VideoPlayerOptions copy = new VideoPlayerOptions();
+    copy.mixWithOthers = mixWithOthers;
+    copy.playbackLooper = playbackLooper;
+    copy.abrConfig = abrConfig;
+    copy.startPositionMs = startPositionMs;
+    copy.initialBitrate = initialBitrate;
+    copy.creationMode = creationMode;
+    copy.bufferBudgetCoordinator = bufferBudgetCoordinator;
+    return copy;
+  }
 }
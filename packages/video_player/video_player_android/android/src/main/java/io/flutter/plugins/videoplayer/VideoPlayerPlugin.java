@@ -5,13 +5,23 @@
 package io.flutter.plugins.videoplayer;
 
 import android.content.Context;
+import android.os.Looper;
 import android.util.LongSparseArray;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.util.Clock;
 import com.sigma.drm.SigmaHelper;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import io.flutter.FlutterInjector;
 import io.flutter.Log;
@@ -26,14 +36,77 @@ import io.flutter.view.TextureRegistry.SurfaceTextureEntry;
 /** Android platform implementation of the VideoPlayerPlugin. */
 public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
   private static final String TAG = "VideoPlayerPlugin";
+  // Releasing a player is mostly spent waiting for codecs to be torn down, which contend with each
+  // other, so only a couple of players are released at once.
+  private static final int MAX_PARALLEL_RELEASES = 2;
+  // How long detaching from the engine waits for disposed players to be released.
+  private static final long DETACH_RELEASE_TIMEOUT_MS = 5000;
+  private static final long PLAYER_CREATOR_KEEP_ALIVE_SECONDS = 1;
+  // Players share a single playback thread unless setPlayerThreadCount asks for more.
+  private static final int DEFAULT_PLAYER_THREAD_COUNT = 1;
+  // Players are created and disposed on a background task queue, while other calls and the
+  // platform view factory run on the platform thread. Every field below that is shared between
+  // them is guarded by this lock, which is never held while waiting for another thread.
+  private final Object lock = new Object();
   private final LongSparseArray<VideoPlayer> videoPlayers = new LongSparseArray<>();
+  // Players whose IDs have been returned to Dart but which are still being created.
+  private final LongSparseArray<DeferredInstanceApi> pendingPlayers = new LongSparseArray<>();
   private FlutterState flutterState;
   private final VideoPlayerOptions sharedOptions = new VideoPlayerOptions();
+  private final VideoPlayerManager playerManager = new VideoPlayerManager();
+  // Shares one buffer memory budget between every player of the plugin.
+  private final BufferBudgetCoordinator bufferBudgetCoordinator =
+      new BufferBudgetCoordinator(BufferBudgetCoordinator.DEFAULT_BUDGET_BYTES, Clock.DEFAULT);
+  // Gives the loads of the player the user is watching precedence over other network loads.
+  private final NetworkPriorityScheduler networkPriorityScheduler =
+      NetworkPriorityScheduler.getInstance();
+  private final MemoryPressureResponder memoryPressureResponder =
+      new MemoryPressureResponder(bufferBudgetCoordinator, playerManager);
+  private final PlayerReleaser playerReleaser = new PlayerReleaser(MAX_PARALLEL_RELEASES);
+  // Runs players off the platform thread, so that their creation, calls and release never wait on
+  // it. Guarded by lock.
+  @NonNull
+  private PlaybackThreadPool playbackThreadPool =
+      new PlaybackThreadPool(DEFAULT_PLAYER_THREAD_COUNT);
   private long nextPlayerIdentifier = 1;
+  // Builds players created for a texture once their IDs have been returned.
+  @NonNull private final Executor playerCreator;
+  // Created when Dart first sets a prefetch queue.
+  @Nullable private SegmentPrefetcher segmentPrefetcher;
+  // Set on the platform thread while Dart listens to download events.
+  @Nullable private PigeonEventSink<PlatformDownloadEvent> downloadEventSink;
+  // Set on the platform thread while Dart listens to memory pressure events.
+  @Nullable private PigeonEventSink<PlatformMemoryPressureEvent> memoryPressureEventSink;
+  private final VideoDownloadManager.Listener downloadListener =
+      event -> {
+        if (downloadEventSink != null) {
+          downloadEventSink.success(event);
+        }
+      };
 
   /** Register this with the v2 embedding for the plugin to respond to lifecycle callbacks. */
   public VideoPlayerPlugin() {
+    this(createPlayerCreator());
+  }
+
+  @VisibleForTesting
+  VideoPlayerPlugin(@NonNull Executor playerCreator) {
+    this.playerCreator = playerCreator;
+    sharedOptions.bufferBudgetCoordinator = bufferBudgetCoordinator;
+  }
 
+  @NonNull
+  private static Executor createPlayerCreator() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            PLAYER_CREATOR_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> new Thread(runnable, "VideoPlayerCreator"));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   @Override
@@ -47,12 +120,49 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
             injector.flutterLoader()::getLookupKeyForAsset,
             binding.getTextureRegistry());
     flutterState.startListening(this, binding.getBinaryMessenger());
+    binding.getApplicationContext().registerComponentCallbacks(memoryPressureResponder);
+    DownloadEventsStreamHandler.Companion.register(
+        binding.getBinaryMessenger(),
+        new DownloadEventsStreamHandler() {
+          @Override
+          public void onListen(
+              Object arguments, @NonNull PigeonEventSink<PlatformDownloadEvent> events) {
+            downloadEventSink = events;
+          }
+
+          @Override
+          public void onCancel(Object arguments) {
+            downloadEventSink = null;
+          }
+        },
+        "");
+    MemoryPressureEventsStreamHandler.Companion.register(
+        binding.getBinaryMessenger(),
+        new MemoryPressureEventsStreamHandler() {
+          @Override
+          public void onListen(
+              Object arguments, @NonNull PigeonEventSink<PlatformMemoryPressureEvent> events) {
+            memoryPressureEventSink = events;
+          }
+
+          @Override
+          public void onCancel(Object arguments) {
+            memoryPressureEventSink = null;
+          }
+        },
+        "");
+    memoryPressureResponder.setListener(
+        event -> {
+          if (memoryPressureEventSink != null) {
+            memoryPressureEventSink.success(event);
+          }
+        });
 
     binding
         .getPlatformViewRegistry()
         .registerViewFactory(
             "plugins.flutter.dev/video_player_android",
-            new PlatformVideoViewFactory(videoPlayers::get));
+            new PlatformVideoViewFactory(this::findPlayer));
   }
 
   @Override
@@ -62,14 +172,54 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     }
     flutterState.stopListening(binding.getBinaryMessenger());
     flutterState = null;
+    binding.getApplicationContext().unregisterComponentCallbacks(memoryPressureResponder);
+    // Downloads outlive the engine, but no longer report to it.
+    VideoDownloadManager downloadManager = VideoDownloadManager.getInstanceIfCreated();
+    if (downloadManager != null) {
+      downloadManager.removeListener(downloadListener);
+    }
+    downloadEventSink = null;
+    memoryPressureResponder.setListener(null);
+    memoryPressureEventSink = null;
+    if (segmentPrefetcher != null) {
+      segmentPrefetcher.release();
+      segmentPrefetcher = null;
+    }
     onDestroy();
+    if (!playerReleaser.awaitReleases(DETACH_RELEASE_TIMEOUT_MS)) {
+      Log.w(
+          TAG,
+          playerReleaser.getPendingReleaseCount()
+              + " players were still being released when detaching from the engine.");
+    }
+    synchronized (lock) {
+      // The threads are started again if the plugin is attached to another engine.
+      playbackThreadPool.release();
+    }
   }
 
   private void disposeAllPlayers() {
-    for (int i = 0; i < videoPlayers.size(); i++) {
-      videoPlayers.valueAt(i).dispose();
+    final VideoPlayer[] players;
+    final DeferredInstanceApi[] pendingApis;
+    synchronized (lock) {
+      players = new VideoPlayer[videoPlayers.size()];
+      for (int i = 0; i < players.length; i++) {
+        players[i] = videoPlayers.valueAt(i);
+      }
+      videoPlayers.clear();
+      // Players still being created are disposed of once they are.
+      pendingApis = new DeferredInstanceApi[pendingPlayers.size()];
+      for (int i = 0; i < pendingApis.length; i++) {
+        pendingApis[i] = pendingPlayers.valueAt(i);
+      }
+      pendingPlayers.clear();
+    }
+    for (VideoPlayer player : players) {
+      player.dispose(playerReleaser);
+    }
+    for (DeferredInstanceApi pendingApi : pendingApis) {
+      pendingApi.setCreationError(new IllegalStateException("The player has been disposed."));
     }
-    videoPlayers.clear();
   }
 
   public void onDestroy() {
@@ -91,16 +241,27 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
   public long createForPlatformView(@NonNull CreationOptions options) {
     final VideoAsset videoAsset = videoAssetWithOptions(options);
 
-    long id = nextPlayerIdentifier++;
+    long id = nextPlayerIdentifier();
     final String streamInstance = Long.toString(id);
-    VideoPlayer videoPlayer =
-        PlatformViewVideoPlayer.create(
-            flutterState.applicationContext,
-            VideoPlayerEventCallbacks.bindTo(flutterState.binaryMessenger, streamInstance),
-            videoAsset,
-            sharedOptions);
-
-    registerPlayerInstance(videoPlayer, id);
+    final VideoPlayerCallbacks callbacks =
+        VideoPlayerEventCallbacks.bindTo(flutterState.binaryMessenger, streamInstance);
+    final VideoPlayerOptions playerOptions = createPlayerOptions(options);
+    videoAsset.setLoadPriority(playerOptions.loadPriority);
+    final Looper playbackLooper = getPlaybackLooper(playerOptions);
+    final VideoPlayer videoPlayer;
+    try {
+      videoPlayer =
+          PlayerThread.callBlocking(
+              playbackLooper,
+              () ->
+                  PlatformViewVideoPlayer.create(
+                      flutterState.applicationContext, callbacks, videoAsset, playerOptions));
+    } catch (RuntimeException e) {
+      releasePlaybackLooper(playbackLooper);
+      throw e;
+    }
+
+    registerPlayerInstance(flutterState, videoPlayer, id, videoAsset, playbackLooper, null);
     return id;
   }
 
@@ -108,32 +269,88 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
   public @NonNull TexturePlayerIds createForTextureView(@NonNull CreationOptions options) {
     final VideoAsset videoAsset = videoAssetWithOptions(options);
 
-    long id = nextPlayerIdentifier++;
+    final long id = nextPlayerIdentifier();
     final String streamInstance = Long.toString(id);
+    final FlutterState state = flutterState;
+    final VideoPlayerOptions playerOptions = createPlayerOptions(options);
+    final Looper playbackLooper = getPlaybackLooper(playerOptions);
+    videoAsset.setLoadPriority(playerOptions.loadPriority);
+    // The engine only creates textures on the platform thread.
+    final TextureRegistry textureRegistry = state.textureRegistry;
 //    TextureRegistry.SurfaceProducer handle = flutterState.textureRegistry.createSurfaceProducer();
-    TextureRegistry.SurfaceTextureEntry handle = flutterState.textureRegistry.createSurfaceTexture();
-    VideoPlayer videoPlayer =
-        TextureVideoPlayer.create(
-            flutterState.applicationContext,
-            VideoPlayerEventCallbacks.bindTo(flutterState.binaryMessenger, streamInstance),
-            handle,
-            videoAsset,
-            sharedOptions);
-
-    registerPlayerInstance(videoPlayer, id);
+    final TextureRegistry.SurfaceTextureEntry handle;
+    try {
+      handle =
+          PlayerThread.callBlocking(Looper.getMainLooper(), textureRegistry::createSurfaceTexture);
+    } catch (RuntimeException e) {
+      releasePlaybackLooper(playbackLooper);
+      throw e;
+    }
+    final VideoPlayerCallbacks callbacks =
+        VideoPlayerEventCallbacks.bindTo(state.binaryMessenger, streamInstance);
+
+    // The IDs are returned before the player is built, so that Dart can lay out the texture while
+    // the player is created; Dart learns that it is ready from its initialization event.
+    final DeferredInstanceApi deferredApi = new DeferredInstanceApi();
+    VideoPlayerInstanceApi.Companion.setUp(
+        state.binaryMessenger, deferredApi.getApi(), streamInstance);
+    synchronized (lock) {
+      pendingPlayers.put(id, deferredApi);
+    }
+    playerCreator.execute(
+        () -> {
+          final VideoPlayer videoPlayer;
+          try {
+            videoPlayer =
+                PlayerThread.callBlocking(
+                    playbackLooper,
+                    () ->
+                        TextureVideoPlayer.create(
+                            state.applicationContext,
+                            callbacks,
+                            handle,
+                            videoAsset,
+                            playerOptions));
+          } catch (RuntimeException e) {
+            onPlayerCreationFailed(id, deferredApi, handle, playbackLooper, callbacks, e);
+            return;
+          }
+          registerPlayerInstance(state, videoPlayer, id, videoAsset, playbackLooper, deferredApi);
+        });
     return new TexturePlayerIds(id, handle.id());
   }
 
-  private @NonNull VideoAsset videoAssetWithOptions(@NonNull CreationOptions options) {
-    final @NonNull String uri = options.getUri();
-
-    Map<String, String> drmConfiguration = options.getDrmConfiguration();
-    SigmaHelper.instance().setMerchantId(drmConfiguration.get("merchantId") != null ? drmConfiguration.get("merchantId") : "");
-    SigmaHelper.instance().setAppId(drmConfiguration.get("appId") != null ? drmConfiguration.get("appId") : "");
-    SigmaHelper.instance().setUserId(drmConfiguration.get("userId") != null ? drmConfiguration.get("userId") : "");
-    SigmaHelper.instance().setSessionId(drmConfiguration.get("sessionId") != null ? drmConfiguration.get("sessionId") : "");
+  private void onPlayerCreationFailed(
+      long id,
+      @NonNull DeferredInstanceApi deferredApi,
+      @NonNull TextureRegistry.SurfaceTextureEntry handle,
+      @NonNull Looper playbackLooper,
+      @NonNull VideoPlayerCallbacks callbacks,
+      @NonNull RuntimeException error) {
+    Log.e(TAG, "Failed to create player " + id, error);
+    final boolean disposed;
+    synchronized (lock) {
+      disposed = pendingPlayers.get(id) != deferredApi;
+      if (!disposed) {
+        pendingPlayers.remove(id);
+      }
+    }
+    releasePlaybackLooper(playbackLooper);
+    deferredApi.setCreationError(error);
+    PlayerThread.runOnPlatformThread(handle::release);
+    if (!disposed) {
+      callbacks.onError("VideoError", "Video player could not be created: " + error, null);
+    }
+  }
 
-    if (uri.startsWith("asset:")) {
+  @VisibleForTesting
+  @NonNull
+  VideoAsset videoAssetWithOptions(@NonNull CreationOptions options) {
+    final @NonNull String uri = options.getUri();
+    final String downloadId = options.getDownloadId();
+    if (downloadId != null) {
+      return getDownloadManager().getOfflineAsset(downloadId);
+    } else if (uri.startsWith("asset:")) {
       return VideoAsset.fromAssetUrl(uri);
     } else if (uri.startsWith("rtsp:")) {
       return VideoAsset.fromRtspUrl(uri);
@@ -163,44 +380,352 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     }
   }
 
-  private void registerPlayerInstance(VideoPlayer player, long id) {
+  /**
+   * Returns the options for a new player, assigning it a playback thread.
+   *
+   * <p>The player must be created on that thread, and the thread released with {@link
+   * #releasePlaybackLooper} if it cannot be.
+   */
+  @NonNull
+  private VideoPlayerOptions createPlayerOptions(@NonNull CreationOptions creationOptions) {
+    // Invalid options fail here, before a playback thread is acquired for the player.
+    PlatformAbrOptions abrOptions = creationOptions.getAbrOptions();
+    AbrConfig abrConfig = abrOptions != null ? AbrConfig.fromPlatformOptions(abrOptions) : null;
+    Long startPositionMs = creationOptions.getStartPositionMs();
+    if (startPositionMs != null && startPositionMs < 0) {
+      throw new IllegalArgumentException("startPositionMs must not be negative.");
+    }
+    Long initialBitrate = creationOptions.getInitialBitrate();
+    if (initialBitrate != null && initialBitrate <= 0) {
+      throw new IllegalArgumentException("initialBitrate must be positive.");
+    }
+    synchronized (lock) {
+      VideoPlayerOptions options = sharedOptions.copy();
+      options.loadPriority = networkPriorityScheduler.createLoadPriority();
+      if (abrConfig != null) {
+        options.abrConfig = abrConfig;
+      }
+      if (startPositionMs != null) {
+        options.startPositionMs = startPositionMs;
+      }
+      if (initialBitrate != null) {
+        options.initialBitrate = initialBitrate;
+      }
+      if (creationOptions.getCreationMode() != null) {
+        options.creationMode = creationModeFromPlatform(creationOptions.getCreationMode());
+      }
+      options.playbackLooper = playbackThreadPool.acquireLooper();
+      return options;
+    }
+  }
+
+  @NonNull
+  private static VideoPlayerOptions.CreationMode creationModeFromPlatform(
+      @NonNull PlatformCreationMode mode) {
+    switch (mode) {
+      case PREPARE_ONLY:
+        return VideoPlayerOptions.CreationMode.PREPARE_ONLY;
+      case METADATA_ONLY:
+        return VideoPlayerOptions.CreationMode.METADATA_ONLY;
+      case LAZY:
+        return VideoPlayerOptions.CreationMode.LAZY;
+    }
+    throw new IllegalArgumentException("Unknown creation mode: " + mode);
+  }
+
+  /** Returns the looper of the playback thread assigned by {@link #createPlayerOptions}. */
+  @NonNull
+  private static Looper getPlaybackLooper(@NonNull VideoPlayerOptions options) {
+    if (options.playbackLooper == null) {
+      throw new IllegalStateException("The player was not assigned a playback thread.");
+    }
+    return options.playbackLooper;
+  }
+
+  private void releasePlaybackLooper(@NonNull Looper playbackLooper) {
+    synchronized (lock) {
+      playbackThreadPool.releaseLooper(playbackLooper);
+    }
+  }
+
+  private long nextPlayerIdentifier() {
+    synchronized (lock) {
+      return nextPlayerIdentifier++;
+    }
+  }
+
+  /**
+   * Sets up a created player.
+   *
+   * @param deferredApi the API that stood in for the player while it was created, if it was
+   *     created after its ID was returned; the player is disposed of right away if it was disposed
+   *     in the meantime.
+   */
+  private void registerPlayerInstance(
+      @NonNull FlutterState state,
+      VideoPlayer player,
+      long id,
+      VideoAsset videoAsset,
+      @NonNull Looper playbackLooper,
+      @Nullable DeferredInstanceApi deferredApi) {
     // Set up the instance-specific API handler, and make sure it is removed when the player is
     // disposed.
-    BinaryMessenger messenger = flutterState.binaryMessenger;
+    BinaryMessenger messenger = state.binaryMessenger;
     final String channelSuffix = Long.toString(id);
-    VideoPlayerInstanceApi.Companion.setUp(messenger, player, channelSuffix);
+    VideoPlayerInstanceApi api = PlaybackThreadInstanceApi.wrap(player, playbackLooper);
+    if (deferredApi == null) {
+      VideoPlayerInstanceApi.Companion.setUp(messenger, api, channelSuffix);
+    }
     player.setDisposeHandler(
-        () -> VideoPlayerInstanceApi.Companion.setUp(messenger, null, channelSuffix));
+        new VideoPlayer.DisposeHandler() {
+          @Override
+          public void onDispose() {
+            VideoPlayerInstanceApi.Companion.setUp(messenger, null, channelSuffix);
+            playerManager.unregister(player);
+          }
+
+          @Override
+          public void onReleased() {
+            // The player keeps its thread until it is released.
+            releasePlaybackLooper(playbackLooper);
+          }
+        });
+
+    player.setMediaSourceResolver(options -> createMediaSource(videoAsset, options));
+    player.setThumbnailService(
+        new ThumbnailService(
+            player.getExoPlayer(),
+            videoAsset.getDataSourceFactory(state.applicationContext),
+            player.videoPlayerEvents));
+    // The player's media source was created with the asset's factory, so its sessions are shared.
+    DrmSessionManager drmSessionManager = videoAsset.getSharedDrmSessionManager();
+    if (drmSessionManager != null) {
+      player.setDrmSessionPreacquirer(
+          new DrmSessionPreacquirer(player.getExoPlayer(), drmSessionManager));
+    }
 
-    videoPlayers.put(id, player);
+    final boolean disposed;
+    synchronized (lock) {
+      disposed = deferredApi != null && pendingPlayers.get(id) != deferredApi;
+      if (!disposed) {
+        pendingPlayers.remove(id);
+        // Registered before it can be found, so that disposing of it always unregisters it.
+        playerManager.register(player);
+        videoPlayers.put(id, player);
+      }
+    }
+    if (disposed) {
+      player.dispose(playerReleaser);
+      return;
+    }
+    if (deferredApi != null) {
+      deferredApi.setApi(api);
+    }
   }
 
   @NonNull
-  private VideoPlayer getPlayer(long playerId) {
-    VideoPlayer player = videoPlayers.get(playerId);
-
-    // Avoid a very ugly un-debuggable NPE that results in returning a null player.
-    if (player == null) {
-      String message = "No player found with playerId <" + playerId + ">";
-      if (videoPlayers.size() == 0) {
-        message += " and no active players created by the plugin.";
-      }
-      throw new IllegalStateException(message);
+  private MediaSource createMediaSource(
+      @NonNull VideoAsset playerAsset, @NonNull CreationOptions options) {
+    final VideoAsset videoAsset = videoAssetWithOptions(options);
+    // Items configured like the player's own asset go through its factory, so that items
+    // protected with the same key keep using the DRM sessions the player already has.
+    final VideoAsset factoryAsset =
+        videoAsset.canShareMediaSourceFactoryWith(playerAsset) ? playerAsset : videoAsset;
+    return factoryAsset
+        .getMediaSourceFactory(flutterState.applicationContext)
+        .createMediaSource(videoAsset.getMediaItem());
+  }
+
+  @Nullable
+  private VideoPlayer findPlayer(long playerId) {
+    synchronized (lock) {
+      return videoPlayers.get(playerId);
     }
+  }
+
+  @NonNull
+  private VideoPlayer removePlayer(long playerId) {
+    synchronized (lock) {
+      VideoPlayer player = videoPlayers.get(playerId);
+
+      // Avoid a very ugly un-debuggable NPE that results in returning a null player.
+      if (player == null) {
+        String message = "No player found with playerId <" + playerId + ">";
+        if (videoPlayers.size() == 0) {
+          message += " and no active players created by the plugin.";
+        }
+        throw new IllegalStateException(message);
+      }
 
-    return player;
+      videoPlayers.remove(playerId);
+      return player;
+    }
   }
 
   @Override
   public void dispose(long playerId) {
-    VideoPlayer player = getPlayer(playerId);
-    player.dispose();
-    videoPlayers.remove(playerId);
+    final DeferredInstanceApi pendingApi;
+    synchronized (lock) {
+      pendingApi = pendingPlayers.get(playerId);
+      pendingPlayers.remove(playerId);
+    }
+    if (pendingApi != null) {
+      // The player is disposed of as soon as it has been created.
+      VideoPlayerInstanceApi.Companion.setUp(
+          flutterState.binaryMessenger, null, Long.toString(playerId));
+      pendingApi.setCreationError(new IllegalStateException("The player has been disposed."));
+      return;
+    }
+    // The player is released in the background; only its channels are torn down before replying.
+    removePlayer(playerId).dispose(playerReleaser);
   }
 
   @Override
   public void setMixWithOthers(boolean mixWithOthers) {
-    sharedOptions.mixWithOthers = mixWithOthers;
+    synchronized (lock) {
+      sharedOptions.mixWithOthers = mixWithOthers;
+    }
+  }
+
+  @Override
+  public void setPlayerLimits(long maxActivePlayers, long bufferMemoryBudgetBytes) {
+    if (maxActivePlayers > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "maxActivePlayers is too large: " + maxActivePlayers);
+    }
+    // Both limits are checked before either is applied.
+    if (maxActivePlayers < 1) {
+      throw new IllegalArgumentException(
+          "maxActivePlayers must be at least 1, was " + maxActivePlayers);
+    }
+    bufferBudgetCoordinator.setBudgetBytes(bufferMemoryBudgetBytes);
+    playerManager.setMaxActivePlayers((int) maxActivePlayers);
+  }
+
+  @Override
+  public void setPlayerThreadCount(long threadCount) {
+    if (threadCount < 0 || threadCount > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid player thread count: " + threadCount);
+    }
+    final int poolSize = threadCount == 0 ? DEFAULT_PLAYER_THREAD_COUNT : (int) threadCount;
+    synchronized (lock) {
+      if (videoPlayers.size() > 0 || pendingPlayers.size() > 0 || playbackThreadPool.isInUse()) {
+        throw new IllegalStateException(
+            "The player thread count must be set before any player is created.");
+      }
+      if (playbackThreadPool.getThreadCount() == poolSize) {
+        return;
+      }
+      playbackThreadPool.release();
+      playbackThreadPool = new PlaybackThreadPool(poolSize);
+    }
+  }
+
+  @NonNull
+  private VideoDownloadManager getDownloadManager() {
+    VideoDownloadManager downloadManager =
+        VideoDownloadManager.getInstance(flutterState.applicationContext);
+    downloadManager.addListener(downloadListener);
+    return downloadManager;
+  }
+
+  @Override
+  public void startDownload(
+      @NonNull String downloadId,
+      @NonNull CreationOptions options,
+      @NonNull PlatformDownloadOptions downloadOptions) {
+    if (options.getDownloadId() != null || !options.getUri().startsWith("http")) {
+      throw new IllegalArgumentException(
+          "Only remote videos can be downloaded: " + options.getUri());
+    }
+    getDownloadManager()
+        .startDownload(
+            downloadId,
+            videoAssetWithOptions(options),
+            options.getDrmConfiguration(),
+            downloadOptions);
+  }
+
+  @Override
+  public void removeDownload(@NonNull String downloadId) {
+    getDownloadManager().removeDownload(downloadId);
+  }
+
+  @Override
+  public void setDownloadConcurrency(long segmentConcurrency) {
+    if (segmentConcurrency > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "segmentConcurrency is too large: " + segmentConcurrency);
+    }
+    getDownloadManager().setSegmentConcurrency((int) segmentConcurrency);
+  }
+
+  @Override
+  public void setPrefetchQueue(
+      @NonNull List<CreationOptions> items, @NonNull PlatformPrefetchOptions prefetchOptions) {
+    // Only remote videos are prefetched; downloads and local videos start without the network.
+    List<HttpVideoAsset> assets = new ArrayList<>();
+    for (CreationOptions item : items) {
+      if (item.getDownloadId() != null) {
+        continue;
+      }
+      VideoAsset asset = videoAssetWithOptions(item);
+      if (asset instanceof HttpVideoAsset) {
+        assets.add((HttpVideoAsset) asset);
+      }
+    }
+    if (segmentPrefetcher == null) {
+      segmentPrefetcher = new SegmentPrefetcher(flutterState.applicationContext);
+    }
+    segmentPrefetcher.setQueue(assets, prefetchOptions);
+  }
+
+  @Override
+  public long addMirroredOutput(long playerId, @NonNull PlatformMirroredOutputOptions options) {
+    final TextureVideoPlayer player = findTexturePlayer(playerId);
+    final int maxWidth = toMaxOutputSize(options.getMaxWidth());
+    final int maxHeight = toMaxOutputSize(options.getMaxHeight());
+    final SurfaceTextureEntry output =
+        PlayerThread.callBlocking(
+            Looper.getMainLooper(), flutterState.textureRegistry::createSurfaceTexture);
+    try {
+      return PlayerThread.callBlocking(
+          player.getExoPlayer(),
+          () -> {
+            player.addMirroredOutput(output, maxWidth, maxHeight);
+            return output.id();
+          });
+    } catch (RuntimeException e) {
+      PlayerThread.runOnPlatformThread(output::release);
+      throw e;
+    }
+  }
+
+  @Override
+  public void removeMirroredOutput(long playerId, long textureId) {
+    final TextureVideoPlayer player = findTexturePlayer(playerId);
+    final SurfaceTextureEntry output =
+        PlayerThread.callBlocking(
+            player.getExoPlayer(), () -> player.removeMirroredOutput(textureId));
+    // Textures belong to the engine, which only allows releasing them on the platform thread.
+    if (output != null) {
+      PlayerThread.runOnPlatformThread(output::release);
+    }
+  }
+  }
+
+  @NonNull
+  private TextureVideoPlayer findTexturePlayer(long playerId) {
+    final VideoPlayer player = findPlayer(playerId);
+    if (!(player instanceof TextureVideoPlayer)) {
+      throw new IllegalStateException("No texture player found with playerId <" + playerId + ">");
+    }
+    return (TextureVideoPlayer) player;
+  }
+
+  private static int toMaxOutputSize(@Nullable Long size) {
+    // Sizes that aren't positive are rejected by the player.
+    return size == null ? Integer.MAX_VALUE : (int) Math.max(0, Math.min(size, Integer.MAX_VALUE));
   }
 
   @Override
@@ -5,6 +5,7 @@ import android.annotation.TargetApi;
 import android.text.TextUtils;
 import android.util.Base64;
 import android.util.Log;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.google.android.exoplayer2.drm.ExoMediaDrm.KeyRequest;
 import com.google.android.exoplayer2.drm.ExoMediaDrm.ProvisionRequest;
@@ -23,7 +24,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.json.JSONObject;
-import com.sigma.drm.SigmaHelper;
 import com.sigma.packer.RequestInfo;
 import com.sigma.packer.SigmaDrmPacker;
 
@@ -37,6 +37,7 @@ public final class WidevineMediaDrmCallback implements MediaDrmCallback {
 
   private static final int MAX_MANUAL_REDIRECTS = 5;
 
+  private final DrmIdentity identity;
   private final DataSource.Factory dataSourceFactory;
   @Nullable
   private final String defaultLicenseUrl;
@@ -46,6 +47,8 @@ public final class WidevineMediaDrmCallback implements MediaDrmCallback {
   /**
    * Constructs an instance.
    *
+   * @param identity          The identity sent with the key requests of this
+   *                          callback.
    * @param defaultLicenseUrl The default license URL. Used for key requests that
    *                          do not specify
    *                          their own license URL. May be {@code null} if it's
@@ -56,13 +59,17 @@ public final class WidevineMediaDrmCallback implements MediaDrmCallback {
    *                          usually be an HTTP-based {@link DataSource}.
    */
   public WidevineMediaDrmCallback(
-      @Nullable String defaultLicenseUrl, DataSource.Factory dataSourceFactory) {
-    this(defaultLicenseUrl, /* forceDefaultLicenseUrl= */ false, dataSourceFactory);
+      @NonNull DrmIdentity identity,
+      @Nullable String defaultLicenseUrl,
+      DataSource.Factory dataSourceFactory) {
+    this(identity, defaultLicenseUrl, /* forceDefaultLicenseUrl= */ false, dataSourceFactory);
   }
 
   /**
    * Constructs an instance.
    *
+   * @param identity               The identity sent with the key requests of
+   *                               this callback.
    * @param defaultLicenseUrl      The default license URL. Used for key requests
    *                               that do not specify
    *                               their own license URL, or for all key requests
@@ -80,10 +87,12 @@ public final class WidevineMediaDrmCallback implements MediaDrmCallback {
    *                               * usually be an HTTP-based {@link DataSource}.
    */
   public WidevineMediaDrmCallback(
+      @NonNull DrmIdentity identity,
       @Nullable String defaultLicenseUrl,
       boolean forceDefaultLicenseUrl,
       DataSource.Factory dataSourceFactory) {
     Assertions.checkArgument(!(forceDefaultLicenseUrl && TextUtils.isEmpty(defaultLicenseUrl)));
+    this.identity = identity;
     this.dataSourceFactory = dataSourceFactory;
     this.defaultLicenseUrl = defaultLicenseUrl;
     this.forceDefaultLicenseUrl = forceDefaultLicenseUrl;
@@ -238,10 +247,7 @@ public final class WidevineMediaDrmCallback implements MediaDrmCallback {
   private String getCustomData(KeyRequest keyRequest) throws Exception {
     JSONObject customData = new JSONObject();
 
-    customData.put("merchantId", SigmaHelper.instance().getMerchantId());
-    customData.put("appId", SigmaHelper.instance().getAppId());
-    customData.put("userId", SigmaHelper.instance().getUserId());
-    customData.put("sessionId", SigmaHelper.instance().getSessionId());
+    identity.addTo(customData);
 
     RequestInfo requestInfo = SigmaDrmPacker.requestInfo(keyRequest.getData());
     customData.put("reqId", requestInfo.requestId);
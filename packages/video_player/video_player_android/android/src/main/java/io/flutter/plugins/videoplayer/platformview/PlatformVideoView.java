@@ -6,15 +6,20 @@ package io.flutter.plugins.videoplayer.platformview;
 
 import android.content.Context;
 import android.os.Build;
+import android.view.Surface;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 import android.view.View;
 import androidx.annotation.NonNull;
 
 import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.SeekParameters;
 
 import io.flutter.Log;
 import io.flutter.plugin.platform.PlatformView;
+import io.flutter.plugins.videoplayer.PlayerThread;
+import java.util.function.BooleanSupplier;
 
 /**
  * A class used to create a native video view that can be embedded in a Flutter app. It wraps an
@@ -23,6 +28,9 @@ import io.flutter.plugin.platform.PlatformView;
 public final class PlatformVideoView implements PlatformView {
   private static final String TAG = "PlatformVideoView";
   @NonNull private final SurfaceView surfaceView;
+  // True while the player renders to the view's current surface. Only accessed on the platform
+  // thread, where the surface callbacks arrive.
+  private boolean surfaceConnected;
 
   /**
    * Constructs a new PlatformVideoView.
@@ -31,6 +39,21 @@ public final class PlatformVideoView implements PlatformView {
    * @param exoPlayer The ExoPlayer instance used to play the video.
    */
   public PlatformVideoView(@NonNull Context context, @NonNull ExoPlayer exoPlayer) {
+    this(context, exoPlayer, () -> true);
+  }
+
+  /**
+   * Constructs a new PlatformVideoView for a player that may render elsewhere.
+   *
+   * @param context The context in which the view is running.
+   * @param exoPlayer The ExoPlayer instance used to play the video.
+   * @param rendersToView Returns whether the player currently renders to this view. When it
+   *     doesn't, the view's surface is not connected to the player.
+   */
+  public PlatformVideoView(
+      @NonNull Context context,
+      @NonNull ExoPlayer exoPlayer,
+      @NonNull BooleanSupplier rendersToView) {
     Log.e(TAG, "PlatformVideoView Constructor: creating " + this.hashCode());
     this.surfaceView = new SurfaceView(context);
 
@@ -44,34 +67,77 @@ public final class PlatformVideoView implements PlatformView {
       @Override
       public void surfaceCreated(@NonNull SurfaceHolder holder) {
         Log.e(TAG, "PlatformVideoView surfaceCreated for " + PlatformVideoView.this.hashCode());
-        connectPlayer(exoPlayer, holder);
+        maybeConnectPlayer(exoPlayer, holder, rendersToView);
       }
 
       @Override
       public void surfaceChanged(@NonNull SurfaceHolder holder, int format, int width, int height) {
         Log.e(TAG, "PlatformVideoView surfaceChanged [" + width + "x" + height + "] for " + PlatformVideoView.this.hashCode());
-        connectPlayer(exoPlayer, holder);
+        // A resize or rotation keeps the surface, which the player is already rendering to.
+        maybeConnectPlayer(exoPlayer, holder, rendersToView);
       }
 
       @Override
       public void surfaceDestroyed(@NonNull SurfaceHolder holder) {
         Log.e(TAG, "PlatformVideoView surfaceDestroyed for " + PlatformVideoView.this.hashCode());
-        if (Build.VERSION.SDK_INT == Build.VERSION_CODES.P) {
-          exoPlayer.setVideoSurface(null);
+        surfaceConnected = false;
+        if (Build.VERSION.SDK_INT == Build.VERSION_CODES.P
+            || !PlayerThread.isCurrent(exoPlayer)) {
+          // The surface is released once this returns, so wait for the player to let go of it. The
+          // player may have moved on to another surface, which is left connected.
+          Surface surface = holder.getSurface();
+          PlayerThread.runBlocking(exoPlayer, () -> exoPlayer.clearVideoSurface(surface));
         }
       }
     });
   }
 
+  private void maybeConnectPlayer(
+      @NonNull ExoPlayer exoPlayer,
+      @NonNull SurfaceHolder holder,
+      @NonNull BooleanSupplier rendersToView) {
+    if (surfaceConnected || !rendersToView.getAsBoolean()) {
+      return;
+    }
+    connectPlayer(exoPlayer, holder);
+    surfaceConnected = true;
+  }
+
   private void connectPlayer(@NonNull ExoPlayer exoPlayer, @NonNull SurfaceHolder holder) {
     if (Build.VERSION.SDK_INT == Build.VERSION_CODES.P) {
-      // Workaround for rendering issues on Android 9 (API 28).
-      exoPlayer.setVideoSurface(holder.getSurface());
-      // Force first frame rendering:
-      exoPlayer.seekTo(1);
-    } else {
+      PlayerThread.runBlocking(
+          exoPlayer,
+          () -> {
+            // Workaround for rendering issues on Android 9 (API 28).
+            exoPlayer.setVideoSurface(holder.getSurface());
+            redrawPausedFrame(exoPlayer);
+          });
+    } else if (PlayerThread.isCurrent(exoPlayer)) {
       exoPlayer.setVideoSurfaceView(surfaceView);
+    } else {
+      // The player can only track the SurfaceView's lifecycle when its callbacks arrive on the
+      // player's thread, so a player on a playback thread is given the surface itself.
+      PlayerThread.runBlocking(exoPlayer, () -> exoPlayer.setVideoSurface(holder.getSurface()));
+    }
+  }
+
+  /**
+   * Shows the current frame of a paused player on a newly connected surface.
+   *
+   * <p>On Android 9, the frame of a paused player doesn't show up on a newly connected surface, and
+   * ExoPlayer has no way to render a frame again, so the player seeks to where it already is. The
+   * position is inside the buffer, so the buffered media is kept and only the decoder is flushed. A
+   * playing player renders its next frames anyway, and needs no seek.
+   */
+  private static void redrawPausedFrame(@NonNull ExoPlayer exoPlayer) {
+    if (exoPlayer.getPlayWhenReady() || exoPlayer.getPlaybackState() != Player.STATE_READY) {
+      return;
     }
+    // Seek parameters other than exact may move the position to a sync frame.
+    SeekParameters seekParameters = exoPlayer.getSeekParameters();
+    exoPlayer.setSeekParameters(SeekParameters.EXACT);
+    exoPlayer.seekTo(exoPlayer.getCurrentPosition());
+    exoPlayer.setSeekParameters(seekParameters);
   }
 
   /**
@@ -64,6 +64,6 @@ public class PlatformVideoViewFactory extends PlatformViewFactory {
     final VideoPlayer player = videoPlayerProvider.getVideoPlayer(playerId);
     final ExoPlayer exoPlayer = player.getExoPlayer();
 
-    return new PlatformVideoView(context, exoPlayer);
+    return new PlatformVideoView(context, exoPlayer, player::rendersToPlatformView);
   }
 }
@@ -58,15 +58,20 @@ public abstract class PlatformViewVideoPlayer extends VideoPlayer {
             events,
             asset.getMediaItem(),
             options,
-            () -> {
+            loadControl -> {
               RenderersFactory renderersFactory = new DefaultRenderersFactory(context)
                       .setEnableDecoderFallback(true)
                       .setExtensionRendererMode(DefaultRenderersFactory.EXTENSION_RENDERER_MODE_PREFER);
-              DefaultTrackSelector trackSelector = new DefaultTrackSelector(context);
+              DefaultTrackSelector trackSelector = createTrackSelector(context, options);
               ExoPlayer.Builder builder =
                       new ExoPlayer.Builder(context, renderersFactory)
                               .setTrackSelector(trackSelector)
+                              .setLoadControl(loadControl)
+                              .setBandwidthMeter(createBandwidthMeter(context, options))
                               .setMediaSourceFactory(asset.getMediaSourceFactory(context));
+              if (options.playbackLooper != null) {
+                builder.setLooper(options.playbackLooper);
+              }
               return builder.build();
             }) {
       @Override
@@ -16,15 +16,20 @@ import com.google.android.exoplayer2.DefaultRenderersFactory;
 import com.google.android.exoplayer2.MediaItem;
 import com.google.android.exoplayer2.ExoPlayer;
 import com.google.android.exoplayer2.RenderersFactory;
+import com.google.android.exoplayer2.Tracks;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
 
 import io.flutter.plugins.videoplayer.ExoPlayerEventListener;
+import io.flutter.plugins.videoplayer.PlatformVideoOutput;
+import io.flutter.plugins.videoplayer.PlayerThread;
 import io.flutter.plugins.videoplayer.VideoAsset;
 import io.flutter.plugins.videoplayer.VideoPlayer;
 import io.flutter.plugins.videoplayer.VideoPlayerCallbacks;
 import io.flutter.plugins.videoplayer.VideoPlayerOptions;
 import io.flutter.view.TextureRegistry;
 import io.flutter.view.TextureRegistry.SurfaceProducer;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A subclass of {@link VideoPlayer} that adds functionality related to texture view as a way of
@@ -36,6 +41,14 @@ import io.flutter.view.TextureRegistry.SurfaceProducer;
 public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProducer.Callback {
   // True when the ExoPlayer instance has a null surface.
   private boolean needsSurface = true;
+  // True while the video is rendered to a platform view instead of the texture.
+  private volatile boolean platformViewOutput;
+  // Copies the video to the texture and the mirrored outputs while there are any; otherwise the
+  // player renders to its texture directly.
+  @Nullable private VideoFrameMirror frameMirror;
+  @NonNull private VideoFrameMirror.Factory frameMirrorFactory = VideoFrameMirror::new;
+  private final Map<Long, TextureRegistry.SurfaceTextureEntry> mirroredOutputs = new HashMap<>();
+
   /**
    * Creates a texture video player.
    *
@@ -59,15 +72,20 @@ public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProd
         surfaceProducer,
         asset.getMediaItem(),
         options,
-        () -> {
+        loadControl -> {
           RenderersFactory renderersFactory = new DefaultRenderersFactory(context)
                   .setEnableDecoderFallback(true)
                   .setExtensionRendererMode(DefaultRenderersFactory.EXTENSION_RENDERER_MODE_PREFER);
-          DefaultTrackSelector trackSelector = new DefaultTrackSelector(context);
+          DefaultTrackSelector trackSelector = createTrackSelector(context, options);
           ExoPlayer.Builder builder =
               new ExoPlayer.Builder(context, renderersFactory)
                   .setTrackSelector(trackSelector)
+                  .setLoadControl(loadControl)
+                  .setBandwidthMeter(createBandwidthMeter(context, options))
                   .setMediaSourceFactory(asset.getMediaSourceFactory(context));
+          if (options.playbackLooper != null) {
+            builder.setLooper(options.playbackLooper);
+          }
           return builder.build();
         });
   }
@@ -84,15 +102,20 @@ public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProd
             surfaceTextureEntry,
             asset.getMediaItem(),
             options,
-            () -> {
+            loadControl -> {
               RenderersFactory renderersFactory = new DefaultRenderersFactory(context)
                       .setEnableDecoderFallback(true)
                       .setExtensionRendererMode(DefaultRenderersFactory.EXTENSION_RENDERER_MODE_PREFER);
-              DefaultTrackSelector trackSelector = new DefaultTrackSelector(context);
+              DefaultTrackSelector trackSelector = createTrackSelector(context, options);
               ExoPlayer.Builder builder =
                       new ExoPlayer.Builder(context, renderersFactory)
                               .setTrackSelector(trackSelector)
+                              .setLoadControl(loadControl)
+                              .setBandwidthMeter(createBandwidthMeter(context, options))
                               .setMediaSourceFactory(asset.getMediaSourceFactory(context));
+              if (options.playbackLooper != null) {
+                builder.setLooper(options.playbackLooper);
+              }
               return builder.build();
             });
   }
@@ -157,9 +180,145 @@ public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProd
 
   @RestrictTo(RestrictTo.Scope.LIBRARY)
   public void onSurfaceAvailable() {
-    if (needsSurface) {
+    // Surface callbacks arrive on the platform thread, which may not be the player's thread.
+    PlayerThread.runBlocking(exoPlayer, this::connectSurface);
+  }
+
+  @RestrictTo(RestrictTo.Scope.LIBRARY)
+  public void onSurfaceCleanup() {
+    // The surface may be released as soon as this returns, so wait for the player to let go of it.
+    PlayerThread.runBlocking(exoPlayer, this::disconnectSurface);
+  }
+
+  @Override
+  public void setVideoOutput(@NonNull PlatformVideoOutput output) {
+    boolean platformViewOutput = output == PlatformVideoOutput.PLATFORM_VIEW;
+    if (platformViewOutput == this.platformViewOutput) {
+      return;
+    }
+    if (platformViewOutput && frameMirror != null) {
+      throw new IllegalStateException(
+          "Remove the mirrored outputs before moving the video to a platform view.");
+    }
+    if (platformViewOutput) {
+      disconnectSurface();
+      // The platform view connects its surface once it is created.
+      this.platformViewOutput = true;
+    } else {
+      this.platformViewOutput = false;
+      connectSurface();
+    }
+  }
+
+  @Override
+  public boolean rendersToPlatformView() {
+    return platformViewOutput;
+  }
+
+  /**
+   * Renders the video to {@code output} as well as to the player's own texture, from the same
+   * decoder.
+   *
+   * <p>While the player has mirrored outputs, a {@link VideoFrameMirror} copies each frame to its
+   * texture and to every output. The player takes ownership of {@code output}, and releases it when
+   * it is released.
+   *
+   * <p>Frames of protected content are decoded to secure buffers that the mirror can't read, so
+   * players only accept mirrored outputs once their tracks are known and their video is clear.
+   *
+   * @param output the texture to render to.
+   * @param maxWidth the widest the output may be, in pixels.
+   * @param maxHeight the tallest the output may be, in pixels.
+   */
+  public void addMirroredOutput(
+      @NonNull TextureRegistry.SurfaceTextureEntry output, int maxWidth, int maxHeight) {
+    if (surfaceTextureEntry == null) {
+      throw new IllegalStateException(
+          "Only players rendering to a SurfaceTexture can be mirrored.");
+    }
+    if (platformViewOutput) {
+      throw new IllegalStateException("A player rendering to a platform view can't be mirrored.");
+    }
+    if (maxWidth <= 0 || maxHeight <= 0) {
+      throw new IllegalArgumentException(
+          "The maximum output size must be positive, was " + maxWidth + "x" + maxHeight + ".");
+    }
+    if (!hasClearVideo()) {
+      throw new IllegalStateException(
+          "Only clear video can be mirrored; the player's tracks are unknown or protected.");
+    }
+    if (frameMirror == null) {
+      VideoFrameMirror mirror = frameMirrorFactory.create(exoPlayer.getVideoSize());
+      if (!needsSurface) {
+        // The decoder has to let go of the texture before the mirror can draw to it.
+        exoPlayer.setVideoSurface(mirror.getInputSurface());
+      }
+      mirror.setPrimaryOutput(surfaceTextureEntry.surfaceTexture());
+      exoPlayer.addListener(mirror);
+      frameMirror = mirror;
+    }
+    frameMirror.addMirroredOutput(output.id(), output.surfaceTexture(), maxWidth, maxHeight);
+    mirroredOutputs.put(output.id(), output);
+  }
 
-      if(surfaceTextureEntry != null){
+  /**
+   * Stops rendering the video to the mirrored output with the given texture ID.
+   *
+   * @param textureId the ID of the output's texture.
+   * @return the output, which the caller releases on the platform thread, or {@code null} if the
+   *     player has no such output.
+   */
+  @Nullable
+  public TextureRegistry.SurfaceTextureEntry removeMirroredOutput(long textureId) {
+    TextureRegistry.SurfaceTextureEntry output = mirroredOutputs.remove(textureId);
+    if (output == null) {
+      return null;
+    }
+    // Only players with mirrored outputs have a mirror.
+    assert frameMirror != null && surfaceTextureEntry != null;
+    frameMirror.removeMirroredOutput(textureId);
+    if (mirroredOutputs.isEmpty()) {
+      // Without mirrored outputs, the decoder renders to the texture directly again, once the
+      // mirror has let go of it.
+      exoPlayer.removeListener(frameMirror);
+      frameMirror.setPrimaryOutput(null);
+      if (!needsSurface) {
+        exoPlayer.setVideoSurface(new Surface(surfaceTextureEntry.surfaceTexture()));
+      }
+      frameMirror.release();
+      frameMirror = null;
+    }
+    return output;
+  }
+
+  @VisibleForTesting
+  void setFrameMirrorFactory(@NonNull VideoFrameMirror.Factory frameMirrorFactory) {
+    this.frameMirrorFactory = frameMirrorFactory;
+  }
+
+  private boolean hasClearVideo() {
+    boolean hasVideo = false;
+    for (Tracks.Group group : exoPlayer.getCurrentTracks().getGroups()) {
+      if (group.getType() != C.TRACK_TYPE_VIDEO) {
+        continue;
+      }
+      for (int i = 0; i < group.length; i++) {
+        if (group.getTrackFormat(i).drmInitData != null) {
+          return false;
+        }
+      }
+      hasVideo = true;
+    }
+    return hasVideo;
+  }
+
+  private void connectSurface() {
+    if (needsSurface && !isSuspended() && !platformViewOutput) {
+
+      if (frameMirror != null) {
+        // The mirror stays connected to the texture while the player has no surface.
+        exoPlayer.setVideoSurface(frameMirror.getInputSurface());
+      } else if(surfaceTextureEntry != null){
         exoPlayer.setVideoSurface(new Surface(surfaceTextureEntry.surfaceTexture()));
       } else {
         // TextureVideoPlayer must always set a surfaceProducer.
@@ -170,16 +329,37 @@ public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProd
     }
   }
 
-  @RestrictTo(RestrictTo.Scope.LIBRARY)
-  public void onSurfaceCleanup() {
+  private void disconnectSurface() {
+    if (platformViewOutput) {
+      // The player renders to the platform view's surface, which must stay connected.
+      return;
+    }
     exoPlayer.setVideoSurface(null);
     needsSurface = true;
   }
 
-  public void dispose() {
-    // Super must be called first to ensure the player is released before the surface.
-    super.dispose();
+  @Override
+  protected void detachSurface() {
+    disconnectSurface();
+  }
+
+  @Override
+  protected void attachSurface() {
+    connectSurface();
+  }
 
+  @Override
+  protected void onReleased() {
+    // Called on the platform thread once the player is released, as textures belong to the engine,
+    // which only allows releasing them on the platform thread.
+    if (frameMirror != null) {
+      frameMirror.release();
+      frameMirror = null;
+    }
+    for (TextureRegistry.SurfaceTextureEntry output : mirroredOutputs.values()) {
+      output.release();
+    }
+    mirroredOutputs.clear();
     if(surfaceProducer != null){
         surfaceProducer.release();
         surfaceProducer= null;
@@ -188,5 +368,6 @@ public final class TextureVideoPlayer extends VideoPlayer implements SurfaceProd
         surfaceTextureEntry.release();
         surfaceTextureEntry = null;
     }
+    super.onReleased();
   }
 }
@@ -0,0 +1,502 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer.texture;
+
+import android.graphics.SurfaceTexture;
+import android.opengl.EGL14;
+import android.opengl.EGLConfig;
+import android.opengl.EGLContext;
+import android.opengl.EGLDisplay;
+import android.opengl.EGLExt;
+import android.opengl.EGLSurface;
+import android.opengl.GLES11Ext;
+import android.opengl.GLES20;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Size;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.video.VideoSize;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Copies the frames a player decodes to several {@link SurfaceTexture}s, so that a single decoder
+ * can feed multiple Flutter textures.
+ *
+ * <p>The player renders to the {@link #getInputSurface() input surface}, which is backed by an
+ * external OpenGL texture. On a dedicated GL thread, each frame is drawn to the primary output and
+ * to every mirrored output, with mirrored outputs downscaled to fit their maximum size.
+ *
+ * <p>Frames of content that needs a secure decoder can't be read by OpenGL, so such content can't
+ * be mirrored.
+ */
+final class VideoFrameMirror implements Player.Listener, SurfaceTexture.OnFrameAvailableListener {
+  private static final String VERTEX_SHADER =
+      "uniform mat4 uTexMatrix;\n"
+          + "attribute vec4 aPosition;\n"
+          + "attribute vec4 aTexCoord;\n"
+          + "varying vec2 vTexCoord;\n"
+          + "void main() {\n"
+          + "  gl_Position = aPosition;\n"
+          + "  vTexCoord = (uTexMatrix * aTexCoord).xy;\n"
+          + "}\n";
+  private static final String FRAGMENT_SHADER =
+      "#extension GL_OES_EGL_image_external : require\n"
+          + "precision mediump float;\n"
+          + "uniform samplerExternalOES uTexture;\n"
+          + "varying vec2 vTexCoord;\n"
+          + "void main() {\n"
+          + "  gl_FragColor = texture2D(uTexture, vTexCoord);\n"
+          + "}\n";
+  // A quad covering the viewport, as interleaved x, y, u, v coordinates of a triangle strip.
+  private static final float[] QUAD = {
+    -1f, -1f, 0f, 0f,
+    1f, -1f, 1f, 0f,
+    -1f, 1f, 0f, 1f,
+    1f, 1f, 1f, 1f,
+  };
+  private static final int QUAD_STRIDE_BYTES = 4 * Float.BYTES;
+
+  /** Creates the mirror of a player. */
+  interface Factory {
+    @NonNull
+    VideoFrameMirror create(@NonNull VideoSize videoSize);
+  }
+
+  /** An output frames are drawn to. Only accessed on the GL thread. */
+  private static final class Output {
+    @NonNull final SurfaceTexture surfaceTexture;
+    final int maxWidth;
+    final int maxHeight;
+    @NonNull EGLSurface eglSurface = EGL14.EGL_NO_SURFACE;
+    int width;
+    int height;
+
+    Output(@NonNull SurfaceTexture surfaceTexture, int maxWidth, int maxHeight) {
+      this.surfaceTexture = surfaceTexture;
+      this.maxWidth = maxWidth;
+      this.maxHeight = maxHeight;
+    }
+  }
+
+  @NonNull private final HandlerThread thread;
+  @NonNull private final Handler handler;
+  @NonNull private final float[] transform = new float[16];
+  // GL only keeps the address of a client-side vertex array, so the quad must outlive the context.
+  @NonNull private final FloatBuffer quad = createQuad();
+  @NonNull private final Map<Long, Output> mirroredOutputs = new LinkedHashMap<>();
+  @Nullable private Output primaryOutput;
+
+  @NonNull private EGLDisplay eglDisplay = EGL14.EGL_NO_DISPLAY;
+  @NonNull private EGLContext eglContext = EGL14.EGL_NO_CONTEXT;
+  @NonNull private EGLSurface pbufferSurface = EGL14.EGL_NO_SURFACE;
+  @Nullable private EGLConfig eglConfig;
+  private int program;
+  private int inputTextureId;
+  private int transformLocation;
+  @Nullable private SurfaceTexture inputTexture;
+  @Nullable private Surface inputSurface;
+  private int videoWidth;
+  private int videoHeight;
+  private boolean released;
+
+  /**
+   * Creates a mirror and sets up its GL context, blocking until it is ready.
+   *
+   * @param videoSize the current size of the player's video.
+   */
+  VideoFrameMirror(@NonNull VideoSize videoSize) {
+    thread = new HandlerThread("VideoFrameMirror");
+    thread.start();
+    handler = new Handler(thread.getLooper());
+    try {
+      runBlocking(
+          () -> {
+            try {
+              setUpGl();
+            } catch (RuntimeException e) {
+              releaseGl();
+              throw e;
+            }
+            setVideoSize(videoSize);
+          });
+    } catch (RuntimeException e) {
+      thread.quitSafely();
+      throw e;
+    }
+  }
+
+  /** Returns the surface the player renders to. */
+  @NonNull
+  Surface getInputSurface() {
+    // Set up by the constructor, which waits for the GL thread.
+    assert inputSurface != null;
+    return inputSurface;
+  }
+
+  /**
+   * Draws frames to {@code output} at the size of the video, replacing the previous primary output.
+   *
+   * <p>Blocks until the previous primary output is no longer drawn to, so that it can be connected
+   * to elsewhere once this returns.
+   *
+   * @param output the player's own texture, or {@code null} to stop drawing to it.
+   */
+  void setPrimaryOutput(@Nullable SurfaceTexture output) {
+    runBlocking(
+        () -> {
+          if (primaryOutput != null) {
+            destroyEglSurface(primaryOutput);
+            primaryOutput = null;
+          }
+          if (output != null) {
+            primaryOutput = createOutput(output, Integer.MAX_VALUE, Integer.MAX_VALUE);
+          }
+        });
+  }
+
+  /**
+   * Draws frames to {@code output} as well, downscaled to fit within the given size.
+   *
+   * @param id the ID the output is removed with.
+   * @param output the texture to draw to.
+   * @param maxWidth the widest the output may be, in pixels.
+   * @param maxHeight the tallest the output may be, in pixels.
+   */
+  void addMirroredOutput(long id, @NonNull SurfaceTexture output, int maxWidth, int maxHeight) {
+    runBlocking(() -> mirroredOutputs.put(id, createOutput(output, maxWidth, maxHeight)));
+  }
+
+  /**
+   * Stops drawing to the output added with {@code id}, blocking until it can be released.
+   *
+   * @param id the ID the output was added with.
+   */
+  void removeMirroredOutput(long id) {
+    runBlocking(
+        () -> {
+          Output output = mirroredOutputs.remove(id);
+          if (output != null) {
+            destroyEglSurface(output);
+          }
+        });
+  }
+
+  /**
+   * Releases the GL context and the input surface, blocking until the outputs are no longer drawn
+   * to. The player must no longer render to the input surface.
+   */
+  void release() {
+    runBlocking(this::releaseGl);
+    thread.quitSafely();
+  }
+
+  @Override
+  public void onVideoSizeChanged(@NonNull VideoSize videoSize) {
+    // Called on the player's thread.
+    handler.post(() -> setVideoSize(videoSize));
+  }
+
+  @Override
+  public void onFrameAvailable(@NonNull SurfaceTexture surfaceTexture) {
+    if (released) {
+      return;
+    }
+    // The frame must be latched even if there is no output, so that the player can render the next.
+    makeCurrent(pbufferSurface);
+    surfaceTexture.updateTexImage();
+    surfaceTexture.getTransformMatrix(transform);
+    GLES20.glUniformMatrix4fv(transformLocation, 1, false, transform, 0);
+    long timestampNs = surfaceTexture.getTimestamp();
+    if (primaryOutput != null) {
+      draw(primaryOutput, timestampNs);
+    }
+    for (Output output : mirroredOutputs.values()) {
+      draw(output, timestampNs);
+    }
+  }
+
+  /**
+   * Returns the largest size with the aspect ratio of the video that fits within the given size,
+   * which is the size of the video itself if it already fits.
+   */
+  @NonNull
+  @VisibleForTesting
+  static Size fitWithin(int videoWidth, int videoHeight, int maxWidth, int maxHeight) {
+    float scale =
+        Math.min(1f, Math.min((float) maxWidth / videoWidth, (float) maxHeight / videoHeight));
+    return new Size(
+        Math.max(1, Math.round(videoWidth * scale)), Math.max(1, Math.round(videoHeight * scale)));
+  }
+
+  private void setVideoSize(@NonNull VideoSize videoSize) {
+    if (released || videoSize.width == 0 || videoSize.height == 0) {
+      return;
+    }
+    // The decoder applies the rotation, so the size only needs to account for non-square pixels.
+    videoWidth = Math.round(videoSize.width * videoSize.pixelWidthHeightRatio);
+    videoHeight = videoSize.height;
+    if (primaryOutput != null) {
+      resize(primaryOutput);
+    }
+    for (Output output : mirroredOutputs.values()) {
+      resize(output);
+    }
+  }
+
+  private void resize(@NonNull Output output) {
+    if (videoWidth == 0) {
+      return;
+    }
+    Size size = fitWithin(videoWidth, videoHeight, output.maxWidth, output.maxHeight);
+    output.width = size.getWidth();
+    output.height = size.getHeight();
+    // The window surface picks up the new size with the next buffer it draws to.
+    output.surfaceTexture.setDefaultBufferSize(output.width, output.height);
+  }
+
+  @NonNull
+  private Output createOutput(@NonNull SurfaceTexture surfaceTexture, int maxWidth, int maxHeight) {
+    Output output = new Output(surfaceTexture, maxWidth, maxHeight);
+    resize(output);
+    output.eglSurface =
+        EGL14.eglCreateWindowSurface(
+            eglDisplay, eglConfig, surfaceTexture, new int[] {EGL14.EGL_NONE}, 0);
+    if (output.eglSurface == EGL14.EGL_NO_SURFACE) {
+      throw eglError("eglCreateWindowSurface");
+    }
+    makeCurrent(output.eglSurface);
+    // Each output is drawn to in turn, so none of them may wait for the display.
+    EGL14.eglSwapInterval(eglDisplay, 0);
+    return output;
+  }
+
+  private void draw(@NonNull Output output, long timestampNs) {
+    makeCurrent(output.eglSurface);
+    if (output.width == 0) {
+      // The size of the video isn't known yet, so the output keeps its own size.
+      int[] size = new int[2];
+      EGL14.eglQuerySurface(eglDisplay, output.eglSurface, EGL14.EGL_WIDTH, size, 0);
+      EGL14.eglQuerySurface(eglDisplay, output.eglSurface, EGL14.EGL_HEIGHT, size, 1);
+      GLES20.glViewport(0, 0, size[0], size[1]);
+    } else {
+      GLES20.glViewport(0, 0, output.width, output.height);
+    }
+    GLES20.glDrawArrays(GLES20.GL_TRIANGLE_STRIP, 0, 4);
+    EGLExt.eglPresentationTimeANDROID(eglDisplay, output.eglSurface, timestampNs);
+    EGL14.eglSwapBuffers(eglDisplay, output.eglSurface);
+  }
+
+  private void setUpGl() {
+    eglDisplay = EGL14.eglGetDisplay(EGL14.EGL_DEFAULT_DISPLAY);
+    int[] version = new int[2];
+    if (eglDisplay == EGL14.EGL_NO_DISPLAY
+        || !EGL14.eglInitialize(eglDisplay, version, 0, version, 1)) {
+      throw eglError("eglInitialize");
+    }
+    int[] configAttributes = {
+      EGL14.EGL_RED_SIZE, 8,
+      EGL14.EGL_GREEN_SIZE, 8,
+      EGL14.EGL_BLUE_SIZE, 8,
+      EGL14.EGL_ALPHA_SIZE, 8,
+      EGL14.EGL_RENDERABLE_TYPE, EGL14.EGL_OPENGL_ES2_BIT,
+      EGL14.EGL_SURFACE_TYPE, EGL14.EGL_WINDOW_BIT | EGL14.EGL_PBUFFER_BIT,
+      EGL14.EGL_NONE
+    };
+    EGLConfig[] configs = new EGLConfig[1];
+    int[] configCount = new int[1];
+    if (!EGL14.eglChooseConfig(eglDisplay, configAttributes, 0, configs, 0, 1, configCount, 0)
+        || configCount[0] == 0) {
+      throw eglError("eglChooseConfig");
+    }
+    eglConfig = configs[0];
+    eglContext =
+        EGL14.eglCreateContext(
+            eglDisplay,
+            eglConfig,
+            EGL14.EGL_NO_CONTEXT,
+            new int[] {EGL14.EGL_CONTEXT_CLIENT_VERSION, 2, EGL14.EGL_NONE},
+            0);
+    if (eglContext == EGL14.EGL_NO_CONTEXT) {
+      throw eglError("eglCreateContext");
+    }
+    // Frames are latched while no output may be connected, which needs a surface to be current.
+    pbufferSurface =
+        EGL14.eglCreatePbufferSurface(
+            eglDisplay,
+            eglConfig,
+            new int[] {EGL14.EGL_WIDTH, 1, EGL14.EGL_HEIGHT, 1, EGL14.EGL_NONE},
+            0);
+    if (pbufferSurface == EGL14.EGL_NO_SURFACE) {
+      throw eglError("eglCreatePbufferSurface");
+    }
+    makeCurrent(pbufferSurface);
+
+    // The program, texture and vertex state belong to the context, which all outputs share, so
+    // they are only set up once.
+    program = createProgram();
+    GLES20.glUseProgram(program);
+    int positionLocation = GLES20.glGetAttribLocation(program, "aPosition");
+    GLES20.glEnableVertexAttribArray(positionLocation);
+    quad.position(0);
+    GLES20.glVertexAttribPointer(
+        positionLocation, 2, GLES20.GL_FLOAT, false, QUAD_STRIDE_BYTES, quad);
+    int texCoordLocation = GLES20.glGetAttribLocation(program, "aTexCoord");
+    GLES20.glEnableVertexAttribArray(texCoordLocation);
+    quad.position(2);
+    GLES20.glVertexAttribPointer(
+        texCoordLocation, 2, GLES20.GL_FLOAT, false, QUAD_STRIDE_BYTES, quad);
+    transformLocation = GLES20.glGetUniformLocation(program, "uTexMatrix");
+
+    int[] textures = new int[1];
+    GLES20.glGenTextures(1, textures, 0);
+    inputTextureId = textures[0];
+    GLES20.glBindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, inputTextureId);
+    // Linear filtering is what downscales the mirrored outputs.
+    GLES20.glTexParameteri(
+        GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_MIN_FILTER, GLES20.GL_LINEAR);
+    GLES20.glTexParameteri(
+        GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_MAG_FILTER, GLES20.GL_LINEAR);
+    GLES20.glTexParameteri(
+        GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_WRAP_S, GLES20.GL_CLAMP_TO_EDGE);
+    GLES20.glTexParameteri(
+        GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_WRAP_T, GLES20.GL_CLAMP_TO_EDGE);
+
+    inputTexture = new SurfaceTexture(inputTextureId);
+    inputTexture.setOnFrameAvailableListener(this, handler);
+    inputSurface = new Surface(inputTexture);
+  }
+
+  @NonNull
+  private static FloatBuffer createQuad() {
+    FloatBuffer quad =
+        ByteBuffer.allocateDirect(QUAD.length * Float.BYTES)
+            .order(ByteOrder.nativeOrder())
+            .asFloatBuffer();
+    quad.put(QUAD);
+    return quad;
+  }
+
+  private int createProgram() {
+    int vertexShader = compileShader(GLES20.GL_VERTEX_SHADER, VERTEX_SHADER);
+    int fragmentShader = compileShader(GLES20.GL_FRAGMENT_SHADER, FRAGMENT_SHADER);
+    int program = GLES20.glCreateProgram();
+    GLES20.glAttachShader(program, vertexShader);
+    GLES20.glAttachShader(program, fragmentShader);
+    GLES20.glLinkProgram(program);
+    // The program keeps the shaders it was linked with.
+    GLES20.glDeleteShader(vertexShader);
+    GLES20.glDeleteShader(fragmentShader);
+    int[] linked = new int[1];
+    GLES20.glGetProgramiv(program, GLES20.GL_LINK_STATUS, linked, 0);
+    if (linked[0] != GLES20.GL_TRUE) {
+      String log = GLES20.glGetProgramInfoLog(program);
+      GLES20.glDeleteProgram(program);
+      throw new IllegalStateException("Failed to link the mirror program: " + log);
+    }
+    return program;
+  }
+
+  private static int compileShader(int type, @NonNull String source) {
+    int shader = GLES20.glCreateShader(type);
+    GLES20.glShaderSource(shader, source);
+    GLES20.glCompileShader(shader);
+    int[] compiled = new int[1];
+    GLES20.glGetShaderiv(shader, GLES20.GL_COMPILE_STATUS, compiled, 0);
+    if (compiled[0] != GLES20.GL_TRUE) {
+      String log = GLES20.glGetShaderInfoLog(shader);
+      GLES20.glDeleteShader(shader);
+      throw new IllegalStateException("Failed to compile a mirror shader: " + log);
+    }
+    return shader;
+  }
+
+  private void releaseGl() {
+    released = true;
+    if (primaryOutput != null) {
+      destroyEglSurface(primaryOutput);
+      primaryOutput = null;
+    }
+    for (Output output : mirroredOutputs.values()) {
+      destroyEglSurface(output);
+    }
+    mirroredOutputs.clear();
+    if (inputSurface != null) {
+      inputSurface.release();
+    }
+    if (inputTexture != null) {
+      inputTexture.release();
+    }
+    if (eglDisplay == EGL14.EGL_NO_DISPLAY) {
+      return;
+    }
+    if (pbufferSurface != EGL14.EGL_NO_SURFACE) {
+      makeCurrent(pbufferSurface);
+      GLES20.glDeleteTextures(1, new int[] {inputTextureId}, 0);
+      GLES20.glDeleteProgram(program);
+    }
+    EGL14.eglMakeCurrent(
+        eglDisplay, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_CONTEXT);
+    if (pbufferSurface != EGL14.EGL_NO_SURFACE) {
+      EGL14.eglDestroySurface(eglDisplay, pbufferSurface);
+    }
+    if (eglContext != EGL14.EGL_NO_CONTEXT) {
+      EGL14.eglDestroyContext(eglDisplay, eglContext);
+    }
+    EGL14.eglReleaseThread();
+    EGL14.eglTerminate(eglDisplay);
+    eglDisplay = EGL14.EGL_NO_DISPLAY;
+  }
+
+  private void destroyEglSurface(@NonNull Output output) {
+    if (output.eglSurface == EGL14.EGL_NO_SURFACE) {
+      return;
+    }
+    // A surface that is current is only destroyed once it is no longer current.
+    makeCurrent(pbufferSurface);
+    EGL14.eglDestroySurface(eglDisplay, output.eglSurface);
+    output.eglSurface = EGL14.EGL_NO_SURFACE;
+  }
+
+  private void makeCurrent(@NonNull EGLSurface surface) {
+    if (!EGL14.eglMakeCurrent(eglDisplay, surface, surface, eglContext)) {
+      throw eglError("eglMakeCurrent");
+    }
+  }
+
+  @NonNull
+  private static IllegalStateException eglError(@NonNull String operation) {
+    return new IllegalStateException(
+        operation + " failed with EGL error 0x" + Integer.toHexString(EGL14.eglGetError()));
+  }
+
+  private void runBlocking(@NonNull Runnable action) {
+    FutureTask<Void> task = new FutureTask<>(action, null);
+    if (!handler.post(task)) {
+      throw new IllegalStateException("The mirror has been released.");
+    }
+    try {
+      task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the mirror thread.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+}
@@ -105,6 +105,103 @@ enum class PlatformPlaybackState(val raw: Int) {
   }
 }
 
+/** How a seek picks the position it lands on. */
+enum class PlatformSeekMode(val raw: Int) {
+  EXACT(0),
+  CLOSEST_SYNC(1),
+  PREVIOUS_SYNC(2),
+  NEXT_SYNC(3);
+
+  companion object {
+    fun ofRaw(raw: Int): PlatformSeekMode? {
+      return values().firstOrNull { it.raw == raw }
+    }
+  }
+}
+
+/** Pigeon equivalent of VideoAbrStrategy. */
+enum class PlatformAbrStrategy(val raw: Int) {
+  THROUGHPUT(0),
+  BUFFER_BASED(1),
+  HYBRID(2);
+
+  companion object {
+    fun ofRaw(raw: Int): PlatformAbrStrategy? {
+      return values().firstOrNull { it.raw == raw }
+    }
+  }
+}
+
+/** The state of a download. */
+enum class PlatformDownloadState(val raw: Int) {
+  QUEUED(0),
+  DOWNLOADING(1),
+  COMPLETED(2),
+  FAILED(3),
+  REMOVING(4);
+
+  companion object {
+    fun ofRaw(raw: Int): PlatformDownloadState? {
+      return values().firstOrNull { it.raw == raw }
+    }
+  }
+}
+
+/** How much of its media a player loads before it is first played. */
+enum class PlatformCreationMode(val raw: Int) {
+  /** Prepares the player and buffers its media, without starting playback. */
+  PREPARE_ONLY(0),
+  /**
+   * Loads the manifest and sends the initialization event from it, without loading media until the
+   * player is first played.
+   */
+  METADATA_ONLY(1),
+  /** Loads nothing until the player is first played. */
+  LAZY(2);
+
+  companion object {
+    fun ofRaw(raw: Int): PlatformCreationMode? {
+      return values().firstOrNull { it.raw == raw }
+    }
+  }
+}
+
+/** A step of the plugin's response to the system running low on memory. */
+enum class PlatformMemoryPressureAction(val raw: Int) {
+  /**
+   * Freed the memory behind the players' playheads, the thumbnails they cached and the manifests
+   * kept in memory, and shrank the buffer budget if memory is low.
+   */
+  TRIMMED_BUFFERS(0),
+  /**
+   * Discarded the buffers paused players loaded ahead, and limited them to a minimal buffer until
+   * memory recovers.
+   */
+  SHRANK_PAUSED_BUFFERS(1),
+  /** Suspended the players whose views are not visible. */
+  SUSPENDED_HIDDEN_PLAYERS(2);
+
+  companion object {
+    fun ofRaw(raw: Int): PlatformMemoryPressureAction? {
+      return values().firstOrNull { it.raw == raw }
+    }
+  }
+}
+
+/** Where a player renders its video. */
+enum class PlatformVideoOutput(val raw: Int) {
+  /** The texture the player was created with. */
+  TEXTURE(0),
+  /** The platform view showing the player. */
+  PLATFORM_VIEW(1);
+
+  companion object {
+    fun ofRaw(raw: Int): PlatformVideoOutput? {
+      return values().firstOrNull { it.raw == raw }
+    }
+  }
+}
+
 /**
  * Generated class from Pigeon that represents data sent in messages. This class should not be
  * extended by any user class outside of the generated file.
@@ -263,6 +360,83 @@ data class AudioTrackChangedEvent(
   override fun hashCode(): Int = toList().hashCode()
 }
 
+/**
+ * Sent when playback moves to another item of the playlist.
+ *
+ * Corresponds to ExoPlayer's onMediaItemTransition.
+ *
+ * Generated class from Pigeon that represents data sent in messages.
+ */
+data class MediaItemTransitionEvent(
+    /** The index of the new current item in the playlist. */
+    val index: Long
+) : PlatformVideoEvent() {
+  companion object {
+    fun fromList(pigeonVar_list: List<Any?>): MediaItemTransitionEvent {
+      val index = pigeonVar_list[0] as Long
+      return MediaItemTransitionEvent(index)
+    }
+  }
+
+  fun toList(): List<Any?> {
+    return listOf(
+        index,
+    )
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (other !is MediaItemTransitionEvent) {
+      return false
+    }
+    if (this === other) {
+      return true
+    }
+    return MessagesPigeonUtils.deepEquals(toList(), other.toList())
+  }
+
+  override fun hashCode(): Int = toList().hashCode()
+}
+
+/**
+ * Sent when the thumbnails of a range of positions have loaded, after one of them was requested
+ * before it was available.
+ *
+ * Generated class from Pigeon that represents data sent in messages.
+ */
+data class ThumbnailsLoadedEvent(
+    /** The first position the thumbnails cover, in milliseconds. */
+    val start: Long,
+    /** The position the thumbnails cover up to, in milliseconds. */
+    val end: Long
+) : PlatformVideoEvent() {
+  companion object {
+    fun fromList(pigeonVar_list: List<Any?>): ThumbnailsLoadedEvent {
+      val start = pigeonVar_list[0] as Long
+      val end = pigeonVar_list[1] as Long
+      return ThumbnailsLoadedEvent(start, end)
+    }
+  }
+
+  fun toList(): List<Any?> {
+    return listOf(
+        start,
+        end,
+    )
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (other !is ThumbnailsLoadedEvent) {
+      return false
+    }
+    if (this === other) {
+      return true
+    }
+    return MessagesPigeonUtils.deepEquals(toList(), other.toList())
+  }
+
+  override fun hashCode(): Int = toList().hashCode()
+}
+
 /**
  * Information passed to the platform view creation.
  *
@@ -295,37 +469,48 @@ data class PlatformVideoViewCreationParams(val playerId: Long) {
   override fun hashCode(): Int = toList().hashCode()
 }
 
-/** Generated class from Pigeon that represents data sent in messages. */
-data class CreationOptions(
-    val uri: String,
-    val formatHint: PlatformVideoFormat? = null,
-    val httpHeaders: Map<String, String>,
-    val drmConfiguration: Map<String, String> = emptyMap(),
-    val userAgent: String? = null
+/**
+ * Pigeon equivalent of VideoAbrOptions.
+ *
+ * Generated class from Pigeon that represents data sent in messages.
+ */
+data class PlatformAbrOptions(
+    val strategy: PlatformAbrStrategy,
+    /** The buffered duration in milliseconds needed to switch to a higher bitrate. */
+    val switchUpThresholdMs: Long? = null,
+    /**
+     * The buffered duration in milliseconds below which the player may switch to a lower bitrate.
+     */
+    val switchDownThresholdMs: Long? = null,
+    /** The minimum time in milliseconds between two switches. */
+    val hysteresisMs: Long? = null,
+    /** The fraction of the estimated bandwidth that the selected bitrate may use. */
+    val bandwidthFraction: Double? = null
 ) {
   companion object {
-    fun fromList(pigeonVar_list: List<Any?>): CreationOptions {
-      val uri = pigeonVar_list[0] as String
-      val formatHint = pigeonVar_list[1] as PlatformVideoFormat?
-      val httpHeaders = pigeonVar_list[2] as Map<String, String>
-      val drmConfiguration = pigeonVar_list[3] as Map<String, String>
-      val userAgent = pigeonVar_list[4] as String?
-      return CreationOptions(uri, formatHint, httpHeaders, drmConfiguration, userAgent)
+    fun fromList(pigeonVar_list: List<Any?>): PlatformAbrOptions {
+      val strategy = pigeonVar_list[0] as PlatformAbrStrategy
+      val switchUpThresholdMs = pigeonVar_list[1] as Long?
+      val switchDownThresholdMs = pigeonVar_list[2] as Long?
+      val hysteresisMs = pigeonVar_list[3] as Long?
+      val bandwidthFraction = pigeonVar_list[4] as Double?
+      return PlatformAbrOptions(
+          strategy, switchUpThresholdMs, switchDownThresholdMs, hysteresisMs, bandwidthFraction)
     }
   }
 
   fun toList(): List<Any?> {
     return listOf(
-        uri,
-        formatHint,
-        httpHeaders,
-        drmConfiguration,
-        userAgent,
+        strategy,
+        switchUpThresholdMs,
+        switchDownThresholdMs,
+        hysteresisMs,
+        bandwidthFraction,
     )
   }
 
   override fun equals(other: Any?): Boolean {
-    if (other !is CreationOptions) {
+    if (other !is PlatformAbrOptions) {
       return false
     }
     if (this === other) {
@@ -337,25 +522,33 @@ data class CreationOptions(
   override fun hashCode(): Int = toList().hashCode()
 }
 
-/** Generated class from Pigeon that represents data sent in messages. */
-data class TexturePlayerIds(val playerId: Long, val textureId: Long) {
+/**
+ * How a video is downloaded.
+ *
+ * Generated class from Pigeon that represents data sent in messages.
+ */
+data class PlatformDownloadOptions(
+    /**
+     * The highest video bitrate to download, in bits per second, or null for the highest
+     * available.
+     */
+    val maxVideoBitrate: Long? = null
+) {
   companion object {
-    fun fromList(pigeonVar_list: List<Any?>): TexturePlayerIds {
-      val playerId = pigeonVar_list[0] as Long
-      val textureId = pigeonVar_list[1] as Long
-      return TexturePlayerIds(playerId, textureId)
+    fun fromList(pigeonVar_list: List<Any?>): PlatformDownloadOptions {
+      val maxVideoBitrate = pigeonVar_list[0] as Long?
+      return PlatformDownloadOptions(maxVideoBitrate)
     }
   }
 
   fun toList(): List<Any?> {
     return listOf(
-        playerId,
-        textureId,
+        maxVideoBitrate,
     )
   }
 
   override fun equals(other: Any?): Boolean {
-    if (other !is TexturePlayerIds) {
+    if (other !is PlatformDownloadOptions) {
       return false
     }
     if (this === other) {
@@ -367,30 +560,41 @@ data class TexturePlayerIds(val playerId: Long, val textureId: Long) {
   override fun hashCode(): Int = toList().hashCode()
 }
 
-/** Generated class from Pigeon that represents data sent in messages. */
-data class PlaybackState(
-    /** The current playback position, in milliseconds. */
-    val playPosition: Long,
-    /** The current buffer position, in milliseconds. */
-    val bufferPosition: Long
+/**
+ * How the upcoming videos of a feed are prefetched.
+ *
+ * Generated class from Pigeon that represents data sent in messages.
+ */
+data class PlatformPrefetchOptions(
+    /** How much of the start of each video to prefetch, in milliseconds. */
+    val durationMs: Long,
+    /** The most bytes the prefetched videos may take, together. */
+    val maxBytes: Long,
+    /**
+     * The highest video bitrate to prefetch, in bits per second, or null for the bitrate a player
+     * would start with.
+     */
+    val maxVideoBitrate: Long? = null
 ) {
   companion object {
-    fun fromList(pigeonVar_list: List<Any?>): PlaybackState {
-      val playPosition = pigeonVar_list[0] as Long
-      val bufferPosition = pigeonVar_list[1] as Long
-      return PlaybackState(playPosition, bufferPosition)
+    fun fromList(pigeonVar_list: List<Any?>): PlatformPrefetchOptions {
+      val durationMs = pigeonVar_list[0] as Long
+      val maxBytes = pigeonVar_list[1] as Long
+      val maxVideoBitrate = pigeonVar_list[2] as Long?
+      return PlatformPrefetchOptions(durationMs, maxBytes, maxVideoBitrate)
     }
   }
 
   fun toList(): List<Any?> {
     return listOf(
-        playPosition,
-        bufferPosition,
+        durationMs,
+        maxBytes,
+        maxVideoBitrate,
     )
   }
 
   override fun equals(other: Any?): Boolean {
-    if (other !is PlaybackState) {
+    if (other !is PlatformPrefetchOptions) {
       return false
     }
     if (this === other) {
@@ -403,50 +607,33 @@ data class PlaybackState(
 }
 
 /**
- * Represents an audio track in a video.
+ * How a mirrored output of a player is sized.
  *
  * Generated class from Pigeon that represents data sent in messages.
  */
-data class AudioTrackMessage(
-    val id: String,
-    val label: String,
-    val language: String,
-    val isSelected: Boolean,
-    val bitrate: Long? = null,
-    val sampleRate: Long? = null,
-    val channelCount: Long? = null,
-    val codec: String? = null
+data class PlatformMirroredOutputOptions(
+    /** The widest the output may be, in pixels, or null for the video's width. */
+    val maxWidth: Long? = null,
+    /** The tallest the output may be, in pixels, or null for the video's height. */
+    val maxHeight: Long? = null
 ) {
   companion object {
-    fun fromList(pigeonVar_list: List<Any?>): AudioTrackMessage {
-      val id = pigeonVar_list[0] as String
-      val label = pigeonVar_list[1] as String
-      val language = pigeonVar_list[2] as String
-      val isSelected = pigeonVar_list[3] as Boolean
-      val bitrate = pigeonVar_list[4] as Long?
-      val sampleRate = pigeonVar_list[5] as Long?
-      val channelCount = pigeonVar_list[6] as Long?
-      val codec = pigeonVar_list[7] as String?
-      return AudioTrackMessage(
-          id, label, language, isSelected, bitrate, sampleRate, channelCount, codec)
+    fun fromList(pigeonVar_list: List<Any?>): PlatformMirroredOutputOptions {
+      val maxWidth = pigeonVar_list[0] as Long?
+      val maxHeight = pigeonVar_list[1] as Long?
+      return PlatformMirroredOutputOptions(maxWidth, maxHeight)
     }
   }
 
   fun toList(): List<Any?> {
     return listOf(
-        id,
-        label,
-        language,
-        isSelected,
-        bitrate,
-        sampleRate,
-        channelCount,
-        codec,
+        maxWidth,
+        maxHeight,
     )
   }
 
   override fun equals(other: Any?): Boolean {
-    if (other !is AudioTrackMessage) {
+    if (other !is PlatformMirroredOutputOptions) {
       return false
     }
     if (this === other) {
@@ -459,61 +646,43 @@ data class AudioTrackMessage(
 }
 
 /**
- * Raw audio track data from ExoPlayer Format objects.
+ * Reports the progress of a download.
  *
  * Generated class from Pigeon that represents data sent in messages.
  */
-data class ExoPlayerAudioTrackData(
-    val groupIndex: Long,
-    val trackIndex: Long,
-    val label: String? = null,
-    val language: String? = null,
-    val isSelected: Boolean,
-    val bitrate: Long? = null,
-    val sampleRate: Long? = null,
-    val channelCount: Long? = null,
-    val codec: String? = null
+data class PlatformDownloadEvent(
+    val downloadId: String,
+    val state: PlatformDownloadState,
+    /** The downloaded percentage, or null if it is not known yet. */
+    val percentDownloaded: Double? = null,
+    val bytesDownloaded: Long,
+    /** Why the download failed, if it did. */
+    val failureReason: String? = null
 ) {
   companion object {
-    fun fromList(pigeonVar_list: List<Any?>): ExoPlayerAudioTrackData {
-      val groupIndex = pigeonVar_list[0] as Long
-      val trackIndex = pigeonVar_list[1] as Long
-      val label = pigeonVar_list[2] as String?
-      val language = pigeonVar_list[3] as String?
-      val isSelected = pigeonVar_list[4] as Boolean
-      val bitrate = pigeonVar_list[5] as Long?
-      val sampleRate = pigeonVar_list[6] as Long?
-      val channelCount = pigeonVar_list[7] as Long?
-      val codec = pigeonVar_list[8] as String?
-      return ExoPlayerAudioTrackData(
-          groupIndex,
-          trackIndex,
-          label,
-          language,
-          isSelected,
-          bitrate,
-          sampleRate,
-          channelCount,
-          codec)
+    fun fromList(pigeonVar_list: List<Any?>): PlatformDownloadEvent {
+      val downloadId = pigeonVar_list[0] as String
+      val state = pigeonVar_list[1] as PlatformDownloadState
+      val percentDownloaded = pigeonVar_list[2] as Double?
+      val bytesDownloaded = pigeonVar_list[3] as Long
+      val failureReason = pigeonVar_list[4] as String?
+      return PlatformDownloadEvent(
+          downloadId, state, percentDownloaded, bytesDownloaded, failureReason)
     }
   }
 
   fun toList(): List<Any?> {
     return listOf(
-        groupIndex,
-        trackIndex,
-        label,
-        language,
-        isSelected,
-        bitrate,
-        sampleRate,
-        channelCount,
-        codec,
+        downloadId,
+        state,
+        percentDownloaded,
+        bytesDownloaded,
+        failureReason,
     )
   }
 
   override fun equals(other: Any?): Boolean {
-    if (other !is ExoPlayerAudioTrackData) {
+    if (other !is PlatformDownloadEvent) {
       return false
     }
     if (this === other) {
@@ -526,29 +695,39 @@ data class ExoPlayerAudioTrackData(
 }
 
 /**
- * Container for raw audio track data from Android ExoPlayer.
+ * Reports a step the plugin took to free memory.
  *
  * Generated class from Pigeon that represents data sent in messages.
  */
-data class NativeAudioTrackData(
-    /** ExoPlayer-based tracks */
-    val exoPlayerTracks: List<ExoPlayerAudioTrackData>? = null
+data class PlatformMemoryPressureEvent(
+    val action: PlatformMemoryPressureAction,
+    /**
+     * The trim memory level the system reported, as passed to
+     * `ComponentCallbacks2.onTrimMemory`.
+     */
+    val trimLevel: Long,
+    /** The number of players the step applied to. */
+    val playerCount: Long
 ) {
   companion object {
-    fun fromList(pigeonVar_list: List<Any?>): NativeAudioTrackData {
-      val exoPlayerTracks = pigeonVar_list[0] as List<ExoPlayerAudioTrackData>?
-      return NativeAudioTrackData(exoPlayerTracks)
+    fun fromList(pigeonVar_list: List<Any?>): PlatformMemoryPressureEvent {
+      val action = pigeonVar_list[0] as PlatformMemoryPressureAction
+      val trimLevel = pigeonVar_list[1] as Long
+      val playerCount = pigeonVar_list[2] as Long
+      return PlatformMemoryPressureEvent(action, trimLevel, playerCount)
     }
   }
 
   fun toList(): List<Any?> {
     return listOf(
-        exoPlayerTracks,
+        action,
+        trimLevel,
+        playerCount,
     )
   }
 
   override fun equals(other: Any?): Boolean {
-    if (other !is NativeAudioTrackData) {
+    if (other !is PlatformMemoryPressureEvent) {
       return false
     }
     if (this === other) {
@@ -560,155 +739,1147 @@ data class NativeAudioTrackData(
   override fun hashCode(): Int = toList().hashCode()
 }
 
-private open class MessagesPigeonCodec : StandardMessageCodec() {
-  override fun readValueOfType(type: Byte, buffer: ByteBuffer): Any? {
-    return when (type) {
-      129.toByte() -> {
-        return (readValue(buffer) as Long?)?.let { PlatformVideoFormat.ofRaw(it.toInt()) }
-      }
-      130.toByte() -> {
-        return (readValue(buffer) as Long?)?.let { PlatformPlaybackState.ofRaw(it.toInt()) }
-      }
-      131.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let { InitializationEvent.fromList(it) }
-      }
-      132.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let { PlaybackStateChangeEvent.fromList(it) }
-      }
-      133.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let { IsPlayingStateEvent.fromList(it) }
-      }
-      134.toByte() -> {
+/** Generated class from Pigeon that represents data sent in messages. */
+data class CreationOptions(
+    val uri: String,
+    val formatHint: PlatformVideoFormat? = null,
+    val httpHeaders: Map<String, String>,
+    val drmConfiguration: Map<String, String> = emptyMap(),
+    val userAgent: String? = null,
+    val abrOptions: PlatformAbrOptions? = null,
+    /** Plays the completed download with this ID instead of streaming [uri]. */
+    val downloadId: String? = null,
+    /** The position in milliseconds to start playback at, instead of the start of the video. */
+    val startPositionMs: Long? = null,
+    /**
+     * The bandwidth in bits per second assumed until it has been measured, which picks the bitrate
+     * of the first segments of adaptive streams.
+     */
+    val initialBitrate: Long? = null,
+    /**
+     * How much of its media the player loads before it is first played, or null to prepare it right
+     * away.
+     */
+    val creationMode: PlatformCreationMode? = null
+) {
+  companion object {
+    fun fromList(pigeonVar_list: List<Any?>): CreationOptions {
+      val uri = pigeonVar_list[0] as String
+      val formatHint = pigeonVar_list[1] as PlatformVideoFormat?
+      val httpHeaders = pigeonVar_list[2] as Map<String, String>
+      val drmConfiguration = pigeonVar_list[3] as Map<String, String>
+      val userAgent = pigeonVar_list[4] as String?
+      val abrOptions = pigeonVar_list[5] as PlatformAbrOptions?
+      val downloadId = pigeonVar_list[6] as String?
+      val startPositionMs = pigeonVar_list[7] as Long?
+      val initialBitrate = pigeonVar_list[8] as Long?
+      val creationMode = pigeonVar_list[9] as PlatformCreationMode?
+      return CreationOptions(
+          uri,
+          formatHint,
+          httpHeaders,
+          drmConfiguration,
+          userAgent,
+          abrOptions,
+          downloadId,
+          startPositionMs,
+          initialBitrate,
+          creationMode)
+    }
+  }
+
+  fun toList(): List<Any?> {
+    return listOf(
+        uri,
+        formatHint,
+        httpHeaders,
+        drmConfiguration,
+        userAgent,
+        abrOptions,
+        downloadId,
+        startPositionMs,
+        initialBitrate,
+        creationMode,
+    )
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (other !is CreationOptions) {
+      return false
+    }
+    if (this === other) {
+      return true
+    }
+    return MessagesPigeonUtils.deepEquals(toList(), other.toList())
+  }
+
+  override fun hashCode(): Int = toList().hashCode()
+}
+
+/** Generated class from Pigeon that represents data sent in messages. */
+data class TexturePlayerIds(val playerId: Long, val textureId: Long) {
+  companion object {
+    fun fromList(pigeonVar_list: List<Any?>): TexturePlayerIds {
+      val playerId = pigeonVar_list[0] as Long
+      val textureId = pigeonVar_list[1] as Long
+      return TexturePlayerIds(playerId, textureId)
+    }
+  }
+
+  fun toList(): List<Any?> {
+    return listOf(
+        playerId,
+        textureId,
+    )
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (other !is TexturePlayerIds) {
+      return false
+    }
+    if (this === other) {
+      return true
+    }
+    return MessagesPigeonUtils.deepEquals(toList(), other.toList())
+  }
+
+  override fun hashCode(): Int = toList().hashCode()
+}
+
+/** Generated class from Pigeon that represents data sent in messages. */
+data class PlaybackState(
+    /** The current playback position, in milliseconds. */
+    val playPosition: Long,
+    /** The current buffer position, in milliseconds. */
+    val bufferPosition: Long
+) {
+  companion object {
+    fun fromList(pigeonVar_list: List<Any?>): PlaybackState {
+      val playPosition = pigeonVar_list[0] as Long
+      val bufferPosition = pigeonVar_list[1] as Long
+      return PlaybackState(playPosition, bufferPosition)
+    }
+  }
+
+  fun toList(): List<Any?> {
+    return listOf(
+        playPosition,
+        bufferPosition,
+    )
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (other !is PlaybackState) {
+      return false
+    }
+    if (this === other) {
+      return true
+    }
+    return MessagesPigeonUtils.deepEquals(toList(), other.toList())
+  }
+
+  override fun hashCode(): Int = toList().hashCode()
+}
+
+/**
+ * Represents an audio track in a video.
+ *
+ * Generated class from Pigeon that represents data sent in messages.
+ */
+data class AudioTrackMessage(
+    val id: String,
+    val label: String,
+    val language: String,
+    val isSelected: Boolean,
+    val bitrate: Long? = null,
+    val sampleRate: Long? = null,
+    val channelCount: Long? = null,
+    val codec: String? = null
+) {
+  companion object {
+    fun fromList(pigeonVar_list: List<Any?>): AudioTrackMessage {
+      val id = pigeonVar_list[0] as String
+      val label = pigeonVar_list[1] as String
+      val language = pigeonVar_list[2] as String
+      val isSelected = pigeonVar_list[3] as Boolean
+      val bitrate = pigeonVar_list[4] as Long?
+      val sampleRate = pigeonVar_list[5] as Long?
+      val channelCount = pigeonVar_list[6] as Long?
+      val codec = pigeonVar_list[7] as String?
+      return AudioTrackMessage(
+          id, label, language, isSelected, bitrate, sampleRate, channelCount, codec)
+    }
+  }
+
+  fun toList(): List<Any?> {
+    return listOf(
+        id,
+        label,
+        language,
+        isSelected,
+        bitrate,
+        sampleRate,
+        channelCount,
+        codec,
+    )
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (other !is AudioTrackMessage) {
+      return false
+    }
+    if (this === other) {
+      return true
+    }
+    return MessagesPigeonUtils.deepEquals(toList(), other.toList())
+  }
+
+  override fun hashCode(): Int = toList().hashCode()
+}
+
+/**
+ * Raw audio track data from ExoPlayer Format objects.
+ *
+ * Generated class from Pigeon that represents data sent in messages.
+ */
+data class ExoPlayerAudioTrackData(
+    val groupIndex: Long,
+    val trackIndex: Long,
+    val label: String? = null,
+    val language: String? = null,
+    val isSelected: Boolean,
+    val bitrate: Long? = null,
+    val sampleRate: Long? = null,
+    val channelCount: Long? = null,
+    val codec: String? = null
+) {
+  companion object {
+    fun fromList(pigeonVar_list: List<Any?>): ExoPlayerAudioTrackData {
+      val groupIndex = pigeonVar_list[0] as Long
+      val trackIndex = pigeonVar_list[1] as Long
+      val label = pigeonVar_list[2] as String?
+      val language = pigeonVar_list[3] as String?
+      val isSelected = pigeonVar_list[4] as Boolean
+      val bitrate = pigeonVar_list[5] as Long?
+      val sampleRate = pigeonVar_list[6] as Long?
+      val channelCount = pigeonVar_list[7] as Long?
+      val codec = pigeonVar_list[8] as String?
+      return ExoPlayerAudioTrackData(
+          groupIndex,
+          trackIndex,
+          label,
+          language,
+          isSelected,
+          bitrate,
+          sampleRate,
+          channelCount,
+          codec)
+    }
+  }
+
+  fun toList(): List<Any?> {
+    return listOf(
+        groupIndex,
+        trackIndex,
+        label,
+        language,
+        isSelected,
+        bitrate,
+        sampleRate,
+        channelCount,
+        codec,
+    )
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (other !is ExoPlayerAudioTrackData) {
+      return false
+    }
+    if (this === other) {
+      return true
+    }
+    return MessagesPigeonUtils.deepEquals(toList(), other.toList())
+  }
+
+  override fun hashCode(): Int = toList().hashCode()
+}
+
+/**
+ * Container for raw audio track data from Android ExoPlayer.
+ *
+ * Generated class from Pigeon that represents data sent in messages.
+ */
+data class NativeAudioTrackData(
+    /** ExoPlayer-based tracks */
+    val exoPlayerTracks: List<ExoPlayerAudioTrackData>? = null
+) {
+  companion object {
+    fun fromList(pigeonVar_list: List<Any?>): NativeAudioTrackData {
+      val exoPlayerTracks = pigeonVar_list[0] as List<ExoPlayerAudioTrackData>?
+      return NativeAudioTrackData(exoPlayerTracks)
+    }
+  }
+
+  fun toList(): List<Any?> {
+    return listOf(
+        exoPlayerTracks,
+    )
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (other !is NativeAudioTrackData) {
+      return false
+    }
+    if (this === other) {
+      return true
+    }
+    return MessagesPigeonUtils.deepEquals(toList(), other.toList())
+  }
+
+  override fun hashCode(): Int = toList().hashCode()
+}
+
+/**
+ * A seek bar preview thumbnail.
+ *
+ * Generated class from Pigeon that represents data sent in messages.
+ */
+data class PlatformThumbnail(
+    /** The width of the thumbnail in pixels. */
+    val width: Long,
+    /** The height of the thumbnail in pixels. */
+    val height: Long,
+    /** The thumbnail image, JPEG encoded. */
+    val bytes: ByteArray
+) {
+  companion object {
+    fun fromList(pigeonVar_list: List<Any?>): PlatformThumbnail {
+      val width = pigeonVar_list[0] as Long
+      val height = pigeonVar_list[1] as Long
+      val bytes = pigeonVar_list[2] as ByteArray
+      return PlatformThumbnail(width, height, bytes)
+    }
+  }
+
+  fun toList(): List<Any?> {
+    return listOf(
+        width,
+        height,
+        bytes,
+    )
+  }
+
+  override fun equals(other: Any?): Boolean {
+    if (other !is PlatformThumbnail) {
+      return false
+    }
+    if (this === other) {
+      return true
+    }
+    return MessagesPigeonUtils.deepEquals(toList(), other.toList())
+  }
+
+  override fun hashCode(): Int = toList().hashCode()
+}
+
+private open class MessagesPigeonCodec : StandardMessageCodec() {
+  override fun readValueOfType(type: Byte, buffer: ByteBuffer): Any? {
+    return when (type) {
+      129.toByte() -> {
+        return (readValue(buffer) as Long?)?.let { PlatformVideoFormat.ofRaw(it.toInt()) }
+      }
+      130.toByte() -> {
+        return (readValue(buffer) as Long?)?.let { PlatformPlaybackState.ofRaw(it.toInt()) }
+      }
+      131.toByte() -> {
+        return (readValue(buffer) as Long?)?.let { PlatformSeekMode.ofRaw(it.toInt()) }
+      }
+      132.toByte() -> {
+        return (readValue(buffer) as Long?)?.let { PlatformAbrStrategy.ofRaw(it.toInt()) }
+      }
+      133.toByte() -> {
+        return (readValue(buffer) as Long?)?.let { PlatformDownloadState.ofRaw(it.toInt()) }
+      }
+      134.toByte() -> {
+        return (readValue(buffer) as Long?)?.let { PlatformCreationMode.ofRaw(it.toInt()) }
+      }
+      135.toByte() -> {
+        return (readValue(buffer) as Long?)?.let { PlatformMemoryPressureAction.ofRaw(it.toInt()) }
+      }
+      136.toByte() -> {
+        return (readValue(buffer) as Long?)?.let { PlatformVideoOutput.ofRaw(it.toInt()) }
+      }
+      137.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { InitializationEvent.fromList(it) }
+      }
+      138.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { PlaybackStateChangeEvent.fromList(it) }
+      }
+      139.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { IsPlayingStateEvent.fromList(it) }
+      }
+      140.toByte() -> {
         return (readValue(buffer) as? List<Any?>)?.let { AudioTrackChangedEvent.fromList(it) }
       }
-      135.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let {
-          PlatformVideoViewCreationParams.fromList(it)
+      141.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { MediaItemTransitionEvent.fromList(it) }
+      }
+      142.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { ThumbnailsLoadedEvent.fromList(it) }
+      }
+      143.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let {
+          PlatformVideoViewCreationParams.fromList(it)
+        }
+      }
+      144.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { PlatformAbrOptions.fromList(it) }
+      }
+      145.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { PlatformDownloadOptions.fromList(it) }
+      }
+      146.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { PlatformPrefetchOptions.fromList(it) }
+      }
+      147.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let {
+          PlatformMirroredOutputOptions.fromList(it)
+        }
+      }
+      148.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { PlatformDownloadEvent.fromList(it) }
+      }
+      149.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { PlatformMemoryPressureEvent.fromList(it) }
+      }
+      150.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { CreationOptions.fromList(it) }
+      }
+      151.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { TexturePlayerIds.fromList(it) }
+      }
+      152.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { PlaybackState.fromList(it) }
+      }
+      153.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { AudioTrackMessage.fromList(it) }
+      }
+      154.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { ExoPlayerAudioTrackData.fromList(it) }
+      }
+      155.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { NativeAudioTrackData.fromList(it) }
+      }
+      156.toByte() -> {
+        return (readValue(buffer) as? List<Any?>)?.let { PlatformThumbnail.fromList(it) }
+      }
+      else -> super.readValueOfType(type, buffer)
+    }
+  }
+
+  override fun writeValue(stream: ByteArrayOutputStream, value: Any?) {
+    when (value) {
+      is PlatformVideoFormat -> {
+        stream.write(129)
+        writeValue(stream, value.raw.toLong())
+      }
+      is PlatformPlaybackState -> {
+        stream.write(130)
+        writeValue(stream, value.raw.toLong())
+      }
+      is PlatformSeekMode -> {
+        stream.write(131)
+        writeValue(stream, value.raw.toLong())
+      }
+      is PlatformAbrStrategy -> {
+        stream.write(132)
+        writeValue(stream, value.raw.toLong())
+      }
+      is PlatformDownloadState -> {
+        stream.write(133)
+        writeValue(stream, value.raw.toLong())
+      }
+      is PlatformCreationMode -> {
+        stream.write(134)
+        writeValue(stream, value.raw.toLong())
+      }
+      is PlatformMemoryPressureAction -> {
+        stream.write(135)
+        writeValue(stream, value.raw.toLong())
+      }
+      is PlatformVideoOutput -> {
+        stream.write(136)
+        writeValue(stream, value.raw.toLong())
+      }
+      is InitializationEvent -> {
+        stream.write(137)
+        writeValue(stream, value.toList())
+      }
+      is PlaybackStateChangeEvent -> {
+        stream.write(138)
+        writeValue(stream, value.toList())
+      }
+      is IsPlayingStateEvent -> {
+        stream.write(139)
+        writeValue(stream, value.toList())
+      }
+      is AudioTrackChangedEvent -> {
+        stream.write(140)
+        writeValue(stream, value.toList())
+      }
+      is MediaItemTransitionEvent -> {
+        stream.write(141)
+        writeValue(stream, value.toList())
+      }
+      is ThumbnailsLoadedEvent -> {
+        stream.write(142)
+        writeValue(stream, value.toList())
+      }
+      is PlatformVideoViewCreationParams -> {
+        stream.write(143)
+        writeValue(stream, value.toList())
+      }
+      is PlatformAbrOptions -> {
+        stream.write(144)
+        writeValue(stream, value.toList())
+      }
+      is PlatformDownloadOptions -> {
+        stream.write(145)
+        writeValue(stream, value.toList())
+      }
+      is PlatformPrefetchOptions -> {
+        stream.write(146)
+        writeValue(stream, value.toList())
+      }
+      is PlatformMirroredOutputOptions -> {
+        stream.write(147)
+        writeValue(stream, value.toList())
+      }
+      is PlatformDownloadEvent -> {
+        stream.write(148)
+        writeValue(stream, value.toList())
+      }
+      is PlatformMemoryPressureEvent -> {
+        stream.write(149)
+        writeValue(stream, value.toList())
+      }
+      is CreationOptions -> {
+        stream.write(150)
+        writeValue(stream, value.toList())
+      }
+      is TexturePlayerIds -> {
+        stream.write(151)
+        writeValue(stream, value.toList())
+      }
+      is PlaybackState -> {
+        stream.write(152)
+        writeValue(stream, value.toList())
+      }
+      is AudioTrackMessage -> {
+        stream.write(153)
+        writeValue(stream, value.toList())
+      }
+      is ExoPlayerAudioTrackData -> {
+        stream.write(154)
+        writeValue(stream, value.toList())
+      }
+      is NativeAudioTrackData -> {
+        stream.write(155)
+        writeValue(stream, value.toList())
+      }
+      is PlatformThumbnail -> {
+        stream.write(156)
+        writeValue(stream, value.toList())
+      }
+      else -> super.writeValue(stream, value)
+    }
+  }
+}
+
+val MessagesPigeonMethodCodec = StandardMethodCodec(MessagesPigeonCodec())
+
+/** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+interface AndroidVideoPlayerApi {
+  fun initialize()
+
+  fun createForPlatformView(options: CreationOptions): Long
+
+  fun createForTextureView(options: CreationOptions): TexturePlayerIds
+
+  fun dispose(playerId: Long)
+
+  fun setMixWithOthers(mixWithOthers: Boolean)
+
+  fun getLookupKeyForAsset(asset: String, packageName: String?): String
+
+  fun setPlayerLimits(maxActivePlayers: Long, bufferMemoryBudgetBytes: Long)
+
+  fun setPlayerThreadCount(threadCount: Long)
+
+  fun startDownload(
+      downloadId: String,
+      options: CreationOptions,
+      downloadOptions: PlatformDownloadOptions
+  )
+
+  fun removeDownload(downloadId: String)
+
+  fun setDownloadConcurrency(segmentConcurrency: Long)
+
+  fun setPrefetchQueue(items: List<CreationOptions>, prefetchOptions: PlatformPrefetchOptions)
+
+  fun addMirroredOutput(playerId: Long, options: PlatformMirroredOutputOptions): Long
+
+  fun removeMirroredOutput(playerId: Long, textureId: Long)
+
+  companion object {
+    /** The codec used by AndroidVideoPlayerApi. */
+    val codec: MessageCodec<Any?> by lazy { MessagesPigeonCodec() }
+    /**
+     * Sets up an instance of `AndroidVideoPlayerApi` to handle messages through the
+     * `binaryMessenger`.
+     */
+    @JvmOverloads
+    fun setUp(
+        binaryMessenger: BinaryMessenger,
+        api: AndroidVideoPlayerApi?,
+        messageChannelSuffix: String = ""
+    ) {
+      val separatedMessageChannelSuffix =
+          if (messageChannelSuffix.isNotEmpty()) ".$messageChannelSuffix" else ""
+      val taskQueue = binaryMessenger.makeBackgroundTaskQueue()
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.initialize$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { _, reply ->
+            val wrapped: List<Any?> =
+                try {
+                  api.initialize()
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
         }
       }
-      136.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let { CreationOptions.fromList(it) }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.createForPlatformView$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val optionsArg = args[0] as CreationOptions
+            val wrapped: List<Any?> =
+                try {
+                  listOf(api.createForPlatformView(optionsArg))
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.createForTextureView$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val optionsArg = args[0] as CreationOptions
+            val wrapped: List<Any?> =
+                try {
+                  listOf(api.createForTextureView(optionsArg))
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.dispose$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val playerIdArg = args[0] as Long
+            val wrapped: List<Any?> =
+                try {
+                  api.dispose(playerIdArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMixWithOthers$separatedMessageChannelSuffix",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val mixWithOthersArg = args[0] as Boolean
+            val wrapped: List<Any?> =
+                try {
+                  api.setMixWithOthers(mixWithOthersArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getLookupKeyForAsset$separatedMessageChannelSuffix",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val assetArg = args[0] as String
+            val packageNameArg = args[1] as String?
+            val wrapped: List<Any?> =
+                try {
+                  listOf(api.getLookupKeyForAsset(assetArg, packageNameArg))
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlayerLimits$separatedMessageChannelSuffix",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val maxActivePlayersArg = args[0] as Long
+            val bufferMemoryBudgetBytesArg = args[1] as Long
+            val wrapped: List<Any?> =
+                try {
+                  api.setPlayerLimits(maxActivePlayersArg, bufferMemoryBudgetBytesArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlayerThreadCount$separatedMessageChannelSuffix",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val threadCountArg = args[0] as Long
+            val wrapped: List<Any?> =
+                try {
+                  api.setPlayerThreadCount(threadCountArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownload$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val downloadIdArg = args[0] as String
+            val optionsArg = args[1] as CreationOptions
+            val downloadOptionsArg = args[2] as PlatformDownloadOptions
+            val wrapped: List<Any?> =
+                try {
+                  api.startDownload(downloadIdArg, optionsArg, downloadOptionsArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      137.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let { TexturePlayerIds.fromList(it) }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeDownload$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val downloadIdArg = args[0] as String
+            val wrapped: List<Any?> =
+                try {
+                  api.removeDownload(downloadIdArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      138.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let { PlaybackState.fromList(it) }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadConcurrency$separatedMessageChannelSuffix",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val segmentConcurrencyArg = args[0] as Long
+            val wrapped: List<Any?> =
+                try {
+                  api.setDownloadConcurrency(segmentConcurrencyArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      139.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let { AudioTrackMessage.fromList(it) }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPrefetchQueue$separatedMessageChannelSuffix",
+                codec)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val itemsArg = args[0] as List<CreationOptions>
+            val prefetchOptionsArg = args[1] as PlatformPrefetchOptions
+            val wrapped: List<Any?> =
+                try {
+                  api.setPrefetchQueue(itemsArg, prefetchOptionsArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      140.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let { ExoPlayerAudioTrackData.fromList(it) }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.addMirroredOutput$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val playerIdArg = args[0] as Long
+            val optionsArg = args[1] as PlatformMirroredOutputOptions
+            val wrapped: List<Any?> =
+                try {
+                  listOf(api.addMirroredOutput(playerIdArg, optionsArg))
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      141.toByte() -> {
-        return (readValue(buffer) as? List<Any?>)?.let { NativeAudioTrackData.fromList(it) }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeMirroredOutput$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val playerIdArg = args[0] as Long
+            val textureIdArg = args[1] as Long
+            val wrapped: List<Any?> =
+                try {
+                  api.removeMirroredOutput(playerIdArg, textureIdArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      else -> super.readValueOfType(type, buffer)
     }
   }
+}
+/** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+interface VideoPlayerInstanceApi {
+  /** Sets whether to automatically loop playback of the video. */
+  fun setLooping(looping: Boolean)
+  /** Sets the volume, with 0.0 being muted and 1.0 being full volume. */
+  fun setVolume(volume: Double)
+  /** Sets the playback speed as a multiple of normal speed. */
+  fun setPlaybackSpeed(speed: Double)
+  /** Begins playback if the video is not currently playing. */
+  fun play()
+  /** Pauses playback if the video is currently playing. */
+  fun pause()
+  /** Seeks to the given playback position, in milliseconds. */
+  fun seekTo(position: Long)
+  /** Returns the current playback position, in milliseconds. */
+  fun getCurrentPosition(): Long
+  /** Returns the current buffer position, in milliseconds. */
+  fun getBufferedPosition(): Long
+  /** Gets the available audio tracks for the video. */
+  fun getAudioTracks(): NativeAudioTrackData
+  /** Selects which audio track is chosen for playback from its [groupIndex] and [trackIndex] */
+  fun selectAudioTrack(groupIndex: Long, trackIndex: Long)
+  /**
+   * Reports whether the player's view is currently visible.
+   *
+   * Players that are not visible are suspended first when the active player
+   * limit is exceeded.
+   */
+  fun setVisible(visible: Boolean)
+  /**
+   * Releases the decoders, surface and buffered media of the player, keeping
+   * its media item, position, selected tracks and DRM sessions.
+   */
+  fun suspend()
+  /** Restores a player released by [suspend] at the same position. */
+  fun resume()
+  /** Replaces the playlist with [items], starting playback at the first one. */
+  fun setPlaylist(items: List<CreationOptions>)
+  /** Appends [item] to the end of the playlist. */
+  fun addMediaItem(item: CreationOptions)
+  /** Seeks to the default position of the playlist item at [index]. */
+  fun seekToItem(index: Long)
+  /**
+   * Returns the preview thumbnail for [position], in milliseconds.
+   *
+   * Returns null if the video has no thumbnails, or if the thumbnail has not
+   * been loaded yet, in which case it starts loading in the background and a
+   * ThumbnailsLoadedEvent is sent once it can be requested again.
+   */
+  fun getThumbnail(position: Long): PlatformThumbnail?
+  /** Sets how seeks pick the position they land on. */
+  fun setSeekMode(mode: PlatformSeekMode)
+  /**
+   * Starts or stops scrubbing.
+   *
+   * While scrubbing, seeks snap to the closest sync frame, and seeks requested
+   * before the previous one has completed replace each other, so only the
+   * latest is performed. When scrubbing stops, the player seeks to the last
+   * requested position using the seek mode.
+   */
+  fun setScrubbing(scrubbing: Boolean)
+  /**
+   * Enables or disables muted preview mode.
+   *
+   * In muted preview mode the player selects no audio track, so audio is
+   * neither loaded nor decoded, and it does not request audio focus.
+   */
+  fun setMutedPreview(mutedPreview: Boolean)
+  /**
+   * Moves the video output of the player to [output], keeping its position,
+   * buffers, DRM sessions and selected tracks.
+   *
+   * Only players created with a texture can render to it.
+   */
+  fun setVideoOutput(output: PlatformVideoOutput)
 
-  override fun writeValue(stream: ByteArrayOutputStream, value: Any?) {
-    when (value) {
-      is PlatformVideoFormat -> {
-        stream.write(129)
-        writeValue(stream, value.raw.toLong())
-      }
-      is PlatformPlaybackState -> {
-        stream.write(130)
-        writeValue(stream, value.raw.toLong())
-      }
-      is InitializationEvent -> {
-        stream.write(131)
-        writeValue(stream, value.toList())
-      }
-      is PlaybackStateChangeEvent -> {
-        stream.write(132)
-        writeValue(stream, value.toList())
-      }
-      is IsPlayingStateEvent -> {
-        stream.write(133)
-        writeValue(stream, value.toList())
-      }
-      is AudioTrackChangedEvent -> {
-        stream.write(134)
-        writeValue(stream, value.toList())
-      }
-      is PlatformVideoViewCreationParams -> {
-        stream.write(135)
-        writeValue(stream, value.toList())
-      }
-      is CreationOptions -> {
-        stream.write(136)
-        writeValue(stream, value.toList())
-      }
-      is TexturePlayerIds -> {
-        stream.write(137)
-        writeValue(stream, value.toList())
-      }
-      is PlaybackState -> {
-        stream.write(138)
-        writeValue(stream, value.toList())
+  companion object {
+    /** The codec used by VideoPlayerInstanceApi. */
+    val codec: MessageCodec<Any?> by lazy { MessagesPigeonCodec() }
+    /**
+     * Sets up an instance of `VideoPlayerInstanceApi` to handle messages through the
+     * `binaryMessenger`.
+     */
+    @JvmOverloads
+    fun setUp(
+        binaryMessenger: BinaryMessenger,
+        api: VideoPlayerInstanceApi?,
+        messageChannelSuffix: String = ""
+    ) {
+      val separatedMessageChannelSuffix =
+          if (messageChannelSuffix.isNotEmpty()) ".$messageChannelSuffix" else ""
+      val taskQueue = binaryMessenger.makeBackgroundTaskQueue()
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setLooping$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val loopingArg = args[0] as Boolean
+            val wrapped: List<Any?> =
+                try {
+                  api.setLooping(loopingArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      is AudioTrackMessage -> {
-        stream.write(139)
-        writeValue(stream, value.toList())
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setVolume$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val volumeArg = args[0] as Double
+            val wrapped: List<Any?> =
+                try {
+                  api.setVolume(volumeArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      is ExoPlayerAudioTrackData -> {
-        stream.write(140)
-        writeValue(stream, value.toList())
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setPlaybackSpeed$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val speedArg = args[0] as Double
+            val wrapped: List<Any?> =
+                try {
+                  api.setPlaybackSpeed(speedArg)
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      is NativeAudioTrackData -> {
-        stream.write(141)
-        writeValue(stream, value.toList())
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.play$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { _, reply ->
+            val wrapped: List<Any?> =
+                try {
+                  api.play()
+                  listOf(null)
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
       }
-      else -> super.writeValue(stream, value)
-    }
-  }
-}
-
-val MessagesPigeonMethodCodec = StandardMethodCodec(MessagesPigeonCodec())
-
-/** Generated interface from Pigeon that represents a handler of messages from Flutter. */
-interface AndroidVideoPlayerApi {
-  fun initialize()
-
-  fun createForPlatformView(options: CreationOptions): Long
-
-  fun createForTextureView(options: CreationOptions): TexturePlayerIds
-
-  fun dispose(playerId: Long)
-
-  fun setMixWithOthers(mixWithOthers: Boolean)
-
-  fun getLookupKeyForAsset(asset: String, packageName: String?): String
-
-  companion object {
-    /** The codec used by AndroidVideoPlayerApi. */
-    val codec: MessageCodec<Any?> by lazy { MessagesPigeonCodec() }
-    /**
-     * Sets up an instance of `AndroidVideoPlayerApi` to handle messages through the
-     * `binaryMessenger`.
-     */
-    @JvmOverloads
-    fun setUp(
-        binaryMessenger: BinaryMessenger,
-        api: AndroidVideoPlayerApi?,
-        messageChannelSuffix: String = ""
-    ) {
-      val separatedMessageChannelSuffix =
-          if (messageChannelSuffix.isNotEmpty()) ".$messageChannelSuffix" else ""
       run {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.initialize$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.pause$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
           channel.setMessageHandler { _, reply ->
             val wrapped: List<Any?> =
                 try {
-                  api.initialize()
+                  api.pause()
                   listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
@@ -723,15 +1894,17 @@ interface AndroidVideoPlayerApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.createForPlatformView$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.seekTo$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
           channel.setMessageHandler { message, reply ->
             val args = message as List<Any?>
-            val optionsArg = args[0] as CreationOptions
+            val positionArg = args[0] as Long
             val wrapped: List<Any?> =
                 try {
-                  listOf(api.createForPlatformView(optionsArg))
+                  api.seekTo(positionArg)
+                  listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
                 }
@@ -745,15 +1918,14 @@ interface AndroidVideoPlayerApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.createForTextureView$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getCurrentPosition$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
-          channel.setMessageHandler { message, reply ->
-            val args = message as List<Any?>
-            val optionsArg = args[0] as CreationOptions
+          channel.setMessageHandler { _, reply ->
             val wrapped: List<Any?> =
                 try {
-                  listOf(api.createForTextureView(optionsArg))
+                  listOf(api.getCurrentPosition())
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
                 }
@@ -767,16 +1939,14 @@ interface AndroidVideoPlayerApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.dispose$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getBufferedPosition$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
-          channel.setMessageHandler { message, reply ->
-            val args = message as List<Any?>
-            val playerIdArg = args[0] as Long
+          channel.setMessageHandler { _, reply ->
             val wrapped: List<Any?> =
                 try {
-                  api.dispose(playerIdArg)
-                  listOf(null)
+                  listOf(api.getBufferedPosition())
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
                 }
@@ -790,15 +1960,38 @@ interface AndroidVideoPlayerApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMixWithOthers$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getAudioTracks$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { _, reply ->
+            val wrapped: List<Any?> =
+                try {
+                  listOf(api.getAudioTracks())
+                } catch (exception: Throwable) {
+                  MessagesPigeonUtils.wrapError(exception)
+                }
+            reply.reply(wrapped)
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+      run {
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.selectAudioTrack$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
           channel.setMessageHandler { message, reply ->
             val args = message as List<Any?>
-            val mixWithOthersArg = args[0] as Boolean
+            val groupIndexArg = args[0] as Long
+            val trackIndexArg = args[1] as Long
             val wrapped: List<Any?> =
                 try {
-                  api.setMixWithOthers(mixWithOthersArg)
+                  api.selectAudioTrack(groupIndexArg, trackIndexArg)
                   listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
@@ -813,16 +2006,17 @@ interface AndroidVideoPlayerApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getLookupKeyForAsset$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setVisible$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
           channel.setMessageHandler { message, reply ->
             val args = message as List<Any?>
-            val assetArg = args[0] as String
-            val packageNameArg = args[1] as String?
+            val visibleArg = args[0] as Boolean
             val wrapped: List<Any?> =
                 try {
-                  listOf(api.getLookupKeyForAsset(assetArg, packageNameArg))
+                  api.setVisible(visibleArg)
+                  listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
                 }
@@ -832,60 +2026,18 @@ interface AndroidVideoPlayerApi {
           channel.setMessageHandler(null)
         }
       }
-    }
-  }
-}
-/** Generated interface from Pigeon that represents a handler of messages from Flutter. */
-interface VideoPlayerInstanceApi {
-  /** Sets whether to automatically loop playback of the video. */
-  fun setLooping(looping: Boolean)
-  /** Sets the volume, with 0.0 being muted and 1.0 being full volume. */
-  fun setVolume(volume: Double)
-  /** Sets the playback speed as a multiple of normal speed. */
-  fun setPlaybackSpeed(speed: Double)
-  /** Begins playback if the video is not currently playing. */
-  fun play()
-  /** Pauses playback if the video is currently playing. */
-  fun pause()
-  /** Seeks to the given playback position, in milliseconds. */
-  fun seekTo(position: Long)
-  /** Returns the current playback position, in milliseconds. */
-  fun getCurrentPosition(): Long
-  /** Returns the current buffer position, in milliseconds. */
-  fun getBufferedPosition(): Long
-  /** Gets the available audio tracks for the video. */
-  fun getAudioTracks(): NativeAudioTrackData
-  /** Selects which audio track is chosen for playback from its [groupIndex] and [trackIndex] */
-  fun selectAudioTrack(groupIndex: Long, trackIndex: Long)
-
-  companion object {
-    /** The codec used by VideoPlayerInstanceApi. */
-    val codec: MessageCodec<Any?> by lazy { MessagesPigeonCodec() }
-    /**
-     * Sets up an instance of `VideoPlayerInstanceApi` to handle messages through the
-     * `binaryMessenger`.
-     */
-    @JvmOverloads
-    fun setUp(
-        binaryMessenger: BinaryMessenger,
-        api: VideoPlayerInstanceApi?,
-        messageChannelSuffix: String = ""
-    ) {
-      val separatedMessageChannelSuffix =
-          if (messageChannelSuffix.isNotEmpty()) ".$messageChannelSuffix" else ""
       run {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setLooping$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.suspend$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
-          channel.setMessageHandler { message, reply ->
-            val args = message as List<Any?>
-            val loopingArg = args[0] as Boolean
+          channel.setMessageHandler { _, reply ->
             val wrapped: List<Any?> =
                 try {
-                  api.setLooping(loopingArg)
+                  api.suspend()
                   listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
@@ -900,15 +2052,14 @@ interface VideoPlayerInstanceApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setVolume$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.resume$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
-          channel.setMessageHandler { message, reply ->
-            val args = message as List<Any?>
-            val volumeArg = args[0] as Double
+          channel.setMessageHandler { _, reply ->
             val wrapped: List<Any?> =
                 try {
-                  api.setVolume(volumeArg)
+                  api.resume()
                   listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
@@ -923,15 +2074,16 @@ interface VideoPlayerInstanceApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setPlaybackSpeed$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setPlaylist$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
           channel.setMessageHandler { message, reply ->
             val args = message as List<Any?>
-            val speedArg = args[0] as Double
+            val itemsArg = args[0] as List<CreationOptions>
             val wrapped: List<Any?> =
                 try {
-                  api.setPlaybackSpeed(speedArg)
+                  api.setPlaylist(itemsArg)
                   listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
@@ -946,13 +2098,16 @@ interface VideoPlayerInstanceApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.play$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.addMediaItem$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
-          channel.setMessageHandler { _, reply ->
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val itemArg = args[0] as CreationOptions
             val wrapped: List<Any?> =
                 try {
-                  api.play()
+                  api.addMediaItem(itemArg)
                   listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
@@ -967,13 +2122,16 @@ interface VideoPlayerInstanceApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.pause$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.seekToItem$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
-          channel.setMessageHandler { _, reply ->
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val indexArg = args[0] as Long
             val wrapped: List<Any?> =
                 try {
-                  api.pause()
+                  api.seekToItem(indexArg)
                   listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
@@ -988,16 +2146,16 @@ interface VideoPlayerInstanceApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.seekTo$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getThumbnail$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
           channel.setMessageHandler { message, reply ->
             val args = message as List<Any?>
             val positionArg = args[0] as Long
             val wrapped: List<Any?> =
                 try {
-                  api.seekTo(positionArg)
-                  listOf(null)
+                  listOf(api.getThumbnail(positionArg))
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
                 }
@@ -1011,13 +2169,17 @@ interface VideoPlayerInstanceApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getCurrentPosition$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setSeekMode$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
-          channel.setMessageHandler { _, reply ->
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val modeArg = args[0] as PlatformSeekMode
             val wrapped: List<Any?> =
                 try {
-                  listOf(api.getCurrentPosition())
+                  api.setSeekMode(modeArg)
+                  listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
                 }
@@ -1031,13 +2193,17 @@ interface VideoPlayerInstanceApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getBufferedPosition$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setScrubbing$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
-          channel.setMessageHandler { _, reply ->
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val scrubbingArg = args[0] as Boolean
             val wrapped: List<Any?> =
                 try {
-                  listOf(api.getBufferedPosition())
+                  api.setScrubbing(scrubbingArg)
+                  listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
                 }
@@ -1051,13 +2217,17 @@ interface VideoPlayerInstanceApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getAudioTracks$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setMutedPreview$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
-          channel.setMessageHandler { _, reply ->
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val mutedPreviewArg = args[0] as Boolean
             val wrapped: List<Any?> =
                 try {
-                  listOf(api.getAudioTracks())
+                  api.setMutedPreview(mutedPreviewArg)
+                  listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
                 }
@@ -1071,16 +2241,16 @@ interface VideoPlayerInstanceApi {
         val channel =
             BasicMessageChannel<Any?>(
                 binaryMessenger,
-                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.selectAudioTrack$separatedMessageChannelSuffix",
-                codec)
+                "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setVideoOutput$separatedMessageChannelSuffix",
+                codec,
+                taskQueue)
         if (api != null) {
           channel.setMessageHandler { message, reply ->
             val args = message as List<Any?>
-            val groupIndexArg = args[0] as Long
-            val trackIndexArg = args[1] as Long
+            val outputArg = args[0] as PlatformVideoOutput
             val wrapped: List<Any?> =
                 try {
-                  api.selectAudioTrack(groupIndexArg, trackIndexArg)
+                  api.setVideoOutput(outputArg)
                   listOf(null)
                 } catch (exception: Throwable) {
                   MessagesPigeonUtils.wrapError(exception)
@@ -1152,3 +2322,52 @@ abstract class VideoEventsStreamHandler : MessagesPigeonEventChannelWrapper<Plat
 
   override fun onCancel(p0: Any?) {}
 }
+
+abstract class DownloadEventsStreamHandler :
+    MessagesPigeonEventChannelWrapper<PlatformDownloadEvent> {
+  companion object {
+    fun register(
+        messenger: BinaryMessenger,
+        streamHandler: DownloadEventsStreamHandler,
+        instanceName: String = ""
+    ) {
+      var channelName: String =
+          "dev.flutter.pigeon.video_player_android.VideoEventChannel.downloadEvents"
+      if (instanceName.isNotEmpty()) {
+        channelName += ".$instanceName"
+      }
+      val internalStreamHandler = MessagesPigeonStreamHandler<PlatformDownloadEvent>(streamHandler)
+      EventChannel(messenger, channelName, MessagesPigeonMethodCodec)
+          .setStreamHandler(internalStreamHandler)
+    }
+  }
+  // Implement methods from MessagesPigeonEventChannelWrapper
+  override fun onListen(p0: Any?, sink: PigeonEventSink<PlatformDownloadEvent>) {}
+
+  override fun onCancel(p0: Any?) {}
+}
+
+abstract class MemoryPressureEventsStreamHandler :
+    MessagesPigeonEventChannelWrapper<PlatformMemoryPressureEvent> {
+  companion object {
+    fun register(
+        messenger: BinaryMessenger,
+        streamHandler: MemoryPressureEventsStreamHandler,
+        instanceName: String = ""
+    ) {
+      var channelName: String =
+          "dev.flutter.pigeon.video_player_android.VideoEventChannel.memoryPressureEvents"
+      if (instanceName.isNotEmpty()) {
+        channelName += ".$instanceName"
+      }
+      val internalStreamHandler =
+          MessagesPigeonStreamHandler<PlatformMemoryPressureEvent>(streamHandler)
+      EventChannel(messenger, channelName, MessagesPigeonMethodCodec)
+          .setStreamHandler(internalStreamHandler)
+    }
+  }
+  // Implement methods from MessagesPigeonEventChannelWrapper
+  override fun onListen(p0: Any?, sink: PigeonEventSink<PlatformMemoryPressureEvent>) {}
+
+  override fun onCancel(p0: Any?) {}
+}
@@ -0,0 +1,54 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.exoplayer2.trackselection.AdaptiveTrackSelection;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link AbrConfig}. */
+@RunWith(RobolectricTestRunner.class)
+public final class AbrConfigTest {
+  @Test
+  public void unsetPlatformOptionsTakeDefaults() {
+    AbrConfig config =
+        AbrConfig.fromPlatformOptions(
+            new PlatformAbrOptions(PlatformAbrStrategy.HYBRID, 8000L, null, null, 0.5));
+
+    assertEquals(AbrConfig.Strategy.HYBRID, config.getStrategy());
+    assertEquals(8000, config.getSwitchUpThresholdMs());
+    assertEquals(AbrConfig.DEFAULT_SWITCH_DOWN_THRESHOLD_MS, config.getSwitchDownThresholdMs());
+    assertEquals(AbrConfig.DEFAULT_HYSTERESIS_MS, config.getHysteresisMs());
+    assertEquals(0.5f, config.getBandwidthFraction(), 0);
+  }
+
+  @Test
+  public void throughputUsesAdaptiveTrackSelection() {
+    assertTrue(
+        AbrConfig.withStrategy(AbrConfig.Strategy.THROUGHPUT).createTrackSelectionFactory()
+            instanceof AdaptiveTrackSelection.Factory);
+    assertTrue(
+        AbrConfig.withStrategy(AbrConfig.Strategy.BUFFER_BASED).createTrackSelectionFactory()
+            instanceof BufferBasedTrackSelection.Factory);
+  }
+
+  @Test
+  public void rejectsInvalidValues() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AbrConfig(AbrConfig.Strategy.HYBRID, 0, 25_000, 4_000, 0.7f));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AbrConfig(AbrConfig.Strategy.HYBRID, 10_000, 25_000, -1, 0.7f));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AbrConfig(AbrConfig.Strategy.HYBRID, 10_000, 25_000, 4_000, 1.5f));
+  }
+}
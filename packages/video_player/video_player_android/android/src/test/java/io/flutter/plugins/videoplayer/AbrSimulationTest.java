@@ -0,0 +1,152 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Replays bandwidth traces against every ABR strategy with {@link AbrSimulator}, and checks each
+ * playback against the baseline of its strategy so that track selection changes that rebuffer or
+ * switch more are caught before release.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class AbrSimulationTest {
+  private static final int LOWEST_BITRATE = AbrSimulator.LADDER_BITRATES[0];
+  private static final int HIGHEST_BITRATE =
+      AbrSimulator.LADDER_BITRATES[AbrSimulator.LADDER_BITRATES.length - 1];
+
+  // The default track selection, followed by each strategy with its default thresholds.
+  private static final List<AbrConfig> CONFIGS =
+      Arrays.asList(
+          null,
+          AbrConfig.withStrategy(AbrConfig.Strategy.THROUGHPUT),
+          AbrConfig.withStrategy(AbrConfig.Strategy.BUFFER_BASED),
+          AbrConfig.withStrategy(AbrConfig.Strategy.HYBRID));
+  private static final int THROUGHPUT_INDEX = 1;
+  private static final int BUFFER_BASED_INDEX = 2;
+
+  /** The most rebuffering and switches a strategy is expected to have on a trace. */
+  private static final class Baseline {
+    final long maxRebufferMs;
+    final int maxSwitchCount;
+
+    Baseline(long maxRebufferMs, int maxSwitchCount) {
+      this.maxRebufferMs = maxRebufferMs;
+      this.maxSwitchCount = maxSwitchCount;
+    }
+  }
+
+  // Baselines in the order of CONFIGS. The switch counts leave a few switches of headroom over the
+  // simulated playbacks, while no strategy may rebuffer: the buffer absorbs both traces' dips.
+  private static final List<Baseline> SUDDEN_DROP_BASELINES =
+      Arrays.asList(
+          new Baseline(0, 8), new Baseline(0, 8), new Baseline(0, 5), new Baseline(0, 5));
+  private static final List<Baseline> FLUCTUATING_MOBILE_BASELINES =
+      Arrays.asList(
+          new Baseline(0, 12), new Baseline(0, 12), new Baseline(0, 13), new Baseline(0, 14));
+
+  private AbrSimulator simulator;
+
+  @Before
+  public void setUp() {
+    simulator = new AbrSimulator(ApplicationProvider.getApplicationContext());
+  }
+
+  private List<AbrSimulator.Result> simulateAll(String traceName) throws Exception {
+    AbrSimulator.BandwidthTrace trace = AbrSimulator.BandwidthTrace.fromResource(traceName);
+    List<AbrSimulator.Result> results = new ArrayList<>();
+    for (@Nullable AbrConfig config : CONFIGS) {
+      results.add(simulator.simulate(config, trace));
+    }
+    return results;
+  }
+
+  private static void assertWithinLadder(AbrSimulator.Result result) {
+    assertTrue(result.label, result.averageBitrate >= LOWEST_BITRATE);
+    assertTrue(result.label, result.averageBitrate <= HIGHEST_BITRATE);
+  }
+
+  private static void assertWithinBaselines(
+      List<AbrSimulator.Result> results, List<Baseline> baselines) {
+    for (int i = 0; i < results.size(); i++) {
+      AbrSimulator.Result result = results.get(i);
+      Baseline baseline = baselines.get(i);
+      assertWithinLadder(result);
+      assertTrue(result.toString(), result.rebufferMs <= baseline.maxRebufferMs);
+      assertTrue(result.toString(), result.switchCount <= baseline.maxSwitchCount);
+    }
+  }
+
+  @Test
+  public void stableBroadbandNeverRebuffers() throws Exception {
+    for (AbrSimulator.Result result : simulateAll("broadband_stable.csv")) {
+      assertEquals(result.label, 0, result.rebufferMs);
+      assertTrue(result.label, result.averageBitrate > AbrSimulator.LADDER_BITRATES[1]);
+    }
+  }
+
+  @Test
+  public void congestedLinkStaysOnLowestRendition() throws Exception {
+    for (AbrSimulator.Result result : simulateAll("congested_low.csv")) {
+      assertEquals(result.label, LOWEST_BITRATE, result.startupBitrate);
+      assertEquals(result.label, LOWEST_BITRATE, result.averageBitrate);
+      assertEquals(result.label, 0, result.switchCount);
+      // The link is slower than the lowest rendition, so no strategy can avoid rebuffering.
+      assertTrue(result.label, result.rebufferMs > 0);
+    }
+  }
+
+  @Test
+  public void suddenDropStaysWithinBaselines() throws Exception {
+    List<AbrSimulator.Result> results = simulateAll("sudden_drop.csv");
+
+    assertWithinBaselines(results, SUDDEN_DROP_BASELINES);
+    for (AbrSimulator.Result result : results) {
+      assertTrue(result.toString(), result.switchCount > 0);
+    }
+    // Buffer-based selection rides out the drop on its buffer rather than following the estimate.
+    AbrSimulator.Result throughput = results.get(THROUGHPUT_INDEX);
+    AbrSimulator.Result bufferBased = results.get(BUFFER_BASED_INDEX);
+    assertTrue(
+        bufferBased + " vs " + throughput, bufferBased.switchCount <= throughput.switchCount);
+  }
+
+  @Test
+  public void fluctuatingMobileStaysWithinBaselines() throws Exception {
+    assertWithinBaselines(simulateAll("mobile_fluctuating.csv"), FLUCTUATING_MOBILE_BASELINES);
+  }
+
+  @Test
+  public void startupRenditionFollowsInitialEstimate() throws Exception {
+    simulator.setInitialBitrateEstimate(10_000_000);
+    AbrSimulator.BandwidthTrace trace =
+        AbrSimulator.BandwidthTrace.fromResource("broadband_stable.csv");
+
+    AbrSimulator.Result result = simulator.simulate(null, trace);
+
+    assertTrue(result.label, result.startupBitrate > AbrSimulator.LADDER_BITRATES[1]);
+  }
+
+  @Test
+  public void simulationsAreDeterministic() throws Exception {
+    AbrSimulator.BandwidthTrace trace =
+        AbrSimulator.BandwidthTrace.fromResource("mobile_fluctuating.csv");
+    AbrConfig config = AbrConfig.withStrategy(AbrConfig.Strategy.HYBRID);
+
+    assertEquals(
+        simulator.simulate(config, trace).toString(), simulator.simulate(config, trace).toString());
+  }
+}
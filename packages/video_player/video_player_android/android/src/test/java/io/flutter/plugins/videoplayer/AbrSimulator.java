@@ -0,0 +1,425 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.DefaultLoadControl;
+import com.google.android.exoplayer2.ExoPlaybackException;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.RendererCapabilities;
+import com.google.android.exoplayer2.Timeline;
+import com.google.android.exoplayer2.source.MediaSource.MediaPeriodId;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.source.chunk.MediaChunk;
+import com.google.android.exoplayer2.source.chunk.MediaChunkIterator;
+import com.google.android.exoplayer2.source.dash.manifest.AdaptationSet;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifestParser;
+import com.google.android.exoplayer2.source.dash.manifest.Representation;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import com.google.android.exoplayer2.trackselection.ExoTrackSelection;
+import com.google.android.exoplayer2.trackselection.TrackSelectorResult;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.util.Util;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import org.robolectric.shadows.ShadowSystemClock;
+
+/**
+ * Plays a synthetic DASH ladder against a bandwidth trace with the track selection of the plugin,
+ * without a network, to compare ABR strategies.
+ *
+ * <p>The track selector is the one {@link VideoPlayer#createTrackSelector} builds for the given
+ * {@link AbrConfig}, and selects its tracks like a player would. Segments are then downloaded one
+ * at a time in simulated time at the bandwidth the trace allows, while playback drains the buffer
+ * with the thresholds of {@link DefaultLoadControl}. Time is advanced with {@link
+ * ShadowSystemClock}, so selections relying on {@link android.os.SystemClock} see simulated time.
+ */
+final class AbrSimulator {
+  static final int SEGMENT_DURATION_MS = 2000;
+  static final long DEFAULT_INITIAL_BITRATE_ESTIMATE = 1_000_000;
+  static final int[] LADDER_BITRATES = {400_000, 800_000, 1_600_000, 3_200_000, 6_000_000};
+  private static final long CONTENT_DURATION_MS = 120_000;
+
+  /** Bandwidth available over time, repeated once it runs out. */
+  static final class BandwidthTrace {
+    @NonNull final String name;
+    private final long[] durationsMs;
+    private final long[] bitrates;
+    private final long totalDurationMs;
+
+    BandwidthTrace(@NonNull String name, @NonNull long[] durationsMs, @NonNull long[] bitrates) {
+      if (durationsMs.length == 0 || durationsMs.length != bitrates.length) {
+        throw new IllegalArgumentException("A trace needs one bitrate per duration.");
+      }
+      long total = 0;
+      boolean hasBandwidth = false;
+      for (int i = 0; i < durationsMs.length; i++) {
+        if (durationsMs[i] <= 0 || bitrates[i] < 0) {
+          throw new IllegalArgumentException("Invalid sample " + i + " in trace " + name);
+        }
+        total += durationsMs[i];
+        hasBandwidth |= bitrates[i] > 0;
+      }
+      if (!hasBandwidth) {
+        throw new IllegalArgumentException("Trace " + name + " never transfers anything.");
+      }
+      this.name = name;
+      this.durationsMs = durationsMs;
+      this.bitrates = bitrates;
+      this.totalDurationMs = total;
+    }
+
+    /**
+     * Reads a trace from a test resource of {@code duration_ms,kbps} lines, where lines starting
+     * with {@code #} are comments.
+     */
+    @NonNull
+    static BandwidthTrace fromResource(@NonNull String name) throws IOException {
+      List<long[]> samples = new ArrayList<>();
+      try (InputStream stream = AbrSimulator.class.getResourceAsStream("/abr_traces/" + name)) {
+        if (stream == null) {
+          throw new IOException("Missing trace " + name);
+        }
+        BufferedReader reader =
+            new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+          line = line.trim();
+          if (line.isEmpty() || line.startsWith("#")) {
+            continue;
+          }
+          String[] fields = line.split(",");
+          long durationMs = Long.parseLong(fields[0].trim());
+          long kbps = Long.parseLong(fields[1].trim());
+          samples.add(new long[] {durationMs, kbps * 1000});
+        }
+      }
+      long[] durationsMs = new long[samples.size()];
+      long[] bitrates = new long[samples.size()];
+      for (int i = 0; i < samples.size(); i++) {
+        durationsMs[i] = samples.get(i)[0];
+        bitrates[i] = samples.get(i)[1];
+      }
+      return new BandwidthTrace(name, durationsMs, bitrates);
+    }
+
+    /** Returns how long transferring {@code bits} takes when starting at {@code startMs}. */
+    long transferTimeMs(long startMs, long bits) {
+      long offsetMs = startMs % totalDurationMs;
+      int sample = 0;
+      while (offsetMs >= durationsMs[sample]) {
+        offsetMs -= durationsMs[sample];
+        sample++;
+      }
+      double remainingBits = bits;
+      double elapsedMs = 0;
+      while (true) {
+        long sampleRemainingMs = durationsMs[sample] - offsetMs;
+        double sampleBits = bitrates[sample] * sampleRemainingMs / 1000.0;
+        if (sampleBits >= remainingBits) {
+          return (long) Math.ceil(elapsedMs + remainingBits * 1000 / bitrates[sample]);
+        }
+        remainingBits -= sampleBits;
+        elapsedMs += sampleRemainingMs;
+        offsetMs = 0;
+        sample = (sample + 1) % durationsMs.length;
+      }
+    }
+  }
+
+  /** What a simulated playback looked like. */
+  static final class Result {
+    @NonNull final String label;
+    final int startupBitrate;
+    final long startupDelayMs;
+    final long rebufferMs;
+    final long averageBitrate;
+    final int switchCount;
+
+    Result(
+        @NonNull String label,
+        int startupBitrate,
+        long startupDelayMs,
+        long rebufferMs,
+        long averageBitrate,
+        int switchCount) {
+      this.label = label;
+      this.startupBitrate = startupBitrate;
+      this.startupDelayMs = startupDelayMs;
+      this.rebufferMs = rebufferMs;
+      this.averageBitrate = averageBitrate;
+      this.switchCount = switchCount;
+    }
+
+    @Override
+    @NonNull
+    public String toString() {
+      return String.format(
+          Locale.US,
+          "%-40s startup %5d kbps after %5d ms, average %5d kbps, %3d switches, %6d ms rebuffering",
+          label,
+          startupBitrate / 1000,
+          startupDelayMs,
+          averageBitrate / 1000,
+          switchCount,
+          rebufferMs);
+    }
+  }
+
+  /** The playback side of a simulation, draining the buffer as simulated time advances. */
+  private static final class Playback {
+    long nowMs;
+    long positionUs;
+    long bufferedUs;
+    boolean playing;
+    long startupDelayMs = C.TIME_UNSET;
+    long rebufferMs;
+
+    void play() {
+      playing = true;
+      if (startupDelayMs == C.TIME_UNSET) {
+        startupDelayMs = nowMs;
+      }
+    }
+
+    void advance(long durationMs) {
+      if (playing) {
+        long playedUs = Math.min(Util.msToUs(durationMs), bufferedUs);
+        positionUs += playedUs;
+        bufferedUs -= playedUs;
+        if (bufferedUs == 0) {
+          // The buffer ran dry: the rest of the time is spent rebuffering.
+          playing = false;
+          rebufferMs += durationMs - Util.usToMs(playedUs);
+        }
+      } else if (startupDelayMs != C.TIME_UNSET) {
+        rebufferMs += durationMs;
+      }
+      nowMs += durationMs;
+      ShadowSystemClock.advanceBy(Duration.ofMillis(durationMs));
+    }
+  }
+
+  /** A bandwidth meter estimating from the simulated transfers. */
+  private static final class SimulatedBandwidthMeter implements BandwidthMeter {
+    // Weight of the latest transfer in the estimate.
+    private static final double SMOOTHING = 0.3;
+
+    private long bitrateEstimate;
+
+    SimulatedBandwidthMeter(long initialBitrateEstimate) {
+      bitrateEstimate = initialBitrateEstimate;
+    }
+
+    void onTransfer(long bits, long durationMs) {
+      long bitrate = bits * 1000 / Math.max(durationMs, 1);
+      bitrateEstimate = (long) (SMOOTHING * bitrate + (1 - SMOOTHING) * bitrateEstimate);
+    }
+
+    @Override
+    public long getBitrateEstimate() {
+      return bitrateEstimate;
+    }
+
+    @Override
+    @Nullable
+    public TransferListener getTransferListener() {
+      return null;
+    }
+
+    @Override
+    public void addEventListener(@NonNull Handler eventHandler, @NonNull EventListener listener) {}
+
+    @Override
+    public void removeEventListener(@NonNull EventListener eventListener) {}
+  }
+
+  /** A video renderer supporting every format and seamless adaptation between them. */
+  private static final class VideoRendererCapabilities implements RendererCapabilities {
+    @Override
+    @NonNull
+    public String getName() {
+      return "AbrSimulator";
+    }
+
+    @Override
+    public int getTrackType() {
+      return C.TRACK_TYPE_VIDEO;
+    }
+
+    @Override
+    public int supportsFormat(@NonNull Format format) {
+      return RendererCapabilities.create(
+          C.FORMAT_HANDLED, ADAPTIVE_SEAMLESS, TUNNELING_NOT_SUPPORTED);
+    }
+
+    @Override
+    public int supportsMixedMimeTypeAdaptation() {
+      return ADAPTIVE_NOT_SEAMLESS;
+    }
+  }
+
+  @NonNull private final Context context;
+  private long initialBitrateEstimate = DEFAULT_INITIAL_BITRATE_ESTIMATE;
+
+  AbrSimulator(@NonNull Context context) {
+    this.context = context;
+  }
+
+  /** Sets the bandwidth estimate the first selection is made with. */
+  void setInitialBitrateEstimate(long initialBitrateEstimate) {
+    this.initialBitrateEstimate = initialBitrateEstimate;
+  }
+
+  /**
+   * Plays the ladder against the trace.
+   *
+   * @param abrConfig the ABR strategy, or {@code null} for the default track selection.
+   * @param trace the bandwidth available while playing.
+   * @return the rebuffering, bitrates and switches of the playback.
+   */
+  @NonNull
+  Result simulate(@Nullable AbrConfig abrConfig, @NonNull BandwidthTrace trace)
+      throws IOException, ExoPlaybackException {
+    VideoPlayerOptions options = new VideoPlayerOptions();
+    options.abrConfig = abrConfig;
+    DefaultTrackSelector trackSelector = VideoPlayer.createTrackSelector(context, options);
+    SimulatedBandwidthMeter bandwidthMeter = new SimulatedBandwidthMeter(initialBitrateEstimate);
+    trackSelector.init(() -> {}, bandwidthMeter);
+
+    TrackGroup ladder = createLadder();
+    TrackSelectorResult selectorResult =
+        trackSelector.selectTracks(
+            new RendererCapabilities[] {new VideoRendererCapabilities()},
+            new TrackGroupArray(ladder),
+            new MediaPeriodId(new Object()),
+            Timeline.EMPTY);
+    ExoTrackSelection selection = selectorResult.selections[0];
+    if (selection == null) {
+      throw new IllegalStateException("The track selector did not select the ladder.");
+    }
+    selection.enable();
+
+    List<MediaChunk> queue = Collections.emptyList();
+    MediaChunkIterator[] chunkIterators = new MediaChunkIterator[selection.length()];
+    Arrays.fill(chunkIterators, MediaChunkIterator.EMPTY);
+    long segmentDurationUs = Util.msToUs(SEGMENT_DURATION_MS);
+    long contentDurationUs = Util.msToUs(CONTENT_DURATION_MS);
+    long bufferForPlaybackUs = Util.msToUs(DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS);
+    long bufferAfterRebufferUs =
+        Util.msToUs(DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS);
+    long maxBufferUs = Util.msToUs(DefaultLoadControl.DEFAULT_MAX_BUFFER_MS);
+
+    Playback playback = new Playback();
+    long loadedUs = 0;
+    int previousBitrate = Format.NO_VALUE;
+    int startupBitrate = Format.NO_VALUE;
+    long bitrateSum = 0;
+    int segmentCount = 0;
+    int switchCount = 0;
+    while (loadedUs < contentDurationUs) {
+      // Like a chunk source, the selection is updated before every segment, the first one included.
+      selection.updateSelectedTrack(
+          playback.positionUs, playback.bufferedUs, C.TIME_UNSET, queue, chunkIterators);
+      int bitrate = selection.getSelectedFormat().bitrate;
+      if (startupBitrate == Format.NO_VALUE) {
+        startupBitrate = bitrate;
+      } else if (bitrate != previousBitrate) {
+        switchCount++;
+      }
+      previousBitrate = bitrate;
+
+      long bits = (long) bitrate * SEGMENT_DURATION_MS / 1000;
+      long transferMs = trace.transferTimeMs(playback.nowMs, bits);
+      playback.advance(transferMs);
+      bandwidthMeter.onTransfer(bits, transferMs);
+      long segmentUs = Math.min(segmentDurationUs, contentDurationUs - loadedUs);
+      loadedUs += segmentUs;
+      playback.bufferedUs += segmentUs;
+      bitrateSum += bitrate;
+      segmentCount++;
+
+      boolean fullyLoaded = loadedUs >= contentDurationUs;
+      long bufferToPlayUs =
+          playback.startupDelayMs == C.TIME_UNSET ? bufferForPlaybackUs : bufferAfterRebufferUs;
+      if (!playback.playing && (fullyLoaded || playback.bufferedUs >= bufferToPlayUs)) {
+        playback.play();
+      }
+      if (playback.bufferedUs > maxBufferUs) {
+        // Loading pauses until playback has made room in the buffer.
+        playback.advance(Util.usToMs(playback.bufferedUs - maxBufferUs));
+      }
+    }
+    trackSelector.release();
+
+    String label =
+        trace.name + " / " + (abrConfig == null ? "DEFAULT" : abrConfig.getStrategy().name());
+    return new Result(
+        label,
+        startupBitrate,
+        playback.startupDelayMs,
+        playback.rebufferMs,
+        bitrateSum / segmentCount,
+        switchCount);
+  }
+
+  /** Returns the video adaptation set of a DASH manifest with one representation per rung. */
+  @NonNull
+  private static TrackGroup createLadder() throws IOException {
+    StringBuilder representations = new StringBuilder();
+    for (int bitrate : LADDER_BITRATES) {
+      representations.append(
+          String.format(
+              Locale.US,
+              "<Representation id=\"%d\" bandwidth=\"%d\"/>",
+              bitrate / 1000,
+              bitrate));
+    }
+    String manifest =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<MPD xmlns=\"urn:mpeg:dash:schema:mpd:2011\" type=\"static\""
+            + " profiles=\"urn:mpeg:dash:profile:isoff-live:2011\""
+            + " mediaPresentationDuration=\"PT"
+            + CONTENT_DURATION_MS / 1000
+            + "S\" minBufferTime=\"PT2S\">"
+            + "<Period><AdaptationSet mimeType=\"video/mp4\" codecs=\"avc1.64001f\">"
+            + "<SegmentTemplate timescale=\"1000\" duration=\""
+            + SEGMENT_DURATION_MS
+            + "\" media=\"$RepresentationID$/$Number$.m4s\""
+            + " initialization=\"$RepresentationID$/init.mp4\"/>"
+            + representations
+            + "</AdaptationSet></Period></MPD>";
+    DashManifest dashManifest =
+        new DashManifestParser()
+            .parse(
+                Uri.parse("https://example.com/ladder.mpd"),
+                new ByteArrayInputStream(manifest.getBytes(StandardCharsets.UTF_8)));
+    AdaptationSet adaptationSet = dashManifest.getPeriod(0).adaptationSets.get(0);
+    Format[] formats = new Format[adaptationSet.representations.size()];
+    for (int i = 0; i < formats.length; i++) {
+      Representation representation = adaptationSet.representations.get(i);
+      formats[i] = representation.format;
+    }
+    return new TrackGroup(formats);
+  }
+}
@@ -0,0 +1,298 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.graphics.SurfaceTexture;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+import io.flutter.embedding.engine.plugins.FlutterPlugin;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.MessageCodec;
+import io.flutter.plugin.platform.PlatformViewRegistry;
+import io.flutter.view.TextureRegistry;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Regression tests for how long {@link VideoPlayerPlugin} calls keep the platform thread busy.
+ *
+ * <p>The plugin plays an asset whose players are slow to create and to release. Each call is
+ * delivered like the engine does, and the time the platform thread spends running the call and the
+ * work it hands to the platform thread, until the player is created or released, is measured.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class AndroidVideoPlayerApiTest {
+  private static final String CHANNEL_PREFIX =
+      "dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.";
+  private static final String INSTANCE_CHANNEL_PREFIX =
+      "dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.";
+  private static final long PLAYER_WORK_DURATION_MS = 300;
+  private static final long MAX_BUSY_MS = PLAYER_WORK_DURATION_MS / 2;
+  private static final long TIMEOUT_MS = 5000;
+
+  private final SlowVideoAsset asset = new SlowVideoAsset(PLAYER_WORK_DURATION_MS);
+  private FakeBinaryMessenger messenger;
+  private FlutterPlugin.FlutterPluginBinding binding;
+  private VideoPlayerPlugin plugin;
+
+  @Before
+  public void setUp() {
+    messenger = new FakeBinaryMessenger();
+    TextureRegistry.SurfaceTextureEntry textureEntry =
+        mock(TextureRegistry.SurfaceTextureEntry.class);
+    when(textureEntry.id()).thenReturn(2L);
+    when(textureEntry.surfaceTexture()).thenReturn(new SurfaceTexture(0));
+    TextureRegistry textureRegistry = mock(TextureRegistry.class);
+    when(textureRegistry.createSurfaceTexture()).thenReturn(textureEntry);
+
+    binding = mock(FlutterPlugin.FlutterPluginBinding.class);
+    Context context = ApplicationProvider.getApplicationContext();
+    when(binding.getApplicationContext()).thenReturn(context);
+    when(binding.getTextureRegistry()).thenReturn(textureRegistry);
+    when(binding.getBinaryMessenger()).thenReturn(messenger);
+    when(binding.getPlatformViewRegistry()).thenReturn(mock(PlatformViewRegistry.class));
+
+    plugin =
+        new VideoPlayerPlugin() {
+          @NonNull
+          @Override
+          VideoAsset videoAssetWithOptions(@NonNull CreationOptions options) {
+            return asset;
+          }
+        };
+    plugin.onAttachedToEngine(binding);
+  }
+
+  @After
+  public void tearDown() {
+    plugin.onDetachedFromEngine(binding);
+    messenger.release();
+  }
+
+  private static CreationOptions creationOptions() {
+    return new CreationOptions(
+        "https://flutter.github.io/assets-for-api-docs/assets/videos/bee.mp4",
+        null,
+        new HashMap<>(),
+        new HashMap<>(),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null);
+  }
+
+  private long createPlatformViewPlayer() throws Exception {
+    messenger.send("createForPlatformView", Collections.singletonList(creationOptions()));
+    return (Long) messenger.getLastResult();
+  }
+
+  @Test
+  public void createForPlatformViewDoesNotKeepPlatformThreadBusy() throws Exception {
+    long busyMs =
+        messenger.send("createForPlatformView", Collections.singletonList(creationOptions()));
+
+    assertEquals(1L, messenger.getLastResult());
+    assertNotSame(Looper.getMainLooper().getThread(), asset.getCreationThread());
+    assertTrue("Busy for " + busyMs + " ms", busyMs < MAX_BUSY_MS);
+  }
+
+  @Test
+  public void createForTextureViewDoesNotKeepPlatformThreadBusy() throws Exception {
+    long busyMs =
+        messenger.send("createForTextureView", Collections.singletonList(creationOptions()));
+    // The IDs are returned before the player is built.
+    busyMs += runPlatformThreadUntil(asset::isPrepared);
+
+    assertEquals(new TexturePlayerIds(1L, 2L), messenger.getLastResult());
+    assertNotSame(Looper.getMainLooper().getThread(), asset.getCreationThread());
+    assertTrue("Busy for " + busyMs + " ms", busyMs < MAX_BUSY_MS);
+  }
+
+  @Test
+  public void disposeDoesNotKeepPlatformThreadBusy() throws Exception {
+    long playerId = createPlatformViewPlayer();
+
+    // The player is released after the call has been replied to.
+    long busyMs = messenger.send("dispose", Collections.singletonList(playerId));
+    busyMs += runPlatformThreadUntil(asset::isReleased);
+
+    assertTrue("Busy for " + busyMs + " ms", busyMs < MAX_BUSY_MS);
+  }
+
+  @Test
+  public void initializeDoesNotKeepPlatformThreadBusy() throws Exception {
+    createPlatformViewPlayer();
+
+    // Initializing disposes of the existing players.
+    long busyMs = messenger.send("initialize", null);
+    busyMs += runPlatformThreadUntil(asset::isReleased);
+
+    assertTrue("Busy for " + busyMs + " ms", busyMs < MAX_BUSY_MS);
+  }
+
+  @Test
+  public void instanceCallsDoNotWaitOnPlatformThreadForBusyPlaybackThread() throws Exception {
+    long playerId = createPlatformViewPlayer();
+    // Players share the default playback thread, which is then busy building the second one.
+    messenger.send("createForTextureView", Collections.singletonList(creationOptions()));
+    runPlatformThreadUntil(() -> asset.getCreationCount() == 2);
+
+    long busyMs = messenger.sendToPlayer(playerId, "setVolume", Collections.singletonList(0.5));
+
+    assertTrue("Busy for " + busyMs + " ms", busyMs < MAX_BUSY_MS);
+  }
+
+  /**
+   * Runs the tasks posted to the platform thread, which is the test thread, until {@code condition}
+   * holds.
+   *
+   * @return how long the platform thread was busy running tasks, in milliseconds.
+   */
+  private static long runPlatformThreadUntil(@NonNull BooleanSupplier condition)
+      throws InterruptedException {
+    ShadowLooper mainLooper = shadowOf(Looper.getMainLooper());
+    long deadlineNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS);
+    long busyNs = 0;
+    boolean done = false;
+    while (true) {
+      long startNs = System.nanoTime();
+      mainLooper.idle();
+      busyNs += System.nanoTime() - startNs;
+      // Tasks posted while the condition became true are run once more.
+      if (done) {
+        return TimeUnit.NANOSECONDS.toMillis(busyNs);
+      }
+      done = condition.getAsBoolean();
+      assertTrue("Timed out", System.nanoTime() < deadlineNs);
+      Thread.sleep(1);
+    }
+  }
+
+  /**
+   * Delivers messages like the engine does: handlers registered with a task queue run on a
+   * background thread, and the others on the calling thread, which stands for the platform thread.
+   */
+  private static final class FakeBinaryMessenger implements BinaryMessenger {
+    private final Map<String, BinaryMessageHandler> handlers = new HashMap<>();
+    private final Map<String, TaskQueue> taskQueues = new HashMap<>();
+    private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicReference<Object> lastResult = new AtomicReference<>();
+
+    /**
+     * Sends a message to a method of the API and waits for its reply, running the tasks the call
+     * posts to the platform thread meanwhile.
+     *
+     * @return how long the platform thread was busy delivering the message, in milliseconds.
+     */
+    long send(@NonNull String method, @Nullable List<Object> args) throws Exception {
+      return send(CHANNEL_PREFIX + method, AndroidVideoPlayerApi.Companion.getCodec(), args);
+    }
+
+    /** Sends a message to a method of the API of a player, like {@link #send(String, List)}. */
+    long sendToPlayer(long playerId, @NonNull String method, @Nullable List<Object> args)
+        throws Exception {
+      return send(
+          INSTANCE_CHANNEL_PREFIX + method + "." + playerId,
+          VideoPlayerInstanceApi.Companion.getCodec(),
+          args);
+    }
+
+    private long send(
+        @NonNull String channel, @NonNull MessageCodec<Object> codec, @Nullable List<Object> args)
+        throws Exception {
+      BinaryMessageHandler handler = handlers.get(channel);
+      assertNotNull("No handler for " + channel, handler);
+      ByteBuffer message = codec.encodeMessage(args);
+      if (message != null) {
+        message.flip();
+      }
+      AtomicReference<ByteBuffer> reply = new AtomicReference<>();
+      BinaryReply binaryReply = reply::set;
+
+      long busyMs = 0;
+      if (taskQueues.get(channel) != null) {
+        Future<?> call = backgroundExecutor.submit(() -> handler.onMessage(message, binaryReply));
+        busyMs += runPlatformThreadUntil(call::isDone);
+      } else {
+        long startNs = System.nanoTime();
+        handler.onMessage(message, binaryReply);
+        busyMs += TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+      }
+
+      ByteBuffer encodedReply = reply.get();
+      assertNotNull("No reply from " + channel, encodedReply);
+      encodedReply.flip();
+      List<?> wrapped = (List<?>) codec.decodeMessage(encodedReply);
+      assertNotNull(wrapped);
+      assertEquals("Call to " + channel + " failed: " + wrapped, 1, wrapped.size());
+      lastResult.set(wrapped.get(0));
+      return busyMs;
+    }
+
+    @Nullable
+    Object getLastResult() {
+      return lastResult.get();
+    }
+
+    void release() {
+      backgroundExecutor.shutdownNow();
+    }
+
+    @NonNull
+    @Override
+    public TaskQueue makeBackgroundTaskQueue(@NonNull TaskQueueOptions options) {
+      return new TaskQueue() {};
+    }
+
+    @Override
+    public void send(@NonNull String channel, @Nullable ByteBuffer message) {}
+
+    @Override
+    public void send(
+        @NonNull String channel, @Nullable ByteBuffer message, @Nullable BinaryReply callback) {}
+
+    @Override
+    public void setMessageHandler(@NonNull String channel, @Nullable BinaryMessageHandler handler) {
+      setMessageHandler(channel, handler, null);
+    }
+
+    @Override
+    public void setMessageHandler(
+        @NonNull String channel,
+        @Nullable BinaryMessageHandler handler,
+        @Nullable TaskQueue taskQueue) {
+      handlers.put(channel, handler);
+      taskQueues.put(channel, taskQueue);
+    }
+  }
+}
@@ -0,0 +1,159 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.source.chunk.MediaChunkIterator;
+import com.google.android.exoplayer2.trackselection.TrackSelection;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.util.Clock;
+import com.google.android.exoplayer2.util.MimeTypes;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link BufferBasedTrackSelection}. */
+@RunWith(RobolectricTestRunner.class)
+public final class BufferBasedTrackSelectionTest {
+  // Selection indices: tracks are ordered from the highest bitrate to the lowest.
+  private static final int HIGH = 0;
+  private static final int MEDIUM = 1;
+  private static final int LOW = 2;
+  private static final long LOW_BANDWIDTH = 2_000_000;
+  private static final long HIGH_BANDWIDTH = 10_000_000;
+
+  private final TrackGroup trackGroup =
+      new TrackGroup(videoFormat(1_000_000), videoFormat(4_000_000), videoFormat(2_000_000));
+  private BandwidthMeter bandwidthMeter;
+  private Clock clock;
+  private long nowMs;
+
+  @Before
+  public void setUp() {
+    bandwidthMeter = mock(BandwidthMeter.class);
+    clock = mock(Clock.class);
+    when(clock.elapsedRealtime()).thenAnswer(invocation -> nowMs);
+  }
+
+  private static Format videoFormat(int bitrate) {
+    return new Format.Builder()
+        .setSampleMimeType(MimeTypes.VIDEO_H264)
+        .setAverageBitrate(bitrate)
+        .setPeakBitrate(bitrate)
+        .build();
+  }
+
+  private BufferBasedTrackSelection createSelection(AbrConfig.Strategy strategy, long bandwidth) {
+    when(bandwidthMeter.getBitrateEstimate()).thenReturn(bandwidth);
+    AbrConfig config = new AbrConfig(strategy, 10_000, 25_000, 4_000, 0.7f);
+    return new BufferBasedTrackSelection(
+        trackGroup, new int[] {0, 1, 2}, TrackSelection.TYPE_UNSET, bandwidthMeter, config, clock);
+  }
+
+  private static void update(BufferBasedTrackSelection selection, long bufferedMs) {
+    selection.updateSelectedTrack(
+        0, bufferedMs * 1000, C.TIME_UNSET, Collections.emptyList(), new MediaChunkIterator[0]);
+  }
+
+  @Test
+  public void startsFromEstimatedBandwidth() {
+    BufferBasedTrackSelection slow =
+        createSelection(AbrConfig.Strategy.BUFFER_BASED, LOW_BANDWIDTH);
+    BufferBasedTrackSelection fast =
+        createSelection(AbrConfig.Strategy.BUFFER_BASED, HIGH_BANDWIDTH);
+
+    assertEquals(LOW, slow.getSelectedIndex());
+    assertEquals(HIGH, fast.getSelectedIndex());
+    assertEquals(C.SELECTION_REASON_INITIAL, fast.getSelectionReason());
+  }
+
+  @Test
+  public void switchesUpAsBufferFills() {
+    BufferBasedTrackSelection selection =
+        createSelection(AbrConfig.Strategy.BUFFER_BASED, LOW_BANDWIDTH);
+
+    nowMs += 5_000;
+    update(selection, 15_000);
+    assertEquals(MEDIUM, selection.getSelectedIndex());
+    assertEquals(C.SELECTION_REASON_ADAPTIVE, selection.getSelectionReason());
+
+    nowMs += 5_000;
+    update(selection, 22_000);
+    assertEquals(HIGH, selection.getSelectedIndex());
+  }
+
+  @Test
+  public void keepsLowestBitrateWhileBufferIsLow() {
+    BufferBasedTrackSelection selection =
+        createSelection(AbrConfig.Strategy.BUFFER_BASED, HIGH_BANDWIDTH);
+    nowMs += 5_000;
+    update(selection, 3_000);
+    assertEquals(LOW, selection.getSelectedIndex());
+
+    // Even with a high bandwidth estimate, a nearly empty buffer keeps the lowest bitrate.
+    nowMs += 5_000;
+    update(selection, 8_000);
+    assertEquals(LOW, selection.getSelectedIndex());
+  }
+
+  @Test
+  public void upSwitchesWaitForHysteresis() {
+    BufferBasedTrackSelection selection =
+        createSelection(AbrConfig.Strategy.BUFFER_BASED, LOW_BANDWIDTH);
+
+    update(selection, 22_000);
+    assertEquals(LOW, selection.getSelectedIndex());
+
+    nowMs += 4_000;
+    update(selection, 22_000);
+    assertEquals(HIGH, selection.getSelectedIndex());
+  }
+
+  @Test
+  public void downSwitchesWaitForHysteresisUnlessBufferRunsLow() {
+    BufferBasedTrackSelection selection =
+        createSelection(AbrConfig.Strategy.BUFFER_BASED, HIGH_BANDWIDTH);
+    nowMs += 5_000;
+    update(selection, 15_000);
+    assertEquals(MEDIUM, selection.getSelectedIndex());
+
+    update(selection, 12_000);
+    assertEquals(MEDIUM, selection.getSelectedIndex());
+
+    update(selection, 3_000);
+    assertEquals(LOW, selection.getSelectedIndex());
+  }
+
+  @Test
+  public void hybridIsCappedByBandwidthUntilBufferIsFull() {
+    BufferBasedTrackSelection selection = createSelection(AbrConfig.Strategy.HYBRID, LOW_BANDWIDTH);
+
+    nowMs += 5_000;
+    update(selection, 22_000);
+    assertEquals(LOW, selection.getSelectedIndex());
+
+    update(selection, 26_000);
+    assertEquals(HIGH, selection.getSelectedIndex());
+  }
+
+  @Test
+  public void leavesExcludedTrackImmediately() {
+    BufferBasedTrackSelection selection =
+        createSelection(AbrConfig.Strategy.BUFFER_BASED, HIGH_BANDWIDTH);
+
+    selection.excludeTrack(HIGH, 60_000);
+    update(selection, 22_000);
+
+    assertEquals(MEDIUM, selection.getSelectedIndex());
+  }
+}
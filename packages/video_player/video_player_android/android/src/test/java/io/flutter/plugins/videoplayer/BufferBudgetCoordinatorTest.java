@@ -0,0 +1,148 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.ComponentCallbacks2;
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.upstream.Allocator;
+import com.google.android.exoplayer2.util.Clock;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link BufferBudgetCoordinator}. */
+@RunWith(RobolectricTestRunner.class)
+public final class BufferBudgetCoordinatorTest {
+  private static final long BUDGET_BYTES = 64L * 1024 * 1024;
+
+  private BufferBudgetCoordinator coordinator;
+  private long nowMs;
+
+  @Before
+  public void setUp() {
+    Clock clock = mock(Clock.class);
+    when(clock.elapsedRealtime()).thenAnswer(invocation -> nowMs);
+    coordinator = new BufferBudgetCoordinator(BUDGET_BYTES, clock);
+  }
+
+  private BufferBudgetCoordinator.BudgetedLoadControl createLoadControl(Allocator allocator) {
+    LoadControl delegate = mock(LoadControl.class);
+    when(delegate.getAllocator()).thenReturn(allocator);
+    when(delegate.shouldContinueLoading(anyLong(), anyLong(), anyFloat())).thenReturn(true);
+    when(delegate.shouldStartPlayback(anyLong(), anyFloat(), anyBoolean(), anyLong()))
+        .thenReturn(false);
+    return coordinator.createLoadControl(delegate);
+  }
+
+  private BufferBudgetCoordinator.BudgetedLoadControl createLoadControl() {
+    return createLoadControl(mock(Allocator.class));
+  }
+
+  @Test
+  public void givesTheLargestShareToTheVisiblePlayingPlayer() {
+    BufferBudgetCoordinator.BudgetedLoadControl foreground = createLoadControl();
+    BufferBudgetCoordinator.BudgetedLoadControl visible = createLoadControl();
+    BufferBudgetCoordinator.BudgetedLoadControl hidden = createLoadControl();
+    BufferBudgetCoordinator.BudgetedLoadControl suspended = createLoadControl();
+
+    foreground.setPlaying(true);
+    hidden.setVisible(false);
+    suspended.setActive(false);
+
+    // Weighted 4:2:1, the suspended player has no share.
+    assertEquals(BUDGET_BYTES * 4 / 7, coordinator.getTargetBufferBytes(foreground));
+    assertEquals(BUDGET_BYTES * 2 / 7, coordinator.getTargetBufferBytes(visible));
+    assertEquals(BUDGET_BYTES / 7, coordinator.getTargetBufferBytes(hidden));
+    assertEquals(
+        BufferBudgetCoordinator.MIN_PLAYER_BUFFER_BYTES,
+        coordinator.getTargetBufferBytes(suspended));
+  }
+
+  @Test
+  public void releasedPlayersLeaveTheirShareToOthers() {
+    BufferBudgetCoordinator.BudgetedLoadControl first = createLoadControl();
+    BufferBudgetCoordinator.BudgetedLoadControl second = createLoadControl();
+    assertEquals(BUDGET_BYTES / 2, coordinator.getTargetBufferBytes(first));
+
+    second.onReleased();
+
+    assertEquals(BUDGET_BYTES, coordinator.getTargetBufferBytes(first));
+  }
+
+  @Test
+  public void neverGoesBelowMinimumShare() {
+    coordinator.setBudgetBytes(BufferBudgetCoordinator.MIN_PLAYER_BUFFER_BYTES);
+    BufferBudgetCoordinator.BudgetedLoadControl first = createLoadControl();
+    createLoadControl();
+
+    assertEquals(
+        BufferBudgetCoordinator.MIN_PLAYER_BUFFER_BYTES, coordinator.getTargetBufferBytes(first));
+  }
+
+  @Test
+  public void stopsLoadingAndStartsPlaybackOnceShareIsFilled() {
+    Allocator allocator = mock(Allocator.class);
+    BufferBudgetCoordinator.BudgetedLoadControl loadControl = createLoadControl(allocator);
+
+    when(allocator.getTotalBytesAllocated()).thenReturn((int) BUDGET_BYTES - 1);
+    assertTrue(loadControl.shouldContinueLoading(0, 0, 1f));
+    assertFalse(loadControl.shouldStartPlayback(0, 1f, false, 0));
+
+    when(allocator.getTotalBytesAllocated()).thenReturn((int) BUDGET_BYTES);
+    assertFalse(loadControl.shouldContinueLoading(0, 0, 1f));
+    assertTrue(loadControl.shouldStartPlayback(0, 1f, false, 0));
+  }
+
+  @Test
+  public void shrinksBudgetUnderMemoryPressureUntilRestored() {
+    Allocator allocator = mock(Allocator.class);
+    BufferBudgetCoordinator.BudgetedLoadControl loadControl = createLoadControl(allocator);
+
+    coordinator.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+    assertEquals(BUDGET_BYTES, coordinator.getTargetBufferBytes(loadControl));
+
+    coordinator.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+    assertEquals(BUDGET_BYTES / 2, coordinator.getTargetBufferBytes(loadControl));
+    verify(allocator, never()).trim();
+
+    // A milder level doesn't grow the budget back while memory is low.
+    coordinator.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+    assertEquals(BUDGET_BYTES / 2, coordinator.getTargetBufferBytes(loadControl));
+
+    nowMs += BufferBudgetCoordinator.RESTORE_AFTER_MS;
+    assertEquals(BUDGET_BYTES, coordinator.getTargetBufferBytes(loadControl));
+  }
+
+  @Test
+  public void trimsTheAllocatorsOfEveryPlayer() {
+    Allocator first = mock(Allocator.class);
+    Allocator second = mock(Allocator.class);
+    createLoadControl(first);
+    createLoadControl(second);
+
+    assertEquals(2, coordinator.trimAllocators());
+
+    verify(first).trim();
+    verify(second).trim();
+  }
+
+  @Test
+  public void rejectsInvalidBudget() {
+    assertThrows(IllegalArgumentException.class, () -> coordinator.setBudgetBytes(0));
+  }
+}
@@ -0,0 +1,72 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link DeferredInstanceApi}. */
+@RunWith(RobolectricTestRunner.class)
+public final class DeferredInstanceApiTest {
+  private VideoPlayerInstanceApi mockApi;
+  private DeferredInstanceApi deferredApi;
+
+  @Before
+  public void setUp() {
+    mockApi = mock(VideoPlayerInstanceApi.class);
+    deferredApi = new DeferredInstanceApi();
+  }
+
+  @Test
+  public void replaysQueuedCallsInOrderOncePlayerIsCreated() {
+    VideoPlayerInstanceApi api = deferredApi.getApi();
+    api.setLooping(true);
+    api.setVolume(0.5);
+    api.play();
+    verify(mockApi, never()).play();
+
+    deferredApi.setApi(mockApi);
+
+    InOrder inOrder = inOrder(mockApi);
+    inOrder.verify(mockApi).setLooping(true);
+    inOrder.verify(mockApi).setVolume(0.5);
+    inOrder.verify(mockApi).play();
+  }
+
+  @Test
+  public void forwardsCallsOncePlayerIsCreated() {
+    when(mockApi.getCurrentPosition()).thenReturn(1234L);
+    deferredApi.setApi(mockApi);
+
+    deferredApi.getApi().pause();
+
+    verify(mockApi).pause();
+    assertEquals(1234L, deferredApi.getApi().getCurrentPosition());
+  }
+
+  @Test
+  public void failsCallsReturningValuesWhilePlayerIsCreated() {
+    assertThrows(IllegalStateException.class, () -> deferredApi.getApi().getCurrentPosition());
+  }
+
+  @Test
+  public void failsCallsOnceCreationFailed() {
+    deferredApi.getApi().play();
+    deferredApi.setCreationError(new IllegalStateException("no decoder"));
+
+    assertThrows(IllegalStateException.class, () -> deferredApi.getApi().pause());
+  }
+}
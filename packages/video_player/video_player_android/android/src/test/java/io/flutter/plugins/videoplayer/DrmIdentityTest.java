@@ -0,0 +1,51 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link DrmIdentity}. */
+@RunWith(RobolectricTestRunner.class)
+public final class DrmIdentityTest {
+  @Test
+  public void readsIdentityFromConfiguration() {
+    Map<String, String> configuration = new HashMap<>();
+    configuration.put("merchantId", "merchant");
+    configuration.put("appId", "app");
+    configuration.put("userId", "user");
+    configuration.put("sessionId", "session");
+    configuration.put("licenseServerUrl", "https://license.example.com");
+
+    DrmIdentity identity = DrmIdentity.fromConfiguration(configuration);
+
+    assertEquals(new DrmIdentity("merchant", "app", "user", "session"), identity);
+  }
+
+  @Test
+  public void missingValuesAreEmpty() {
+    DrmIdentity identity = DrmIdentity.fromConfiguration(new HashMap<>());
+
+    assertEquals(new DrmIdentity("", "", "", ""), identity);
+  }
+
+  @Test
+  public void addsIdentityToCustomData() throws Exception {
+    JSONObject customData = new JSONObject();
+
+    new DrmIdentity("merchant", "app", "user", "session").addTo(customData);
+
+    assertEquals("merchant", customData.getString("merchantId"));
+    assertEquals("app", customData.getString("appId"));
+    assertEquals("user", customData.getString("userId"));
+    assertEquals("session", customData.getString("sessionId"));
+  }
+}
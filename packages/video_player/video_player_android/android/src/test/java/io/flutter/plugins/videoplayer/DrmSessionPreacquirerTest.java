@@ -0,0 +1,140 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+import android.os.Looper;
+import android.util.Base64;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.Timeline;
+import com.google.android.exoplayer2.drm.DrmInitData;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.extractor.mp4.PsshAtomUtil;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifestParser;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMultivariantPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsPlaylistParser;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link DrmSessionPreacquirer}. */
+@RunWith(RobolectricTestRunner.class)
+public final class DrmSessionPreacquirerTest {
+  private static final String MULTIVARIANT_PLAYLIST =
+      "#EXTM3U\n"
+          + "#EXT-X-SESSION-KEY:METHOD=SAMPLE-AES-CTR,KEYFORMAT=\"com.widevine\","
+          + "URI=\"skd://key-1\"\n"
+          + "#EXT-X-SESSION-KEY:METHOD=AES-128,URI=\"https://example.com/aes.key\"\n"
+          + "#EXT-X-STREAM-INF:BANDWIDTH=1280000,RESOLUTION=1280x720\n"
+          + "video/720p.m3u8\n";
+
+  private static String dashManifest(String contentProtection) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<MPD xmlns=\"urn:mpeg:dash:schema:mpd:2011\" xmlns:cenc=\"urn:mpeg:cenc:2013\""
+        + " type=\"static\" mediaPresentationDuration=\"PT2M\" minBufferTime=\"PT2S\">\n"
+        + "  <Period id=\"0\" start=\"PT0S\">\n"
+        + "    <AdaptationSet id=\"1\" contentType=\"video\" mimeType=\"video/mp4\">\n"
+        + contentProtection
+        + "      <SegmentTemplate media=\"video_$Number$.m4s\" duration=\"2\"/>\n"
+        + "      <Representation id=\"low\" bandwidth=\"400000\" width=\"640\" height=\"360\"/>\n"
+        + "      <Representation id=\"high\" bandwidth=\"1600000\" width=\"1280\""
+        + " height=\"720\"/>\n"
+        + "    </AdaptationSet>\n"
+        + "  </Period>\n"
+        + "</MPD>\n";
+  }
+
+  private static String widevineContentProtection(boolean withPssh) {
+    String pssh =
+        Base64.encodeToString(
+            PsshAtomUtil.buildPsshAtom(C.WIDEVINE_UUID, new byte[] {1, 2, 3}), Base64.NO_WRAP);
+    return "      <ContentProtection"
+        + " schemeIdUri=\"urn:uuid:edef8ba9-79d6-4ace-a3c8-27dcd51d21ed\">\n"
+        + (withPssh ? "        <cenc:pssh>" + pssh + "</cenc:pssh>\n" : "")
+        + "      </ContentProtection>\n";
+  }
+
+  private static DashManifest parseDashManifest(String manifest) throws IOException {
+    return new DashManifestParser()
+        .parse(
+            Uri.parse("https://example.com/video/manifest.mpd"),
+            new ByteArrayInputStream(manifest.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void readsWidevineHlsSessionKeys() throws IOException {
+    HlsMultivariantPlaylist playlist =
+        (HlsMultivariantPlaylist)
+            new HlsPlaylistParser()
+                .parse(
+                    Uri.parse("https://example.com/master.m3u8"),
+                    new ByteArrayInputStream(
+                        MULTIVARIANT_PLAYLIST.getBytes(StandardCharsets.UTF_8)));
+
+    Set<DrmInitData> initData = DrmSessionPreacquirer.getWidevineInitData(playlist);
+
+    // The AES-128 key is not one a DRM session is opened for.
+    assertEquals(1, initData.size());
+    DrmInitData.SchemeData schemeData = initData.iterator().next().get(0);
+    assertTrue(schemeData.matches(C.WIDEVINE_UUID));
+  }
+
+  @Test
+  public void readsDashManifestPsshOncePerKey() throws IOException {
+    DashManifest manifest = parseDashManifest(dashManifest(widevineContentProtection(true)));
+
+    Set<DrmInitData> initData = DrmSessionPreacquirer.getWidevineInitData(manifest);
+
+    // Both representations share the key of their adaptation set.
+    assertEquals(1, initData.size());
+  }
+
+  @Test
+  public void ignoresDashContentProtectionWithoutPssh() throws IOException {
+    DashManifest manifest = parseDashManifest(dashManifest(widevineContentProtection(false)));
+
+    assertTrue(DrmSessionPreacquirer.getWidevineInitData(manifest).isEmpty());
+  }
+
+  @Test
+  public void preacquiresSessionsOncePerManifest() throws IOException {
+    DashManifest manifest = parseDashManifest(dashManifest(widevineContentProtection(true)));
+    ExoPlayer exoPlayer = mock(ExoPlayer.class);
+    when(exoPlayer.getApplicationLooper()).thenReturn(Looper.getMainLooper());
+    when(exoPlayer.getCurrentManifest()).thenReturn(manifest);
+    DrmSessionManager drmSessionManager = mock(DrmSessionManager.class);
+    DrmSessionManager.DrmSessionReference reference =
+        mock(DrmSessionManager.DrmSessionReference.class);
+    when(drmSessionManager.preacquireSession(isNull(), any(Format.class))).thenReturn(reference);
+
+    DrmSessionPreacquirer preacquirer = new DrmSessionPreacquirer(exoPlayer, drmSessionManager);
+    verify(exoPlayer).addListener(preacquirer);
+    verify(drmSessionManager).preacquireSession(isNull(), any(Format.class));
+
+    preacquirer.onTimelineChanged(Timeline.EMPTY, Player.TIMELINE_CHANGE_REASON_SOURCE_UPDATE);
+    verify(drmSessionManager, times(1)).preacquireSession(isNull(), any(Format.class));
+
+    preacquirer.release();
+    verify(reference).release();
+    verify(exoPlayer).removeListener(preacquirer);
+  }
+}
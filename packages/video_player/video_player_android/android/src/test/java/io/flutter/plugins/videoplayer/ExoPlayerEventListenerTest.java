@@ -4,14 +4,25 @@
 
 package io.flutter.plugins.videoplayer;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Format;
 import com.google.android.exoplayer2.PlaybackException;
 import com.google.android.exoplayer2.Player;
 import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.Tracks;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.util.MimeTypes;
+import com.google.common.collect.ImmutableList;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -112,4 +123,57 @@ public final class ExoPlayerEventListenerTest {
     eventListener.onIsPlayingChanged(false);
     verify(mockCallbacks).onIsPlayingStateUpdate(false);
   }
+
+  @Test
+  public void onMediaItemTransitionSendsCurrentIndex() {
+    when(mockExoPlayer.getCurrentMediaItemIndex()).thenReturn(2);
+
+    eventListener.onMediaItemTransition(null, Player.MEDIA_ITEM_TRANSITION_REASON_AUTO);
+
+    verify(mockCallbacks).onMediaItemTransition(2);
+  }
+
+  @Test
+  public void onTracksChangedSendsInitializedFromSelectedVideoTracks() {
+    when(mockExoPlayer.getDuration()).thenReturn(60000L);
+    eventListener.setInitializeFromTracks(true);
+    TrackGroup videoGroup =
+        new TrackGroup(videoFormat(640, 360), videoFormat(1280, 720), videoFormat(1920, 1080));
+    Tracks tracks =
+        new Tracks(
+            ImmutableList.of(
+                new Tracks.Group(
+                    videoGroup,
+                    /* adaptiveSupported= */ true,
+                    new int[] {C.FORMAT_HANDLED, C.FORMAT_HANDLED, C.FORMAT_HANDLED},
+                    new boolean[] {true, true, false})));
+
+    eventListener.onTracksChanged(tracks);
+    eventListener.onPlaybackStateChanged(Player.STATE_READY);
+
+    verify(mockCallbacks).onInitialized(1280, 720, 60000L, 0);
+    assertFalse(eventListener.calledSendInitialized());
+  }
+
+  @Test
+  public void onTracksChangedDoesNotSendInitializedByDefault() {
+    eventListener.onTracksChanged(
+        new Tracks(
+            ImmutableList.of(
+                new Tracks.Group(
+                    new TrackGroup(videoFormat(1280, 720)),
+                    /* adaptiveSupported= */ false,
+                    new int[] {C.FORMAT_HANDLED},
+                    new boolean[] {true}))));
+
+    verify(mockCallbacks, never()).onInitialized(anyInt(), anyInt(), anyLong(), anyInt());
+  }
+
+  private static Format videoFormat(int width, int height) {
+    return new Format.Builder()
+        .setSampleMimeType(MimeTypes.VIDEO_H264)
+        .setWidth(width)
+        .setHeight(height)
+        .build();
+  }
 }
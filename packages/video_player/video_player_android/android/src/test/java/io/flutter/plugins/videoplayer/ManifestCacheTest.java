@@ -0,0 +1,170 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.util.Clock;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link ManifestCache}. */
+@RunWith(RobolectricTestRunner.class)
+public final class ManifestCacheTest {
+  static final String VOD_MPD =
+      "<?xml version=\"1.0\"?><MPD type=\"static\" mediaPresentationDuration=\"PT60S\"></MPD>";
+  private static final String LIVE_MPD =
+      "<?xml version=\"1.0\"?><MPD type=\"dynamic\" minimumUpdatePeriod=\"PT2S\"></MPD>";
+  private static final String MULTIVARIANT_PLAYLIST =
+      "#EXTM3U\n#EXT-X-STREAM-INF:BANDWIDTH=800000\nlow.m3u8\n";
+  private static final String LIVE_MEDIA_PLAYLIST =
+      "#EXTM3U\n#EXT-X-TARGETDURATION:6\n#EXTINF:6,\nsegment1.ts\n";
+  private static final String KEY = "https://example.com/video.mpd";
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+  private File directory;
+  private Clock clock;
+  private long nowMs;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = folder.newFolder();
+    clock = mock(Clock.class);
+    when(clock.currentTimeMillis()).thenAnswer(invocation -> nowMs);
+  }
+
+  private ManifestCache createCache() {
+    return new ManifestCache(directory, clock, Runnable::run);
+  }
+
+  private static byte[] bytes(String manifest) {
+    return manifest.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static Map<String, List<String>> validators(String etag) {
+    Map<String, List<String>> headers = new HashMap<>();
+    headers.put("etag", Collections.singletonList(etag));
+    headers.put("Last-Modified", Collections.singletonList("Wed, 21 Oct 2015 07:28:00 GMT"));
+    return headers;
+  }
+
+  @Test
+  public void onDemandManifestsDoNotExpire() {
+    assertEquals(C.TIME_UNSET, ManifestCache.getMaxAgeMs(bytes(VOD_MPD)));
+    assertEquals(C.TIME_UNSET, ManifestCache.getMaxAgeMs(bytes(MULTIVARIANT_PLAYLIST)));
+    assertEquals(
+        C.TIME_UNSET, ManifestCache.getMaxAgeMs(bytes(LIVE_MEDIA_PLAYLIST + "#EXT-X-ENDLIST\n")));
+  }
+
+  @Test
+  public void liveManifestsExpireWithTheirRefreshInterval() {
+    assertEquals(2000, ManifestCache.getMaxAgeMs(bytes(LIVE_MPD)));
+    assertEquals(3000, ManifestCache.getMaxAgeMs(bytes(LIVE_MEDIA_PLAYLIST)));
+    assertEquals(0, ManifestCache.getMaxAgeMs(bytes("<MPD type=\"dynamic\"></MPD>")));
+    assertEquals(0, ManifestCache.getMaxAgeMs(bytes("not a manifest")));
+  }
+
+  @Test
+  public void keepsValidators() {
+    ManifestCache cache = createCache();
+
+    assertTrue(cache.put(KEY, bytes(VOD_MPD), KEY, validators("\"v1\"")));
+
+    ManifestCache.Entry entry = cache.get(KEY);
+    assertNotNull(entry);
+    assertArrayEquals(bytes(VOD_MPD), entry.body);
+    assertEquals("\"v1\"", entry.etag);
+    assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", entry.lastModified);
+  }
+
+  @Test
+  public void readsManifestsCachedByAnotherInstance() {
+    createCache().put(KEY, bytes(VOD_MPD), "https://cdn.example.com/video.mpd", validators("a"));
+
+    ManifestCache.Entry entry = createCache().get(KEY);
+
+    assertNotNull(entry);
+    assertArrayEquals(bytes(VOD_MPD), entry.body);
+    assertEquals("https://cdn.example.com/video.mpd", entry.uri);
+  }
+
+  @Test
+  public void trimmingMemoryKeepsManifestsOnDisk() {
+    ManifestCache cache = createCache();
+    cache.put(KEY, bytes(VOD_MPD), KEY, validators("\"v1\""));
+
+    assertTrue(cache.trimMemory());
+    assertFalse(cache.trimMemory());
+
+    ManifestCache.Entry entry = cache.get(KEY);
+    assertNotNull(entry);
+    assertArrayEquals(bytes(VOD_MPD), entry.body);
+  }
+
+  @Test
+  public void dropsLiveManifestsAfterTheirRefreshInterval() {
+    ManifestCache cache = createCache();
+    cache.put(KEY, bytes(LIVE_MPD), KEY, Collections.emptyMap());
+
+    nowMs += 1999;
+    assertNotNull(cache.get(KEY));
+
+    nowMs += 1;
+    assertNull(cache.get(KEY));
+    assertNull(createCache().get(KEY));
+  }
+
+  @Test
+  public void doesNotKeepNoStoreResponses() {
+    ManifestCache cache = createCache();
+
+    boolean cached =
+        cache.put(
+            KEY,
+            bytes(VOD_MPD),
+            KEY,
+            Collections.singletonMap("Cache-Control", Collections.singletonList("no-store")));
+
+    assertFalse(cached);
+    assertNull(cache.get(KEY));
+  }
+
+  @Test
+  public void revalidatesOnDemandManifestsOnceDue() {
+    ManifestCache cache = createCache();
+    cache.put(KEY, bytes(VOD_MPD), KEY, validators("a"));
+    ManifestCache.Entry entry = cache.get(KEY);
+
+    assertFalse(cache.startRevalidation(KEY, entry));
+
+    nowMs += ManifestCache.REVALIDATE_AFTER_MS;
+    assertTrue(cache.startRevalidation(KEY, entry));
+    // Only one revalidation runs at a time.
+    assertFalse(cache.startRevalidation(KEY, entry));
+
+    cache.markValidated(KEY);
+    cache.finishRevalidation(KEY);
+    assertFalse(cache.startRevalidation(KEY, cache.get(KEY)));
+  }
+}
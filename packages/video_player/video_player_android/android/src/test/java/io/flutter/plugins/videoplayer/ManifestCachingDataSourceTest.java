@@ -0,0 +1,178 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.HttpDataSource;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.util.Clock;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link ManifestCachingDataSource}. */
+@RunWith(RobolectricTestRunner.class)
+public final class ManifestCachingDataSourceTest {
+  private static final Uri MANIFEST_URI = Uri.parse("https://example.com/video.mpd");
+  private static final Uri SEGMENT_URI = Uri.parse("https://example.com/segment1.m4s");
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+  private final List<DataSpec> requests = new ArrayList<>();
+  private final List<Runnable> revalidations = new ArrayList<>();
+  private ManifestCache cache;
+  private long nowMs;
+  private boolean notModified;
+
+  @Before
+  public void setUp() throws IOException {
+    Clock clock = mock(Clock.class);
+    when(clock.currentTimeMillis()).thenAnswer(invocation -> nowMs);
+    cache = new ManifestCache(folder.newFolder(), clock, revalidations::add);
+  }
+
+  /** Serves the on-demand manifest for every request, or a 304 once {@link #notModified} is set. */
+  private final class FakeHttpDataSource implements DataSource {
+    @Nullable private DataSpec dataSpec;
+    private int position;
+
+    @Override
+    public void addTransferListener(@NonNull TransferListener transferListener) {}
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      requests.add(dataSpec);
+      if (notModified && !dataSpec.httpRequestHeaders.isEmpty()) {
+        throw new HttpDataSource.InvalidResponseCodeException(
+            HttpURLConnection.HTTP_NOT_MODIFIED,
+            "Not Modified",
+            null,
+            Collections.emptyMap(),
+            dataSpec,
+            new byte[0]);
+      }
+      this.dataSpec = dataSpec;
+      position = 0;
+      return ManifestCacheTest.VOD_MPD.length();
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) {
+      byte[] body = ManifestCacheTest.VOD_MPD.getBytes(StandardCharsets.UTF_8);
+      if (position == body.length) {
+        return C.RESULT_END_OF_INPUT;
+      }
+      int bytesRead = Math.min(length, body.length - position);
+      System.arraycopy(body, position, buffer, offset, bytesRead);
+      position += bytesRead;
+      return bytesRead;
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+      return dataSpec != null ? dataSpec.uri : null;
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return Collections.singletonMap("ETag", Collections.singletonList("\"v1\""));
+    }
+
+    @Override
+    public void close() {
+      dataSpec = null;
+    }
+  }
+
+  private DataSource createDataSource() {
+    return createDataSource("");
+  }
+
+  private DataSource createDataSource(String requestIdentity) {
+    return new ManifestCachingDataSource.Factory(
+            cache, FakeHttpDataSource::new, MANIFEST_URI, requestIdentity)
+        .createDataSource();
+  }
+
+  private static byte[] readAll(DataSource dataSource, Uri uri) throws IOException {
+    dataSource.open(new DataSpec(uri));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[16];
+    int bytesRead;
+    while ((bytesRead = dataSource.read(buffer, 0, buffer.length)) != C.RESULT_END_OF_INPUT) {
+      output.write(buffer, 0, bytesRead);
+    }
+    dataSource.close();
+    return output.toByteArray();
+  }
+
+  @Test
+  public void servesCachedManifestWithoutRequest() throws IOException {
+    byte[] first = readAll(createDataSource(), MANIFEST_URI);
+    byte[] second = readAll(createDataSource(), MANIFEST_URI);
+
+    assertArrayEquals(first, second);
+    assertEquals(1, requests.size());
+  }
+
+  @Test
+  public void doesNotServeManifestsAcrossRequestIdentities() throws IOException {
+    readAll(createDataSource("first"), MANIFEST_URI);
+    readAll(createDataSource("second"), MANIFEST_URI);
+    readAll(createDataSource(), MANIFEST_URI);
+    readAll(createDataSource("first"), MANIFEST_URI);
+
+    assertEquals(3, requests.size());
+  }
+
+  @Test
+  public void doesNotCacheSegments() throws IOException {
+    readAll(createDataSource(), SEGMENT_URI);
+    readAll(createDataSource(), SEGMENT_URI);
+
+    assertEquals(2, requests.size());
+  }
+
+  @Test
+  public void revalidatesWithValidatorsInBackground() throws IOException {
+    readAll(createDataSource(), MANIFEST_URI);
+    nowMs += ManifestCache.REVALIDATE_AFTER_MS;
+    notModified = true;
+
+    readAll(createDataSource(), MANIFEST_URI);
+    assertEquals(1, requests.size());
+    assertEquals(1, revalidations.size());
+
+    revalidations.get(0).run();
+    assertEquals(2, requests.size());
+    assertEquals("\"v1\"", requests.get(1).httpRequestHeaders.get("If-None-Match"));
+
+    // The manifest was found unchanged, so it is not revalidated again right away.
+    readAll(createDataSource(), MANIFEST_URI);
+    assertEquals(1, revalidations.size());
+  }
+}
@@ -0,0 +1,165 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import android.content.ComponentCallbacks2;
+import androidx.annotation.NonNull;
+import com.google.android.exoplayer2.util.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link MemoryPressureResponder}. */
+@RunWith(RobolectricTestRunner.class)
+public final class MemoryPressureResponderTest {
+  private final List<PlatformMemoryPressureEvent> events = new ArrayList<>();
+  private VideoPlayerManager playerManager;
+  private MemoryPressureResponder responder;
+
+  @Before
+  public void setUp() {
+    playerManager = new VideoPlayerManager();
+    responder =
+        new MemoryPressureResponder(
+            new BufferBudgetCoordinator(
+                BufferBudgetCoordinator.DEFAULT_BUDGET_BYTES, mock(Clock.class)),
+            playerManager);
+    responder.setListener(events::add);
+  }
+
+  /** Creates a mock player that tracks its suspended state like the real one. */
+  @NonNull
+  private static VideoPlayer createPlayer(boolean paused) {
+    VideoPlayer player = Mockito.mock(VideoPlayer.class);
+    final boolean[] suspended = {false};
+    Mockito.doAnswer(invocation -> suspended[0] = true).when(player).suspend();
+    Mockito.when(player.isSuspended()).thenAnswer(invocation -> suspended[0]);
+    Mockito.when(player.discardBufferIfPaused()).thenReturn(paused);
+    return player;
+  }
+
+  @Test
+  public void mapsTrimLevelsToTiers() {
+    assertEquals(
+        MemoryPressureResponder.TIER_TRIM_BUFFERS,
+        MemoryPressureResponder.getTier(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE));
+    assertEquals(
+        MemoryPressureResponder.TIER_SHRINK_PAUSED_BUFFERS,
+        MemoryPressureResponder.getTier(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW));
+    assertEquals(
+        MemoryPressureResponder.TIER_SUSPEND_HIDDEN_PLAYERS,
+        MemoryPressureResponder.getTier(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL));
+    assertEquals(
+        MemoryPressureResponder.TIER_TRIM_BUFFERS,
+        MemoryPressureResponder.getTier(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN));
+    assertEquals(
+        MemoryPressureResponder.TIER_SUSPEND_HIDDEN_PLAYERS,
+        MemoryPressureResponder.getTier(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND));
+  }
+
+  @Test
+  public void onlyTrimsBuffersWhenHidden() {
+    VideoPlayer paused = createPlayer(true);
+    playerManager.register(paused);
+    playerManager.onVisibilityChanged(paused, false);
+
+    responder.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+    assertEquals(1, events.size());
+    assertEquals(PlatformMemoryPressureAction.TRIMMED_BUFFERS, events.get(0).getAction());
+    verify(paused, never()).discardBufferIfPaused();
+    assertFalse(paused.isSuspended());
+  }
+
+  @Test
+  public void runsEveryTierInBackground() {
+    // From API 34, the background level is the only one reporting that memory is low.
+    VideoPlayer hidden = createPlayer(true);
+    playerManager.register(hidden);
+    playerManager.onVisibilityChanged(hidden, false);
+
+    responder.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+
+    assertEquals(3, events.size());
+    assertEquals(PlatformMemoryPressureAction.TRIMMED_BUFFERS, events.get(0).getAction());
+    assertEquals(PlatformMemoryPressureAction.SHRANK_PAUSED_BUFFERS, events.get(1).getAction());
+    assertEquals(PlatformMemoryPressureAction.SUSPENDED_HIDDEN_PLAYERS, events.get(2).getAction());
+    assertTrue(hidden.isSuspended());
+  }
+
+  @Test
+  public void runsEveryTierOnLowMemory() {
+    responder.onLowMemory();
+
+    assertEquals(3, events.size());
+    assertEquals(ComponentCallbacks2.TRIM_MEMORY_COMPLETE, events.get(2).getTrimLevel());
+  }
+
+  @Test
+  public void trimsThumbnailsWithBuffers() {
+    VideoPlayer withThumbnails = createPlayer(true);
+    VideoPlayer withoutThumbnails = createPlayer(true);
+    Mockito.when(withThumbnails.trimThumbnails()).thenReturn(true);
+    playerManager.register(withThumbnails);
+    playerManager.register(withoutThumbnails);
+
+    responder.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+
+    assertEquals(1, events.size());
+    assertEquals(PlatformMemoryPressureAction.TRIMMED_BUFFERS, events.get(0).getAction());
+    assertEquals(1, events.get(0).getPlayerCount());
+    verify(withThumbnails).trimThumbnails();
+    verify(withoutThumbnails).trimThumbnails();
+    verify(withThumbnails, never()).discardBufferIfPaused();
+  }
+
+  @Test
+  public void shrinksPausedPlayersWithoutSuspendingHiddenOnes() {
+    VideoPlayer paused = createPlayer(true);
+    VideoPlayer playing = createPlayer(false);
+    playerManager.register(paused);
+    playerManager.register(playing);
+    playerManager.onVisibilityChanged(paused, false);
+
+    responder.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+
+    assertEquals(2, events.size());
+    assertEquals(PlatformMemoryPressureAction.TRIMMED_BUFFERS, events.get(0).getAction());
+    assertEquals(PlatformMemoryPressureAction.SHRANK_PAUSED_BUFFERS, events.get(1).getAction());
+    assertEquals(1, events.get(1).getPlayerCount());
+    assertEquals(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW, events.get(1).getTrimLevel());
+    verify(paused).discardBufferIfPaused();
+    verify(paused, never()).suspend();
+  }
+
+  @Test
+  public void suspendsHiddenPlayersWhenCritical() {
+    VideoPlayer hidden = createPlayer(true);
+    VideoPlayer visible = createPlayer(true);
+    playerManager.register(hidden);
+    playerManager.register(visible);
+    playerManager.onVisibilityChanged(hidden, false);
+
+    responder.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL);
+
+    assertEquals(3, events.size());
+    PlatformMemoryPressureEvent event = events.get(2);
+    assertEquals(PlatformMemoryPressureAction.SUSPENDED_HIDDEN_PLAYERS, event.getAction());
+    assertEquals(1, event.getPlayerCount());
+    assertTrue(hidden.isSuspended());
+    assertFalse(visible.isSuspended());
+  }
+}
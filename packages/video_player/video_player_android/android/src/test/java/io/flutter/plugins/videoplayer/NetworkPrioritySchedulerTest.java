@@ -0,0 +1,124 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.upstream.DataSource;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link NetworkPriorityScheduler}. */
+@RunWith(RobolectricTestRunner.class)
+public final class NetworkPrioritySchedulerTest {
+  private NetworkPriorityScheduler scheduler;
+  private NetworkPriorityScheduler.LoadPriority foreground;
+  private LoadControl foregroundLoadControl;
+
+  @Before
+  public void setUp() {
+    scheduler = new NetworkPriorityScheduler();
+    foreground = scheduler.createLoadPriority();
+    foreground.setForeground(true);
+    LoadControl delegate = mock(LoadControl.class);
+    when(delegate.shouldContinueLoading(anyLong(), anyLong(), anyFloat())).thenReturn(true);
+    foregroundLoadControl = foreground.createLoadControl(delegate);
+  }
+
+  private boolean backgroundLoadsProceed() {
+    return scheduler.canProceed(NetworkPriorityScheduler.PRIORITY_BACKGROUND)
+        && scheduler.canProceed(NetworkPriorityScheduler.PRIORITY_DOWNLOAD);
+  }
+
+  @Test
+  public void holdsBackBackgroundLoadsUntilForegroundBufferRecovers() {
+    assertTrue(backgroundLoadsProceed());
+
+    foregroundLoadControl.shouldContinueLoading(0, NetworkPriorityScheduler.LOW_BUFFER_US - 1, 1f);
+    assertFalse(backgroundLoadsProceed());
+    assertTrue(scheduler.canProceed(NetworkPriorityScheduler.PRIORITY_FOREGROUND));
+
+    // Background loads stay held back until the buffer has some headroom again.
+    foregroundLoadControl.shouldContinueLoading(0, NetworkPriorityScheduler.LOW_BUFFER_US, 1f);
+    assertFalse(backgroundLoadsProceed());
+
+    foregroundLoadControl.shouldContinueLoading(
+        0, NetworkPriorityScheduler.RECOVERED_BUFFER_US, 1f);
+    assertTrue(backgroundLoadsProceed());
+  }
+
+  @Test
+  public void backgroundPlayersDoNotHoldBackOtherLoads() {
+    NetworkPriorityScheduler.LoadPriority background = scheduler.createLoadPriority();
+    LoadControl delegate = mock(LoadControl.class);
+    when(delegate.shouldContinueLoading(anyLong(), anyLong(), anyFloat())).thenReturn(true);
+
+    background.createLoadControl(delegate).shouldContinueLoading(0, 0, 1f);
+
+    assertEquals(NetworkPriorityScheduler.PRIORITY_BACKGROUND, background.getPriority());
+    assertTrue(backgroundLoadsProceed());
+  }
+
+  @Test
+  public void releasesBackgroundLoadsWhenForegroundPlayerStopsLoading() {
+    foregroundLoadControl.shouldContinueLoading(0, 0, 1f);
+    foreground.onIsLoadingChanged(false);
+    assertTrue(backgroundLoadsProceed());
+
+    foregroundLoadControl.shouldContinueLoading(0, 0, 1f);
+    foreground.setForeground(false);
+    assertTrue(backgroundLoadsProceed());
+
+    foreground.setForeground(true);
+    foregroundLoadControl.shouldContinueLoading(0, 0, 1f);
+    foregroundLoadControl.onReleased();
+    assertTrue(backgroundLoadsProceed());
+  }
+
+  @Test
+  public void heldBackDataSourceReadsOnceForegroundBufferRecovers() throws Exception {
+    DataSource upstream = mock(DataSource.class);
+    DataSource dataSource =
+        scheduler
+            .createDataSourceFactory(() -> upstream, NetworkPriorityScheduler.PRIORITY_DOWNLOAD)
+            .createDataSource();
+    foregroundLoadControl.shouldContinueLoading(0, 0, 1f);
+
+    Thread reader =
+        new Thread(
+            () -> {
+              try {
+                dataSource.read(new byte[1], 0, 1);
+              } catch (IOException e) {
+                throw new RuntimeException(e);
+              }
+            });
+    reader.start();
+    reader.join(100);
+    assertTrue(reader.isAlive());
+    verify(upstream, never()).read(any(), anyInt(), anyInt());
+
+    foregroundLoadControl.shouldContinueLoading(
+        0, NetworkPriorityScheduler.RECOVERED_BUFFER_US, 1f);
+    reader.join(1000);
+
+    assertFalse(reader.isAlive());
+    verify(upstream).read(any(), anyInt(), anyInt());
+  }
+}
@@ -0,0 +1,88 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.graphics.PixelFormat;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+import androidx.test.core.app.ApplicationProvider;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.SeekParameters;
+import io.flutter.plugins.videoplayer.platformview.PlatformVideoView;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowSurfaceView;
+
+/** Unit tests for how {@link PlatformVideoView} connects its surface on Android 9. */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public final class PlatformVideoViewSurfaceTest {
+  private ExoPlayer mockExoPlayer;
+  private ShadowSurfaceView.FakeSurfaceHolder holder;
+  private SurfaceHolder.Callback callback;
+
+  @Before
+  public void setUp() {
+    mockExoPlayer = mock(ExoPlayer.class);
+    when(mockExoPlayer.getPlaybackState()).thenReturn(Player.STATE_READY);
+    when(mockExoPlayer.getCurrentPosition()).thenReturn(5_000L);
+    when(mockExoPlayer.getSeekParameters()).thenReturn(SeekParameters.CLOSEST_SYNC);
+
+    PlatformVideoView view =
+        new PlatformVideoView(ApplicationProvider.getApplicationContext(), mockExoPlayer);
+    holder = shadowOf((SurfaceView) view.getView()).getFakeSurfaceHolder();
+    callback = holder.getCallbacks().iterator().next();
+  }
+
+  @Test
+  public void redrawsPausedPlayerOncePerSurfaceAtCurrentPosition() {
+    callback.surfaceCreated(holder);
+    callback.surfaceChanged(holder, PixelFormat.RGBA_8888, 1280, 720);
+    // A rotation changes the size of the same surface.
+    callback.surfaceChanged(holder, PixelFormat.RGBA_8888, 720, 1280);
+
+    InOrder inOrder = inOrder(mockExoPlayer);
+    inOrder.verify(mockExoPlayer).setVideoSurface(any());
+    inOrder.verify(mockExoPlayer).setSeekParameters(SeekParameters.EXACT);
+    inOrder.verify(mockExoPlayer).seekTo(5_000L);
+    inOrder.verify(mockExoPlayer).setSeekParameters(SeekParameters.CLOSEST_SYNC);
+    verify(mockExoPlayer).seekTo(anyLong());
+  }
+
+  @Test
+  public void doesNotSeekPlayingPlayer() {
+    when(mockExoPlayer.getPlayWhenReady()).thenReturn(true);
+
+    callback.surfaceCreated(holder);
+
+    verify(mockExoPlayer).setVideoSurface(any());
+    verify(mockExoPlayer, never()).seekTo(anyLong());
+  }
+
+  @Test
+  public void reconnectsRecreatedSurface() {
+    callback.surfaceCreated(holder);
+    callback.surfaceDestroyed(holder);
+    callback.surfaceCreated(holder);
+    callback.surfaceChanged(holder, PixelFormat.RGBA_8888, 1280, 720);
+
+    verify(mockExoPlayer, times(2)).setVideoSurface(any());
+  }
+}
@@ -0,0 +1,74 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.os.HandlerThread;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link PlaybackThreadInstanceApi}. */
+@RunWith(RobolectricTestRunner.class)
+public final class PlaybackThreadInstanceApiTest {
+  private HandlerThread playbackThread;
+  private VideoPlayerInstanceApi mockApi;
+  private VideoPlayerInstanceApi api;
+
+  @Before
+  public void setUp() {
+    playbackThread = new HandlerThread("PlaybackThreadInstanceApiTest");
+    playbackThread.start();
+    mockApi = mock(VideoPlayerInstanceApi.class);
+    api = PlaybackThreadInstanceApi.wrap(mockApi, playbackThread.getLooper());
+  }
+
+  @After
+  public void tearDown() {
+    playbackThread.quit();
+  }
+
+  @Test
+  public void runsCallsOnPlaybackThread() {
+    AtomicReference<Thread> callingThread = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              callingThread.set(Thread.currentThread());
+              return null;
+            })
+        .when(mockApi)
+        .play();
+
+    api.play();
+
+    assertSame(playbackThread, callingThread.get());
+  }
+
+  @Test
+  public void returnsResults() {
+    when(mockApi.getCurrentPosition()).thenReturn(1234L);
+
+    assertEquals(1234L, api.getCurrentPosition());
+  }
+
+  @Test
+  public void rethrowsExceptions() {
+    doThrow(new IllegalArgumentException("bad index")).when(mockApi).seekToItem(5);
+
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> api.seekToItem(5));
+    assertEquals("bad index", exception.getMessage());
+  }
+}
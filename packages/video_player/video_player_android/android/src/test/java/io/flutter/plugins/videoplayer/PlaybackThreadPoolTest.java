@@ -0,0 +1,76 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Looper;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link PlaybackThreadPool}. */
+@RunWith(RobolectricTestRunner.class)
+public final class PlaybackThreadPoolTest {
+  private PlaybackThreadPool pool;
+
+  @After
+  public void tearDown() {
+    if (pool != null) {
+      pool.release();
+    }
+  }
+
+  @Test
+  public void requiresAtLeastOneThread() {
+    assertThrows(IllegalArgumentException.class, () -> new PlaybackThreadPool(0));
+  }
+
+  @Test
+  public void spreadsPlayersOverThreads() {
+    pool = new PlaybackThreadPool(2);
+
+    Looper first = pool.acquireLooper();
+    Looper second = pool.acquireLooper();
+    Looper third = pool.acquireLooper();
+
+    assertNotSame(first, second);
+    assertSame(first, third);
+    assertNotEquals(Looper.getMainLooper().getThread(), first.getThread());
+    assertNotEquals(Looper.getMainLooper().getThread(), second.getThread());
+  }
+
+  @Test
+  public void reusesThreadOfReleasedPlayer() {
+    pool = new PlaybackThreadPool(2);
+    Looper first = pool.acquireLooper();
+    Looper second = pool.acquireLooper();
+    pool.acquireLooper();
+
+    pool.releaseLooper(second);
+
+    assertTrue(pool.isInUse());
+    assertSame(second, pool.acquireLooper());
+  }
+
+  @Test
+  public void isNotInUseOnceAllPlayersAreReleased() {
+    pool = new PlaybackThreadPool(1);
+    Looper looper = pool.acquireLooper();
+    assertTrue(pool.isInUse());
+
+    pool.releaseLooper(looper);
+
+    assertFalse(pool.isInUse());
+    assertEquals(1, pool.getThreadCount());
+  }
+}
@@ -0,0 +1,129 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.os.HandlerThread;
+import android.os.Looper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link PlayerReleaser}. */
+@RunWith(RobolectricTestRunner.class)
+public final class PlayerReleaserTest {
+  private static final long TIMEOUT_MS = 5000;
+
+  private HandlerThread playerThread;
+
+  @Before
+  public void setUp() {
+    playerThread = new HandlerThread("PlayerReleaserTest");
+    playerThread.start();
+  }
+
+  @After
+  public void tearDown() {
+    playerThread.quit();
+  }
+
+  @Test
+  public void releasesOnPlayerThreadThenPlatformThread() throws Exception {
+    PlayerReleaser releaser = new PlayerReleaser(1);
+    List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+
+    Future<?> release =
+        releaser.release(
+            playerThread.getLooper(),
+            () -> threads.add(Thread.currentThread()),
+            () -> threads.add(Thread.currentThread()));
+
+    // The test runs on the platform thread, so waiting runs the platform thread step.
+    assertTrue(releaser.awaitReleases(TIMEOUT_MS));
+    assertTrue(release.isDone());
+    assertEquals(2, threads.size());
+    assertSame(playerThread, threads.get(0));
+    assertSame(Looper.getMainLooper().getThread(), threads.get(1));
+    assertEquals(0, releaser.getPendingReleaseCount());
+  }
+
+  @Test
+  public void awaitingOnPlatformThreadReleasesPlatformThreadPlayers() {
+    PlayerReleaser releaser = new PlayerReleaser(2);
+    AtomicInteger releasedPlayers = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      releaser.release(Looper.getMainLooper(), releasedPlayers::incrementAndGet, () -> {});
+    }
+
+    assertTrue(releaser.awaitReleases(TIMEOUT_MS));
+    assertEquals(3, releasedPlayers.get());
+  }
+
+  @Test
+  public void releasesAtMostMaxParallelPlayersAtOnce() throws Exception {
+    PlayerReleaser releaser = new PlayerReleaser(1);
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    CountDownLatch finishFirst = new CountDownLatch(1);
+    AtomicInteger secondStarted = new AtomicInteger();
+
+    releaser.release(
+        null,
+        () -> {
+          firstStarted.countDown();
+          try {
+            finishFirst.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        },
+        () -> {});
+    releaser.release(null, secondStarted::incrementAndGet, () -> {});
+
+    assertTrue(firstStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    assertFalse(releaser.awaitReleases(50));
+    assertEquals(0, secondStarted.get());
+    assertEquals(2, releaser.getPendingReleaseCount());
+
+    finishFirst.countDown();
+    assertTrue(releaser.awaitReleases(TIMEOUT_MS));
+    assertEquals(1, secondStarted.get());
+  }
+
+  @Test
+  public void failedReleaseStillCompletes() {
+    PlayerReleaser releaser = new PlayerReleaser(1);
+
+    Future<?> release =
+        releaser.release(
+            null,
+            () -> {
+              throw new IllegalStateException("release failed");
+            },
+            () -> {});
+
+    assertTrue(releaser.awaitReleases(TIMEOUT_MS));
+    assertTrue(release.isDone());
+  }
+
+  @Test
+  public void rejectsInvalidParallelism() {
+    assertThrows(IllegalArgumentException.class, () -> new PlayerReleaser(0));
+  }
+}
@@ -0,0 +1,68 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import android.os.HandlerThread;
+import android.os.Looper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link PlayerThread}. */
+@RunWith(RobolectricTestRunner.class)
+public final class PlayerThreadTest {
+  private HandlerThread playerThread;
+
+  @Before
+  public void setUp() {
+    playerThread = new HandlerThread("PlayerThreadTest");
+    playerThread.start();
+  }
+
+  @After
+  public void tearDown() {
+    playerThread.quit();
+  }
+
+  @Test
+  public void sharesOneHandlerPerLooper() {
+    Looper looper = playerThread.getLooper();
+
+    assertSame(PlayerThread.getHandler(looper), PlayerThread.getHandler(looper));
+    assertNotSame(
+        PlayerThread.getHandler(looper), PlayerThread.getHandler(Looper.getMainLooper()));
+    assertSame(looper, PlayerThread.getHandler(looper).getLooper());
+  }
+
+  @Test
+  public void callBlockingRunsTaskOnLooperThread() {
+    Thread thread = PlayerThread.callBlocking(playerThread.getLooper(), Thread::currentThread);
+
+    assertSame(playerThread, thread);
+  }
+
+  @Test
+  public void callBlockingRethrowsTaskException() {
+    IllegalStateException error = new IllegalStateException("failed");
+
+    IllegalStateException thrown =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                PlayerThread.callBlocking(
+                    playerThread.getLooper(),
+                    () -> {
+                      throw error;
+                    }));
+
+    assertSame(error, thrown);
+  }
+}
@@ -0,0 +1,99 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.Player;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link ScrubSeekController}. */
+@RunWith(RobolectricTestRunner.class)
+public final class ScrubSeekControllerTest {
+  @Mock private ExoPlayer mockExoPlayer;
+
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  @Before
+  public void setUp() {
+    when(mockExoPlayer.getApplicationLooper()).thenReturn(Looper.getMainLooper());
+  }
+
+  private static void advanceSeekInterval() {
+    shadowOf(Looper.getMainLooper())
+        .idleFor(ScrubSeekController.MIN_SEEK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void performsOnlyTheLatestPendingSeek() {
+    when(mockExoPlayer.getPlaybackState()).thenReturn(Player.STATE_READY);
+    ScrubSeekController controller = new ScrubSeekController(mockExoPlayer);
+    verify(mockExoPlayer).addListener(controller);
+
+    controller.seekTo(1000);
+    controller.seekTo(2000);
+    controller.seekTo(3000);
+    advanceSeekInterval();
+
+    InOrder inOrder = inOrder(mockExoPlayer);
+    inOrder.verify(mockExoPlayer).seekTo(1000);
+    inOrder.verify(mockExoPlayer).seekTo(3000);
+    verify(mockExoPlayer, never()).seekTo(2000);
+    assertEquals(3000, controller.getLastRequestedPosition());
+  }
+
+  @Test
+  public void waitsForBufferingSeekToComplete() {
+    when(mockExoPlayer.getPlaybackState()).thenReturn(Player.STATE_BUFFERING);
+    ScrubSeekController controller = new ScrubSeekController(mockExoPlayer);
+
+    controller.seekTo(1000);
+    controller.seekTo(2000);
+    advanceSeekInterval();
+    verify(mockExoPlayer, never()).seekTo(2000);
+
+    controller.onPlaybackStateChanged(Player.STATE_READY);
+    verify(mockExoPlayer).seekTo(2000);
+  }
+
+  @Test
+  public void releaseDropsPendingSeek() {
+    when(mockExoPlayer.getPlaybackState()).thenReturn(Player.STATE_READY);
+    ScrubSeekController controller = new ScrubSeekController(mockExoPlayer);
+
+    controller.seekTo(1000);
+    controller.seekTo(2000);
+    controller.release();
+    advanceSeekInterval();
+
+    verify(mockExoPlayer).removeListener(controller);
+    verify(mockExoPlayer, never()).seekTo(2000);
+    assertEquals(2000, controller.getLastRequestedPosition());
+  }
+
+  @Test
+  public void hasNoLastPositionBeforeSeeking() {
+    ScrubSeekController controller = new ScrubSeekController(mockExoPlayer);
+
+    assertEquals(C.TIME_UNSET, controller.getLastRequestedPosition());
+  }
+}
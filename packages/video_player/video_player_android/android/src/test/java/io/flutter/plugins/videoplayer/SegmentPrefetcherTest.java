@@ -0,0 +1,161 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import android.net.Uri;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifestParser;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMediaPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMultivariantPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsPlaylistParser;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link SegmentPrefetcher}. */
+@RunWith(RobolectricTestRunner.class)
+public final class SegmentPrefetcherTest {
+  private static final String DASH_MANIFEST =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+          + "<MPD xmlns=\"urn:mpeg:dash:schema:mpd:2011\""
+          + " type=\"static\" mediaPresentationDuration=\"PT2M\" minBufferTime=\"PT2S\">\n"
+          + "  <Period id=\"0\" start=\"PT0S\">\n"
+          + "    <AdaptationSet id=\"1\" contentType=\"video\" mimeType=\"video/mp4\">\n"
+          + "      <SegmentTemplate initialization=\"$RepresentationID$/init.mp4\""
+          + " media=\"$RepresentationID$/$Number$.m4s\" duration=\"2\"/>\n"
+          + "      <Representation id=\"low\" bandwidth=\"400000\" width=\"640\" height=\"360\"/>\n"
+          + "      <Representation id=\"high\" bandwidth=\"1600000\" width=\"1280\""
+          + " height=\"720\"/>\n"
+          + "    </AdaptationSet>\n"
+          + "    <AdaptationSet id=\"2\" contentType=\"audio\" mimeType=\"audio/mp4\">\n"
+          + "      <SegmentTemplate initialization=\"$RepresentationID$/init.mp4\""
+          + " media=\"$RepresentationID$/$Number$.m4s\" duration=\"2\"/>\n"
+          + "      <Representation id=\"audio\" bandwidth=\"128000\"/>\n"
+          + "    </AdaptationSet>\n"
+          + "  </Period>\n"
+          + "</MPD>\n";
+
+  private static final String HLS_MEDIA_PLAYLIST =
+      "#EXTM3U\n"
+          + "#EXT-X-VERSION:7\n"
+          + "#EXT-X-TARGETDURATION:4\n"
+          + "#EXT-X-MAP:URI=\"init.mp4\"\n"
+          + "#EXTINF:4.0,\n"
+          + "segment0.m4s\n"
+          + "#EXTINF:4.0,\n"
+          + "segment1.m4s\n"
+          + "#EXTINF:4.0,\n"
+          + "segment2.m4s\n";
+
+  private static final String HLS_MULTIVARIANT_PLAYLIST =
+      "#EXTM3U\n"
+          + "#EXT-X-MEDIA:TYPE=AUDIO,GROUP-ID=\"aac\",NAME=\"English\",LANGUAGE=\"en\","
+          + "URI=\"audio/en.m3u8\"\n"
+          + "#EXT-X-MEDIA:TYPE=AUDIO,GROUP-ID=\"aac\",NAME=\"French\",LANGUAGE=\"fr\","
+          + "DEFAULT=YES,URI=\"audio/fr.m3u8\"\n"
+          + "#EXT-X-MEDIA:TYPE=AUDIO,GROUP-ID=\"muxed\",NAME=\"Main\",DEFAULT=YES\n"
+          + "#EXT-X-STREAM-INF:BANDWIDTH=1600000,AUDIO=\"aac\"\n"
+          + "720p.m3u8\n"
+          + "#EXT-X-STREAM-INF:BANDWIDTH=400000,AUDIO=\"muxed\"\n"
+          + "360p.m3u8\n"
+          + "#EXT-X-STREAM-INF:BANDWIDTH=200000\n"
+          + "180p.m3u8\n";
+
+  private static HlsMediaPlaylist parseHlsMediaPlaylist(String playlist) throws IOException {
+    return (HlsMediaPlaylist)
+        new HlsPlaylistParser()
+            .parse(
+                Uri.parse("https://example.com/video/720p.m3u8"),
+                new ByteArrayInputStream(playlist.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static String uriOf(DataSpec dataSpec) {
+    return dataSpec.uri.toString();
+  }
+
+  @Test
+  public void prefetchesStartOfDashRenditionsThatFitBitrate() throws IOException {
+    DashManifest manifest =
+        new DashManifestParser()
+            .parse(
+                Uri.parse("https://example.com/video/manifest.mpd"),
+                new ByteArrayInputStream(DASH_MANIFEST.getBytes(StandardCharsets.UTF_8)));
+
+    List<DataSpec> dataSpecs =
+        SegmentPrefetcher.getDashDataSpecs(
+            manifest, mock(DataSource.class), 5_000_000, 1_000_000, 1_000_000);
+
+    // Segments starting at 0s, 2s and 4s cover the first 5s.
+    assertEquals(8, dataSpecs.size());
+    assertEquals("https://example.com/video/low/init.mp4", uriOf(dataSpecs.get(0)));
+    assertEquals("https://example.com/video/low/1.m4s", uriOf(dataSpecs.get(1)));
+    assertEquals("https://example.com/video/low/3.m4s", uriOf(dataSpecs.get(3)));
+    assertEquals("https://example.com/video/audio/init.mp4", uriOf(dataSpecs.get(4)));
+    assertEquals("https://example.com/video/audio/3.m4s", uriOf(dataSpecs.get(7)));
+  }
+
+  @Test
+  public void prefetchesStartOfHlsRendition() throws IOException {
+    List<DataSpec> dataSpecs =
+        SegmentPrefetcher.getHlsDataSpecs(
+            parseHlsMediaPlaylist(HLS_MEDIA_PLAYLIST + "#EXT-X-ENDLIST\n"), 5_000_000);
+
+    assertEquals(3, dataSpecs.size());
+    assertEquals("https://example.com/video/init.mp4", uriOf(dataSpecs.get(0)));
+    assertEquals("https://example.com/video/segment0.m4s", uriOf(dataSpecs.get(1)));
+    assertEquals("https://example.com/video/segment1.m4s", uriOf(dataSpecs.get(2)));
+  }
+
+  @Test
+  public void skipsLiveHlsPlaylists() throws IOException {
+    assertTrue(
+        SegmentPrefetcher.getHlsDataSpecs(parseHlsMediaPlaylist(HLS_MEDIA_PLAYLIST), 5_000_000)
+            .isEmpty());
+  }
+
+  @Test
+  public void selectsDefaultHlsAudioRenditionOfVariant() throws IOException {
+    HlsMultivariantPlaylist playlist =
+        (HlsMultivariantPlaylist)
+            new HlsPlaylistParser()
+                .parse(
+                    Uri.parse("https://example.com/video/master.m3u8"),
+                    new ByteArrayInputStream(
+                        HLS_MULTIVARIANT_PLAYLIST.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(
+        Uri.parse("https://example.com/video/audio/fr.m3u8"),
+        SegmentPrefetcher.selectHlsAudioRendition(playlist, playlist.variants.get(0)));
+    // Audio muxed into the variant's segments is prefetched with them.
+    assertNull(SegmentPrefetcher.selectHlsAudioRendition(playlist, playlist.variants.get(1)));
+    assertNull(SegmentPrefetcher.selectHlsAudioRendition(playlist, playlist.variants.get(2)));
+  }
+
+  @Test
+  public void selectsHighestRenditionThatFitsOrLowest() {
+    List<Format> formats =
+        Arrays.asList(
+            new Format.Builder().setAverageBitrate(1_600_000).build(),
+            new Format.Builder().setAverageBitrate(400_000).build(),
+            new Format.Builder().setAverageBitrate(800_000).build());
+
+    assertEquals(2, SegmentPrefetcher.selectRendition(formats, 1_000_000));
+    assertEquals(0, SegmentPrefetcher.selectRendition(formats, 2_000_000));
+    assertEquals(1, SegmentPrefetcher.selectRendition(formats, 100_000));
+  }
+}
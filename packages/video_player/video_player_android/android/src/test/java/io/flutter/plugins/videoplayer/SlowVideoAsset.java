@@ -0,0 +1,149 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.MediaItem;
+import com.google.android.exoplayer2.drm.DrmSessionManagerProvider;
+import com.google.android.exoplayer2.source.BaseMediaSource;
+import com.google.android.exoplayer2.source.MediaPeriod;
+import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.upstream.Allocator;
+import com.google.android.exoplayer2.upstream.LoadErrorHandlingPolicy;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fake {@link VideoAsset} whose players are slow to create and to release.
+ *
+ * <p>Building a player with the asset's factory takes the given delay, and so does releasing its
+ * media source, which the player's release waits for. The media itself never loads.
+ */
+final class SlowVideoAsset extends VideoAsset {
+  private final long delayMs;
+  @Nullable private volatile Thread creationThread;
+  private final AtomicInteger creationCount = new AtomicInteger();
+  private volatile boolean prepared;
+  private volatile boolean released;
+
+  SlowVideoAsset(long delayMs) {
+    super("asset:///slow.mp4");
+    this.delayMs = delayMs;
+  }
+
+  @NonNull
+  @Override
+  public MediaItem getMediaItem() {
+    return new MediaItem.Builder().setUri(assetUrl).build();
+  }
+
+  @NonNull
+  @Override
+  public MediaSource.Factory getMediaSourceFactory(@NonNull Context context) {
+    creationThread = Thread.currentThread();
+    creationCount.incrementAndGet();
+    sleep(delayMs);
+    return new Factory();
+  }
+
+  /** Returns the thread the last player was built on, or null if none was built. */
+  @Nullable
+  Thread getCreationThread() {
+    return creationThread;
+  }
+
+  /** Returns how many players have started being built. */
+  int getCreationCount() {
+    return creationCount.get();
+  }
+
+  /** Returns whether a player has started preparing the asset's media. */
+  boolean isPrepared() {
+    return prepared;
+  }
+
+  /** Returns whether a player has released the asset's media. */
+  boolean isReleased() {
+    return released;
+  }
+
+  private static void sleep(long durationMs) {
+    try {
+      Thread.sleep(durationMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private final class Factory implements MediaSource.Factory {
+    @NonNull
+    @Override
+    public MediaSource.Factory setDrmSessionManagerProvider(
+        @NonNull DrmSessionManagerProvider drmSessionManagerProvider) {
+      return this;
+    }
+
+    @NonNull
+    @Override
+    public MediaSource.Factory setLoadErrorHandlingPolicy(
+        @NonNull LoadErrorHandlingPolicy loadErrorHandlingPolicy) {
+      return this;
+    }
+
+    @NonNull
+    @Override
+    public int[] getSupportedTypes() {
+      return new int[] {C.CONTENT_TYPE_OTHER};
+    }
+
+    @NonNull
+    @Override
+    public MediaSource createMediaSource(@NonNull MediaItem mediaItem) {
+      return new SlowMediaSource(mediaItem);
+    }
+  }
+
+  private final class SlowMediaSource extends BaseMediaSource {
+    @NonNull private final MediaItem mediaItem;
+
+    SlowMediaSource(@NonNull MediaItem mediaItem) {
+      this.mediaItem = mediaItem;
+    }
+
+    @NonNull
+    @Override
+    public MediaItem getMediaItem() {
+      return mediaItem;
+    }
+
+    @Override
+    protected void prepareSourceInternal(@Nullable TransferListener mediaTransferListener) {
+      // No timeline is ever published, so the player stays buffering.
+      prepared = true;
+    }
+
+    @Override
+    public void maybeThrowSourceInfoRefreshError() {}
+
+    @NonNull
+    @Override
+    public MediaPeriod createPeriod(
+        @NonNull MediaPeriodId id, @NonNull Allocator allocator, long startPositionUs) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void releasePeriod(@NonNull MediaPeriod mediaPeriod) {}
+
+    @Override
+    protected void releaseSourceInternal() {
+      sleep(delayMs);
+      released = true;
+    }
+  }
+}
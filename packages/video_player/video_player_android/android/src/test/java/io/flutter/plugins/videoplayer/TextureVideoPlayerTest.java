@@ -5,6 +5,10 @@
 package io.flutter.plugins.videoplayer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -64,7 +68,11 @@ public final class TextureVideoPlayerTest {
 
   private TextureVideoPlayer createVideoPlayer(VideoPlayerOptions options) {
     return new TextureVideoPlayer(
-        mockEvents, mockProducer, fakeVideoAsset.getMediaItem(), options, () -> mockExoPlayer);
+        mockEvents,
+        mockProducer,
+        fakeVideoAsset.getMediaItem(),
+        options,
+        loadControl -> mockExoPlayer);
   }
 
   @Test
@@ -188,6 +196,46 @@ public final class TextureVideoPlayerTest {
     videoPlayer.dispose();
   }
 
+  @Test
+  public void setVideoOutputMovesSurfaceWithoutPreparingAgain() {
+    TextureVideoPlayer videoPlayer = createVideoPlayer(new VideoPlayerOptions());
+    verify(mockProducer).setCallback(callbackCaptor.capture());
+    TextureRegistry.SurfaceProducer.Callback producerLifecycle = callbackCaptor.getValue();
+    assertFalse(videoPlayer.rendersToPlatformView());
+
+    videoPlayer.setVideoOutput(PlatformVideoOutput.PLATFORM_VIEW);
+    verify(mockExoPlayer).setVideoSurface(null);
+    assertTrue(videoPlayer.rendersToPlatformView());
+
+    // The texture's surface must not replace or clear the platform view's surface.
+    reset(mockExoPlayer);
+    producerLifecycle.onSurfaceCleanup();
+    producerLifecycle.onSurfaceAvailable();
+    verify(mockExoPlayer, never()).setVideoSurface(any());
+
+    videoPlayer.setVideoOutput(PlatformVideoOutput.TEXTURE);
+    verify(mockExoPlayer).setVideoSurface(notNull());
+    assertFalse(videoPlayer.rendersToPlatformView());
+    verify(mockExoPlayer, never()).prepare();
+    verify(mockExoPlayer, never()).seekTo(anyLong());
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void mirroredOutputsNeedSurfaceTexturePlayer() {
+    TextureVideoPlayer videoPlayer = createVideoPlayer(new VideoPlayerOptions());
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            videoPlayer.addMirroredOutput(
+                mock(TextureRegistry.SurfaceTextureEntry.class), 640, 360));
+    assertNull(videoPlayer.removeMirroredOutput(1));
+
+    videoPlayer.dispose();
+  }
+
   @Test
   public void disposeReleasesExoPlayerBeforeTexture() {
     VideoPlayer videoPlayer = createVideoPlayer();
@@ -0,0 +1,142 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import android.net.Uri;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifestParser;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMultivariantPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsPlaylistParser;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link ThumbnailTrack}. */
+@RunWith(RobolectricTestRunner.class)
+public final class ThumbnailTrackTest {
+  private static final String MULTIVARIANT_PLAYLIST =
+      "#EXTM3U\n"
+          + "#EXT-X-STREAM-INF:BANDWIDTH=1280000,RESOLUTION=1280x720\n"
+          + "video/720p.m3u8\n"
+          + "#EXT-X-IMAGE-STREAM-INF:BANDWIDTH=12000,RESOLUTION=1600x900,"
+          + "CODECS=\"jpeg\",URI=\"images/tiles.m3u8\"\n";
+
+  private static final String IMAGE_PLAYLIST =
+      "#EXTM3U\n"
+          + "#EXT-X-TARGETDURATION:60\n"
+          + "#EXT-X-VERSION:7\n"
+          + "#EXT-X-MEDIA-SEQUENCE:1\n"
+          + "#EXT-X-PLAYLIST-TYPE:VOD\n"
+          + "#EXT-X-IMAGES-ONLY\n"
+          + "#EXTINF:60.000,\n"
+          + "#EXT-X-TILES:RESOLUTION=320x180,LAYOUT=5x4,DURATION=3.000\n"
+          + "sheet1.jpg\n"
+          + "#EXTINF:60.000,\n"
+          + "#EXT-X-TILES:RESOLUTION=320x180,LAYOUT=5x4,DURATION=3.000\n"
+          + "sheet2.jpg\n"
+          + "#EXT-X-ENDLIST\n";
+
+  private static final String DASH_MANIFEST =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+          + "<MPD xmlns=\"urn:mpeg:dash:schema:mpd:2011\" type=\"static\""
+          + " mediaPresentationDuration=\"PT2M\" minBufferTime=\"PT2S\">\n"
+          + "  <BaseURL>https://example.com/video/</BaseURL>\n"
+          + "  <Period id=\"0\" start=\"PT0S\">\n"
+          + "    <AdaptationSet id=\"1\" contentType=\"image\" mimeType=\"image/jpeg\">\n"
+          + "      <SegmentTemplate media=\"tiles_$Number$.jpg\" duration=\"60\""
+          + " startNumber=\"1\"/>\n"
+          + "      <Representation id=\"thumbnails\" bandwidth=\"10000\" width=\"1600\""
+          + " height=\"900\">\n"
+          + "        <EssentialProperty schemeIdUri=\"http://dashif.org/thumbnail_tile\""
+          + " value=\"10x10\"/>\n"
+          + "      </Representation>\n"
+          + "    </AdaptationSet>\n"
+          + "  </Period>\n"
+          + "</MPD>\n";
+
+  @Test
+  public void tileSheetMapsPositionsToTiles() {
+    ThumbnailTrack.TileSheet sheet =
+        new ThumbnailTrack.TileSheet(
+            Uri.parse("https://example.com/sheet.jpg"), 10000, 20000, 4, 5);
+
+    assertEquals(0, sheet.tileIndexAt(10000));
+    assertEquals(1, sheet.tileIndexAt(11000));
+    assertEquals(19, sheet.tileIndexAt(29999));
+    // Positions outside the sheet are clamped to its first and last tiles.
+    assertEquals(0, sheet.tileIndexAt(0));
+    assertEquals(19, sheet.tileIndexAt(40000));
+  }
+
+  @Test
+  public void findsHlsImagePlaylist() throws IOException {
+    HlsMultivariantPlaylist playlist =
+        (HlsMultivariantPlaylist)
+            new HlsPlaylistParser()
+                .parse(
+                    Uri.parse("https://example.com/master.m3u8"),
+                    new ByteArrayInputStream(
+                        MULTIVARIANT_PLAYLIST.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(
+        Uri.parse("https://example.com/images/tiles.m3u8"),
+        ThumbnailTrack.findHlsImagePlaylistUri(playlist));
+  }
+
+  @Test
+  public void parsesHlsImagePlaylist() {
+    ThumbnailTrack track =
+        ThumbnailTrack.fromHlsImagePlaylist(
+            Uri.parse("https://example.com/images/tiles.m3u8"), IMAGE_PLAYLIST);
+    assertNotNull(track);
+
+    ThumbnailTrack.TileSheet first = track.sheetAt(30000);
+    assertNotNull(first);
+    assertEquals(Uri.parse("https://example.com/images/sheet1.jpg"), first.uri);
+    assertEquals(5, first.columns);
+    assertEquals(4, first.rows);
+    assertEquals(10, first.tileIndexAt(30000));
+
+    ThumbnailTrack.TileSheet second = track.sheetAt(61000);
+    assertNotNull(second);
+    assertEquals(Uri.parse("https://example.com/images/sheet2.jpg"), second.uri);
+    assertEquals(60000, second.startMs);
+  }
+
+  @Test
+  public void hlsImagePlaylistWithoutSegmentsHasNoTrack() {
+    assertNull(
+        ThumbnailTrack.fromHlsImagePlaylist(
+            Uri.parse("https://example.com/images/tiles.m3u8"), "#EXTM3U\n#EXT-X-ENDLIST\n"));
+  }
+
+  @Test
+  public void readsDashImageAdaptationSet() throws IOException {
+    DashManifest manifest =
+        new DashManifestParser()
+            .parse(
+                Uri.parse("https://example.com/video/manifest.mpd"),
+                new ByteArrayInputStream(DASH_MANIFEST.getBytes(StandardCharsets.UTF_8)));
+
+    ThumbnailTrack track = ThumbnailTrack.fromDashManifest(manifest);
+    assertNotNull(track);
+
+    ThumbnailTrack.TileSheet sheet = track.sheetAt(90000);
+    assertNotNull(sheet);
+    assertEquals(Uri.parse("https://example.com/video/tiles_2.jpg"), sheet.uri);
+    assertEquals(60000, sheet.startMs);
+    assertEquals(60000, sheet.durationMs);
+    assertEquals(10, sheet.columns);
+    assertEquals(10, sheet.rows);
+    assertEquals(50, sheet.tileIndexAt(90000));
+  }
+}
@@ -0,0 +1,58 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.exoplayer2.offline.Download;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link VideoDownloadManager}. */
+@RunWith(RobolectricTestRunner.class)
+public final class VideoDownloadManagerTest {
+  @Test
+  public void storedDataKeepsDrmConfiguration() {
+    Map<String, String> drmConfiguration = new HashMap<>();
+    drmConfiguration.put(DrmIdentity.MERCHANT_ID, "merchant");
+    drmConfiguration.put(DrmIdentity.USER_ID, "user");
+    drmConfiguration.put("licenseServerUrl", "https://license.example/widevine");
+
+    byte[] data = VideoDownloadManager.encodeData(drmConfiguration);
+
+    assertEquals(drmConfiguration, VideoDownloadManager.decodeData(data));
+  }
+
+  @Test
+  public void emptyDataHasNoDrmConfiguration() {
+    assertTrue(VideoDownloadManager.decodeData(new byte[0]).isEmpty());
+  }
+
+  @Test
+  public void mapsDownloadStates() {
+    assertEquals(
+        PlatformDownloadState.QUEUED,
+        VideoDownloadManager.stateFromDownload(Download.STATE_QUEUED));
+    assertEquals(
+        PlatformDownloadState.QUEUED,
+        VideoDownloadManager.stateFromDownload(Download.STATE_RESTARTING));
+    assertEquals(
+        PlatformDownloadState.DOWNLOADING,
+        VideoDownloadManager.stateFromDownload(Download.STATE_DOWNLOADING));
+    assertEquals(
+        PlatformDownloadState.COMPLETED,
+        VideoDownloadManager.stateFromDownload(Download.STATE_COMPLETED));
+    assertEquals(
+        PlatformDownloadState.FAILED,
+        VideoDownloadManager.stateFromDownload(Download.STATE_FAILED));
+    assertEquals(
+        PlatformDownloadState.REMOVING,
+        VideoDownloadManager.stateFromDownload(Download.STATE_REMOVING));
+  }
+}
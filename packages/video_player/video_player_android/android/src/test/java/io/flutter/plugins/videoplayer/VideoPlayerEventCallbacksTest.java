@@ -88,4 +88,26 @@ public final class VideoPlayerEventCallbacksTest {
     IsPlayingStateEvent expected = new IsPlayingStateEvent(true);
     assertEquals(expected, actual);
   }
+
+  @Test
+  public void onMediaItemTransition() {
+    eventCallbacks.onMediaItemTransition(1);
+
+    verify(mockEventSink).success(eventCaptor.capture());
+
+    PlatformVideoEvent actual = eventCaptor.getValue();
+    MediaItemTransitionEvent expected = new MediaItemTransitionEvent(1L);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void onThumbnailsLoaded() {
+    eventCallbacks.onThumbnailsLoaded(10, 20);
+
+    verify(mockEventSink).success(eventCaptor.capture());
+
+    PlatformVideoEvent actual = eventCaptor.getValue();
+    ThumbnailsLoadedEvent expected = new ThumbnailsLoadedEvent(10L, 20L);
+    assertEquals(expected, actual);
+  }
 }
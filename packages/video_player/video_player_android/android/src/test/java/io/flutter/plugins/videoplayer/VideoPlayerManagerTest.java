@@ -0,0 +1,131 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public final class VideoPlayerManagerTest {
+  /** Creates a mock player that tracks its suspended state like the real one. */
+  @NonNull
+  private static VideoPlayer createPlayer() {
+    VideoPlayer player = Mockito.mock(VideoPlayer.class);
+    final boolean[] suspended = {false};
+    Mockito.doAnswer(invocation -> suspended[0] = true).when(player).suspend();
+    Mockito.doAnswer(invocation -> suspended[0] = false).when(player).resume();
+    Mockito.when(player.isSuspended()).thenAnswer(invocation -> suspended[0]);
+    return player;
+  }
+
+  @Test
+  public void suspendsLeastRecentlyRegisteredPlayerWhenOverLimit() {
+    VideoPlayerManager manager = new VideoPlayerManager();
+    manager.setMaxActivePlayers(2);
+    VideoPlayer first = createPlayer();
+    VideoPlayer second = createPlayer();
+    VideoPlayer third = createPlayer();
+
+    manager.register(first);
+    manager.register(second);
+    manager.register(third);
+
+    assertTrue(first.isSuspended());
+    assertFalse(second.isSuspended());
+    assertFalse(third.isSuspended());
+  }
+
+  @Test
+  public void suspendsInvisiblePlayersBeforeVisibleOnes() {
+    VideoPlayerManager manager = new VideoPlayerManager();
+    manager.setMaxActivePlayers(2);
+    VideoPlayer first = createPlayer();
+    VideoPlayer second = createPlayer();
+    VideoPlayer third = createPlayer();
+    manager.register(first);
+    manager.register(second);
+
+    manager.onVisibilityChanged(second, false);
+    manager.register(third);
+
+    assertFalse(first.isSuspended());
+    assertTrue(second.isSuspended());
+    assertFalse(third.isSuspended());
+  }
+
+  @Test
+  public void resumesSuspendedPlayerWhenPlayRequested() {
+    VideoPlayerManager manager = new VideoPlayerManager();
+    manager.setMaxActivePlayers(1);
+    VideoPlayer first = createPlayer();
+    VideoPlayer second = createPlayer();
+    manager.register(first);
+    manager.register(second);
+    assertTrue(first.isSuspended());
+
+    manager.onPlayRequested(first);
+
+    assertFalse(first.isSuspended());
+    assertTrue(second.isSuspended());
+  }
+
+  @Test
+  public void resumesSuspendedPlayerWhenVisible() {
+    VideoPlayerManager manager = new VideoPlayerManager();
+    manager.setMaxActivePlayers(1);
+    VideoPlayer first = createPlayer();
+    VideoPlayer second = createPlayer();
+    manager.register(first);
+    manager.register(second);
+
+    manager.onVisibilityChanged(first, true);
+
+    assertFalse(first.isSuspended());
+    assertTrue(second.isSuspended());
+  }
+
+  @Test
+  public void loweringLimitSuspendsExistingPlayers() {
+    VideoPlayerManager manager = new VideoPlayerManager();
+    VideoPlayer first = createPlayer();
+    VideoPlayer second = createPlayer();
+    manager.register(first);
+    manager.register(second);
+
+    manager.setMaxActivePlayers(1);
+
+    assertTrue(first.isSuspended());
+    assertFalse(second.isSuspended());
+  }
+
+  @Test
+  public void unregisteredPlayersAreIgnored() {
+    VideoPlayerManager manager = new VideoPlayerManager();
+    manager.setMaxActivePlayers(1);
+    VideoPlayer first = createPlayer();
+    VideoPlayer second = createPlayer();
+    manager.register(first);
+    manager.unregister(first);
+
+    manager.register(second);
+
+    assertFalse(first.isSuspended());
+    assertFalse(second.isSuspended());
+  }
+
+  @Test
+  public void rejectsInvalidLimit() {
+    VideoPlayerManager manager = new VideoPlayerManager();
+
+    assertThrows(IllegalArgumentException.class, () -> manager.setMaxActivePlayers(0));
+  }
+}
@@ -6,9 +6,13 @@ package io.flutter.plugins.videoplayer;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
 
-import android.content.Context;
+import android.graphics.SurfaceTexture;
+import android.os.Looper;
 import android.util.LongSparseArray;
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.plugin.platform.PlatformViewRegistry;
 import io.flutter.plugins.videoplayer.platformview.PlatformVideoViewFactory;
@@ -16,38 +20,60 @@ import io.flutter.plugins.videoplayer.platformview.PlatformViewVideoPlayer;
 import io.flutter.plugins.videoplayer.texture.TextureVideoPlayer;
 import io.flutter.view.TextureRegistry;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
 import org.robolectric.RobolectricTestRunner;
 
 @RunWith(RobolectricTestRunner.class)
 public class VideoPlayerPluginTest {
   @Mock private TextureRegistry mockTextureRegistry;
-  @Mock private TextureRegistry.SurfaceProducer mockSurfaceProducer;
+  @Mock private TextureRegistry.SurfaceTextureEntry mockTextureEntry;
   @Mock private PlatformViewRegistry mockPlatformViewRegistry;
+  private final List<Runnable> pendingCreations = new ArrayList<>();
+  private FlutterPlugin.FlutterPluginBinding binding;
   private VideoPlayerPlugin plugin;
 
   @Before
   public void setUp() {
     MockitoAnnotations.openMocks(this);
-    when(mockTextureRegistry.createSurfaceProducer()).thenReturn(mockSurfaceProducer);
+    when(mockTextureEntry.id()).thenReturn(7L);
+    when(mockTextureEntry.surfaceTexture()).thenReturn(new SurfaceTexture(0));
+    when(mockTextureRegistry.createSurfaceTexture()).thenReturn(mockTextureEntry);
 
-    FlutterPlugin.FlutterPluginBinding binding = mock(FlutterPlugin.FlutterPluginBinding.class);
-    when(binding.getApplicationContext()).thenReturn(mock(Context.class));
+    binding = mock(FlutterPlugin.FlutterPluginBinding.class);
+    when(binding.getApplicationContext()).thenReturn(ApplicationProvider.getApplicationContext());
     when(binding.getTextureRegistry()).thenReturn(mockTextureRegistry);
     when(binding.getBinaryMessenger())
         .thenReturn(mock(io.flutter.plugin.common.BinaryMessenger.class));
     when(binding.getPlatformViewRegistry()).thenReturn(mockPlatformViewRegistry);
 
-    plugin = new VideoPlayerPlugin();
+    // Players are built on a playback thread, so they play a fake asset rather than mocks.
+    final VideoAsset asset = new SlowVideoAsset(0);
+    plugin =
+        new VideoPlayerPlugin(pendingCreations::add) {
+          @NonNull
+          @Override
+          VideoAsset videoAssetWithOptions(@NonNull CreationOptions options) {
+            return asset;
+          }
+        };
     plugin.onAttachedToEngine(binding);
   }
 
+  @After
+  public void tearDown() {
+    plugin.onDetachedFromEngine(binding);
+  }
+
   @SuppressWarnings("unchecked")
   private LongSparseArray<VideoPlayer> getVideoPlayers() throws Exception {
     final Field field = VideoPlayerPlugin.class.getDeclaredField("videoPlayers");
@@ -70,45 +96,107 @@ public class VideoPlayerPluginTest {
 
   @Test
   public void createsPlatformViewVideoPlayer() throws Exception {
-    try (MockedStatic<PlatformViewVideoPlayer> mockedPlatformViewVideoPlayerStatic =
-        mockStatic(PlatformViewVideoPlayer.class)) {
-      mockedPlatformViewVideoPlayerStatic
-          .when(() -> PlatformViewVideoPlayer.create(any(), any(), any(), any()))
-          .thenReturn(mock(PlatformViewVideoPlayer.class));
-
-      final CreationOptions options =
-          new CreationOptions(
-              "https://flutter.github.io/assets-for-api-docs/assets/videos/bee.mp4",
-              null,
-              new HashMap<>(),
-              null, null);
-
-      final long playerId = plugin.createForPlatformView(options);
-
-      final LongSparseArray<VideoPlayer> videoPlayers = getVideoPlayers();
-      assertTrue(videoPlayers.get(playerId) instanceof PlatformViewVideoPlayer);
-    }
+    final long playerId = plugin.createForPlatformView(creationOptions());
+
+    final VideoPlayer player = getVideoPlayers().get(playerId);
+    assertTrue(player instanceof PlatformViewVideoPlayer);
+    assertNotSame(Looper.getMainLooper(), player.getExoPlayer().getApplicationLooper());
   }
 
   @Test
   public void createsTextureVideoPlayer() throws Exception {
-    try (MockedStatic<TextureVideoPlayer> mockedTextureVideoPlayerStatic =
-        mockStatic(TextureVideoPlayer.class)) {
-      mockedTextureVideoPlayerStatic
-          .when(() -> TextureVideoPlayer.create((Context) any(), (VideoPlayerCallbacks) any(), (TextureRegistry.SurfaceProducer) any(), any(), any()))
-          .thenReturn(mock(TextureVideoPlayer.class));
-
-      final CreationOptions options =
-          new CreationOptions(
-                  "https://flutter.github.io/assets-for-api-docs/assets/videos/bee.mp4",
-                  null,
-                  new HashMap<>(),
-                  null, null);
-
-      final TexturePlayerIds ids = plugin.createForTextureView(options);
-
-      final LongSparseArray<VideoPlayer> videoPlayers = getVideoPlayers();
-      assertTrue(videoPlayers.get(ids.getPlayerId()) instanceof TextureVideoPlayer);
+    final TexturePlayerIds ids = plugin.createForTextureView(creationOptions());
+    runPendingCreations();
+
+    final VideoPlayer player = getVideoPlayers().get(ids.getPlayerId());
+    assertTrue(player instanceof TextureVideoPlayer);
+    assertNotSame(Looper.getMainLooper(), player.getExoPlayer().getApplicationLooper());
+  }
+
+  private void runPendingCreations() {
+    for (Runnable creation : pendingCreations) {
+      creation.run();
     }
+    pendingCreations.clear();
+  }
+
+  @Test
+  public void createForTextureViewReturnsBeforePlayerIsCreated() throws Exception {
+    final TexturePlayerIds ids = plugin.createForTextureView(creationOptions());
+
+    assertEquals(7L, ids.getTextureId());
+    assertNull(getVideoPlayers().get(ids.getPlayerId()));
+    runPendingCreations();
+    assertTrue(getVideoPlayers().get(ids.getPlayerId()) instanceof TextureVideoPlayer);
+  }
+
+  @Test
+  public void playerDisposedWhileBeingCreatedIsDisposedOnceCreated() throws Exception {
+    final AtomicBoolean textureReleased = new AtomicBoolean();
+    doAnswer(
+            invocation -> {
+              textureReleased.set(true);
+              return null;
+            })
+        .when(mockTextureEntry)
+        .release();
+
+    final TexturePlayerIds ids = plugin.createForTextureView(creationOptions());
+    plugin.dispose(ids.getPlayerId());
+    runPendingCreations();
+
+    assertNull(getVideoPlayers().get(ids.getPlayerId()));
+    // The texture is released on the platform thread once the player has been released.
+    final long deadlineNs = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!textureReleased.get() && System.nanoTime() < deadlineNs) {
+      shadowOf(Looper.getMainLooper()).idle();
+      Thread.sleep(1);
+    }
+    assertTrue(textureReleased.get());
+  }
+
+  private static CreationOptions creationOptions() {
+    return new CreationOptions(
+        "https://flutter.github.io/assets-for-api-docs/assets/videos/bee.mp4",
+        null,
+        new HashMap<>(),
+        new HashMap<>(),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null);
+  }
+
+  @Test
+  public void setPlayerThreadCountMustPrecedePlayerCreation() throws Exception {
+    plugin.setPlayerThreadCount(2);
+    plugin.setPlayerThreadCount(0);
+    assertThrows(IllegalArgumentException.class, () -> plugin.setPlayerThreadCount(-1));
+
+    getVideoPlayers().put(1, mock(PlatformViewVideoPlayer.class));
+
+    assertThrows(IllegalStateException.class, () -> plugin.setPlayerThreadCount(2));
+  }
+
+  @Test
+  public void startDownloadRejectsLocalVideos() {
+    final CreationOptions options =
+        new CreationOptions(
+            "asset:///video.mp4",
+            null,
+            new HashMap<>(),
+            new HashMap<>(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> plugin.startDownload("download", options, new PlatformDownloadOptions(null)));
   }
 }
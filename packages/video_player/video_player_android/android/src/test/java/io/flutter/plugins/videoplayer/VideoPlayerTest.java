@@ -9,34 +9,50 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
+import android.os.HandlerThread;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
 import com.google.android.exoplayer2.C;
 import com.google.android.exoplayer2.Format;
 import com.google.android.exoplayer2.MediaItem;
 import com.google.android.exoplayer2.PlaybackParameters;
 import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.SeekParameters;
 import com.google.android.exoplayer2.Tracks;
 import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.LoadControl;
 import com.google.android.exoplayer2.audio.AudioAttributes;
+import com.google.android.exoplayer2.source.MediaSource;
 import com.google.android.exoplayer2.source.TrackGroup;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
 import com.google.android.exoplayer2.trackselection.TrackSelectionOverride;
+import com.google.android.exoplayer2.trackselection.TrackSelectionParameters;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.util.Clock;
 import com.google.common.collect.ImmutableList;
 import io.flutter.plugins.videoplayer.platformview.PlatformViewExoPlayerEventListener;
 import io.flutter.view.TextureRegistry.SurfaceProducer;
 import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -61,6 +77,7 @@ public final class VideoPlayerTest {
   @Mock private ExoPlayer mockExoPlayer;
   @Captor private ArgumentCaptor<AudioAttributes> attributesCaptor;
   @Captor private ArgumentCaptor<Player.Listener> listenerCaptor;
+  @Captor private ArgumentCaptor<TrackSelectionParameters> parametersCaptor;
 
   @Rule public MockitoRule initRule = MockitoJUnit.rule();
 
@@ -95,7 +112,7 @@ public final class VideoPlayerTest {
 
   private VideoPlayer createVideoPlayer(VideoPlayerOptions options) {
     return new TestVideoPlayer(
-        mockEvents, fakeVideoAsset.getMediaItem(), options, null, () -> mockExoPlayer);
+        mockEvents, fakeVideoAsset.getMediaItem(), options, null, loadControl -> mockExoPlayer);
   }
 
   @Test
@@ -111,6 +128,118 @@ public final class VideoPlayerTest {
     videoPlayer.dispose();
   }
 
+  @Test
+  public void startsAtStartPositionBeforePreparing() {
+    VideoPlayerOptions options = new VideoPlayerOptions();
+    options.startPositionMs = 90000;
+
+    VideoPlayer videoPlayer = createVideoPlayer(options);
+
+    InOrder inOrder = inOrder(mockExoPlayer);
+    inOrder.verify(mockExoPlayer).setMediaItem(fakeVideoAsset.getMediaItem(), 90000);
+    inOrder.verify(mockExoPlayer).prepare();
+    verify(mockExoPlayer, never()).seekTo(anyLong());
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void prepareOnlyPreparesWithoutPlaying() {
+    VideoPlayerOptions options = new VideoPlayerOptions();
+    options.creationMode = VideoPlayerOptions.CreationMode.PREPARE_ONLY;
+
+    VideoPlayer videoPlayer = createVideoPlayer(options);
+
+    verify(mockExoPlayer).prepare();
+    verify(mockExoPlayer, never()).setPlayWhenReady(true);
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void lazyPlayerIsPreparedByFirstPlay() {
+    VideoPlayerOptions options = new VideoPlayerOptions();
+    options.creationMode = VideoPlayerOptions.CreationMode.LAZY;
+
+    VideoPlayer videoPlayer = createVideoPlayer(options);
+    verify(mockExoPlayer).setMediaItem(fakeVideoAsset.getMediaItem());
+    verify(mockExoPlayer, never()).prepare();
+
+    videoPlayer.play();
+    InOrder inOrder = inOrder(mockExoPlayer);
+    inOrder.verify(mockExoPlayer).prepare();
+    inOrder.verify(mockExoPlayer).play();
+
+    videoPlayer.pause();
+    videoPlayer.play();
+    verify(mockExoPlayer, times(1)).prepare();
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void metadataOnlyPlayerLoadsMediaOncePlayed() {
+    VideoPlayerOptions options = new VideoPlayerOptions();
+    options.creationMode = VideoPlayerOptions.CreationMode.METADATA_ONLY;
+
+    AtomicReference<LoadControl> loadControlReference = new AtomicReference<>();
+    VideoPlayer videoPlayer =
+        new TestVideoPlayer(
+            mockEvents,
+            fakeVideoAsset.getMediaItem(),
+            options,
+            null,
+            loadControl -> {
+              loadControlReference.set(loadControl);
+              return mockExoPlayer;
+            });
+    LoadControl loadControl = loadControlReference.get();
+
+    verify(mockExoPlayer).prepare();
+    assertFalse(loadControl.shouldContinueLoading(0, 0, 1f));
+
+    videoPlayer.play();
+    assertTrue(loadControl.shouldContinueLoading(0, 0, 1f));
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void playerThatFailsToBuildLeavesBufferBudget() {
+    long budgetBytes = 64L * 1024 * 1024;
+    BufferBudgetCoordinator coordinator = new BufferBudgetCoordinator(budgetBytes, Clock.DEFAULT);
+    VideoPlayerOptions options = new VideoPlayerOptions();
+    options.bufferBudgetCoordinator = coordinator;
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            new TestVideoPlayer(
+                mockEvents,
+                fakeVideoAsset.getMediaItem(),
+                options,
+                null,
+                loadControl -> {
+                  throw new IllegalStateException("No decoder available");
+                }));
+
+    // The only player left gets the whole budget.
+    BufferBudgetCoordinator.BudgetedLoadControl loadControl =
+        coordinator.createLoadControl(mock(LoadControl.class));
+    assertEquals(budgetBytes, coordinator.getTargetBufferBytes(loadControl));
+  }
+
+  @Test
+  public void bandwidthMeterStartsAtInitialBitrate() {
+    VideoPlayerOptions options = new VideoPlayerOptions();
+    options.initialBitrate = 2_500_000;
+
+    BandwidthMeter bandwidthMeter =
+        VideoPlayer.createBandwidthMeter(ApplicationProvider.getApplicationContext(), options);
+
+    assertEquals(2_500_000, bandwidthMeter.getBitrateEstimate());
+  }
+
   @Test
   public void loadsAndPreparesProvidedMediaDisablesAudioFocusWhenMixModeSet() {
     VideoPlayerOptions options = new VideoPlayerOptions();
@@ -239,6 +368,260 @@ public final class VideoPlayerTest {
     verify(mockExoPlayer).release();
   }
 
+  @Test
+  public void disposeWithReleaserStopsPlayerAndReleasesItInBackground() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    verify(mockExoPlayer).addListener(listenerCaptor.capture());
+    PlayerReleaser releaser = new PlayerReleaser(1);
+
+    Future<?> release = videoPlayer.dispose(releaser);
+
+    verify(mockExoPlayer).removeListener(listenerCaptor.getValue());
+    verify(mockExoPlayer).stop();
+    assertTrue(releaser.awaitReleases(5000));
+    assertTrue(release.isDone());
+    verify(mockExoPlayer).release();
+  }
+
+  @Test
+  public void disposeWithReleaserReleasesPlayerOnItsPlaybackThread() {
+    HandlerThread playbackThread = new HandlerThread("VideoPlayerTest");
+    playbackThread.start();
+    when(mockExoPlayer.getApplicationLooper()).thenReturn(playbackThread.getLooper());
+    AtomicReference<Thread> releaseThread = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              releaseThread.set(Thread.currentThread());
+              return null;
+            })
+        .when(mockExoPlayer)
+        .release();
+    VideoPlayer videoPlayer = createVideoPlayer();
+    PlayerReleaser releaser = new PlayerReleaser(1);
+
+    videoPlayer.dispose(releaser);
+
+    assertTrue(releaser.awaitReleases(5000));
+    assertSame(playbackThread, releaseThread.get());
+    playbackThread.quit();
+  }
+
+  @Test
+  public void suspendDisablesTracksAndResumeRestoresThem() {
+    TrackSelectionParameters parameters = TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT;
+    when(mockExoPlayer.getTrackSelectionParameters()).thenReturn(parameters);
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    videoPlayer.suspend();
+    assertTrue(videoPlayer.isSuspended());
+    verify(mockExoPlayer).pause();
+    verify(mockExoPlayer).setTrackSelectionParameters(parametersCaptor.capture());
+    assertTrue(parametersCaptor.getValue().disabledTrackTypes.contains(C.TRACK_TYPE_VIDEO));
+    assertTrue(parametersCaptor.getValue().disabledTrackTypes.contains(C.TRACK_TYPE_AUDIO));
+    // The player must stay prepared so that its media and DRM sessions are kept.
+    verify(mockExoPlayer, never()).stop();
+
+    // Suspending twice is a no-op.
+    videoPlayer.suspend();
+    verify(mockExoPlayer, times(1)).pause();
+
+    videoPlayer.resume();
+    assertFalse(videoPlayer.isSuspended());
+    verify(mockExoPlayer).setTrackSelectionParameters(parameters);
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void mutedPreviewDisablesAudioTracksAndAudioFocus() {
+    TrackSelectionParameters parameters = TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT;
+    when(mockExoPlayer.getTrackSelectionParameters()).thenReturn(parameters);
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    videoPlayer.setMutedPreview(true);
+    verify(mockExoPlayer).setTrackSelectionParameters(parametersCaptor.capture());
+    TrackSelectionParameters muted = parametersCaptor.getValue();
+    assertTrue(muted.disabledTrackTypes.contains(C.TRACK_TYPE_AUDIO));
+    assertFalse(muted.disabledTrackTypes.contains(C.TRACK_TYPE_VIDEO));
+    verify(mockExoPlayer).setAudioAttributes(any(AudioAttributes.class), eq(false));
+    // Unlike setVolume(0), nothing is reloaded from scratch.
+    verify(mockExoPlayer, never()).stop();
+
+    when(mockExoPlayer.getTrackSelectionParameters()).thenReturn(muted);
+    videoPlayer.setMutedPreview(false);
+    verify(mockExoPlayer, times(2)).setTrackSelectionParameters(parametersCaptor.capture());
+    assertFalse(parametersCaptor.getValue().disabledTrackTypes.contains(C.TRACK_TYPE_AUDIO));
+    verify(mockExoPlayer, times(2)).setAudioAttributes(any(AudioAttributes.class), eq(true));
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void discardBufferIfPausedReselectsVideoOnceReleased() {
+    TrackSelectionParameters parameters = TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT;
+    when(mockExoPlayer.getTrackSelectionParameters()).thenReturn(parameters);
+    Tracks tracks = mock(Tracks.class);
+    when(tracks.isTypeSelected(C.TRACK_TYPE_VIDEO)).thenReturn(true);
+    when(mockExoPlayer.getCurrentTracks()).thenReturn(tracks);
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    videoPlayer.play();
+    assertFalse(videoPlayer.discardBufferIfPaused());
+    videoPlayer.pause();
+    assertTrue(videoPlayer.discardBufferIfPaused());
+
+    verify(mockExoPlayer).setTrackSelectionParameters(parametersCaptor.capture());
+    TrackSelectionParameters discarding = parametersCaptor.getValue();
+    assertTrue(discarding.disabledTrackTypes.contains(C.TRACK_TYPE_VIDEO));
+    assertFalse(discarding.disabledTrackTypes.contains(C.TRACK_TYPE_AUDIO));
+
+    verify(mockExoPlayer, times(2)).addListener(listenerCaptor.capture());
+    when(mockExoPlayer.getTrackSelectionParameters()).thenReturn(discarding);
+    listenerCaptor.getValue().onTracksChanged(Tracks.EMPTY);
+
+    verify(mockExoPlayer, times(2)).setTrackSelectionParameters(parametersCaptor.capture());
+    assertFalse(parametersCaptor.getValue().disabledTrackTypes.contains(C.TRACK_TYPE_VIDEO));
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void mutedPreviewWhileSuspendedAppliesOnResume() {
+    when(mockExoPlayer.getTrackSelectionParameters())
+        .thenReturn(TrackSelectionParameters.DEFAULT_WITHOUT_CONTEXT);
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    videoPlayer.suspend();
+    videoPlayer.setMutedPreview(true);
+    // Only suspending changed the parameters so far.
+    verify(mockExoPlayer, times(1)).setTrackSelectionParameters(any());
+
+    videoPlayer.resume();
+    verify(mockExoPlayer, times(2)).setTrackSelectionParameters(parametersCaptor.capture());
+    TrackSelectionParameters resumed = parametersCaptor.getValue();
+    assertTrue(resumed.disabledTrackTypes.contains(C.TRACK_TYPE_AUDIO));
+    assertFalse(resumed.disabledTrackTypes.contains(C.TRACK_TYPE_VIDEO));
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void setPlaylistResolvesEveryItem() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    MediaSource mockMediaSource = mock(MediaSource.class);
+    videoPlayer.setMediaSourceResolver(options -> mockMediaSource);
+    CreationOptions item =
+        new CreationOptions(
+            FAKE_ASSET_URL,
+            null,
+            new HashMap<>(),
+            new HashMap<>(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    videoPlayer.setPlaylist(Arrays.asList(item, item));
+
+    verify(mockExoPlayer).setMediaSources(Arrays.asList(mockMediaSource, mockMediaSource), true);
+
+    videoPlayer.addMediaItem(item);
+    verify(mockExoPlayer).addMediaSource(mockMediaSource);
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void setPlaylistWithoutResolverThrows() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    CreationOptions item =
+        new CreationOptions(
+            FAKE_ASSET_URL,
+            null,
+            new HashMap<>(),
+            new HashMap<>(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
+    assertThrows(
+        IllegalStateException.class, () -> videoPlayer.setPlaylist(Collections.singletonList(item)));
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void seekToItemSeeksToDefaultPosition() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    when(mockExoPlayer.getMediaItemCount()).thenReturn(3);
+
+    videoPlayer.seekToItem(2);
+    verify(mockExoPlayer).seekToDefaultPosition(2);
+
+    assertThrows(IllegalArgumentException.class, () -> videoPlayer.seekToItem(3));
+    assertThrows(IllegalArgumentException.class, () -> videoPlayer.seekToItem(-1));
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void setSeekModeSetsSeekParameters() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+
+    videoPlayer.setSeekMode(PlatformSeekMode.PREVIOUS_SYNC);
+    verify(mockExoPlayer).setSeekParameters(SeekParameters.PREVIOUS_SYNC);
+
+    videoPlayer.setSeekMode(PlatformSeekMode.EXACT);
+    verify(mockExoPlayer).setSeekParameters(SeekParameters.EXACT);
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void scrubbingCoalescesSeeksAndSeeksToLastPositionWhenDone() {
+    when(mockExoPlayer.getApplicationLooper()).thenReturn(Looper.getMainLooper());
+    when(mockExoPlayer.getPlaybackState()).thenReturn(Player.STATE_BUFFERING);
+    VideoPlayer videoPlayer = createVideoPlayer();
+    videoPlayer.setSeekMode(PlatformSeekMode.EXACT);
+
+    videoPlayer.setScrubbing(true);
+    verify(mockExoPlayer).setSeekParameters(SeekParameters.CLOSEST_SYNC);
+    videoPlayer.seekTo(1000);
+    videoPlayer.seekTo(2000);
+    videoPlayer.seekTo(3000);
+    // The first seek is still in progress, so the later ones wait for it.
+    verify(mockExoPlayer).seekTo(1000);
+    verify(mockExoPlayer, never()).seekTo(2000);
+    verify(mockExoPlayer, never()).seekTo(3000);
+
+    videoPlayer.setScrubbing(false);
+    verify(mockExoPlayer, times(2)).setSeekParameters(SeekParameters.EXACT);
+    verify(mockExoPlayer).seekTo(3000);
+    verify(mockExoPlayer, never()).seekTo(2000);
+
+    videoPlayer.dispose();
+  }
+
+  @Test
+  public void playAndSetVisibleNotifyActivityListener() {
+    VideoPlayer videoPlayer = createVideoPlayer();
+    VideoPlayer.ActivityListener listener = mock(VideoPlayer.ActivityListener.class);
+    videoPlayer.setActivityListener(listener);
+
+    videoPlayer.play();
+    verify(listener).onPlayRequested(videoPlayer);
+
+    videoPlayer.setVisible(false);
+    verify(listener).onVisibilityChanged(videoPlayer, false);
+
+    videoPlayer.dispose();
+  }
+
   // Helper method to set the length field on a mocked Tracks.Group
   private void setGroupLength(Tracks.Group group, int length) {
     try {
@@ -0,0 +1,174 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer.texture;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import android.graphics.SurfaceTexture;
+import android.view.Surface;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.MediaItem;
+import com.google.android.exoplayer2.Tracks;
+import com.google.android.exoplayer2.drm.DrmInitData;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.util.MimeTypes;
+import com.google.common.collect.ImmutableList;
+import io.flutter.plugins.videoplayer.VideoPlayerCallbacks;
+import io.flutter.plugins.videoplayer.VideoPlayerOptions;
+import io.flutter.view.TextureRegistry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for the mirrored outputs of {@link TextureVideoPlayer}. */
+@RunWith(RobolectricTestRunner.class)
+public final class TextureVideoPlayerMirrorTest {
+  private static final long OUTPUT_ID = 7;
+
+  @Mock private VideoPlayerCallbacks mockEvents;
+  @Mock private ExoPlayer mockExoPlayer;
+  @Mock private TextureRegistry.SurfaceTextureEntry mockTexture;
+  @Mock private TextureRegistry.SurfaceTextureEntry mockOutput;
+  @Mock private VideoFrameMirror mockMirror;
+  @Mock private Surface mockMirrorSurface;
+
+  @Rule public MockitoRule initRule = MockitoJUnit.rule();
+
+  private SurfaceTexture textureSurface;
+  private SurfaceTexture outputSurface;
+
+  @Before
+  public void setUp() {
+    textureSurface = new SurfaceTexture(0);
+    outputSurface = new SurfaceTexture(1);
+    when(mockTexture.surfaceTexture()).thenReturn(textureSurface);
+    when(mockOutput.id()).thenReturn(OUTPUT_ID);
+    when(mockOutput.surfaceTexture()).thenReturn(outputSurface);
+    when(mockMirror.getInputSurface()).thenReturn(mockMirrorSurface);
+  }
+
+  private TextureVideoPlayer createVideoPlayer() {
+    TextureVideoPlayer player =
+        new TextureVideoPlayer(
+            mockEvents,
+            mockTexture,
+            MediaItem.fromUri("https://flutter.dev/movie.mp4"),
+            new VideoPlayerOptions(),
+            loadControl -> mockExoPlayer);
+    player.setFrameMirrorFactory(videoSize -> mockMirror);
+    return player;
+  }
+
+  private static Tracks videoTracks(Format format) {
+    return new Tracks(
+        ImmutableList.of(
+            new Tracks.Group(
+                new TrackGroup(format),
+                /* adaptiveSupported= */ false,
+                new int[] {C.FORMAT_HANDLED},
+                new boolean[] {true})));
+  }
+
+  private static Format.Builder videoFormat() {
+    return new Format.Builder()
+        .setSampleMimeType(MimeTypes.VIDEO_H264)
+        .setWidth(1280)
+        .setHeight(720);
+  }
+
+  @Test
+  public void addingOutputRendersThroughMirror() {
+    when(mockExoPlayer.getCurrentTracks()).thenReturn(videoTracks(videoFormat().build()));
+    TextureVideoPlayer player = createVideoPlayer();
+
+    player.addMirroredOutput(mockOutput, 640, 360);
+
+    verify(mockExoPlayer).setVideoSurface(mockMirrorSurface);
+    verify(mockMirror).setPrimaryOutput(textureSurface);
+    verify(mockMirror).addMirroredOutput(OUTPUT_ID, outputSurface, 640, 360);
+    verify(mockExoPlayer).addListener(mockMirror);
+
+    player.dispose();
+  }
+
+  @Test
+  public void removingLastOutputReconnectsTexture() {
+    when(mockExoPlayer.getCurrentTracks()).thenReturn(videoTracks(videoFormat().build()));
+    TextureVideoPlayer player = createVideoPlayer();
+    player.addMirroredOutput(mockOutput, 640, 360);
+    clearInvocations(mockExoPlayer);
+
+    assertSame(mockOutput, player.removeMirroredOutput(OUTPUT_ID));
+
+    // The mirror lets go of the texture before the player renders to it again.
+    InOrder inOrder = inOrder(mockMirror, mockExoPlayer);
+    inOrder.verify(mockMirror).removeMirroredOutput(OUTPUT_ID);
+    inOrder.verify(mockExoPlayer).removeListener(mockMirror);
+    inOrder.verify(mockMirror).setPrimaryOutput(null);
+    inOrder.verify(mockExoPlayer).setVideoSurface(any(Surface.class));
+    inOrder.verify(mockMirror).release();
+    verify(mockExoPlayer, never()).setVideoSurface(mockMirrorSurface);
+    // Releasing the output is left to the caller, on the platform thread.
+    verify(mockOutput, never()).release();
+    assertNull(player.removeMirroredOutput(OUTPUT_ID));
+
+    player.dispose();
+  }
+
+  @Test
+  public void disposingReleasesMirrorAndOutputs() {
+    when(mockExoPlayer.getCurrentTracks()).thenReturn(videoTracks(videoFormat().build()));
+    TextureVideoPlayer player = createVideoPlayer();
+    player.addMirroredOutput(mockOutput, 640, 360);
+
+    player.dispose();
+
+    verify(mockExoPlayer).release();
+    verify(mockMirror).release();
+    verify(mockOutput).release();
+    verify(mockTexture).release();
+  }
+
+  @Test
+  public void rejectsProtectedVideo() {
+    DrmInitData drmInitData =
+        new DrmInitData(
+            new DrmInitData.SchemeData(C.WIDEVINE_UUID, MimeTypes.VIDEO_MP4, new byte[] {1}));
+    when(mockExoPlayer.getCurrentTracks())
+        .thenReturn(videoTracks(videoFormat().setDrmInitData(drmInitData).build()));
+    TextureVideoPlayer player = createVideoPlayer();
+
+    assertThrows(
+        IllegalStateException.class, () -> player.addMirroredOutput(mockOutput, 640, 360));
+    verify(mockExoPlayer, never()).addListener(mockMirror);
+    verify(mockMirror, never()).addMirroredOutput(anyLong(), any(), anyInt(), anyInt());
+
+    player.dispose();
+  }
+
+  @Test
+  public void rejectsVideoWithUnknownTracks() {
+    when(mockExoPlayer.getCurrentTracks()).thenReturn(Tracks.EMPTY);
+    TextureVideoPlayer player = createVideoPlayer();
+
+    assertThrows(
+        IllegalStateException.class, () -> player.addMirroredOutput(mockOutput, 640, 360));
+    verify(mockMirror, never()).addMirroredOutput(anyLong(), any(), anyInt(), anyInt());
+
+    player.dispose();
+  }
+}
@@ -0,0 +1,36 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer.texture;
+
+import static org.junit.Assert.assertEquals;
+
+import android.util.Size;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for {@link VideoFrameMirror}. */
+@RunWith(RobolectricTestRunner.class)
+public final class VideoFrameMirrorTest {
+  @Test
+  public void downscalesOutputsKeepingAspectRatio() {
+    assertEquals(new Size(640, 360), VideoFrameMirror.fitWithin(1920, 1080, 640, 640));
+    assertEquals(new Size(320, 180), VideoFrameMirror.fitWithin(1920, 1080, 1000, 180));
+    assertEquals(new Size(180, 320), VideoFrameMirror.fitWithin(1080, 1920, 320, 320));
+  }
+
+  @Test
+  public void doesNotUpscaleOutputs() {
+    assertEquals(
+        new Size(1280, 720),
+        VideoFrameMirror.fitWithin(1280, 720, Integer.MAX_VALUE, Integer.MAX_VALUE));
+    assertEquals(new Size(1280, 720), VideoFrameMirror.fitWithin(1280, 720, 1920, 1080));
+  }
+
+  @Test
+  public void keepsOutputsAtLeastOnePixel() {
+    assertEquals(new Size(100, 1), VideoFrameMirror.fitWithin(4000, 10, 100, 100));
+  }
+}
@@ -7,9 +7,18 @@ import 'dart:async';
 import 'package:flutter/widgets.dart';
 import 'package:video_player_platform_interface/video_player_platform_interface.dart';
 
-import 'messages.g.dart' hide videoEvents;
-import 'messages.g.dart' as pigeon show videoEvents;
+import 'messages.g.dart'
+    hide downloadEvents, memoryPressureEvents, videoEvents;
+import 'messages.g.dart' as pigeon
+    show downloadEvents, memoryPressureEvents, videoEvents;
 import 'platform_view_player.dart';
+import 'video_abr_options.dart';
+import 'video_creation_mode.dart';
+import 'video_download.dart';
+import 'video_memory_pressure.dart';
+import 'video_prefetch.dart';
+import 'video_seek_mode.dart';
+import 'video_thumbnail.dart';
 
 /// The non-test implementation of `_apiProvider`.
 VideoPlayerInstanceApi _productionApiProvider(int playerId) {
@@ -23,6 +32,17 @@ Stream<PlatformVideoEvent> _productionVideoEventStreamProvider(
   return pigeon.videoEvents(instanceName: streamIdentifier);
 }
 
+/// The non-test implementation of `_downloadEventStreamProvider`.
+Stream<PlatformDownloadEvent> _productionDownloadEventStreamProvider() {
+  return pigeon.downloadEvents();
+}
+
+/// The non-test implementation of `_memoryPressureEventStreamProvider`.
+Stream<PlatformMemoryPressureEvent>
+_productionMemoryPressureEventStreamProvider() {
+  return pigeon.memoryPressureEvents();
+}
+
 /// An Android implementation of [VideoPlayerPlatform] that uses the
 /// Pigeon-generated [VideoPlayerApi].
 class AndroidVideoPlayer extends VideoPlayerPlatform {
@@ -33,10 +53,21 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
     VideoPlayerInstanceApi Function(int playerId)? playerApiProvider,
     Stream<PlatformVideoEvent> Function(String streamIdentifier)?
     videoEventStreamProvider,
+    @visibleForTesting
+    Stream<PlatformDownloadEvent> Function()? downloadEventStreamProvider,
+    @visibleForTesting
+    Stream<PlatformMemoryPressureEvent> Function()?
+    memoryPressureEventStreamProvider,
   }) : _api = pluginApi ?? AndroidVideoPlayerApi(),
        _playerApiProvider = playerApiProvider ?? _productionApiProvider,
        _videoEventStreamProvider =
-           videoEventStreamProvider ?? _productionVideoEventStreamProvider;
+           videoEventStreamProvider ?? _productionVideoEventStreamProvider,
+       _downloadEventStreamProvider =
+           downloadEventStreamProvider ??
+           _productionDownloadEventStreamProvider,
+       _memoryPressureEventStreamProvider =
+           memoryPressureEventStreamProvider ??
+           _productionMemoryPressureEventStreamProvider;
 
   final AndroidVideoPlayerApi _api;
   // A method to create VideoPlayerInstanceApi instances, which can be
@@ -46,6 +77,13 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
   // overridden for testing.
   final Stream<PlatformVideoEvent> Function(String streamIdentifier)
   _videoEventStreamProvider;
+  // A method to create the download event stream, which can be overridden for
+  // testing.
+  final Stream<PlatformDownloadEvent> Function() _downloadEventStreamProvider;
+  // A method to create the memory pressure event stream, which can be
+  // overridden for testing.
+  final Stream<PlatformMemoryPressureEvent> Function()
+  _memoryPressureEventStreamProvider;
 
   final Map<int, _PlayerInstance> _players = <int, _PlayerInstance>{};
 
@@ -79,9 +117,140 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
   }
 
   @override
-  Future<int?> createWithOptions(VideoCreationOptions options) async {
-    final DataSource dataSource = options.dataSource;
+  Future<int?> createWithOptions(VideoCreationOptions options) {
+    return _create(options);
+  }
+
+  /// Creates a player like [createWithOptions], with any combination of the
+  /// Android-specific creation options.
+  ///
+  /// - [abrOptions] picks the bitrate of adaptive streams.
+  /// - [downloadId] plays the completed download with that ID from local
+  ///   storage, without network access, instead of streaming the data source.
+  /// - [startPosition] starts playback there instead of at the start of the
+  ///   video. Unlike seeking once the player is initialized, this only loads
+  ///   the media needed from [startPosition].
+  /// - [initialBitrate] picks the bitrate of the first segments of adaptive
+  ///   streams as if that many bits per second were available, until the
+  ///   bandwidth has been measured.
+  /// - [creationMode] limits how much of its media is loaded before the player
+  ///   is first played. See [VideoCreationMode] for when each mode sends the
+  ///   initialization event.
+  Future<int?> createWithAndroidOptions(
+    VideoCreationOptions options, {
+    VideoAbrOptions? abrOptions,
+    String? downloadId,
+    Duration? startPosition,
+    int? initialBitrate,
+    VideoCreationMode? creationMode,
+  }) {
+    return _create(
+      options,
+      abrOptions: abrOptions,
+      downloadId: downloadId,
+      startPosition: startPosition,
+      initialBitrate: initialBitrate,
+      creationMode: creationMode,
+    );
+  }
+
+  /// Creates a player like [createWithOptions], picking the bitrate of
+  /// adaptive streams as described by [abrOptions].
+  ///
+  /// See [createWithAndroidOptions] to combine this with other options.
+  Future<int?> createWithAbrOptions(
+    VideoCreationOptions options,
+    VideoAbrOptions abrOptions,
+  ) {
+    return createWithAndroidOptions(options, abrOptions: abrOptions);
+  }
+
+  /// Creates a player like [createWithOptions], playing the completed
+  /// download with the given [downloadId] instead of streaming the data source.
+  ///
+  /// The download is played from local storage, without network access. See
+  /// [createWithAndroidOptions] to combine this with other options.
+  Future<int?> createFromDownload(
+    VideoCreationOptions options,
+    String downloadId,
+  ) {
+    return createWithAndroidOptions(options, downloadId: downloadId);
+  }
+
+  /// Creates a player like [createWithOptions], starting playback at
+  /// [startPosition] instead of the start of the video.
+  ///
+  /// Unlike seeking once the player is initialized, this only loads the media
+  /// needed from [startPosition]. If [initialBitrate] is given, the bitrate of
+  /// the first segments of adaptive streams is picked as if that many bits per
+  /// second were available, until the bandwidth has been measured. See
+  /// [createWithAndroidOptions] to combine this with other options.
+  Future<int?> createWithStartPosition(
+    VideoCreationOptions options,
+    Duration startPosition, {
+    int? initialBitrate,
+  }) {
+    return createWithAndroidOptions(
+      options,
+      startPosition: startPosition,
+      initialBitrate: initialBitrate,
+    );
+  }
 
+  /// Creates a player like [createWithOptions], loading only as much of its
+  /// media before it is first played as [mode] allows.
+  ///
+  /// See [VideoCreationMode] for when each mode sends the initialization
+  /// event, and [createWithAndroidOptions] to combine this with other options.
+  Future<int?> createWithMode(
+    VideoCreationOptions options,
+    VideoCreationMode mode,
+  ) {
+    return createWithAndroidOptions(options, creationMode: mode);
+  }
+
+  Future<int?> _create(
+    VideoCreationOptions options, {
+    VideoAbrOptions? abrOptions,
+    String? downloadId,
+    Duration? startPosition,
+    int? initialBitrate,
+    VideoCreationMode? creationMode,
+  }) async {
+    final CreationOptions pigeonCreationOptions =
+        await _creationOptionsFromDataSource(
+          options.dataSource,
+          abrOptions: abrOptions,
+        );
+    pigeonCreationOptions.downloadId = downloadId;
+    pigeonCreationOptions.startPositionMs = startPosition?.inMilliseconds;
+    pigeonCreationOptions.initialBitrate = initialBitrate;
+    pigeonCreationOptions.creationMode = creationMode == null
+        ? null
+        : _platformCreationModeFromCreationMode(creationMode);
+
+    final int playerId;
+    final VideoPlayerViewState state;
+    switch (options.viewType) {
+      case VideoViewType.textureView:
+        final TexturePlayerIds ids = await _api.createForTextureView(
+          pigeonCreationOptions,
+        );
+        playerId = ids.playerId;
+        state = VideoPlayerTextureViewState(textureId: ids.textureId);
+      case VideoViewType.platformView:
+        playerId = await _api.createForPlatformView(pigeonCreationOptions);
+        state = const VideoPlayerPlatformViewState();
+    }
+    ensurePlayerInitialized(playerId, state);
+
+    return playerId;
+  }
+
+  Future<CreationOptions> _creationOptionsFromDataSource(
+    DataSource dataSource, {
+    VideoAbrOptions? abrOptions,
+  }) async {
     String? uri;
     PlatformVideoFormat? formatHint;
     final Map<String, String> httpHeaders = dataSource.httpHeaders;
@@ -108,32 +277,18 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
         uri = dataSource.uri;
     }
     if (uri == null) {
-      throw ArgumentError('Unable to construct a video asset from $options');
+      throw ArgumentError('Unable to construct a video asset from $dataSource');
     }
-    final pigeonCreationOptions = CreationOptions(
+    return CreationOptions(
       uri: uri,
       httpHeaders: httpHeaders,
       drmConfiguration: drmConfiguration,
       userAgent: userAgent,
       formatHint: formatHint,
+      abrOptions: abrOptions == null
+          ? null
+          : _platformAbrOptionsFromAbrOptions(abrOptions),
     );
-
-    final int playerId;
-    final VideoPlayerViewState state;
-    switch (options.viewType) {
-      case VideoViewType.textureView:
-        final TexturePlayerIds ids = await _api.createForTextureView(
-          pigeonCreationOptions,
-        );
-        playerId = ids.playerId;
-        state = VideoPlayerTextureViewState(textureId: ids.textureId);
-      case VideoViewType.platformView:
-        playerId = await _api.createForPlatformView(pigeonCreationOptions);
-        state = const VideoPlayerPlatformViewState();
-    }
-    ensurePlayerInitialized(playerId, state);
-
-    return playerId;
   }
 
   // Returns the user agent to use with ExoPlayer for the given headers.
@@ -212,13 +367,13 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
   @override
   Widget buildViewWithOptions(VideoViewOptions options) {
     final int playerId = options.playerId;
-    final VideoPlayerViewState viewState = _playerWith(id: playerId).viewState;
+    final _PlayerInstance player = _playerWith(id: playerId);
 
-    return switch (viewState) {
-      VideoPlayerTextureViewState(:final int textureId) => Texture(
-        textureId: textureId,
-      ),
-      VideoPlayerPlatformViewState() => PlatformViewPlayer(playerId: playerId),
+    return switch (player.viewState) {
+      VideoPlayerTextureViewState(:final int textureId)
+          when !player.rendersToPlatformView =>
+        Texture(textureId: textureId),
+      _ => PlatformViewPlayer(playerId: playerId),
     };
   }
 
@@ -227,6 +382,289 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
     return _api.setMixWithOthers(mixWithOthers);
   }
 
+  /// Limits how many players may hold video decoders at the same time, and
+  /// the total memory their buffers may use.
+  ///
+  /// When more than [maxActivePlayers] players are active, the player that was
+  /// least recently visible is suspended, releasing its decoders and buffers. It
+  /// resumes from the same position when it becomes visible or is played again.
+  ///
+  /// The [bufferMemoryBudgetBytes] is shared between all players, including
+  /// those created before this call, and the shares follow what the user is
+  /// likely watching: the visible, playing player gets the largest share,
+  /// other visible players a smaller one, and hidden players the least.
+  /// Suspended players get no share, and every player may buffer a small
+  /// minimum, even when the budget is smaller.
+  Future<void> setPlayerLimits({
+    required int maxActivePlayers,
+    required int bufferMemoryBudgetBytes,
+  }) {
+    return _api.setPlayerLimits(maxActivePlayers, bufferMemoryBudgetBytes);
+  }
+
+  /// Runs players created after this call on a pool of [threadCount]
+  /// dedicated threads.
+  ///
+  /// Players never run on the platform thread: by default, they all share a
+  /// single playback thread. Spreading them over more threads keeps the work
+  /// of each thread from growing with the number of players on screen.
+  /// Passing 0 restores the default. Must be called before any player is
+  /// created.
+  Future<void> setPlayerThreadCount(int threadCount) {
+    return _api.setPlayerThreadCount(threadCount);
+  }
+
+  /// Starts downloading [dataSource] for offline playback, under the given
+  /// [downloadId].
+  ///
+  /// The renditions to download are picked like for playback, capped by
+  /// [options]. The Sigma license of a protected video is downloaded and
+  /// stored with it. Progress is reported by [downloadEvents]; once the
+  /// download has completed, [createFromDownload] plays it.
+  Future<void> startDownload(
+    String downloadId,
+    DataSource dataSource, {
+    VideoDownloadOptions options = const VideoDownloadOptions(),
+  }) async {
+    final CreationOptions creationOptions =
+        await _creationOptionsFromDataSource(dataSource);
+    return _api.startDownload(
+      downloadId,
+      creationOptions,
+      PlatformDownloadOptions(maxVideoBitrate: options.maxVideoBitrate),
+    );
+  }
+
+  /// Removes the download with the given [downloadId], and releases its
+  /// license.
+  Future<void> removeDownload(String downloadId) {
+    return _api.removeDownload(downloadId);
+  }
+
+  /// Sets how many media segments are fetched in parallel, across all
+  /// downloads.
+  Future<void> setDownloadConcurrency(int segmentConcurrency) {
+    return _api.setDownloadConcurrency(segmentConcurrency);
+  }
+
+  /// Prefetches the start of each of [dataSources], the videos a feed is likely
+  /// to play next, ranked from the most likely.
+  ///
+  /// The manifest and the first [VideoPrefetchOptions.duration] of the
+  /// rendition a player would start with are cached in the background, so that
+  /// players created for these videos start without waiting for the network.
+  /// Each call replaces the previous queue, so it should be called again as the
+  /// user scrolls; an empty list stops prefetching. Prefetching stays within
+  /// [VideoPrefetchOptions.maxBytes], yields to the playing video, and pauses
+  /// while the network is metered. Only on-demand DASH and HLS videos are
+  /// prefetched.
+  Future<void> setPrefetchQueue(
+    List<DataSource> dataSources, {
+    VideoPrefetchOptions options = const VideoPrefetchOptions(),
+  }) async {
+    final List<CreationOptions> items = <CreationOptions>[
+      for (final DataSource dataSource in dataSources)
+        await _creationOptionsFromDataSource(dataSource),
+    ];
+    return _api.setPrefetchQueue(
+      items,
+      PlatformPrefetchOptions(
+        durationMs: options.duration.inMilliseconds,
+        maxBytes: options.maxBytes,
+        maxVideoBitrate: options.maxVideoBitrate,
+      ),
+    );
+  }
+
+  /// Returns a stream of the state and progress changes of all downloads.
+  ///
+  /// The progress of active downloads is reported about once a second.
+  Stream<VideoDownloadEvent> downloadEvents() {
+    return _downloadEventStreamProvider().map(
+      (PlatformDownloadEvent event) => VideoDownloadEvent(
+        downloadId: event.downloadId,
+        state: switch (event.state) {
+          PlatformDownloadState.queued => VideoDownloadState.queued,
+          PlatformDownloadState.downloading => VideoDownloadState.downloading,
+          PlatformDownloadState.completed => VideoDownloadState.completed,
+          PlatformDownloadState.failed => VideoDownloadState.failed,
+          PlatformDownloadState.removing => VideoDownloadState.removing,
+        },
+        bytesDownloaded: event.bytesDownloaded,
+        percentDownloaded: event.percentDownloaded,
+        failureReason: event.failureReason,
+      ),
+    );
+  }
+
+  /// Returns a stream of the steps taken to free memory when the system runs
+  /// low on it.
+  ///
+  /// Apps can use these to release memory of their own, such as players they
+  /// can recreate later.
+  ///
+  /// From Android 14 (API 34), the system only reports that the app was hidden,
+  /// which trims buffers, and that it is in the background, which takes every
+  /// step. Earlier versions also grade the response while the app is visible.
+  Stream<MemoryPressureEvent> memoryPressureEvents() {
+    return _memoryPressureEventStreamProvider().map(
+      (PlatformMemoryPressureEvent event) => MemoryPressureEvent(
+        action: switch (event.action) {
+          PlatformMemoryPressureAction.trimmedBuffers =>
+            MemoryPressureAction.trimmedBuffers,
+          PlatformMemoryPressureAction.shrankPausedBuffers =>
+            MemoryPressureAction.shrankPausedBuffers,
+          PlatformMemoryPressureAction.suspendedHiddenPlayers =>
+            MemoryPressureAction.suspendedHiddenPlayers,
+        },
+        trimLevel: event.trimLevel,
+        playerCount: event.playerCount,
+      ),
+    );
+  }
+
+  /// Reports whether the view of the player with the given [playerId] is
+  /// currently visible, so that off-screen players are suspended first.
+  Future<void> setVisible(int playerId, bool visible) {
+    return _playerWith(id: playerId).setVisible(visible);
+  }
+
+  /// Releases the decoders, surface and buffered media of the player with the
+  /// given [playerId], while keeping its media, position, selected tracks and
+  /// DRM sessions so that [resume] is fast.
+  Future<void> suspend(int playerId) {
+    return _playerWith(id: playerId).suspend();
+  }
+
+  /// Restores a player released by [suspend] at the position it was
+  /// suspended at.
+  Future<void> resume(int playerId) {
+    return _playerWith(id: playerId).resume();
+  }
+
+  /// Replaces the media of the player with the given [playerId] with a
+  /// playlist of [dataSources], played back to back without gaps.
+  ///
+  /// Playback starts at the beginning of the first item. Items using the same
+  /// DRM configuration and headers as the player's original media share its
+  /// DRM sessions.
+  Future<void> setPlaylist(int playerId, List<DataSource> dataSources) async {
+    final List<CreationOptions> items = <CreationOptions>[
+      for (final DataSource dataSource in dataSources)
+        await _creationOptionsFromDataSource(dataSource),
+    ];
+    return _playerWith(id: playerId).setPlaylist(items);
+  }
+
+  /// Appends [dataSource] to the playlist of the player with the given
+  /// [playerId].
+  Future<void> addMediaItem(int playerId, DataSource dataSource) async {
+    final CreationOptions item = await _creationOptionsFromDataSource(
+      dataSource,
+    );
+    return _playerWith(id: playerId).addMediaItem(item);
+  }
+
+  /// Moves playback of the player with the given [playerId] to the start of
+  /// the playlist item at [index].
+  Future<void> seekToItem(int playerId, int index) {
+    return _playerWith(id: playerId).seekToItem(index);
+  }
+
+  /// Returns a stream of the index of the current playlist item, emitted each
+  /// time playback moves to another item.
+  Stream<int> mediaItemTransitionsFor(int playerId) {
+    return _playerWith(id: playerId).mediaItemTransitions();
+  }
+
+  /// Returns the seek bar preview thumbnail at [position] for the player with
+  /// the given [playerId].
+  ///
+  /// Thumbnails are read from the image tracks of DASH and HLS manifests.
+  /// Returns null if the video has none, or if the thumbnail is still loading;
+  /// the request starts loading it, and [thumbnailsLoadedFor] reports when it
+  /// can be requested again.
+  Future<VideoThumbnail?> getThumbnail(int playerId, Duration position) {
+    return _playerWith(id: playerId).getThumbnail(position);
+  }
+
+  /// Returns a stream of the ranges of positions whose thumbnails have loaded
+  /// for the player with the given [playerId], after [getThumbnail] returned
+  /// null for one of them because it was still loading.
+  Stream<DurationRange> thumbnailsLoadedFor(int playerId) {
+    return _playerWith(id: playerId).thumbnailsLoaded();
+  }
+
+  /// Sets how seeks of the player with the given [playerId] pick the position
+  /// they land on.
+  Future<void> setSeekMode(int playerId, VideoSeekMode mode) {
+    return _playerWith(
+      id: playerId,
+    ).setSeekMode(_platformSeekModeFromSeekMode(mode));
+  }
+
+  /// Starts or stops scrubbing the player with the given [playerId], for
+  /// example while the user drags a seek bar.
+  ///
+  /// While scrubbing, seeks snap to the closest sync frame and a seek
+  /// requested before the previous one completes replaces any other pending
+  /// seek, so playback follows the drag without queueing decodes. When
+  /// scrubbing stops, the player seeks to the last requested position using
+  /// the mode set by [setSeekMode].
+  Future<void> setScrubbing(int playerId, bool scrubbing) {
+    return _playerWith(id: playerId).setScrubbing(scrubbing);
+  }
+
+  /// Starts or stops playing [playerId] as a muted preview.
+  ///
+  /// A muted preview loads and decodes no audio, and does not take audio focus
+  /// from other apps. Unmuting it resumes audio from the current position.
+  Future<void> setMutedPreview(int playerId, bool mutedPreview) {
+    return _playerWith(id: playerId).setMutedPreview(mutedPreview);
+  }
+
+  /// Moves the video of [playerId] between its texture and a platform view.
+  ///
+  /// The player keeps its position, buffers, DRM sessions and selected tracks,
+  /// so playback continues without being prepared again. Once the returned
+  /// future completes, views built by [buildView] use [viewType], so widgets
+  /// showing the player need to be rebuilt.
+  ///
+  /// Only players created with [VideoViewType.textureView] can move in both
+  /// directions; a player created for a platform view has no texture.
+  Future<void> setVideoOutput(int playerId, VideoViewType viewType) {
+    return _playerWith(id: playerId).setVideoOutput(viewType);
+  }
+
+  /// Renders the video of [playerId] to a new texture as well, and returns the
+  /// ID of the texture, to be shown with a [Texture] widget.
+  ///
+  /// The video is decoded once and each frame is copied to the player's own
+  /// texture and to every mirrored output, so showing the same video twice,
+  /// for example over a blurred copy of itself, doesn't need a second player
+  /// with its own decoder and buffers. The output is downscaled to fit within
+  /// [maxWidth] and [maxHeight], in pixels, if given.
+  ///
+  /// Only players created with [VideoViewType.textureView] can be mirrored,
+  /// once they are initialized. Protected content can't be mirrored, as its
+  /// frames can't be copied, so mirroring it throws a `PlatformException`.
+  Future<int> addMirroredOutput(
+    int playerId, {
+    int? maxWidth,
+    int? maxHeight,
+  }) {
+    return _api.addMirroredOutput(
+      playerId,
+      PlatformMirroredOutputOptions(maxWidth: maxWidth, maxHeight: maxHeight),
+    );
+  }
+
+  /// Stops rendering the video of [playerId] to the mirrored output
+  /// [textureId], and releases the texture.
+  Future<void> removeMirroredOutput(int playerId, int textureId) {
+    return _api.removeMirroredOutput(playerId, textureId);
+  }
+
   @override
   Future<List<VideoAudioTrack>> getAudioTracks(int playerId) async {
     final NativeAudioTrackData nativeData = await _playerWith(
@@ -286,6 +724,41 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
       _ => null,
     };
   }
+
+  PlatformSeekMode _platformSeekModeFromSeekMode(VideoSeekMode mode) {
+    return switch (mode) {
+      VideoSeekMode.exact => PlatformSeekMode.exact,
+      VideoSeekMode.closestSync => PlatformSeekMode.closestSync,
+      VideoSeekMode.previousSync => PlatformSeekMode.previousSync,
+      VideoSeekMode.nextSync => PlatformSeekMode.nextSync,
+    };
+  }
+
+  PlatformCreationMode _platformCreationModeFromCreationMode(
+    VideoCreationMode mode,
+  ) {
+    return switch (mode) {
+      VideoCreationMode.prepareOnly => PlatformCreationMode.prepareOnly,
+      VideoCreationMode.metadataOnly => PlatformCreationMode.metadataOnly,
+      VideoCreationMode.lazy => PlatformCreationMode.lazy,
+    };
+  }
+
+  PlatformAbrOptions _platformAbrOptionsFromAbrOptions(
+    VideoAbrOptions options,
+  ) {
+    return PlatformAbrOptions(
+      strategy: switch (options.strategy) {
+        VideoAbrStrategy.throughput => PlatformAbrStrategy.throughput,
+        VideoAbrStrategy.bufferBased => PlatformAbrStrategy.bufferBased,
+        VideoAbrStrategy.hybrid => PlatformAbrStrategy.hybrid,
+      },
+      switchUpThresholdMs: options.switchUpThreshold?.inMilliseconds,
+      switchDownThresholdMs: options.switchDownThreshold?.inMilliseconds,
+      hysteresisMs: options.hysteresis?.inMilliseconds,
+      bandwidthFraction: options.bandwidthFraction,
+    );
+  }
 }
 
 /// An instance of a video player, corresponding to a single player ID in
@@ -310,6 +783,10 @@ class _PlayerInstance {
   final VideoPlayerInstanceApi _api;
   final StreamController<VideoEvent> _eventStreamController =
       StreamController<VideoEvent>();
+  final StreamController<int> _mediaItemTransitionController =
+      StreamController<int>.broadcast();
+  final StreamController<DurationRange> _thumbnailsLoadedController =
+      StreamController<DurationRange>.broadcast();
   late final StreamSubscription<dynamic> _eventSubscription;
   bool _isDisposed = false;
   Timer? _bufferPollingTimer;
@@ -319,6 +796,9 @@ class _PlayerInstance {
 
   final VideoPlayerViewState viewState;
 
+  /// Whether the video is rendered to a platform view rather than a texture.
+  late bool rendersToPlatformView = viewState is VideoPlayerPlatformViewState;
+
   Future<void> setLooping(bool looping) {
     return _api.setLooping(looping);
   }
@@ -347,6 +827,72 @@ class _PlayerInstance {
     return Duration(milliseconds: await _api.getCurrentPosition());
   }
 
+  Future<void> setVisible(bool visible) {
+    return _api.setVisible(visible);
+  }
+
+  Future<void> suspend() {
+    return _api.suspend();
+  }
+
+  Future<void> resume() {
+    return _api.resume();
+  }
+
+  Future<void> setPlaylist(List<CreationOptions> items) {
+    return _api.setPlaylist(items);
+  }
+
+  Future<void> addMediaItem(CreationOptions item) {
+    return _api.addMediaItem(item);
+  }
+
+  Future<void> seekToItem(int index) {
+    return _api.seekToItem(index);
+  }
+
+  Stream<int> mediaItemTransitions() {
+    return _mediaItemTransitionController.stream;
+  }
+
+  Future<void> setSeekMode(PlatformSeekMode mode) {
+    return _api.setSeekMode(mode);
+  }
+
+  Future<void> setScrubbing(bool scrubbing) {
+    return _api.setScrubbing(scrubbing);
+  }
+
+  Future<void> setMutedPreview(bool mutedPreview) {
+    return _api.setMutedPreview(mutedPreview);
+  }
+
+  Future<void> setVideoOutput(VideoViewType viewType) async {
+    await _api.setVideoOutput(switch (viewType) {
+      VideoViewType.textureView => PlatformVideoOutput.texture,
+      VideoViewType.platformView => PlatformVideoOutput.platformView,
+    });
+    rendersToPlatformView = viewType == VideoViewType.platformView;
+  }
+
+  Future<VideoThumbnail?> getThumbnail(Duration position) async {
+    final PlatformThumbnail? thumbnail = await _api.getThumbnail(
+      position.inMilliseconds,
+    );
+    if (thumbnail == null) {
+      return null;
+    }
+    return VideoThumbnail(
+      width: thumbnail.width,
+      height: thumbnail.height,
+      bytes: thumbnail.bytes,
+    );
+  }
+
+  Stream<DurationRange> thumbnailsLoaded() {
+    return _thumbnailsLoadedController.stream;
+  }
+
   Stream<VideoEvent> videoEvents() {
     return _eventStreamController.stream;
   }
@@ -390,6 +936,8 @@ class _PlayerInstance {
     _isDisposed = true;
     _bufferPollingTimer?.cancel();
     await _eventSubscription.cancel();
+    await _mediaItemTransitionController.close();
+    await _thumbnailsLoadedController.close();
   }
 
   void _setBuffering(bool buffering) {
@@ -489,6 +1037,15 @@ class _PlayerInstance {
             !_audioTrackSelectionCompleter!.isCompleted) {
           _audioTrackSelectionCompleter!.complete();
         }
+      case MediaItemTransitionEvent _:
+        _mediaItemTransitionController.add(event.index);
+      case ThumbnailsLoadedEvent _:
+        _thumbnailsLoadedController.add(
+          DurationRange(
+            Duration(milliseconds: event.start),
+            Duration(milliseconds: event.end),
+          ),
+        );
     }
   }
 
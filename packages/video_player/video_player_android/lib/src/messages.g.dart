@@ -43,6 +43,52 @@ enum PlatformVideoFormat { dash, hls, ss }
 /// https://developer.android.com/media/media3/exoplayer/listening-to-player-events#playback-state
 enum PlatformPlaybackState { idle, buffering, ready, ended, unknown }
 
+/// How a seek picks the position it lands on.
+enum PlatformSeekMode { exact, closestSync, previousSync, nextSync }
+
+/// Pigeon equivalent of VideoAbrStrategy.
+enum PlatformAbrStrategy { throughput, bufferBased, hybrid }
+
+/// The state of a download.
+enum PlatformDownloadState { queued, downloading, completed, failed, removing }
+
+/// How much of its media a player loads before it is first played.
+enum PlatformCreationMode {
+  /// Prepares the player and buffers its media, without starting playback.
+  prepareOnly,
+
+  /// Loads the manifest and sends the initialization event from it, without
+  /// loading media until the player is first played.
+  metadataOnly,
+
+  /// Loads nothing until the player is first played.
+  lazy,
+}
+
+/// A step of the plugin's response to the system running low on memory.
+enum PlatformMemoryPressureAction {
+  /// Freed the memory behind the players' playheads, the thumbnails they
+  /// cached and the manifests kept in memory, and shrank the buffer budget if
+  /// memory is low.
+  trimmedBuffers,
+
+  /// Discarded the buffers paused players loaded ahead, and limited them to a
+  /// minimal buffer until memory recovers.
+  shrankPausedBuffers,
+
+  /// Suspended the players whose views are not visible.
+  suspendedHiddenPlayers,
+}
+
+/// Where a player renders its video.
+enum PlatformVideoOutput {
+  /// The texture the player was created with.
+  texture,
+
+  /// The platform view showing the player.
+  platformView,
+}
+
 sealed class PlatformVideoEvent {}
 
 /// Sent when the video is initialized and ready to play.
@@ -218,6 +264,90 @@ class AudioTrackChangedEvent extends PlatformVideoEvent {
   int get hashCode => Object.hashAll(_toList());
 }
 
+/// Sent when playback moves to another item of the playlist.
+///
+/// Corresponds to ExoPlayer's onMediaItemTransition.
+class MediaItemTransitionEvent extends PlatformVideoEvent {
+  MediaItemTransitionEvent({required this.index});
+
+  /// The index of the new current item in the playlist.
+  int index;
+
+  List<Object?> _toList() {
+    return <Object?>[index];
+  }
+
+  Object encode() {
+    return _toList();
+  }
+
+  static MediaItemTransitionEvent decode(Object result) {
+    result as List<Object?>;
+    return MediaItemTransitionEvent(index: result[0]! as int);
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  bool operator ==(Object other) {
+    if (other is! MediaItemTransitionEvent ||
+        other.runtimeType != runtimeType) {
+      return false;
+    }
+    if (identical(this, other)) {
+      return true;
+    }
+    return _deepEquals(encode(), other.encode());
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  int get hashCode => Object.hashAll(_toList());
+}
+
+/// Sent when the thumbnails of a range of positions have loaded, after one of
+/// them was requested before it was available.
+class ThumbnailsLoadedEvent extends PlatformVideoEvent {
+  ThumbnailsLoadedEvent({required this.start, required this.end});
+
+  /// The first position the thumbnails cover, in milliseconds.
+  int start;
+
+  /// The position the thumbnails cover up to, in milliseconds.
+  int end;
+
+  List<Object?> _toList() {
+    return <Object?>[start, end];
+  }
+
+  Object encode() {
+    return _toList();
+  }
+
+  static ThumbnailsLoadedEvent decode(Object result) {
+    result as List<Object?>;
+    return ThumbnailsLoadedEvent(
+      start: result[0]! as int,
+      end: result[1]! as int,
+    );
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  bool operator ==(Object other) {
+    if (other is! ThumbnailsLoadedEvent || other.runtimeType != runtimeType) {
+      return false;
+    }
+    if (identical(this, other)) {
+      return true;
+    }
+    return _deepEquals(encode(), other.encode());
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  int get hashCode => Object.hashAll(_toList());
+}
+
 /// Information passed to the platform view creation.
 class PlatformVideoViewCreationParams {
   PlatformVideoViewCreationParams({required this.playerId});
@@ -255,50 +385,62 @@ class PlatformVideoViewCreationParams {
   int get hashCode => Object.hashAll(_toList());
 }
 
-class CreationOptions {
-  CreationOptions({
-    required this.uri,
-    this.formatHint,
-    required this.httpHeaders,
-    required this.drmConfiguration,
-    this.userAgent,
+/// Pigeon equivalent of VideoAbrOptions.
+///
+/// Generated class from Pigeon that represents data sent in messages.
+class PlatformAbrOptions {
+  PlatformAbrOptions({
+    required this.strategy,
+    this.switchUpThresholdMs,
+    this.switchDownThresholdMs,
+    this.hysteresisMs,
+    this.bandwidthFraction,
   });
 
-  String uri;
+  PlatformAbrStrategy strategy;
 
-  PlatformVideoFormat? formatHint;
+  /// The buffered duration in milliseconds needed to switch to a higher bitrate.
+  int? switchUpThresholdMs;
 
-  Map<String, String> httpHeaders;
+  /// The buffered duration in milliseconds below which the player may switch
+  /// to a lower bitrate.
+  int? switchDownThresholdMs;
 
-  Map<String, String> drmConfiguration;
+  /// The minimum time in milliseconds between two switches.
+  int? hysteresisMs;
 
-  String? userAgent;
+  /// The fraction of the estimated bandwidth that the selected bitrate may use.
+  double? bandwidthFraction;
 
   List<Object?> _toList() {
-    return <Object?>[uri, formatHint, httpHeaders, drmConfiguration, userAgent];
+    return <Object?>[
+      strategy,
+      switchUpThresholdMs,
+      switchDownThresholdMs,
+      hysteresisMs,
+      bandwidthFraction,
+    ];
   }
 
   Object encode() {
     return _toList();
   }
 
-  static CreationOptions decode(Object result) {
+  static PlatformAbrOptions decode(Object result) {
     result as List<Object?>;
-    return CreationOptions(
-      uri: result[0]! as String,
-      formatHint: result[1] as PlatformVideoFormat?,
-      httpHeaders: (result[2] as Map<Object?, Object?>?)!
-          .cast<String, String>(),
-      drmConfiguration: (result[3] as Map<Object?, Object?>?)!
-          .cast<String, String>(),
-      userAgent: result[4] as String?,
+    return PlatformAbrOptions(
+      strategy: result[0]! as PlatformAbrStrategy,
+      switchUpThresholdMs: result[1] as int?,
+      switchDownThresholdMs: result[2] as int?,
+      hysteresisMs: result[3] as int?,
+      bandwidthFraction: result[4] as double?,
     );
   }
 
   @override
   // ignore: avoid_equals_and_hash_code_on_mutable_classes
   bool operator ==(Object other) {
-    if (other is! CreationOptions || other.runtimeType != runtimeType) {
+    if (other is! PlatformAbrOptions || other.runtimeType != runtimeType) {
       return false;
     }
     if (identical(this, other)) {
@@ -312,33 +454,33 @@ class CreationOptions {
   int get hashCode => Object.hashAll(_toList());
 }
 
-class TexturePlayerIds {
-  TexturePlayerIds({required this.playerId, required this.textureId});
-
-  int playerId;
+/// How a video is downloaded.
+///
+/// Generated class from Pigeon that represents data sent in messages.
+class PlatformDownloadOptions {
+  PlatformDownloadOptions({this.maxVideoBitrate});
 
-  int textureId;
+  /// The highest video bitrate to download, in bits per second, or null for
+  /// the highest available.
+  int? maxVideoBitrate;
 
   List<Object?> _toList() {
-    return <Object?>[playerId, textureId];
+    return <Object?>[maxVideoBitrate];
   }
 
   Object encode() {
     return _toList();
   }
 
-  static TexturePlayerIds decode(Object result) {
+  static PlatformDownloadOptions decode(Object result) {
     result as List<Object?>;
-    return TexturePlayerIds(
-      playerId: result[0]! as int,
-      textureId: result[1]! as int,
-    );
+    return PlatformDownloadOptions(maxVideoBitrate: result[0] as int?);
   }
 
   @override
   // ignore: avoid_equals_and_hash_code_on_mutable_classes
   bool operator ==(Object other) {
-    if (other is! TexturePlayerIds || other.runtimeType != runtimeType) {
+    if (other is! PlatformDownloadOptions || other.runtimeType != runtimeType) {
       return false;
     }
     if (identical(this, other)) {
@@ -352,35 +494,47 @@ class TexturePlayerIds {
   int get hashCode => Object.hashAll(_toList());
 }
 
-class PlaybackState {
-  PlaybackState({required this.playPosition, required this.bufferPosition});
+/// How the upcoming videos of a feed are prefetched.
+///
+/// Generated class from Pigeon that represents data sent in messages.
+class PlatformPrefetchOptions {
+  PlatformPrefetchOptions({
+    required this.durationMs,
+    required this.maxBytes,
+    this.maxVideoBitrate,
+  });
 
-  /// The current playback position, in milliseconds.
-  int playPosition;
+  /// How much of the start of each video to prefetch, in milliseconds.
+  int durationMs;
 
-  /// The current buffer position, in milliseconds.
-  int bufferPosition;
+  /// The most bytes the prefetched videos may take, together.
+  int maxBytes;
+
+  /// The highest video bitrate to prefetch, in bits per second, or null for
+  /// the bitrate a player would start with.
+  int? maxVideoBitrate;
 
   List<Object?> _toList() {
-    return <Object?>[playPosition, bufferPosition];
+    return <Object?>[durationMs, maxBytes, maxVideoBitrate];
   }
 
   Object encode() {
     return _toList();
   }
 
-  static PlaybackState decode(Object result) {
+  static PlatformPrefetchOptions decode(Object result) {
     result as List<Object?>;
-    return PlaybackState(
-      playPosition: result[0]! as int,
-      bufferPosition: result[1]! as int,
+    return PlatformPrefetchOptions(
+      durationMs: result[0]! as int,
+      maxBytes: result[1]! as int,
+      maxVideoBitrate: result[2] as int?,
     );
   }
 
   @override
   // ignore: avoid_equals_and_hash_code_on_mutable_classes
   bool operator ==(Object other) {
-    if (other is! PlaybackState || other.runtimeType != runtimeType) {
+    if (other is! PlatformPrefetchOptions || other.runtimeType != runtimeType) {
       return false;
     }
     if (identical(this, other)) {
@@ -394,70 +548,37 @@ class PlaybackState {
   int get hashCode => Object.hashAll(_toList());
 }
 
-/// Represents an audio track in a video.
-class AudioTrackMessage {
-  AudioTrackMessage({
-    required this.id,
-    required this.label,
-    required this.language,
-    required this.isSelected,
-    this.bitrate,
-    this.sampleRate,
-    this.channelCount,
-    this.codec,
-  });
-
-  String id;
-
-  String label;
-
-  String language;
-
-  bool isSelected;
-
-  int? bitrate;
-
-  int? sampleRate;
+/// How a mirrored output of a player is sized.
+class PlatformMirroredOutputOptions {
+  PlatformMirroredOutputOptions({this.maxWidth, this.maxHeight});
 
-  int? channelCount;
+  /// The widest the output may be, in pixels, or null for the video's width.
+  int? maxWidth;
 
-  String? codec;
+  /// The tallest the output may be, in pixels, or null for the video's height.
+  int? maxHeight;
 
   List<Object?> _toList() {
-    return <Object?>[
-      id,
-      label,
-      language,
-      isSelected,
-      bitrate,
-      sampleRate,
-      channelCount,
-      codec,
-    ];
+    return <Object?>[maxWidth, maxHeight];
   }
 
   Object encode() {
     return _toList();
   }
 
-  static AudioTrackMessage decode(Object result) {
+  static PlatformMirroredOutputOptions decode(Object result) {
     result as List<Object?>;
-    return AudioTrackMessage(
-      id: result[0]! as String,
-      label: result[1]! as String,
-      language: result[2]! as String,
-      isSelected: result[3]! as bool,
-      bitrate: result[4] as int?,
-      sampleRate: result[5] as int?,
-      channelCount: result[6] as int?,
-      codec: result[7] as String?,
+    return PlatformMirroredOutputOptions(
+      maxWidth: result[0] as int?,
+      maxHeight: result[1] as int?,
     );
   }
 
   @override
   // ignore: avoid_equals_and_hash_code_on_mutable_classes
   bool operator ==(Object other) {
-    if (other is! AudioTrackMessage || other.runtimeType != runtimeType) {
+    if (other is! PlatformMirroredOutputOptions ||
+        other.runtimeType != runtimeType) {
       return false;
     }
     if (identical(this, other)) {
@@ -471,49 +592,37 @@ class AudioTrackMessage {
   int get hashCode => Object.hashAll(_toList());
 }
 
-/// Raw audio track data from ExoPlayer Format objects.
-class ExoPlayerAudioTrackData {
-  ExoPlayerAudioTrackData({
-    required this.groupIndex,
-    required this.trackIndex,
-    this.label,
-    this.language,
-    required this.isSelected,
-    this.bitrate,
-    this.sampleRate,
-    this.channelCount,
-    this.codec,
+/// Reports the progress of a download.
+///
+/// Generated class from Pigeon that represents data sent in messages.
+class PlatformDownloadEvent {
+  PlatformDownloadEvent({
+    required this.downloadId,
+    required this.state,
+    this.percentDownloaded,
+    required this.bytesDownloaded,
+    this.failureReason,
   });
 
-  int groupIndex;
-
-  int trackIndex;
-
-  String? label;
-
-  String? language;
-
-  bool isSelected;
+  String downloadId;
 
-  int? bitrate;
+  PlatformDownloadState state;
 
-  int? sampleRate;
+  /// The downloaded percentage, or null if it is not known yet.
+  double? percentDownloaded;
 
-  int? channelCount;
+  int bytesDownloaded;
 
-  String? codec;
+  /// Why the download failed, if it did.
+  String? failureReason;
 
   List<Object?> _toList() {
     return <Object?>[
-      groupIndex,
-      trackIndex,
-      label,
-      language,
-      isSelected,
-      bitrate,
-      sampleRate,
-      channelCount,
-      codec,
+      downloadId,
+      state,
+      percentDownloaded,
+      bytesDownloaded,
+      failureReason,
     ];
   }
 
@@ -521,25 +630,21 @@ class ExoPlayerAudioTrackData {
     return _toList();
   }
 
-  static ExoPlayerAudioTrackData decode(Object result) {
+  static PlatformDownloadEvent decode(Object result) {
     result as List<Object?>;
-    return ExoPlayerAudioTrackData(
-      groupIndex: result[0]! as int,
-      trackIndex: result[1]! as int,
-      label: result[2] as String?,
-      language: result[3] as String?,
-      isSelected: result[4]! as bool,
-      bitrate: result[5] as int?,
-      sampleRate: result[6] as int?,
-      channelCount: result[7] as int?,
-      codec: result[8] as String?,
+    return PlatformDownloadEvent(
+      downloadId: result[0]! as String,
+      state: result[1]! as PlatformDownloadState,
+      percentDownloaded: result[2] as double?,
+      bytesDownloaded: result[3]! as int,
+      failureReason: result[4] as String?,
     );
   }
 
   @override
   // ignore: avoid_equals_and_hash_code_on_mutable_classes
   bool operator ==(Object other) {
-    if (other is! ExoPlayerAudioTrackData || other.runtimeType != runtimeType) {
+    if (other is! PlatformDownloadEvent || other.runtimeType != runtimeType) {
       return false;
     }
     if (identical(this, other)) {
@@ -553,33 +658,45 @@ class ExoPlayerAudioTrackData {
   int get hashCode => Object.hashAll(_toList());
 }
 
-/// Container for raw audio track data from Android ExoPlayer.
-class NativeAudioTrackData {
-  NativeAudioTrackData({this.exoPlayerTracks});
+/// Reports a step the plugin took to free memory.
+class PlatformMemoryPressureEvent {
+  PlatformMemoryPressureEvent({
+    required this.action,
+    required this.trimLevel,
+    required this.playerCount,
+  });
 
-  /// ExoPlayer-based tracks
-  List<ExoPlayerAudioTrackData>? exoPlayerTracks;
+  PlatformMemoryPressureAction action;
+
+  /// The trim memory level the system reported, as passed to
+  /// `ComponentCallbacks2.onTrimMemory`.
+  int trimLevel;
+
+  /// The number of players the step applied to.
+  int playerCount;
 
   List<Object?> _toList() {
-    return <Object?>[exoPlayerTracks];
+    return <Object?>[action, trimLevel, playerCount];
   }
 
   Object encode() {
     return _toList();
   }
 
-  static NativeAudioTrackData decode(Object result) {
+  static PlatformMemoryPressureEvent decode(Object result) {
     result as List<Object?>;
-    return NativeAudioTrackData(
-      exoPlayerTracks: (result[0] as List<Object?>?)
-          ?.cast<ExoPlayerAudioTrackData>(),
+    return PlatformMemoryPressureEvent(
+      action: result[0]! as PlatformMemoryPressureAction,
+      trimLevel: result[1]! as int,
+      playerCount: result[2]! as int,
     );
   }
 
   @override
   // ignore: avoid_equals_and_hash_code_on_mutable_classes
   bool operator ==(Object other) {
-    if (other is! NativeAudioTrackData || other.runtimeType != runtimeType) {
+    if (other is! PlatformMemoryPressureEvent ||
+        other.runtimeType != runtimeType) {
       return false;
     }
     if (identical(this, other)) {
@@ -593,118 +710,1130 @@ class NativeAudioTrackData {
   int get hashCode => Object.hashAll(_toList());
 }
 
-class _PigeonCodec extends StandardMessageCodec {
-  const _PigeonCodec();
-  @override
-  void writeValue(WriteBuffer buffer, Object? value) {
-    if (value is int) {
-      buffer.putUint8(4);
-      buffer.putInt64(value);
-    } else if (value is PlatformVideoFormat) {
-      buffer.putUint8(129);
-      writeValue(buffer, value.index);
-    } else if (value is PlatformPlaybackState) {
-      buffer.putUint8(130);
-      writeValue(buffer, value.index);
-    } else if (value is InitializationEvent) {
-      buffer.putUint8(131);
-      writeValue(buffer, value.encode());
-    } else if (value is PlaybackStateChangeEvent) {
-      buffer.putUint8(132);
-      writeValue(buffer, value.encode());
-    } else if (value is IsPlayingStateEvent) {
+class CreationOptions {
+  CreationOptions({
+    required this.uri,
+    this.formatHint,
+    required this.httpHeaders,
+    required this.drmConfiguration,
+    this.userAgent,
+    this.abrOptions,
+    this.downloadId,
+    this.startPositionMs,
+    this.initialBitrate,
+    this.creationMode,
+  });
+
+  String uri;
+
+  PlatformVideoFormat? formatHint;
+
+  Map<String, String> httpHeaders;
+
+  Map<String, String> drmConfiguration;
+
+  String? userAgent;
+
+  PlatformAbrOptions? abrOptions;
+
+  /// Plays the completed download with this ID instead of streaming [uri].
+  String? downloadId;
+
+  /// The position in milliseconds to start playback at, instead of the start
+  /// of the video.
+  int? startPositionMs;
+
+  /// The bandwidth in bits per second assumed until it has been measured,
+  /// which picks the bitrate of the first segments of adaptive streams.
+  int? initialBitrate;
+
+  /// How much of its media the player loads before it is first played, or null
+  /// to prepare it right away.
+  PlatformCreationMode? creationMode;
+
+  List<Object?> _toList() {
+    return <Object?>[
+      uri,
+      formatHint,
+      httpHeaders,
+      drmConfiguration,
+      userAgent,
+      abrOptions,
+      downloadId,
+      startPositionMs,
+      initialBitrate,
+      creationMode,
+    ];
+  }
+
+  Object encode() {
+    return _toList();
+  }
+
+  static CreationOptions decode(Object result) {
+    result as List<Object?>;
+    return CreationOptions(
+      uri: result[0]! as String,
+      formatHint: result[1] as PlatformVideoFormat?,
+      httpHeaders: (result[2] as Map<Object?, Object?>?)!
+          .cast<String, String>(),
+      drmConfiguration: (result[3] as Map<Object?, Object?>?)!
+          .cast<String, String>(),
+      userAgent: result[4] as String?,
+      abrOptions: result[5] as PlatformAbrOptions?,
+      downloadId: result[6] as String?,
+      startPositionMs: result[7] as int?,
+      initialBitrate: result[8] as int?,
+      creationMode: result[9] as PlatformCreationMode?,
+    );
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  bool operator ==(Object other) {
+    if (other is! CreationOptions || other.runtimeType != runtimeType) {
+      return false;
+    }
+    if (identical(this, other)) {
+      return true;
+    }
+    return _deepEquals(encode(), other.encode());
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  int get hashCode => Object.hashAll(_toList());
+}
+
+class TexturePlayerIds {
+  TexturePlayerIds({required this.playerId, required this.textureId});
+
+  int playerId;
+
+  int textureId;
+
+  List<Object?> _toList() {
+    return <Object?>[playerId, textureId];
+  }
+
+  Object encode() {
+    return _toList();
+  }
+
+  static TexturePlayerIds decode(Object result) {
+    result as List<Object?>;
+    return TexturePlayerIds(
+      playerId: result[0]! as int,
+      textureId: result[1]! as int,
+    );
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  bool operator ==(Object other) {
+    if (other is! TexturePlayerIds || other.runtimeType != runtimeType) {
+      return false;
+    }
+    if (identical(this, other)) {
+      return true;
+    }
+    return _deepEquals(encode(), other.encode());
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  int get hashCode => Object.hashAll(_toList());
+}
+
+class PlaybackState {
+  PlaybackState({required this.playPosition, required this.bufferPosition});
+
+  /// The current playback position, in milliseconds.
+  int playPosition;
+
+  /// The current buffer position, in milliseconds.
+  int bufferPosition;
+
+  List<Object?> _toList() {
+    return <Object?>[playPosition, bufferPosition];
+  }
+
+  Object encode() {
+    return _toList();
+  }
+
+  static PlaybackState decode(Object result) {
+    result as List<Object?>;
+    return PlaybackState(
+      playPosition: result[0]! as int,
+      bufferPosition: result[1]! as int,
+    );
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  bool operator ==(Object other) {
+    if (other is! PlaybackState || other.runtimeType != runtimeType) {
+      return false;
+    }
+    if (identical(this, other)) {
+      return true;
+    }
+    return _deepEquals(encode(), other.encode());
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  int get hashCode => Object.hashAll(_toList());
+}
+
+/// Represents an audio track in a video.
+class AudioTrackMessage {
+  AudioTrackMessage({
+    required this.id,
+    required this.label,
+    required this.language,
+    required this.isSelected,
+    this.bitrate,
+    this.sampleRate,
+    this.channelCount,
+    this.codec,
+  });
+
+  String id;
+
+  String label;
+
+  String language;
+
+  bool isSelected;
+
+  int? bitrate;
+
+  int? sampleRate;
+
+  int? channelCount;
+
+  String? codec;
+
+  List<Object?> _toList() {
+    return <Object?>[
+      id,
+      label,
+      language,
+      isSelected,
+      bitrate,
+      sampleRate,
+      channelCount,
+      codec,
+    ];
+  }
+
+  Object encode() {
+    return _toList();
+  }
+
+  static AudioTrackMessage decode(Object result) {
+    result as List<Object?>;
+    return AudioTrackMessage(
+      id: result[0]! as String,
+      label: result[1]! as String,
+      language: result[2]! as String,
+      isSelected: result[3]! as bool,
+      bitrate: result[4] as int?,
+      sampleRate: result[5] as int?,
+      channelCount: result[6] as int?,
+      codec: result[7] as String?,
+    );
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  bool operator ==(Object other) {
+    if (other is! AudioTrackMessage || other.runtimeType != runtimeType) {
+      return false;
+    }
+    if (identical(this, other)) {
+      return true;
+    }
+    return _deepEquals(encode(), other.encode());
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  int get hashCode => Object.hashAll(_toList());
+}
+
+/// Raw audio track data from ExoPlayer Format objects.
+class ExoPlayerAudioTrackData {
+  ExoPlayerAudioTrackData({
+    required this.groupIndex,
+    required this.trackIndex,
+    this.label,
+    this.language,
+    required this.isSelected,
+    this.bitrate,
+    this.sampleRate,
+    this.channelCount,
+    this.codec,
+  });
+
+  int groupIndex;
+
+  int trackIndex;
+
+  String? label;
+
+  String? language;
+
+  bool isSelected;
+
+  int? bitrate;
+
+  int? sampleRate;
+
+  int? channelCount;
+
+  String? codec;
+
+  List<Object?> _toList() {
+    return <Object?>[
+      groupIndex,
+      trackIndex,
+      label,
+      language,
+      isSelected,
+      bitrate,
+      sampleRate,
+      channelCount,
+      codec,
+    ];
+  }
+
+  Object encode() {
+    return _toList();
+  }
+
+  static ExoPlayerAudioTrackData decode(Object result) {
+    result as List<Object?>;
+    return ExoPlayerAudioTrackData(
+      groupIndex: result[0]! as int,
+      trackIndex: result[1]! as int,
+      label: result[2] as String?,
+      language: result[3] as String?,
+      isSelected: result[4]! as bool,
+      bitrate: result[5] as int?,
+      sampleRate: result[6] as int?,
+      channelCount: result[7] as int?,
+      codec: result[8] as String?,
+    );
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  bool operator ==(Object other) {
+    if (other is! ExoPlayerAudioTrackData || other.runtimeType != runtimeType) {
+      return false;
+    }
+    if (identical(this, other)) {
+      return true;
+    }
+    return _deepEquals(encode(), other.encode());
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  int get hashCode => Object.hashAll(_toList());
+}
+
+/// Container for raw audio track data from Android ExoPlayer.
+class NativeAudioTrackData {
+  NativeAudioTrackData({this.exoPlayerTracks});
+
+  /// ExoPlayer-based tracks
+  List<ExoPlayerAudioTrackData>? exoPlayerTracks;
+
+  List<Object?> _toList() {
+    return <Object?>[exoPlayerTracks];
+  }
+
+  Object encode() {
+    return _toList();
+  }
+
+  static NativeAudioTrackData decode(Object result) {
+    result as List<Object?>;
+    return NativeAudioTrackData(
+      exoPlayerTracks: (result[0] as List<Object?>?)
+          ?.cast<ExoPlayerAudioTrackData>(),
+    );
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  bool operator ==(Object other) {
+    if (other is! NativeAudioTrackData || other.runtimeType != runtimeType) {
+      return false;
+    }
+    if (identical(this, other)) {
+      return true;
+    }
+    return _deepEquals(encode(), other.encode());
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  int get hashCode => Object.hashAll(_toList());
+}
+
+/// A seek bar preview thumbnail.
+///
+/// Generated class from Pigeon that represents data sent in messages.
+class PlatformThumbnail {
+  PlatformThumbnail({
+    required this.width,
+    required this.height,
+    required this.bytes,
+  });
+
+  /// The width of the thumbnail in pixels.
+  int width;
+
+  /// The height of the thumbnail in pixels.
+  int height;
+
+  /// The thumbnail image, JPEG encoded.
+  Uint8List bytes;
+
+  List<Object?> _toList() {
+    return <Object?>[width, height, bytes];
+  }
+
+  Object encode() {
+    return _toList();
+  }
+
+  static PlatformThumbnail decode(Object result) {
+    result as List<Object?>;
+    return PlatformThumbnail(
+      width: result[0]! as int,
+      height: result[1]! as int,
+      bytes: result[2]! as Uint8List,
+    );
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  bool operator ==(Object other) {
+    if (other is! PlatformThumbnail || other.runtimeType != runtimeType) {
+      return false;
+    }
+    if (identical(this, other)) {
+      return true;
+    }
+    return _deepEquals(encode(), other.encode());
+  }
+
+  @override
+  // ignore: avoid_equals_and_hash_code_on_mutable_classes
+  int get hashCode => Object.hashAll(_toList());
+}
+
+class _PigeonCodec extends StandardMessageCodec {
+  const _PigeonCodec();
+  @override
+  void writeValue(WriteBuffer buffer, Object? value) {
+    if (value is int) {
+      buffer.putUint8(4);
+      buffer.putInt64(value);
+    } else if (value is PlatformVideoFormat) {
+      buffer.putUint8(129);
+      writeValue(buffer, value.index);
+    } else if (value is PlatformPlaybackState) {
+      buffer.putUint8(130);
+      writeValue(buffer, value.index);
+    } else if (value is PlatformSeekMode) {
+      buffer.putUint8(131);
+      writeValue(buffer, value.index);
+    } else if (value is PlatformAbrStrategy) {
+      buffer.putUint8(132);
+      writeValue(buffer, value.index);
+    } else if (value is PlatformDownloadState) {
       buffer.putUint8(133);
+      writeValue(buffer, value.index);
+    } else if (value is PlatformCreationMode) {
+      buffer.putUint8(134);
+      writeValue(buffer, value.index);
+    } else if (value is PlatformMemoryPressureAction) {
+      buffer.putUint8(135);
+      writeValue(buffer, value.index);
+    } else if (value is PlatformVideoOutput) {
+      buffer.putUint8(136);
+      writeValue(buffer, value.index);
+    } else if (value is InitializationEvent) {
+      buffer.putUint8(137);
+      writeValue(buffer, value.encode());
+    } else if (value is PlaybackStateChangeEvent) {
+      buffer.putUint8(138);
+      writeValue(buffer, value.encode());
+    } else if (value is IsPlayingStateEvent) {
+      buffer.putUint8(139);
       writeValue(buffer, value.encode());
     } else if (value is AudioTrackChangedEvent) {
-      buffer.putUint8(134);
+      buffer.putUint8(140);
+      writeValue(buffer, value.encode());
+    } else if (value is MediaItemTransitionEvent) {
+      buffer.putUint8(141);
+      writeValue(buffer, value.encode());
+    } else if (value is ThumbnailsLoadedEvent) {
+      buffer.putUint8(142);
       writeValue(buffer, value.encode());
     } else if (value is PlatformVideoViewCreationParams) {
-      buffer.putUint8(135);
+      buffer.putUint8(143);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformAbrOptions) {
+      buffer.putUint8(144);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformDownloadOptions) {
+      buffer.putUint8(145);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformPrefetchOptions) {
+      buffer.putUint8(146);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformMirroredOutputOptions) {
+      buffer.putUint8(147);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformDownloadEvent) {
+      buffer.putUint8(148);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformMemoryPressureEvent) {
+      buffer.putUint8(149);
       writeValue(buffer, value.encode());
     } else if (value is CreationOptions) {
-      buffer.putUint8(136);
+      buffer.putUint8(150);
       writeValue(buffer, value.encode());
     } else if (value is TexturePlayerIds) {
-      buffer.putUint8(137);
+      buffer.putUint8(151);
       writeValue(buffer, value.encode());
     } else if (value is PlaybackState) {
-      buffer.putUint8(138);
+      buffer.putUint8(152);
       writeValue(buffer, value.encode());
     } else if (value is AudioTrackMessage) {
-      buffer.putUint8(139);
+      buffer.putUint8(153);
       writeValue(buffer, value.encode());
     } else if (value is ExoPlayerAudioTrackData) {
-      buffer.putUint8(140);
+      buffer.putUint8(154);
       writeValue(buffer, value.encode());
     } else if (value is NativeAudioTrackData) {
-      buffer.putUint8(141);
+      buffer.putUint8(155);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformThumbnail) {
+      buffer.putUint8(156);
       writeValue(buffer, value.encode());
     } else {
-      super.writeValue(buffer, value);
+      super.writeValue(buffer, value);
+    }
+  }
+
+  @override
+  Object? readValueOfType(int type, ReadBuffer buffer) {
+    switch (type) {
+      case 129:
+        final value = readValue(buffer) as int?;
+        return value == null ? null : PlatformVideoFormat.values[value];
+      case 130:
+        final value = readValue(buffer) as int?;
+        return value == null ? null : PlatformPlaybackState.values[value];
+      case 131:
+        final value = readValue(buffer) as int?;
+        return value == null ? null : PlatformSeekMode.values[value];
+      case 132:
+        final value = readValue(buffer) as int?;
+        return value == null ? null : PlatformAbrStrategy.values[value];
+      case 133:
+        final value = readValue(buffer) as int?;
+        return value == null ? null : PlatformDownloadState.values[value];
+      case 134:
+        final value = readValue(buffer) as int?;
+        return value == null ? null : PlatformCreationMode.values[value];
+      case 135:
+        final value = readValue(buffer) as int?;
+        return value == null ? null : PlatformMemoryPressureAction.values[value];
+      case 136:
+        final value = readValue(buffer) as int?;
+        return value == null ? null : PlatformVideoOutput.values[value];
+      case 137:
+        return InitializationEvent.decode(readValue(buffer)!);
+      case 138:
+        return PlaybackStateChangeEvent.decode(readValue(buffer)!);
+      case 139:
+        return IsPlayingStateEvent.decode(readValue(buffer)!);
+      case 140:
+        return AudioTrackChangedEvent.decode(readValue(buffer)!);
+      case 141:
+        return MediaItemTransitionEvent.decode(readValue(buffer)!);
+      case 142:
+        return ThumbnailsLoadedEvent.decode(readValue(buffer)!);
+      case 143:
+        return PlatformVideoViewCreationParams.decode(readValue(buffer)!);
+      case 144:
+        return PlatformAbrOptions.decode(readValue(buffer)!);
+      case 145:
+        return PlatformDownloadOptions.decode(readValue(buffer)!);
+      case 146:
+        return PlatformPrefetchOptions.decode(readValue(buffer)!);
+      case 147:
+        return PlatformMirroredOutputOptions.decode(readValue(buffer)!);
+      case 148:
+        return PlatformDownloadEvent.decode(readValue(buffer)!);
+      case 149:
+        return PlatformMemoryPressureEvent.decode(readValue(buffer)!);
+      case 150:
+        return CreationOptions.decode(readValue(buffer)!);
+      case 151:
+        return TexturePlayerIds.decode(readValue(buffer)!);
+      case 152:
+        return PlaybackState.decode(readValue(buffer)!);
+      case 153:
+        return AudioTrackMessage.decode(readValue(buffer)!);
+      case 154:
+        return ExoPlayerAudioTrackData.decode(readValue(buffer)!);
+      case 155:
+        return NativeAudioTrackData.decode(readValue(buffer)!);
+      case 156:
+        return PlatformThumbnail.decode(readValue(buffer)!);
+      default:
+        return super.readValueOfType(type, buffer);
+    }
+  }
+}
+
+const StandardMethodCodec pigeonMethodCodec = StandardMethodCodec(
+  _PigeonCodec(),
+);
+
+class AndroidVideoPlayerApi {
+  /// Constructor for [AndroidVideoPlayerApi].  The [binaryMessenger] named argument is
+  /// available for dependency injection.  If it is left null, the default
+  /// BinaryMessenger will be used which routes to the host platform.
+  AndroidVideoPlayerApi({
+    BinaryMessenger? binaryMessenger,
+    String messageChannelSuffix = '',
+  }) : pigeonVar_binaryMessenger = binaryMessenger,
+       pigeonVar_messageChannelSuffix = messageChannelSuffix.isNotEmpty
+           ? '.$messageChannelSuffix'
+           : '';
+  final BinaryMessenger? pigeonVar_binaryMessenger;
+
+  static const MessageCodec<Object?> pigeonChannelCodec = _PigeonCodec();
+
+  final String pigeonVar_messageChannelSuffix;
+
+  Future<void> initialize() async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.initialize$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<int> createForPlatformView(CreationOptions options) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.createForPlatformView$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[options],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as int?)!;
+    }
+  }
+
+  Future<TexturePlayerIds> createForTextureView(CreationOptions options) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.createForTextureView$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[options],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as TexturePlayerIds?)!;
+    }
+  }
+
+  Future<void> dispose(int playerId) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.dispose$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[playerId],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setMixWithOthers(bool mixWithOthers) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMixWithOthers$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[mixWithOthers],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<String> getLookupKeyForAsset(String asset, String? packageName) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getLookupKeyForAsset$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[asset, packageName],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as String?)!;
+    }
+  }
+
+  Future<void> setPlayerLimits(
+    int maxActivePlayers,
+    int bufferMemoryBudgetBytes,
+  ) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlayerLimits$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[maxActivePlayers, bufferMemoryBudgetBytes],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setPlayerThreadCount(int threadCount) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPlayerThreadCount$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[threadCount],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
     }
   }
 
-  @override
-  Object? readValueOfType(int type, ReadBuffer buffer) {
-    switch (type) {
-      case 129:
-        final value = readValue(buffer) as int?;
-        return value == null ? null : PlatformVideoFormat.values[value];
-      case 130:
-        final value = readValue(buffer) as int?;
-        return value == null ? null : PlatformPlaybackState.values[value];
-      case 131:
-        return InitializationEvent.decode(readValue(buffer)!);
-      case 132:
-        return PlaybackStateChangeEvent.decode(readValue(buffer)!);
-      case 133:
-        return IsPlayingStateEvent.decode(readValue(buffer)!);
-      case 134:
-        return AudioTrackChangedEvent.decode(readValue(buffer)!);
-      case 135:
-        return PlatformVideoViewCreationParams.decode(readValue(buffer)!);
-      case 136:
-        return CreationOptions.decode(readValue(buffer)!);
-      case 137:
-        return TexturePlayerIds.decode(readValue(buffer)!);
-      case 138:
-        return PlaybackState.decode(readValue(buffer)!);
-      case 139:
-        return AudioTrackMessage.decode(readValue(buffer)!);
-      case 140:
-        return ExoPlayerAudioTrackData.decode(readValue(buffer)!);
-      case 141:
-        return NativeAudioTrackData.decode(readValue(buffer)!);
-      default:
-        return super.readValueOfType(type, buffer);
+  Future<void> startDownload(
+    String downloadId,
+    CreationOptions options,
+    PlatformDownloadOptions downloadOptions,
+  ) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.startDownload$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[downloadId, options, downloadOptions],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> removeDownload(String downloadId) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeDownload$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[downloadId],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setDownloadConcurrency(int segmentConcurrency) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setDownloadConcurrency$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[segmentConcurrency],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setPrefetchQueue(
+    List<CreationOptions> items,
+    PlatformPrefetchOptions prefetchOptions,
+  ) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setPrefetchQueue$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[items, prefetchOptions],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<int> addMirroredOutput(
+    int playerId,
+    PlatformMirroredOutputOptions options,
+  ) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.addMirroredOutput$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[playerId, options],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as int?)!;
+    }
+  }
+
+  Future<void> removeMirroredOutput(int playerId, int textureId) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.removeMirroredOutput$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[playerId, textureId],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+}
+
+class VideoPlayerInstanceApi {
+  /// Constructor for [VideoPlayerInstanceApi].  The [binaryMessenger] named argument is
+  /// available for dependency injection.  If it is left null, the default
+  /// BinaryMessenger will be used which routes to the host platform.
+  VideoPlayerInstanceApi({
+    BinaryMessenger? binaryMessenger,
+    String messageChannelSuffix = '',
+  }) : pigeonVar_binaryMessenger = binaryMessenger,
+       pigeonVar_messageChannelSuffix = messageChannelSuffix.isNotEmpty
+           ? '.$messageChannelSuffix'
+           : '';
+  final BinaryMessenger? pigeonVar_binaryMessenger;
+
+  static const MessageCodec<Object?> pigeonChannelCodec = _PigeonCodec();
+
+  final String pigeonVar_messageChannelSuffix;
+
+  /// Sets whether to automatically loop playback of the video.
+  Future<void> setLooping(bool looping) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setLooping$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[looping],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets the volume, with 0.0 being muted and 1.0 being full volume.
+  Future<void> setVolume(double volume) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setVolume$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[volume],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets the playback speed as a multiple of normal speed.
+  Future<void> setPlaybackSpeed(double speed) async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setPlaybackSpeed$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[speed],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
     }
   }
-}
-
-const StandardMethodCodec pigeonMethodCodec = StandardMethodCodec(
-  _PigeonCodec(),
-);
-
-class AndroidVideoPlayerApi {
-  /// Constructor for [AndroidVideoPlayerApi].  The [binaryMessenger] named argument is
-  /// available for dependency injection.  If it is left null, the default
-  /// BinaryMessenger will be used which routes to the host platform.
-  AndroidVideoPlayerApi({
-    BinaryMessenger? binaryMessenger,
-    String messageChannelSuffix = '',
-  }) : pigeonVar_binaryMessenger = binaryMessenger,
-       pigeonVar_messageChannelSuffix = messageChannelSuffix.isNotEmpty
-           ? '.$messageChannelSuffix'
-           : '';
-  final BinaryMessenger? pigeonVar_binaryMessenger;
-
-  static const MessageCodec<Object?> pigeonChannelCodec = _PigeonCodec();
 
-  final String pigeonVar_messageChannelSuffix;
+  /// Begins playback if the video is not currently playing.
+  Future<void> play() async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.play$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
 
-  Future<void> initialize() async {
+  /// Pauses playback if the video is currently playing.
+  Future<void> pause() async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.initialize$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.pause$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
@@ -725,17 +1854,42 @@ class AndroidVideoPlayerApi {
     }
   }
 
-  Future<int> createForPlatformView(CreationOptions options) async {
+  /// Seeks to the given playback position, in milliseconds.
+  Future<void> seekTo(int position) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.createForPlatformView$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.seekTo$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
-      <Object?>[options],
+      <Object?>[position],
+    );
+    final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Returns the current playback position, in milliseconds.
+  Future<int> getCurrentPosition() async {
+    final pigeonVar_channelName =
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getCurrentPosition$pigeonVar_messageChannelSuffix';
+    final pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
     );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -755,17 +1909,16 @@ class AndroidVideoPlayerApi {
     }
   }
 
-  Future<TexturePlayerIds> createForTextureView(CreationOptions options) async {
+  /// Returns the current buffer position, in milliseconds.
+  Future<int> getBufferedPosition() async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.createForTextureView$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getBufferedPosition$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
-    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
-      <Object?>[options],
-    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -781,21 +1934,20 @@ class AndroidVideoPlayerApi {
         message: 'Host platform returned null value for non-null return value.',
       );
     } else {
-      return (pigeonVar_replyList[0] as TexturePlayerIds?)!;
+      return (pigeonVar_replyList[0] as int?)!;
     }
   }
 
-  Future<void> dispose(int playerId) async {
+  /// Gets the available audio tracks for the video.
+  Future<NativeAudioTrackData> getAudioTracks() async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.dispose$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getAudioTracks$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
-    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
-      <Object?>[playerId],
-    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -805,21 +1957,27 @@ class AndroidVideoPlayerApi {
         message: pigeonVar_replyList[1] as String?,
         details: pigeonVar_replyList[2],
       );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
     } else {
-      return;
+      return (pigeonVar_replyList[0] as NativeAudioTrackData?)!;
     }
   }
 
-  Future<void> setMixWithOthers(bool mixWithOthers) async {
+  /// Selects which audio track is chosen for playback from its [groupIndex] and [trackIndex]
+  Future<void> selectAudioTrack(int groupIndex, int trackIndex) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.setMixWithOthers$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.selectAudioTrack$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
-      <Object?>[mixWithOthers],
+      <Object?>[groupIndex, trackIndex],
     );
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
@@ -835,16 +1993,20 @@ class AndroidVideoPlayerApi {
     }
   }
 
-  Future<String> getLookupKeyForAsset(String asset, String? packageName) async {
+  /// Reports whether the player's view is currently visible.
+  ///
+  /// Players that are not visible are suspended first when the active player
+  /// limit is exceeded.
+  Future<void> setVisible(bool visible) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.AndroidVideoPlayerApi.getLookupKeyForAsset$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setVisible$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
-      <Object?>[asset, packageName],
+      <Object?>[visible],
     );
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
@@ -855,46 +2017,22 @@ class AndroidVideoPlayerApi {
         message: pigeonVar_replyList[1] as String?,
         details: pigeonVar_replyList[2],
       );
-    } else if (pigeonVar_replyList[0] == null) {
-      throw PlatformException(
-        code: 'null-error',
-        message: 'Host platform returned null value for non-null return value.',
-      );
     } else {
-      return (pigeonVar_replyList[0] as String?)!;
+      return;
     }
   }
-}
-
-class VideoPlayerInstanceApi {
-  /// Constructor for [VideoPlayerInstanceApi].  The [binaryMessenger] named argument is
-  /// available for dependency injection.  If it is left null, the default
-  /// BinaryMessenger will be used which routes to the host platform.
-  VideoPlayerInstanceApi({
-    BinaryMessenger? binaryMessenger,
-    String messageChannelSuffix = '',
-  }) : pigeonVar_binaryMessenger = binaryMessenger,
-       pigeonVar_messageChannelSuffix = messageChannelSuffix.isNotEmpty
-           ? '.$messageChannelSuffix'
-           : '';
-  final BinaryMessenger? pigeonVar_binaryMessenger;
-
-  static const MessageCodec<Object?> pigeonChannelCodec = _PigeonCodec();
-
-  final String pigeonVar_messageChannelSuffix;
 
-  /// Sets whether to automatically loop playback of the video.
-  Future<void> setLooping(bool looping) async {
+  /// Releases the decoders, surface and buffered media of the player, keeping
+  /// its media item, position, selected tracks and DRM sessions.
+  Future<void> suspend() async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setLooping$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.suspend$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
-    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
-      <Object?>[looping],
-    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -909,18 +2047,16 @@ class VideoPlayerInstanceApi {
     }
   }
 
-  /// Sets the volume, with 0.0 being muted and 1.0 being full volume.
-  Future<void> setVolume(double volume) async {
+  /// Restores a player released by [suspend] at the same position.
+  Future<void> resume() async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setVolume$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.resume$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
-    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
-      <Object?>[volume],
-    );
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -935,17 +2071,17 @@ class VideoPlayerInstanceApi {
     }
   }
 
-  /// Sets the playback speed as a multiple of normal speed.
-  Future<void> setPlaybackSpeed(double speed) async {
+  /// Replaces the playlist with [items], starting playback at the first one.
+  Future<void> setPlaylist(List<CreationOptions> items) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setPlaybackSpeed$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setPlaylist$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
-      <Object?>[speed],
+      <Object?>[items],
     );
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
@@ -961,16 +2097,18 @@ class VideoPlayerInstanceApi {
     }
   }
 
-  /// Begins playback if the video is not currently playing.
-  Future<void> play() async {
+  /// Appends [item] to the end of the playlist.
+  Future<void> addMediaItem(CreationOptions item) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.play$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.addMediaItem$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
-    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[item],
+    );
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -985,16 +2123,18 @@ class VideoPlayerInstanceApi {
     }
   }
 
-  /// Pauses playback if the video is currently playing.
-  Future<void> pause() async {
+  /// Seeks to the default position of the playlist item at [index].
+  Future<void> seekToItem(int index) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.pause$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.seekToItem$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
-    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[index],
+    );
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -1009,10 +2149,14 @@ class VideoPlayerInstanceApi {
     }
   }
 
-  /// Seeks to the given playback position, in milliseconds.
-  Future<void> seekTo(int position) async {
+  /// Returns the preview thumbnail for [position], in milliseconds.
+  ///
+  /// Returns null if the video has no thumbnails, or if the thumbnail has not
+  /// been loaded yet, in which case it starts loading in the background and a
+  /// ThumbnailsLoadedEvent is sent once it can be requested again.
+  Future<PlatformThumbnail?> getThumbnail(int position) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.seekTo$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getThumbnail$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
@@ -1031,20 +2175,22 @@ class VideoPlayerInstanceApi {
         details: pigeonVar_replyList[2],
       );
     } else {
-      return;
+      return (pigeonVar_replyList[0] as PlatformThumbnail?);
     }
   }
 
-  /// Returns the current playback position, in milliseconds.
-  Future<int> getCurrentPosition() async {
+  /// Sets how seeks pick the position they land on.
+  Future<void> setSeekMode(PlatformSeekMode mode) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getCurrentPosition$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setSeekMode$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
-    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[mode],
+    );
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -1054,26 +2200,28 @@ class VideoPlayerInstanceApi {
         message: pigeonVar_replyList[1] as String?,
         details: pigeonVar_replyList[2],
       );
-    } else if (pigeonVar_replyList[0] == null) {
-      throw PlatformException(
-        code: 'null-error',
-        message: 'Host platform returned null value for non-null return value.',
-      );
     } else {
-      return (pigeonVar_replyList[0] as int?)!;
+      return;
     }
   }
 
-  /// Returns the current buffer position, in milliseconds.
-  Future<int> getBufferedPosition() async {
+  /// Starts or stops scrubbing.
+  ///
+  /// While scrubbing, seeks snap to the closest sync frame, and seeks requested
+  /// before the previous one has completed replace each other, so only the
+  /// latest is performed. When scrubbing stops, the player seeks to the last
+  /// requested position using the seek mode.
+  Future<void> setScrubbing(bool scrubbing) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getBufferedPosition$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setScrubbing$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
-    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[scrubbing],
+    );
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -1083,26 +2231,26 @@ class VideoPlayerInstanceApi {
         message: pigeonVar_replyList[1] as String?,
         details: pigeonVar_replyList[2],
       );
-    } else if (pigeonVar_replyList[0] == null) {
-      throw PlatformException(
-        code: 'null-error',
-        message: 'Host platform returned null value for non-null return value.',
-      );
     } else {
-      return (pigeonVar_replyList[0] as int?)!;
+      return;
     }
   }
 
-  /// Gets the available audio tracks for the video.
-  Future<NativeAudioTrackData> getAudioTracks() async {
+  /// Enables or disables muted preview mode.
+  ///
+  /// In muted preview mode the player selects no audio track, so audio is
+  /// neither loaded nor decoded, and it does not request audio focus.
+  Future<void> setMutedPreview(bool mutedPreview) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.getAudioTracks$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setMutedPreview$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
-    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(null);
+    final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
+      <Object?>[mutedPreview],
+    );
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
@@ -1112,27 +2260,25 @@ class VideoPlayerInstanceApi {
         message: pigeonVar_replyList[1] as String?,
         details: pigeonVar_replyList[2],
       );
-    } else if (pigeonVar_replyList[0] == null) {
-      throw PlatformException(
-        code: 'null-error',
-        message: 'Host platform returned null value for non-null return value.',
-      );
     } else {
-      return (pigeonVar_replyList[0] as NativeAudioTrackData?)!;
+      return;
     }
   }
 
-  /// Selects which audio track is chosen for playback from its [groupIndex] and [trackIndex]
-  Future<void> selectAudioTrack(int groupIndex, int trackIndex) async {
+  /// Moves the video output of the player to [output], keeping its position,
+  /// buffers, DRM sessions and selected tracks.
+  ///
+  /// Only players created with a texture can render to it.
+  Future<void> setVideoOutput(PlatformVideoOutput output) async {
     final pigeonVar_channelName =
-        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.selectAudioTrack$pigeonVar_messageChannelSuffix';
+        'dev.flutter.pigeon.video_player_android.VideoPlayerInstanceApi.setVideoOutput$pigeonVar_messageChannelSuffix';
     final pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final Future<Object?> pigeonVar_sendFuture = pigeonVar_channel.send(
-      <Object?>[groupIndex, trackIndex],
+      <Object?>[output],
     );
     final pigeonVar_replyList = await pigeonVar_sendFuture as List<Object?>?;
     if (pigeonVar_replyList == null) {
@@ -1161,3 +2307,33 @@ Stream<PlatformVideoEvent> videoEvents({String instanceName = ''}) {
     return event as PlatformVideoEvent;
   });
 }
+
+Stream<PlatformDownloadEvent> downloadEvents({String instanceName = ''}) {
+  if (instanceName.isNotEmpty) {
+    instanceName = '.$instanceName';
+  }
+  final EventChannel downloadEventsChannel = EventChannel(
+    'dev.flutter.pigeon.video_player_android.VideoEventChannel.downloadEvents$instanceName',
+    pigeonMethodCodec,
+  );
+  return downloadEventsChannel.receiveBroadcastStream().map((dynamic event) {
+    return event as PlatformDownloadEvent;
+  });
+}
+
+Stream<PlatformMemoryPressureEvent> memoryPressureEvents({
+  String instanceName = '',
+}) {
+  if (instanceName.isNotEmpty) {
+    instanceName = '.$instanceName';
+  }
+  final EventChannel memoryPressureEventsChannel = EventChannel(
+    'dev.flutter.pigeon.video_player_android.VideoEventChannel.memoryPressureEvents$instanceName',
+    pigeonMethodCodec,
+  );
+  return memoryPressureEventsChannel.receiveBroadcastStream().map((
+    dynamic event,
+  ) {
+    return event as PlatformMemoryPressureEvent;
+  });
+}
@@ -0,0 +1,56 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart' show immutable;
+
+/// How a player picks the bitrate of an adaptive (DASH, HLS or SmoothStreaming)
+/// stream.
+enum VideoAbrStrategy {
+  /// Picks the highest bitrate that fits the estimated bandwidth.
+  throughput,
+
+  /// Picks the bitrate from the amount of buffered media, which avoids
+  /// switching on short bandwidth spikes and dips.
+  bufferBased,
+
+  /// Picks the bitrate from the amount of buffered media, capped by the
+  /// estimated bandwidth until the buffer is full.
+  hybrid,
+}
+
+/// Adaptive bitrate options of a player.
+///
+/// The player only switches to a higher bitrate with at least
+/// [switchUpThreshold] of media buffered, and only switches to a lower one with
+/// less than [switchDownThreshold] buffered. Options left null take the
+/// platform defaults.
+@immutable
+class VideoAbrOptions {
+  /// Creates options picking bitrates with [strategy].
+  const VideoAbrOptions({
+    required this.strategy,
+    this.switchUpThreshold,
+    this.switchDownThreshold,
+    this.hysteresis,
+    this.bandwidthFraction,
+  });
+
+  /// The algorithm used to pick a bitrate.
+  final VideoAbrStrategy strategy;
+
+  /// The buffered duration needed to switch to a higher bitrate.
+  final Duration? switchUpThreshold;
+
+  /// The buffered duration below which the player may switch to a lower
+  /// bitrate.
+  final Duration? switchDownThreshold;
+
+  /// The minimum time between two switches, ignored by
+  /// [VideoAbrStrategy.throughput].
+  final Duration? hysteresis;
+
+  /// The fraction of the estimated bandwidth, in (0, 1], that the selected
+  /// bitrate may use.
+  final double? bandwidthFraction;
+}
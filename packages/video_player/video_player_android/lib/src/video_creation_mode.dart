@@ -0,0 +1,29 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+/// How much of its media a player loads before it is first played.
+///
+/// Players created for previews that may never be played, such as the tiles
+/// of a feed, can use these to avoid loading media and starting decoders
+/// they may not need.
+enum VideoCreationMode {
+  /// Prepares the player and buffers its media, without starting playback.
+  ///
+  /// The initialization event is sent once the first frame is ready, as for
+  /// other players.
+  prepareOnly,
+
+  /// Loads the manifest only, and starts loading media on the first play.
+  ///
+  /// The initialization event is sent as soon as the manifest is loaded, with
+  /// the duration and the size of the video track the manifest declares. The
+  /// player reports buffering until it is played.
+  metadataOnly,
+
+  /// Loads nothing until the player is first played.
+  ///
+  /// The initialization event is sent once the player is ready after its
+  /// first play.
+  lazy,
+}
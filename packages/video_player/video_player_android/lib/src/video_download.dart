@@ -0,0 +1,62 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart' show immutable;
+
+/// The state of a video download.
+enum VideoDownloadState {
+  /// The download is waiting to start, or to be resumed.
+  queued,
+
+  /// The download is fetching media.
+  downloading,
+
+  /// The download has completed, and can be played without network access.
+  completed,
+
+  /// The download failed; see [VideoDownloadEvent.failureReason].
+  failed,
+
+  /// The download and its license are being removed.
+  removing,
+}
+
+/// Options of a video download.
+@immutable
+class VideoDownloadOptions {
+  /// Creates download options.
+  const VideoDownloadOptions({this.maxVideoBitrate});
+
+  /// The highest video bitrate to download, in bits per second, or null for
+  /// the highest available.
+  final int? maxVideoBitrate;
+}
+
+/// A change in the state or progress of a video download.
+@immutable
+class VideoDownloadEvent {
+  /// Creates an event for the download with the given [downloadId].
+  const VideoDownloadEvent({
+    required this.downloadId,
+    required this.state,
+    required this.bytesDownloaded,
+    this.percentDownloaded,
+    this.failureReason,
+  });
+
+  /// The ID the download was started with.
+  final String downloadId;
+
+  /// The state of the download.
+  final VideoDownloadState state;
+
+  /// The number of bytes downloaded so far.
+  final int bytesDownloaded;
+
+  /// The downloaded percentage, or null if it is not known yet.
+  final double? percentDownloaded;
+
+  /// Why the download failed, if it did.
+  final String? failureReason;
+}
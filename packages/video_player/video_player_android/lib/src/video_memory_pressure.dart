@@ -0,0 +1,49 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart' show immutable;
+
+/// A step taken to free memory when the system runs low on it.
+///
+/// Steps are taken in order, the lower the memory the more of them.
+enum MemoryPressureAction {
+  /// Freed the memory behind the players' playheads, the thumbnails they
+  /// cached and the manifests kept in memory, and shrank the budget set by
+  /// `setPlayerLimits` if memory is low.
+  ///
+  /// Players keep no back buffer, so what is behind their playheads is the
+  /// buffer memory they keep for reuse once played media is discarded. This
+  /// step is also taken when the app is hidden.
+  trimmedBuffers,
+
+  /// Discarded the media paused players buffered ahead, and limited them to a
+  /// minimal buffer until memory recovers.
+  shrankPausedBuffers,
+
+  /// Suspended the players whose views are not visible.
+  ///
+  /// They are resumed when they become visible again or are played.
+  suspendedHiddenPlayers,
+}
+
+/// Reports a step taken to free memory.
+@immutable
+class MemoryPressureEvent {
+  /// Creates an event for the given [action].
+  const MemoryPressureEvent({
+    required this.action,
+    required this.trimLevel,
+    required this.playerCount,
+  });
+
+  /// The step that was taken.
+  final MemoryPressureAction action;
+
+  /// The trim memory level the system reported, as passed to Android's
+  /// `ComponentCallbacks2.onTrimMemory`.
+  final int trimLevel;
+
+  /// The number of players the step applied to.
+  final int playerCount;
+}
@@ -0,0 +1,26 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart' show immutable;
+
+/// Options of the prefetching of upcoming videos.
+@immutable
+class VideoPrefetchOptions {
+  /// Creates prefetch options.
+  const VideoPrefetchOptions({
+    this.duration = const Duration(seconds: 5),
+    this.maxBytes = 32 * 1024 * 1024,
+    this.maxVideoBitrate,
+  });
+
+  /// How much of the start of each video to prefetch.
+  final Duration duration;
+
+  /// The most bytes the prefetched videos may take, together.
+  final int maxBytes;
+
+  /// The highest video bitrate to prefetch, in bits per second, or null for
+  /// the bitrate a player would start with.
+  final int? maxVideoBitrate;
+}
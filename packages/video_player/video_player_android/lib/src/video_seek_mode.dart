@@ -0,0 +1,22 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+/// How a seek picks the position it lands on.
+///
+/// Seeking to a sync frame (a keyframe) only needs that frame decoded, while
+/// an exact seek decodes every frame from the previous sync frame to the
+/// requested position.
+enum VideoSeekMode {
+  /// Seeks to exactly the requested position.
+  exact,
+
+  /// Seeks to the sync frame closest to the requested position.
+  closestSync,
+
+  /// Seeks to the last sync frame at or before the requested position.
+  previousSync,
+
+  /// Seeks to the first sync frame at or after the requested position.
+  nextSync,
+}
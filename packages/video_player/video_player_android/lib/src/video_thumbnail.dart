@@ -0,0 +1,29 @@
+// Copyright 2013 The Flutter Authors
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:flutter/foundation.dart' show immutable;
+
+/// A preview image of a video at a given position, for example to show above
+/// the seek bar while scrubbing.
+@immutable
+class VideoThumbnail {
+  /// Creates a thumbnail of [width] by [height] pixels from encoded [bytes].
+  const VideoThumbnail({
+    required this.width,
+    required this.height,
+    required this.bytes,
+  });
+
+  /// The width of the thumbnail in pixels.
+  final int width;
+
+  /// The height of the thumbnail in pixels.
+  final int height;
+
+  /// The thumbnail image, JPEG encoded, which can be shown with
+  /// `Image.memory`.
+  final Uint8List bytes;
+}
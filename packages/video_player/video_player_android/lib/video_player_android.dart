@@ -3,3 +3,10 @@
 // found in the LICENSE file.
 
 export 'src/android_video_player.dart';
+export 'src/video_abr_options.dart';
+export 'src/video_creation_mode.dart';
+export 'src/video_download.dart';
+export 'src/video_memory_pressure.dart';
+export 'src/video_prefetch.dart';
+export 'src/video_seek_mode.dart';
+export 'src/video_thumbnail.dart';
@@ -20,6 +20,52 @@ enum PlatformVideoFormat { dash, hls, ss }
 /// https://developer.android.com/media/media3/exoplayer/listening-to-player-events#playback-state
 enum PlatformPlaybackState { idle, buffering, ready, ended, unknown }
 
+/// How a seek picks the position it lands on.
+enum PlatformSeekMode { exact, closestSync, previousSync, nextSync }
+
+/// Pigeon equivalent of VideoAbrStrategy.
+enum PlatformAbrStrategy { throughput, bufferBased, hybrid }
+
+/// The state of a download.
+enum PlatformDownloadState { queued, downloading, completed, failed, removing }
+
+/// How much of its media a player loads before it is first played.
+enum PlatformCreationMode {
+  /// Prepares the player and buffers its media, without starting playback.
+  prepareOnly,
+
+  /// Loads the manifest and sends the initialization event from it, without
+  /// loading media until the player is first played.
+  metadataOnly,
+
+  /// Loads nothing until the player is first played.
+  lazy,
+}
+
+/// A step of the plugin's response to the system running low on memory.
+enum PlatformMemoryPressureAction {
+  /// Freed the memory behind the players' playheads, the thumbnails they
+  /// cached and the manifests kept in memory, and shrank the buffer budget if
+  /// memory is low.
+  trimmedBuffers,
+
+  /// Discarded the buffers paused players loaded ahead, and limited them to a
+  /// minimal buffer until memory recovers.
+  shrankPausedBuffers,
+
+  /// Suspended the players whose views are not visible.
+  suspendedHiddenPlayers,
+}
+
+/// Where a player renders its video.
+enum PlatformVideoOutput {
+  /// The texture the player was created with.
+  texture,
+
+  /// The platform view showing the player.
+  platformView,
+}
+
 sealed class PlatformVideoEvent {}
 
 /// Sent when the video is initialized and ready to play.
@@ -60,6 +106,24 @@ class AudioTrackChangedEvent extends PlatformVideoEvent {
   late final String? selectedTrackId;
 }
 
+/// Sent when playback moves to another item of the playlist.
+///
+/// Corresponds to ExoPlayer's onMediaItemTransition.
+class MediaItemTransitionEvent extends PlatformVideoEvent {
+  /// The index of the new current item in the playlist.
+  late final int index;
+}
+
+/// Sent when the thumbnails of a range of positions have loaded, after one of
+/// them was requested before it was available.
+class ThumbnailsLoadedEvent extends PlatformVideoEvent {
+  /// The first position the thumbnails cover, in milliseconds.
+  late final int start;
+
+  /// The position the thumbnails cover up to, in milliseconds.
+  late final int end;
+}
+
 /// Information passed to the platform view creation.
 class PlatformVideoViewCreationParams {
   const PlatformVideoViewCreationParams({required this.playerId});
@@ -67,6 +131,100 @@ class PlatformVideoViewCreationParams {
   final int playerId;
 }
 
+/// Pigeon equivalent of VideoAbrOptions.
+class PlatformAbrOptions {
+  PlatformAbrOptions({required this.strategy});
+
+  PlatformAbrStrategy strategy;
+
+  /// The buffered duration in milliseconds needed to switch to a higher
+  /// bitrate.
+  int? switchUpThresholdMs;
+
+  /// The buffered duration in milliseconds below which the player may switch
+  /// to a lower bitrate.
+  int? switchDownThresholdMs;
+
+  /// The minimum time in milliseconds between two switches.
+  int? hysteresisMs;
+
+  /// The fraction of the estimated bandwidth that the selected bitrate may
+  /// use.
+  double? bandwidthFraction;
+}
+
+/// How a video is downloaded.
+class PlatformDownloadOptions {
+  PlatformDownloadOptions();
+
+  /// The highest video bitrate to download, in bits per second, or null for
+  /// the highest available.
+  int? maxVideoBitrate;
+}
+
+/// How the upcoming videos of a feed are prefetched.
+class PlatformPrefetchOptions {
+  PlatformPrefetchOptions({required this.durationMs, required this.maxBytes});
+
+  /// How much of the start of each video to prefetch, in milliseconds.
+  int durationMs;
+
+  /// The most bytes the prefetched videos may take, together.
+  int maxBytes;
+
+  /// The highest video bitrate to prefetch, in bits per second, or null for
+  /// the bitrate a player would start with.
+  int? maxVideoBitrate;
+}
+
+/// How a mirrored output of a player is sized.
+class PlatformMirroredOutputOptions {
+  PlatformMirroredOutputOptions();
+
+  /// The widest the output may be, in pixels, or null for the video's width.
+  int? maxWidth;
+
+  /// The tallest the output may be, in pixels, or null for the video's height.
+  int? maxHeight;
+}
+
+/// Reports the progress of a download.
+class PlatformDownloadEvent {
+  PlatformDownloadEvent({
+    required this.downloadId,
+    required this.state,
+    required this.bytesDownloaded,
+  });
+
+  String downloadId;
+  PlatformDownloadState state;
+
+  /// The downloaded percentage, or null if it is not known yet.
+  double? percentDownloaded;
+  int bytesDownloaded;
+
+  /// Why the download failed, if it did.
+  String? failureReason;
+}
+
+/// Reports a step the plugin took to free memory.
+class PlatformMemoryPressureEvent {
+  PlatformMemoryPressureEvent({
+    required this.action,
+    required this.trimLevel,
+    required this.playerCount,
+  });
+
+  PlatformMemoryPressureAction action;
+
+  /// The trim memory level the system reported, as passed to
+  /// `ComponentCallbacks2.onTrimMemory`.
+  int trimLevel;
+
+  /// The number of players the step applied to.
+  int playerCount;
+}
+
 class CreationOptions {
   CreationOptions({required this.uri, required this.httpHeaders, required this.drmConfiguration});
   String uri;
@@ -74,6 +232,22 @@ class CreationOptions {
   Map<String, String> httpHeaders;
   Map<String, String> drmConfiguration;
   String? userAgent;
+  PlatformAbrOptions? abrOptions;
+
+  /// Plays the completed download with this ID instead of streaming [uri].
+  String? downloadId;
+
+  /// The position in milliseconds to start playback at, instead of the start
+  /// of the video.
+  int? startPositionMs;
+
+  /// The bandwidth in bits per second assumed until it has been measured,
+  /// which picks the bitrate of the first segments of adaptive streams.
+  int? initialBitrate;
+
+  /// How much of its media the player loads before it is first played, or null
+  /// to prepare it right away.
+  PlatformCreationMode? creationMode;
 }
 
 class TexturePlayerIds {
@@ -149,53 +323,188 @@ class NativeAudioTrackData {
   List<ExoPlayerAudioTrackData>? exoPlayerTracks;
 }
 
+/// A seek bar preview thumbnail.
+class PlatformThumbnail {
+  PlatformThumbnail({
+    required this.width,
+    required this.height,
+    required this.bytes,
+  });
+
+  /// The width of the thumbnail in pixels.
+  int width;
+
+  /// The height of the thumbnail in pixels.
+  int height;
+
+  /// The thumbnail image, JPEG encoded.
+  Uint8List bytes;
+}
+
 @HostApi()
 abstract class AndroidVideoPlayerApi {
+  // Creating and releasing players is slow, so these calls are handled on a
+  // background thread rather than blocking the platform thread.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   void initialize();
   // Creates a new player using a platform view for rendering and returns its
   // ID.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   int createForPlatformView(CreationOptions options);
   // Creates a new player using a texture for rendering and returns its IDs.
+  // The IDs are returned before the player is built; its initialization event
+  // reports when it is ready.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   TexturePlayerIds createForTextureView(CreationOptions options);
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   void dispose(int playerId);
   void setMixWithOthers(bool mixWithOthers);
   String getLookupKeyForAsset(String asset, String? packageName);
+  // Limits how many players may hold decoders at once, and the total buffer
+  // memory they may use.
+  void setPlayerLimits(int maxActivePlayers, int bufferMemoryBudgetBytes);
+  // Runs players created afterwards on a pool of threadCount dedicated
+  // threads, or on the single default playback thread if threadCount is 0.
+  void setPlayerThreadCount(int threadCount);
+  // Downloads the video described by options for offline playback, acquiring
+  // a persistent license if it is protected. Progress is reported by
+  // downloadEvents.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void startDownload(
+    String downloadId,
+    CreationOptions options,
+    PlatformDownloadOptions downloadOptions,
+  );
+  // Removes a download, its media and its license.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void removeDownload(String downloadId);
+  // Sets how many segments of a download are fetched in parallel.
+  void setDownloadConcurrency(int segmentConcurrency);
+  // Replaces the videos to prefetch with items, ranked from the most likely to
+  // be played next. Prefetching the previous items stops.
+  void setPrefetchQueue(
+    List<CreationOptions> items,
+    PlatformPrefetchOptions prefetchOptions,
+  );
+  // Renders the video of playerId to a new texture as well, downscaled to fit
+  // options, and returns the ID of the texture.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  int addMirroredOutput(int playerId, PlatformMirroredOutputOptions options);
+  // Stops rendering the video of playerId to the texture textureId, and
+  // releases it.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void removeMirroredOutput(int playerId, int textureId);
 }
 
 @HostApi()
 abstract class VideoPlayerInstanceApi {
   /// Sets whether to automatically loop playback of the video.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   void setLooping(bool looping);
 
   /// Sets the volume, with 0.0 being muted and 1.0 being full volume.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   void setVolume(double volume);
 
   /// Sets the playback speed as a multiple of normal speed.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   void setPlaybackSpeed(double speed);
 
   /// Begins playback if the video is not currently playing.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   void play();
 
   /// Pauses playback if the video is currently playing.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   void pause();
 
   /// Seeks to the given playback position, in milliseconds.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   void seekTo(int position);
 
   /// Returns the current playback position, in milliseconds.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   int getCurrentPosition();
 
   /// Returns the current buffer position, in milliseconds.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   int getBufferedPosition();
 
   /// Gets the available audio tracks for the video.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   NativeAudioTrackData getAudioTracks();
 
   /// Selects which audio track is chosen for playback from its [groupIndex] and [trackIndex]
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   void selectAudioTrack(int groupIndex, int trackIndex);
+
+  /// Reports whether the player's view is currently visible.
+  ///
+  /// Players that are not visible are suspended first when the active player
+  /// limit is exceeded.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void setVisible(bool visible);
+
+  /// Releases the decoders, surface and buffered media of the player, keeping
+  /// its media item, position, selected tracks and DRM sessions.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void suspend();
+
+  /// Restores a player released by [suspend] at the same position.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void resume();
+
+  /// Replaces the playlist with [items], starting playback at the first one.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void setPlaylist(List<CreationOptions> items);
+
+  /// Appends [item] to the end of the playlist.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void addMediaItem(CreationOptions item);
+
+  /// Seeks to the default position of the playlist item at [index].
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void seekToItem(int index);
+
+  /// Returns the preview thumbnail for [position], in milliseconds.
+  ///
+  /// Returns null if the video has no thumbnails, or if the thumbnail has not
+  /// been loaded yet, in which case it starts loading in the background and a
+  /// ThumbnailsLoadedEvent is sent once it can be requested again.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  PlatformThumbnail? getThumbnail(int position);
+
+  /// Sets how seeks pick the position they land on.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void setSeekMode(PlatformSeekMode mode);
+
+  /// Starts or stops scrubbing.
+  ///
+  /// While scrubbing, seeks snap to the closest sync frame, and seeks requested
+  /// before the previous one has completed replace each other, so only the
+  /// latest is performed. When scrubbing stops, the player seeks to the last
+  /// requested position using the seek mode.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void setScrubbing(bool scrubbing);
+
+  /// Enables or disables muted preview mode.
+  ///
+  /// In muted preview mode the player selects no audio track, so audio is
+  /// neither loaded nor decoded, and it does not request audio focus.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void setMutedPreview(bool mutedPreview);
+
+  /// Moves the video output of the player to [output], keeping its position,
+  /// buffers, DRM sessions and selected tracks.
+  ///
+  /// Only players created with a texture can render to it.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void setVideoOutput(PlatformVideoOutput output);
 }
 
 @EventChannelApi()
 abstract class VideoEventChannel {
   PlatformVideoEvent videoEvents();
+  PlatformDownloadEvent downloadEvents();
+  PlatformMemoryPressureEvent memoryPressureEvents();
 }
@@ -3,6 +3,7 @@
 // found in the LICENSE file.
 
 import 'dart:async';
+import 'dart:typed_data';
 
 import 'package:flutter/widgets.dart';
 import 'package:flutter_test/flutter_test.dart';
@@ -455,6 +456,330 @@ void main() {
       );
     });
 
+    test('createWithAbrOptions passes ABR options', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1, textureId: 100);
+      when(api.createForTextureView(any)).thenAnswer(
+        (_) async => TexturePlayerIds(playerId: 2, textureId: 100),
+      );
+
+      await player.createWithAbrOptions(
+        VideoCreationOptions(
+          dataSource: DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com',
+            formatHint: VideoFormat.dash,
+          ),
+          viewType: VideoViewType.textureView,
+        ),
+        const VideoAbrOptions(
+          strategy: VideoAbrStrategy.bufferBased,
+          switchUpThreshold: Duration(seconds: 8),
+          hysteresis: Duration(seconds: 3),
+        ),
+      );
+
+      final VerificationResult verification = verify(
+        api.createForTextureView(captureAny),
+      );
+      final creationOptions = verification.captured[0] as CreationOptions;
+      final PlatformAbrOptions abrOptions = creationOptions.abrOptions!;
+      expect(abrOptions.strategy, PlatformAbrStrategy.bufferBased);
+      expect(abrOptions.switchUpThresholdMs, 8000);
+      expect(abrOptions.switchDownThresholdMs, null);
+      expect(abrOptions.hysteresisMs, 3000);
+      expect(abrOptions.bandwidthFraction, null);
+    });
+
+    test('createFromDownload passes the download ID', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1, textureId: 100);
+      when(api.createForTextureView(any)).thenAnswer(
+        (_) async => TexturePlayerIds(playerId: 2, textureId: 100),
+      );
+
+      await player.createFromDownload(
+        VideoCreationOptions(
+          dataSource: DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com',
+            formatHint: VideoFormat.dash,
+          ),
+          viewType: VideoViewType.textureView,
+        ),
+        'download',
+      );
+
+      final VerificationResult verification = verify(
+        api.createForTextureView(captureAny),
+      );
+      final creationOptions = verification.captured[0] as CreationOptions;
+      expect(creationOptions.downloadId, 'download');
+      expect(creationOptions.formatHint, PlatformVideoFormat.dash);
+    });
+
+    test('createWithStartPosition passes the start position', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1, textureId: 100);
+      when(api.createForPlatformView(any)).thenAnswer((_) async => 2);
+
+      await player.createWithStartPosition(
+        VideoCreationOptions(
+          dataSource: DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com',
+            formatHint: VideoFormat.hls,
+          ),
+          viewType: VideoViewType.platformView,
+        ),
+        const Duration(minutes: 1, milliseconds: 500),
+        initialBitrate: 2500000,
+      );
+
+      final VerificationResult verification = verify(
+        api.createForPlatformView(captureAny),
+      );
+      final creationOptions = verification.captured[0] as CreationOptions;
+      expect(creationOptions.startPositionMs, 60500);
+      expect(creationOptions.initialBitrate, 2500000);
+      expect(creationOptions.downloadId, null);
+    });
+
+    test('createWithMode passes the creation mode', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1, textureId: 100);
+      when(api.createForTextureView(any)).thenAnswer(
+        (_) async => TexturePlayerIds(playerId: 2, textureId: 100),
+      );
+
+      await player.createWithMode(
+        VideoCreationOptions(
+          dataSource: DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com',
+          ),
+          viewType: VideoViewType.textureView,
+        ),
+        VideoCreationMode.metadataOnly,
+      );
+
+      final VerificationResult verification = verify(
+        api.createForTextureView(captureAny),
+      );
+      final creationOptions = verification.captured[0] as CreationOptions;
+      expect(creationOptions.creationMode, PlatformCreationMode.metadataOnly);
+      expect(creationOptions.startPositionMs, null);
+    });
+
+    test('createWithAndroidOptions combines creation options', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1, textureId: 100);
+      when(api.createForTextureView(any)).thenAnswer(
+        (_) async => TexturePlayerIds(playerId: 2, textureId: 100),
+      );
+
+      await player.createWithAndroidOptions(
+        VideoCreationOptions(
+          dataSource: DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com',
+            formatHint: VideoFormat.hls,
+          ),
+          viewType: VideoViewType.textureView,
+        ),
+        abrOptions: const VideoAbrOptions(
+          strategy: VideoAbrStrategy.bufferBased,
+        ),
+        startPosition: const Duration(seconds: 30),
+        initialBitrate: 2500000,
+        creationMode: VideoCreationMode.lazy,
+      );
+
+      final VerificationResult verification = verify(
+        api.createForTextureView(captureAny),
+      );
+      final creationOptions = verification.captured[0] as CreationOptions;
+      expect(
+        creationOptions.abrOptions!.strategy,
+        PlatformAbrStrategy.bufferBased,
+      );
+      expect(creationOptions.startPositionMs, 30000);
+      expect(creationOptions.initialBitrate, 2500000);
+      expect(creationOptions.creationMode, PlatformCreationMode.lazy);
+      expect(creationOptions.downloadId, null);
+    });
+
+    test('startDownload', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1);
+
+      await player.startDownload(
+        'download',
+        DataSource(
+          sourceType: DataSourceType.network,
+          uri: 'https://example.com',
+          drmConfiguration: <String, String>{'userId': 'user'},
+        ),
+        options: const VideoDownloadOptions(maxVideoBitrate: 2000000),
+      );
+
+      final VerificationResult verification = verify(
+        api.startDownload('download', captureAny, captureAny),
+      );
+      final creationOptions = verification.captured[0] as CreationOptions;
+      final downloadOptions =
+          verification.captured[1] as PlatformDownloadOptions;
+      expect(creationOptions.uri, 'https://example.com');
+      expect(creationOptions.drmConfiguration, <String, String>{
+        'userId': 'user',
+      });
+      expect(creationOptions.downloadId, null);
+      expect(downloadOptions.maxVideoBitrate, 2000000);
+    });
+
+    test('removeDownload', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1);
+      await player.removeDownload('download');
+
+      verify(api.removeDownload('download'));
+    });
+
+    test('setDownloadConcurrency', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1);
+      await player.setDownloadConcurrency(6);
+
+      verify(api.setDownloadConcurrency(6));
+    });
+
+    test('addMirroredOutput', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1, textureId: 100);
+      when(api.addMirroredOutput(any, any)).thenAnswer((_) async => 101);
+
+      final int textureId = await player.addMirroredOutput(1, maxWidth: 320);
+
+      expect(textureId, 101);
+      final VerificationResult verification = verify(
+        api.addMirroredOutput(1, captureAny),
+      );
+      final options =
+          verification.captured[0] as PlatformMirroredOutputOptions;
+      expect(options.maxWidth, 320);
+      expect(options.maxHeight, null);
+    });
+
+    test('removeMirroredOutput', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1, textureId: 100);
+
+      await player.removeMirroredOutput(1, 101);
+
+      verify(api.removeMirroredOutput(1, 101));
+    });
+
+    test('setPrefetchQueue', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1);
+
+      await player.setPrefetchQueue(
+        <DataSource>[
+          DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com/next.mpd',
+            drmConfiguration: <String, String>{'userId': 'user'},
+          ),
+          DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com/after.m3u8',
+          ),
+        ],
+        options: const VideoPrefetchOptions(
+          duration: Duration(seconds: 3),
+          maxBytes: 1000000,
+        ),
+      );
+
+      final VerificationResult verification = verify(
+        api.setPrefetchQueue(captureAny, captureAny),
+      );
+      final items = verification.captured[0] as List<CreationOptions>;
+      final prefetchOptions =
+          verification.captured[1] as PlatformPrefetchOptions;
+      expect(
+        items.map((CreationOptions item) => item.uri),
+        <String>[
+          'https://example.com/next.mpd',
+          'https://example.com/after.m3u8',
+        ],
+      );
+      expect(items[0].drmConfiguration, <String, String>{'userId': 'user'});
+      expect(prefetchOptions.durationMs, 3000);
+      expect(prefetchOptions.maxBytes, 1000000);
+      expect(prefetchOptions.maxVideoBitrate, null);
+    });
+
+    test('downloadEvents', () async {
+      final streamController = StreamController<PlatformDownloadEvent>();
+      final player = AndroidVideoPlayer(
+        pluginApi: MockAndroidVideoPlayerApi(),
+        downloadEventStreamProvider: () => streamController.stream,
+      );
+
+      streamController
+        ..add(
+          PlatformDownloadEvent(
+            downloadId: 'download',
+            state: PlatformDownloadState.downloading,
+            percentDownloaded: 42.5,
+            bytesDownloaded: 1024,
+          ),
+        )
+        ..add(
+          PlatformDownloadEvent(
+            downloadId: 'download',
+            state: PlatformDownloadState.failed,
+            bytesDownloaded: 1024,
+            failureReason: 'Network error',
+          ),
+        );
+      unawaited(streamController.close());
+
+      final List<VideoDownloadEvent> events = await player
+          .downloadEvents()
+          .toList();
+      expect(events[0].state, VideoDownloadState.downloading);
+      expect(events[0].percentDownloaded, 42.5);
+      expect(events[0].bytesDownloaded, 1024);
+      expect(events[1].state, VideoDownloadState.failed);
+      expect(events[1].failureReason, 'Network error');
+    });
+
+    test('memoryPressureEvents', () async {
+      final streamController = StreamController<PlatformMemoryPressureEvent>();
+      final player = AndroidVideoPlayer(
+        pluginApi: MockAndroidVideoPlayerApi(),
+        memoryPressureEventStreamProvider: () => streamController.stream,
+      );
+
+      streamController.add(
+        PlatformMemoryPressureEvent(
+          action: PlatformMemoryPressureAction.suspendedHiddenPlayers,
+          trimLevel: 15,
+          playerCount: 2,
+        ),
+      );
+      unawaited(streamController.close());
+
+      final List<MemoryPressureEvent> events = await player
+          .memoryPressureEvents()
+          .toList();
+      expect(events.single.action, MemoryPressureAction.suspendedHiddenPlayers);
+      expect(events.single.trimLevel, 15);
+      expect(events.single.playerCount, 2);
+    });
+
     test('setLooping', () async {
       final (
         AndroidVideoPlayer player,
@@ -512,6 +837,278 @@ void main() {
       });
     });
 
+    test('setPlayerLimits', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1);
+      await player.setPlayerLimits(
+        maxActivePlayers: 2,
+        bufferMemoryBudgetBytes: 32 * 1024 * 1024,
+      );
+
+      verify(api.setPlayerLimits(2, 32 * 1024 * 1024));
+    });
+
+    test('setPlayerThreadCount', () async {
+      final (AndroidVideoPlayer player, MockAndroidVideoPlayerApi api, _) =
+          setUpMockPlayer(playerId: 1);
+      await player.setPlayerThreadCount(2);
+
+      verify(api.setPlayerThreadCount(2));
+    });
+
+    test('setVisible', () async {
+      final (
+        AndroidVideoPlayer player,
+        _,
+        MockVideoPlayerInstanceApi playerApi,
+      ) = setUpMockPlayer(
+        playerId: 1,
+      );
+      await player.setVisible(1, false);
+
+      verify(playerApi.setVisible(false));
+    });
+
+    test('suspend', () async {
+      final (
+        AndroidVideoPlayer player,
+        _,
+        MockVideoPlayerInstanceApi playerApi,
+      ) = setUpMockPlayer(
+        playerId: 1,
+      );
+      await player.suspend(1);
+
+      verify(playerApi.suspend());
+    });
+
+    test('resume', () async {
+      final (
+        AndroidVideoPlayer player,
+        _,
+        MockVideoPlayerInstanceApi playerApi,
+      ) = setUpMockPlayer(
+        playerId: 1,
+      );
+      await player.resume(1);
+
+      verify(playerApi.resume());
+    });
+
+    group('playlist', () {
+      test('setPlaylist passes network items', () async {
+        final (
+          AndroidVideoPlayer player,
+          _,
+          MockVideoPlayerInstanceApi playerApi,
+        ) = setUpMockPlayer(
+          playerId: 1,
+        );
+        await player.setPlaylist(1, <DataSource>[
+          DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com/episode1.mpd',
+            formatHint: VideoFormat.dash,
+          ),
+          DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com/episode2.mpd',
+            formatHint: VideoFormat.dash,
+          ),
+        ]);
+
+        final VerificationResult verification = verify(
+          playerApi.setPlaylist(captureAny),
+        );
+        final items = verification.captured[0] as List<CreationOptions>;
+        expect(items.map((CreationOptions item) => item.uri), <String>[
+          'https://example.com/episode1.mpd',
+          'https://example.com/episode2.mpd',
+        ]);
+        expect(items[0].formatHint, PlatformVideoFormat.dash);
+      });
+
+      test('addMediaItem', () async {
+        final (
+          AndroidVideoPlayer player,
+          _,
+          MockVideoPlayerInstanceApi playerApi,
+        ) = setUpMockPlayer(
+          playerId: 1,
+        );
+        await player.addMediaItem(
+          1,
+          DataSource(
+            sourceType: DataSourceType.network,
+            uri: 'https://example.com/episode3.m3u8',
+          ),
+        );
+
+        final VerificationResult verification = verify(
+          playerApi.addMediaItem(captureAny),
+        );
+        final item = verification.captured[0] as CreationOptions;
+        expect(item.uri, 'https://example.com/episode3.m3u8');
+      });
+
+      test('seekToItem', () async {
+        final (
+          AndroidVideoPlayer player,
+          _,
+          MockVideoPlayerInstanceApi playerApi,
+        ) = setUpMockPlayer(
+          playerId: 1,
+        );
+        await player.seekToItem(1, 2);
+
+        verify(playerApi.seekToItem(2));
+      });
+
+      test('reports media item transitions', () async {
+        final (
+          AndroidVideoPlayer player,
+          _,
+          _,
+          StreamController<PlatformVideoEvent> streamController,
+        ) = setUpMockPlayerWithStream(
+          playerId: 1,
+        );
+        final Future<int> transition = player.mediaItemTransitionsFor(1).first;
+
+        streamController.add(MediaItemTransitionEvent(index: 1));
+
+        expect(await transition, 1);
+      });
+    });
+
+    group('getThumbnail', () {
+      test('converts the platform thumbnail', () async {
+        final (
+          AndroidVideoPlayer player,
+          _,
+          MockVideoPlayerInstanceApi playerApi,
+        ) = setUpMockPlayer(
+          playerId: 1,
+        );
+        final bytes = Uint8List.fromList(<int>[0xff, 0xd8, 0xff]);
+        when(playerApi.getThumbnail(12000)).thenAnswer(
+          (_) async => PlatformThumbnail(width: 160, height: 90, bytes: bytes),
+        );
+
+        final VideoThumbnail? thumbnail = await player.getThumbnail(
+          1,
+          const Duration(seconds: 12),
+        );
+
+        expect(thumbnail, isNotNull);
+        expect(thumbnail!.width, 160);
+        expect(thumbnail.height, 90);
+        expect(thumbnail.bytes, bytes);
+      });
+
+      test('returns null when not available', () async {
+        final (
+          AndroidVideoPlayer player,
+          _,
+          MockVideoPlayerInstanceApi playerApi,
+        ) = setUpMockPlayer(
+          playerId: 1,
+        );
+        when(playerApi.getThumbnail(any)).thenAnswer((_) async => null);
+
+        expect(await player.getThumbnail(1, Duration.zero), isNull);
+      });
+
+      test('reports loaded thumbnails', () async {
+        final (
+          AndroidVideoPlayer player,
+          _,
+          _,
+          StreamController<PlatformVideoEvent> streamController,
+        ) = setUpMockPlayerWithStream(
+          playerId: 1,
+        );
+        final Future<DurationRange> loaded =
+            player.thumbnailsLoadedFor(1).first;
+
+        streamController.add(ThumbnailsLoadedEvent(start: 10000, end: 20000));
+
+        final DurationRange range = await loaded;
+        expect(range.start, const Duration(seconds: 10));
+        expect(range.end, const Duration(seconds: 20));
+      });
+    });
+
+    test('setSeekMode', () async {
+      final (
+        AndroidVideoPlayer player,
+        _,
+        MockVideoPlayerInstanceApi playerApi,
+      ) = setUpMockPlayer(
+        playerId: 1,
+      );
+      await player.setSeekMode(1, VideoSeekMode.previousSync);
+
+      verify(playerApi.setSeekMode(PlatformSeekMode.previousSync));
+    });
+
+    test('setScrubbing', () async {
+      final (
+        AndroidVideoPlayer player,
+        _,
+        MockVideoPlayerInstanceApi playerApi,
+      ) = setUpMockPlayer(
+        playerId: 1,
+      );
+      await player.setScrubbing(1, true);
+      await player.setScrubbing(1, false);
+
+      verifyInOrder(<Object>[
+        playerApi.setScrubbing(true),
+        playerApi.setScrubbing(false),
+      ]);
+    });
+
+    test('setMutedPreview', () async {
+      final (
+        AndroidVideoPlayer player,
+        _,
+        MockVideoPlayerInstanceApi playerApi,
+      ) = setUpMockPlayer(
+        playerId: 1,
+      );
+      await player.setMutedPreview(1, true);
+      await player.setMutedPreview(1, false);
+
+      verifyInOrder(<Object>[
+        playerApi.setMutedPreview(true),
+        playerApi.setMutedPreview(false),
+      ]);
+    });
+
+    test('setVideoOutput switches the view of a texture player', () async {
+      final (
+        AndroidVideoPlayer player,
+        _,
+        MockVideoPlayerInstanceApi playerApi,
+      ) = setUpMockPlayer(
+        playerId: 1,
+        textureId: 100,
+      );
+      const options = VideoViewOptions(playerId: 1);
+
+      await player.setVideoOutput(1, VideoViewType.platformView);
+      expect(player.buildViewWithOptions(options), isA<PlatformViewPlayer>());
+
+      await player.setVideoOutput(1, VideoViewType.textureView);
+      expect(player.buildViewWithOptions(options), isA<Texture>());
+
+      verifyInOrder(<Object>[
+        playerApi.setVideoOutput(PlatformVideoOutput.platformView),
+        playerApi.setVideoOutput(PlatformVideoOutput.texture),
+      ]);
+    });
+
     test('setVolume', () async {
       final (
         AndroidVideoPlayer player,
@@ -130,6 +130,98 @@ class MockAndroidVideoPlayerApi extends _i1.Mock
             ),
           )
           as _i4.Future<String>);
+
+  @override
+  _i4.Future<void> setPlayerLimits(
+    int? maxActivePlayers,
+    int? bufferMemoryBudgetBytes,
+  ) =>
+      (super.noSuchMethod(
+            Invocation.method(#setPlayerLimits, [
+              maxActivePlayers,
+              bufferMemoryBudgetBytes,
+            ]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setPlayerThreadCount(int? threadCount) =>
+      (super.noSuchMethod(
+            Invocation.method(#setPlayerThreadCount, [threadCount]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> startDownload(
+    String? downloadId,
+    _i2.CreationOptions? options,
+    _i2.PlatformDownloadOptions? downloadOptions,
+  ) =>
+      (super.noSuchMethod(
+            Invocation.method(#startDownload, [
+              downloadId,
+              options,
+              downloadOptions,
+            ]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> removeDownload(String? downloadId) =>
+      (super.noSuchMethod(
+            Invocation.method(#removeDownload, [downloadId]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setDownloadConcurrency(int? segmentConcurrency) =>
+      (super.noSuchMethod(
+            Invocation.method(#setDownloadConcurrency, [segmentConcurrency]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setPrefetchQueue(
+    List<_i2.CreationOptions>? items,
+    _i2.PlatformPrefetchOptions? prefetchOptions,
+  ) =>
+      (super.noSuchMethod(
+            Invocation.method(#setPrefetchQueue, [items, prefetchOptions]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<int> addMirroredOutput(
+    int? playerId,
+    _i2.PlatformMirroredOutputOptions? options,
+  ) =>
+      (super.noSuchMethod(
+            Invocation.method(#addMirroredOutput, [playerId, options]),
+            returnValue: _i4.Future<int>.value(0),
+            returnValueForMissingStub: _i4.Future<int>.value(0),
+          )
+          as _i4.Future<int>);
+
+  @override
+  _i4.Future<void> removeMirroredOutput(int? playerId, int? textureId) =>
+      (super.noSuchMethod(
+            Invocation.method(#removeMirroredOutput, [playerId, textureId]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
 }
 
 /// A class which mocks [VideoPlayerInstanceApi].
@@ -252,4 +344,104 @@ class MockVideoPlayerInstanceApi extends _i1.Mock
             returnValueForMissingStub: _i4.Future<void>.value(),
           )
           as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setVisible(bool? visible) =>
+      (super.noSuchMethod(
+            Invocation.method(#setVisible, [visible]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> suspend() =>
+      (super.noSuchMethod(
+            Invocation.method(#suspend, []),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> resume() =>
+      (super.noSuchMethod(
+            Invocation.method(#resume, []),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setPlaylist(List<_i2.CreationOptions>? items) =>
+      (super.noSuchMethod(
+            Invocation.method(#setPlaylist, [items]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> addMediaItem(_i2.CreationOptions? item) =>
+      (super.noSuchMethod(
+            Invocation.method(#addMediaItem, [item]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> seekToItem(int? index) =>
+      (super.noSuchMethod(
+            Invocation.method(#seekToItem, [index]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<_i2.PlatformThumbnail?> getThumbnail(int? position) =>
+      (super.noSuchMethod(
+            Invocation.method(#getThumbnail, [position]),
+            returnValue: _i4.Future<_i2.PlatformThumbnail?>.value(),
+            returnValueForMissingStub:
+                _i4.Future<_i2.PlatformThumbnail?>.value(),
+          )
+          as _i4.Future<_i2.PlatformThumbnail?>);
+
+  @override
+  _i4.Future<void> setSeekMode(_i2.PlatformSeekMode? mode) =>
+      (super.noSuchMethod(
+            Invocation.method(#setSeekMode, [mode]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setScrubbing(bool? scrubbing) =>
+      (super.noSuchMethod(
+            Invocation.method(#setScrubbing, [scrubbing]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setMutedPreview(bool? mutedPreview) =>
+      (super.noSuchMethod(
+            Invocation.method(#setMutedPreview, [mutedPreview]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setVideoOutput(_i2.PlatformVideoOutput? output) =>
+      (super.noSuchMethod(
+            Invocation.method(#setVideoOutput, [output]),
+            returnValue: _i4.Future<void>.value(),
+            returnValueForMissingStub: _i4.Future<void>.value(),
+          )
+          as _i4.Future<void>);
 }